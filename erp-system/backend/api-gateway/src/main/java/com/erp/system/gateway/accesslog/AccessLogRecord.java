@@ -0,0 +1,5 @@
+package com.erp.system.gateway.accesslog;
+
+public record AccessLogRecord(long timestamp, String method, String path, String routeId, int status,
+                              long durationMicros, String clientIp, String userId) {
+}
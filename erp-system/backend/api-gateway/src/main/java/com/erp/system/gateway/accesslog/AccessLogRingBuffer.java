@@ -0,0 +1,64 @@
+package com.erp.system.gateway.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer. Each slot
+ * carries a sequence number that says whether it is free for the producer
+ * of a given lap or holds an element for the consumer, so neither side ever
+ * takes a lock or waits for the other. A full buffer rejects the offer
+ * instead of blocking the request thread.
+ */
+class AccessLogRingBuffer {
+
+    private final int mask;
+    private final AtomicReferenceArray<AccessLogRecord> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerPosition = new AtomicLong();
+    private long consumerPosition;
+
+    AccessLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(AccessLogRecord record) {
+        while (true) {
+            long position = producerPosition.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (producerPosition.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, record);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Takes the next record, or returns null when none is ready. Must only be
+     * called from the single consumer thread.
+     */
+    AccessLogRecord poll() {
+        int index = (int) consumerPosition & mask;
+        if (sequences.get(index) != consumerPosition + 1) {
+            return null;
+        }
+        AccessLogRecord record = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, consumerPosition + mask + 1);
+        consumerPosition++;
+        return record;
+    }
+}
@@ -0,0 +1,91 @@
+package com.erp.system.gateway.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Hands access-log records from request threads to a single writer thread
+ * through a lock-free ring buffer. Request threads never format or write;
+ * when the writer falls behind and the buffer fills, records are dropped and
+ * counted rather than slowing requests down.
+ */
+@Component
+public class AccessLogWriter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("ACCESS");
+    private static final Logger log = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    private final AccessLogRingBuffer buffer;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AccessLogWriter(@Value("${app.access-log.buffer-size:8192}") int bufferSize,
+                           MeterRegistry meterRegistry) {
+        this.buffer = new AccessLogRingBuffer(bufferSize);
+        this.dropped = Counter.builder("gateway.access_log.dropped")
+                .description("Access-log records dropped because the buffer was full")
+                .register(meterRegistry);
+        this.writer = new Thread(this::drain, "access-log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    public void submit(AccessLogRecord record) {
+        if (!buffer.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            if (!writeAvailable()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        writeAvailable();
+    }
+
+    private boolean writeAvailable() {
+        boolean wrote = false;
+        AccessLogRecord record;
+        while ((record = buffer.poll()) != null) {
+            wrote = true;
+            try {
+                accessLog.info("{} {} {} {}",
+                        kv("method", record.method()),
+                        kv("path", record.path()),
+                        kv("status", record.status()),
+                        kv("durationMicros", record.durationMicros()),
+                        kv("routeId", record.routeId()),
+                        kv("clientIp", record.clientIp()),
+                        kv("userId", record.userId()),
+                        kv("requestTimestamp", record.timestamp()));
+            } catch (Exception e) {
+                log.warn("Could not write access-log record", e);
+            }
+        }
+        return wrote;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,8 @@
+package com.erp.system.gateway.cache;
+
+public record CachedResponse(String contentType, String etag, byte[] body, long expiresAtMillis) {
+
+    public boolean isExpired() {
+        return expiresAtMillis <= System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,41 @@
+package com.erp.system.gateway.cache;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drops cached responses when the owning service reports a change. Every
+ * gateway instance consumes in its own stable group, since each holds its own
+ * local tier; any event on a rule's topic invalidates the whole rule.
+ */
+@Component
+public class ResponseCacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheInvalidationListener.class);
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCacheStore store;
+
+    public ResponseCacheInvalidationListener(ResponseCacheProperties properties, ResponseCacheStore store) {
+        this.properties = properties;
+        this.store = store;
+    }
+
+    @KafkaListener(topics = "#{@responseCacheInvalidationTopics}",
+                   groupId = "api-gateway-cache-${app.instance-id}",
+                   autoStartup = "${app.response-cache.enabled:true}")
+    public void onDomainEvent(ConsumerRecord<String, String> record) {
+        List<ResponseCacheProperties.Rule> affected = properties.rules().stream()
+                .filter(rule -> rule.invalidateOn().contains(record.topic()))
+                .toList();
+        for (ResponseCacheProperties.Rule rule : affected) {
+            store.invalidate(rule.name());
+        }
+        log.debug("Invalidated {} response cache rules on {} event", affected.size(), record.topic());
+    }
+}
@@ -0,0 +1,41 @@
+package com.erp.system.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Response caching under app.response-cache. Only GET requests matching a
+ * rule's path patterns are cached, for that rule's TTL; any event on one of
+ * the rule's invalidate-on topics drops all of the rule's entries.
+ */
+@ConfigurationProperties(prefix = "app.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("256KB") DataSize maxBodySize,
+        List<Rule> rules,
+        @DefaultValue Redis redis) {
+
+    public ResponseCacheProperties {
+        rules = rules != null ? List.copyOf(rules) : List.of();
+    }
+
+    public record Rule(String name, List<String> paths, Duration ttl, List<String> invalidateOn) {
+
+        public Rule {
+            paths = paths != null ? List.copyOf(paths) : List.of();
+            invalidateOn = invalidateOn != null ? List.copyOf(invalidateOn) : List.of();
+        }
+    }
+
+    /**
+     * Optional second tier shared by all gateway instances.
+     */
+    public record Redis(@DefaultValue("false") boolean enabled,
+                        @DefaultValue("respcache:") String keyPrefix) {
+    }
+}
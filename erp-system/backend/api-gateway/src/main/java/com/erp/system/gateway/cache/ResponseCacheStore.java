@@ -0,0 +1,182 @@
+package com.erp.system.gateway.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached gateway responses: a local tier bounded by total body size, and
+ * optionally Redis as a second tier shared by all instances. Keys start with
+ * the rule name so a rule can be invalidated as a whole; Redis keeps an index
+ * set per rule for the same purpose. Redis errors are treated as misses.
+ *
+ * <p>Each rule has an invalidation generation. A response is stored with the
+ * generation read before it was fetched and dropped if the rule has been
+ * invalidated since, so a response fetched before a change cannot be cached
+ * after the invalidation for it.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheStore.class);
+
+    private final Cache<String, CachedResponse> local;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String redisPrefix;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCacheStore(ResponseCacheProperties properties,
+                              ObjectProvider<ReactiveStringRedisTemplate> redisTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(0, response.expiresAtMillis() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, response, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.redisTemplate = properties.redis().enabled() ? redisTemplate.getObject() : null;
+        this.objectMapper = objectMapper;
+        this.redisPrefix = properties.redis().keyPrefix();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "gateway.response-cache");
+    }
+
+    public Mono<CachedResponse> get(String key) {
+        CachedResponse cached = local.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            return Mono.just(cached);
+        }
+        if (redisTemplate == null) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().get(redisPrefix + key)
+                .flatMap(json -> Mono.justOrEmpty(deserialize(json)))
+                .filter(response -> !response.isExpired())
+                .doOnNext(response -> local.put(key, response))
+                .onErrorResume(e -> {
+                    log.debug("Response cache Redis read failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * The rule's current invalidation generation; read it before fetching the
+     * response that is then passed to {@link #put}.
+     */
+    public long generation(String ruleName) {
+        return generationOf(ruleName).get();
+    }
+
+    public void put(String ruleName, String key, CachedResponse response, long generation) {
+        AtomicLong current = generationOf(ruleName);
+        if (current.get() != generation) {
+            return;
+        }
+        local.put(key, response);
+        // An invalidation between the check and the put may have missed the entry
+        if (current.get() != generation) {
+            local.asMap().remove(key, response);
+            return;
+        }
+        if (redisTemplate == null) {
+            return;
+        }
+        Duration ttl = Duration.ofMillis(response.expiresAtMillis() - System.currentTimeMillis());
+        String json = serialize(response);
+        if (json == null || ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        String indexKey = indexKey(ruleName);
+        redisTemplate.opsForValue().set(redisPrefix + key, json, ttl)
+                .then(redisTemplate.opsForSet().add(indexKey, redisPrefix + key))
+                .then(redisTemplate.expire(indexKey, ttl.multipliedBy(2)))
+                .then(Mono.defer(() -> current.get() != generation
+                        ? redisTemplate.delete(redisPrefix + key)
+                        : Mono.just(0L)))
+                .subscribe(ok -> { }, e -> log.debug("Response cache Redis write failed: {}", e.getMessage()));
+    }
+
+    /**
+     * Drops every entry of the rule from both tiers.
+     */
+    public void invalidate(String ruleName) {
+        generationOf(ruleName).incrementAndGet();
+        String prefix = ruleName + "|";
+        local.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        if (redisTemplate == null) {
+            return;
+        }
+        String indexKey = indexKey(ruleName);
+        redisTemplate.opsForSet().members(indexKey)
+                .collectList()
+                .flatMap(keys -> {
+                    List<String> toDelete = new ArrayList<>(keys);
+                    toDelete.add(indexKey);
+                    return redisTemplate.delete(toDelete.toArray(new String[0]));
+                })
+                .subscribe(count -> { }, e -> log.warn("Response cache Redis invalidation failed for {}", ruleName, e));
+    }
+
+    private AtomicLong generationOf(String ruleName) {
+        return generations.computeIfAbsent(ruleName, name -> new AtomicLong());
+    }
+
+    private String indexKey(String ruleName) {
+        return redisPrefix + "index:" + ruleName;
+    }
+
+    private String serialize(CachedResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            log.debug("Could not serialize cached response: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private CachedResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, CachedResponse.class);
+        } catch (JsonProcessingException e) {
+            log.debug("Could not deserialize cached response: {}", e.getMessage());
+            return null;
+        }
+    }
+}
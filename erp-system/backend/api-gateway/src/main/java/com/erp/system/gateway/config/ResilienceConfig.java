@@ -0,0 +1,11 @@
+package com.erp.system.gateway.config;
+
+import com.erp.system.gateway.resilience.CoalescingProperties;
+import com.erp.system.gateway.resilience.LoadSheddingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({CoalescingProperties.class, LoadSheddingProperties.class})
+public class ResilienceConfig {
+}
@@ -0,0 +1,19 @@
+package com.erp.system.gateway.config;
+
+import com.erp.system.gateway.cache.ResponseCacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public String[] responseCacheInvalidationTopics(ResponseCacheProperties properties) {
+        return properties.rules().stream()
+                .flatMap(rule -> rule.invalidateOn().stream())
+                .distinct()
+                .toArray(String[]::new);
+    }
+}
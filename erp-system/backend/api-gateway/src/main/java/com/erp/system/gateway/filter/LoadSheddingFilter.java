@@ -0,0 +1,80 @@
+package com.erp.system.gateway.filter;
+
+import com.erp.system.gateway.resilience.AimdLimiter;
+import com.erp.system.gateway.resilience.RouteConcurrencyLimits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Caps the requests in flight to each route with an adaptive limit and
+ * answers 503 with Retry-After once it is reached, so a slow service sheds
+ * load at the gateway instead of building a queue. Only responses that
+ * signal overload (502, 503, 504) or a failed exchange count as drops;
+ * application errors say nothing about capacity.
+ */
+@Component
+public class LoadSheddingFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+    private final RouteConcurrencyLimits limits;
+
+    public LoadSheddingFilter(RouteConcurrencyLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!limits.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId();
+        AimdLimiter limiter = limits.forRoute(routeId);
+        if (!limiter.tryAcquire()) {
+            limits.recordRejected(routeId);
+            log.debug("Shedding request to {}: {} in flight, limit {}",
+                    routeId, limiter.getInflight(), limiter.getLimit());
+            return serviceUnavailable(exchange);
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> limiter.release(System.nanoTime() - start,
+                        signal == SignalType.ON_ERROR || isOverloaded(exchange.getResponse().getStatusCode())));
+    }
+
+    private static boolean isOverloaded(HttpStatusCode status) {
+        if (status == null) {
+            return false;
+        }
+        int code = status.value();
+        return code == 502 || code == 503 || code == 504;
+    }
+
+    private Mono<Void> serviceUnavailable(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().add(HttpHeaders.RETRY_AFTER, Long.toString(limits.retryAfterSeconds()));
+        return response.setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return 1; // After authentication and rate limiting, so only admitted requests take a slot
+    }
+}
@@ -1,49 +1,101 @@
 package com.erp.system.gateway.filter;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.erp.system.gateway.accesslog.AccessLogRecord;
+import com.erp.system.gateway.accesslog.AccessLogWriter;
+import com.erp.system.gateway.security.JwtAuthenticationFilter;
+import com.erp.system.gateway.security.VerifiedTokenCache.VerifiedPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every request into a per-route latency histogram and writes one
+ * structured access-log record for a sample of them. Server errors and slow
+ * requests are always logged; the record is handed to {@link AccessLogWriter}
+ * and written off the request thread.
+ */
 @Component
 public class LoggingFilter implements GlobalFilter, Ordered {
-    
-    private static final Logger log = LoggerFactory.getLogger(LoggingFilter.class);
+
+    private final AccessLogWriter accessLogWriter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public LoggingFilter(AccessLogWriter accessLogWriter,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.access-log.sample-rate:0.05}") double sampleRate,
+                         @Value("${app.access-log.slow-threshold-ms:1000}") long slowThresholdMs) {
+        this.accessLogWriter = accessLogWriter;
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> complete(exchange, System.nanoTime() - startNanos));
+    }
+
+    private void complete(ServerWebExchange exchange, long durationNanos) {
         ServerHttpRequest request = exchange.getRequest();
-        
-        long startTime = System.currentTimeMillis();
-        
-        log.info("Request: {} {} from {} at {}",
-                request.getMethod(),
-                request.getURI(),
-                request.getRemoteAddress(),
-                LocalDateTime.now());
-
-        return chain.filter(exchange).then(
-                Mono.fromRunnable(() -> {
-                    long endTime = System.currentTimeMillis();
-                    long duration = endTime - startTime;
-                    
-                    log.info("Response: {} {} - Status: {} - Duration: {}ms",
-                            request.getMethod(),
-                            request.getURI(),
-                            exchange.getResponse().getStatusCode(),
-                            duration);
-                })
-        );
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 200;
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "none";
+        String method = request.getMethod().name();
+
+        timer(routeId, method, status).record(durationNanos, TimeUnit.NANOSECONDS);
+
+        if (status >= 500 || durationNanos >= slowThresholdNanos
+                || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            VerifiedPrincipal principal = exchange.getAttribute(JwtAuthenticationFilter.PRINCIPAL_ATTRIBUTE);
+            InetSocketAddress remoteAddress = request.getRemoteAddress();
+            accessLogWriter.submit(new AccessLogRecord(
+                    System.currentTimeMillis(),
+                    method,
+                    request.getPath().value(),
+                    routeId,
+                    status,
+                    TimeUnit.NANOSECONDS.toMicros(durationNanos),
+                    remoteAddress != null && remoteAddress.getAddress() != null
+                            ? remoteAddress.getAddress().getHostAddress() : null,
+                    principal != null ? principal.userId() : null));
+        }
+    }
+
+    private Timer timer(String routeId, String method, int status) {
+        String outcome = (status / 100) + "xx";
+        return timers.computeIfAbsent(routeId + ' ' + method + ' ' + outcome, key -> Timer.builder("gateway.route.latency")
+                .description("Gateway request latency per route")
+                .tag("route", routeId)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
     }
 
     @Override
     public int getOrder() {
-        return -2; // Execute before authentication filter
+        return -4; // Execute before response cache and authentication filters
     }
-}
\ No newline at end of file
+}
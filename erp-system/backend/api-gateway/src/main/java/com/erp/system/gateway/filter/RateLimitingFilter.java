@@ -1,55 +1,60 @@
 package com.erp.system.gateway.filter;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Bucket4j;
-import io.github.bucket4j.Refill;
+import com.erp.system.gateway.ratelimit.RateLimitDecision;
+import com.erp.system.gateway.ratelimit.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+/**
+ * Per-IP limit, applied before authentication so anonymous floods are
+ * turned away before any token is verified. Per-user and per-route limits
+ * follow in {@link UserRateLimitingFilter}.
+ */
 @Component
 public class RateLimitingFilter implements GlobalFilter, Ordered {
     
     private static final Logger log = LoggerFactory.getLogger(RateLimitingFilter.class);
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-    
-    // 100 requests per minute per IP
-    private final Bandwidth limit = Bandwidth.classic(100, Refill.intervally(100, Duration.ofMinutes(1)));
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitingFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String clientIp = getClientIp(exchange);
-        Bucket bucket = buckets.computeIfAbsent(clientIp, this::createNewBucket);
-
-        if (bucket.tryConsume(1)) {
+        if (!rateLimiter.isEnabled()) {
             return chain.filter(exchange);
-        } else {
-            log.warn("Rate limit exceeded for IP: {}", clientIp);
-            ServerHttpResponse response = exchange.getResponse();
-            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-            response.getHeaders().add("X-Rate-Limit-Retry-After-Seconds", "60");
-            return response.setComplete();
         }
+        String clientIp = getClientIp(exchange);
+        return rateLimiter.tryConsume("ip", clientIp, rateLimiter.perIpLimit())
+                .flatMap(decision -> {
+                    if (decision.allowed()) {
+                        return chain.filter(exchange);
+                    }
+                    log.warn("Rate limit exceeded for IP: {}", clientIp);
+                    return tooManyRequests(exchange, decision);
+                });
     }
 
-    private Bucket createNewBucket(String key) {
-        return Bucket4j.builder()
-                .addLimit(limit)
-                .build();
+    static Mono<Void> tooManyRequests(ServerWebExchange exchange, RateLimitDecision decision) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().add(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+        response.getHeaders().add("X-Rate-Limit-Retry-After-Seconds", Long.toString(decision.retryAfterSeconds()));
+        return response.setComplete();
     }
 
-    private String getClientIp(ServerWebExchange exchange) {
+    static String getClientIp(ServerWebExchange exchange) {
         String xForwardedFor = exchange.getRequest().getHeaders().getFirst("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
             return xForwardedFor.split(",")[0].trim();
@@ -67,6 +72,6 @@ public class RateLimitingFilter implements GlobalFilter, Ordered {
 
     @Override
     public int getOrder() {
-        return -3; // Execute before logging filter
+        return -5; // Execute before logging filter
     }
 }
\ No newline at end of file
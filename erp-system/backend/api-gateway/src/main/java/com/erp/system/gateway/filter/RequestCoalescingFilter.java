@@ -0,0 +1,174 @@
+package com.erp.system.gateway.filter;
+
+import com.erp.system.gateway.resilience.CoalescingProperties;
+import com.erp.system.gateway.security.VerifiedTokenCache;
+import com.erp.system.gateway.security.VerifiedTokenCache.VerifiedPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses concurrent identical GETs on the paths listed under
+ * app.coalescing into a single upstream call. The first request goes
+ * upstream; requests for the same path, query and authorities that arrive
+ * while it is in flight wait for its response and get a copy of it. Only a
+ * 200 with a body under the size cap is shared. Otherwise, or when the wait
+ * times out, each waiting request goes upstream on its own.
+ *
+ * Like the response cache, it runs ahead of the JWT filter and verifies the
+ * token itself; requests without a valid token are never coalesced.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    private final CoalescingProperties properties;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final List<PathPattern> patterns;
+    private final Map<String, Sinks.One<Optional<SharedResponse>>> inflight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    public RequestCoalescingFilter(CoalescingProperties properties,
+                                   VerifiedTokenCache verifiedTokenCache,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.patterns = properties.paths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.coalesced = Counter.builder("gateway.coalescing.coalesced")
+                .description("Requests answered with the response of an identical in-flight request")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.inflight", inflight, Map::size)
+                .description("Distinct coalesced requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.enabled() || request.getMethod() != HttpMethod.GET || !matches(request)) {
+            return chain.filter(exchange);
+        }
+        VerifiedPrincipal principal = verify(request);
+        if (principal == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = principal.authorities() + "|" + request.getPath().value()
+                + "?" + (request.getURI().getRawQuery() != null ? request.getURI().getRawQuery() : "");
+        Sinks.One<Optional<SharedResponse>> sink = Sinks.one();
+        Sinks.One<Optional<SharedResponse>> leader = inflight.putIfAbsent(key, sink);
+        if (leader != null) {
+            return leader.asMono()
+                    .timeout(properties.waitTimeout(), Mono.just(Optional.empty()))
+                    .flatMap(shared -> shared.isPresent()
+                            ? writeShared(exchange, shared.get())
+                            : chain.filter(exchange));
+        }
+
+        return chain.filter(exchange.mutate().response(sharingResponse(exchange, key, sink)).build())
+                .doFinally(signal -> complete(key, sink, Optional.empty()));
+    }
+
+    private boolean matches(ServerHttpRequest request) {
+        return patterns.stream().anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+    }
+
+    private VerifiedPrincipal verify(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return verifiedTokenCache.verify(authHeader.substring(7));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Releases the key and hands the outcome to the waiting requests. Only
+     * the first call for a leader has an effect.
+     */
+    private void complete(String key, Sinks.One<Optional<SharedResponse>> sink, Optional<SharedResponse> outcome) {
+        if (inflight.remove(key, sink)) {
+            sink.tryEmitValue(outcome);
+        }
+    }
+
+    private Mono<Void> writeShared(ServerWebExchange exchange, SharedResponse shared) {
+        coalesced.increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+        response.getHeaders().set("X-Coalesced", "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private ServerHttpResponse sharingResponse(ServerWebExchange exchange, String key,
+                                               Sinks.One<Optional<SharedResponse>> sink) {
+        ServerHttpResponse original = exchange.getResponse();
+        long maxBodyBytes = properties.maxBodySize().toBytes();
+        return new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                if (status == null || status.value() != 200 || getHeaders().getContentLength() > maxBodyBytes) {
+                    complete(key, sink, Optional.empty());
+                    return super.writeWith(body);
+                }
+                return Flux.from(body).collectList().flatMap(buffers -> {
+                    if (ResponseBodies.size(buffers) > maxBodyBytes) {
+                        complete(key, sink, Optional.empty());
+                        return super.writeWith(Flux.fromIterable(buffers));
+                    }
+                    byte[] bytes = ResponseBodies.toBytes(buffers);
+                    complete(key, sink, Optional.of(new SharedResponse(status, shareableHeaders(getHeaders()), bytes)));
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+    }
+
+    private static HttpHeaders shareableHeaders(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        copy.remove(HttpHeaders.SET_COOKIE);
+        copy.remove(HttpHeaders.TRANSFER_ENCODING);
+        copy.remove(HttpHeaders.CONTENT_LENGTH);
+        return copy;
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1; // Inside the response cache, so a miss is coalesced
+    }
+}
@@ -0,0 +1,31 @@
+package com.erp.system.gateway.filter;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.util.List;
+
+final class ResponseBodies {
+
+    private ResponseBodies() {
+    }
+
+    static long size(List<? extends DataBuffer> buffers) {
+        return buffers.stream().mapToLong(DataBuffer::readableByteCount).sum();
+    }
+
+    /**
+     * Copies the buffers into one array and releases them.
+     */
+    static byte[] toBytes(List<? extends DataBuffer> buffers) {
+        byte[] bytes = new byte[(int) size(buffers)];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+}
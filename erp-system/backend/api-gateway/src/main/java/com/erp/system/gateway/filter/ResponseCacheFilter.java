@@ -0,0 +1,190 @@
+package com.erp.system.gateway.filter;
+
+import com.erp.system.gateway.cache.CachedResponse;
+import com.erp.system.gateway.cache.ResponseCacheProperties;
+import com.erp.system.gateway.cache.ResponseCacheStore;
+import com.erp.system.gateway.security.VerifiedTokenCache;
+import com.erp.system.gateway.security.VerifiedTokenCache.VerifiedPrincipal;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Serves cached responses for GET routes that opt in through
+ * app.response-cache.rules. Entries vary by the caller's authorities, so
+ * callers with different permissions never share an entry. Every cached
+ * response carries an ETag, and a matching If-None-Match is answered with
+ * 304 whether the entry came from the cache or was just fetched.
+ *
+ * Runs ahead of the JWT filter (the response has to be decorated before the
+ * Netty write filter) and verifies the token itself through the shared
+ * token cache; requests with a missing or invalid token pass straight
+ * through to be rejected by the JWT filter.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCacheStore store;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final List<CompiledRule> rules;
+
+    private record CompiledRule(ResponseCacheProperties.Rule rule, List<PathPattern> patterns) {
+
+        boolean matches(ServerHttpRequest request) {
+            return patterns.stream().anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+        }
+    }
+
+    public ResponseCacheFilter(ResponseCacheProperties properties,
+                               ResponseCacheStore store,
+                               VerifiedTokenCache verifiedTokenCache) {
+        this.properties = properties;
+        this.store = store;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.rules = properties.rules().stream()
+                .map(rule -> new CompiledRule(rule, rule.paths().stream()
+                        .map(PathPatternParser.defaultInstance::parse)
+                        .toList()))
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.enabled() || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        CompiledRule rule = rules.stream().filter(r -> r.matches(request)).findFirst().orElse(null);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+        VerifiedPrincipal principal = verify(request);
+        if (principal == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = rule.rule().name() + "|" + principal.authorities() + "|" + request.getPath().value()
+                + "?" + (request.getURI().getRawQuery() != null ? request.getURI().getRawQuery() : "");
+        return store.get(key)
+                .flatMap(cached -> writeCached(exchange, cached).thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange.mutate()
+                                .response(cachingResponse(exchange, rule.rule(), key,
+                                        store.generation(rule.rule().name())))
+                                .build())
+                        .thenReturn(false)))
+                .then();
+    }
+
+    private VerifiedPrincipal verify(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return verifiedTokenCache.verify(authHeader.substring(7));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.set("X-Cache", "HIT");
+        if (isNotModified(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private ServerHttpResponse cachingResponse(ServerWebExchange exchange, ResponseCacheProperties.Rule rule,
+                                               String key, long generation) {
+        ServerHttpResponse original = exchange.getResponse();
+        long maxBodyBytes = properties.maxBodySize().toBytes();
+        return new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isCacheable(getStatusCode(), getHeaders(), maxBodyBytes)) {
+                    return super.writeWith(body);
+                }
+                return Flux.from(body).collectList().flatMap(buffers -> {
+                    if (ResponseBodies.size(buffers) > maxBodyBytes) {
+                        return super.writeWith(Flux.fromIterable(buffers));
+                    }
+                    byte[] bytes = ResponseBodies.toBytes(buffers);
+
+                    String etag = etagOf(bytes);
+                    store.put(rule.name(), key, new CachedResponse(getHeaders().getFirst(HttpHeaders.CONTENT_TYPE),
+                            etag, bytes, System.currentTimeMillis() + rule.ttl().toMillis()), generation);
+                    getHeaders().setETag(etag);
+                    getHeaders().set("X-Cache", "MISS");
+                    if (isNotModified(exchange.getRequest(), etag)) {
+                        setStatusCode(HttpStatus.NOT_MODIFIED);
+                        getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                        return setComplete();
+                    }
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+    }
+
+    private static boolean isCacheable(HttpStatusCode status, HttpHeaders headers, long maxBodyBytes) {
+        if (status == null || status.value() != 200) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && cacheControl.contains("no-store")) {
+            return false;
+        }
+        return headers.getContentLength() <= maxBodyBytes;
+    }
+
+    private static boolean isNotModified(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.contains(etag) || ifNoneMatch.contains("*");
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2; // Decorate before the response is written
+    }
+}
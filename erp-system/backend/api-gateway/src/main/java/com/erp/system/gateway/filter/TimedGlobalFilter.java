@@ -0,0 +1,81 @@
+package com.erp.system.gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records the time a global filter adds to a request as
+ * gateway.filter.duration. For a request the filter passes on, that is the
+ * time until it calls the rest of the chain (outcome "forwarded"); for one it
+ * answers itself, such as a cache hit or a rejection, it is the time until
+ * its response completes (outcome "answered").
+ */
+public final class TimedGlobalFilter implements GlobalFilter, Ordered {
+
+    private final GlobalFilter delegate;
+    private final String filterName;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private volatile Timer forwarded;
+    private volatile Timer answered;
+
+    public TimedGlobalFilter(GlobalFilter delegate, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.delegate = delegate;
+        this.filterName = delegate.getClass().getSimpleName();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        AtomicBoolean passedOn = new AtomicBoolean();
+        return delegate.filter(exchange, next -> {
+                    if (passedOn.compareAndSet(false, true)) {
+                        forwardedTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                    return chain.filter(next);
+                })
+                .doFinally(signal -> {
+                    if (!passedOn.get()) {
+                        answeredTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                });
+    }
+
+    private Timer forwardedTimer() {
+        Timer timer = forwarded;
+        if (timer == null) {
+            timer = forwarded = timer("forwarded");
+        }
+        return timer;
+    }
+
+    private Timer answeredTimer() {
+        Timer timer = answered;
+        if (timer == null) {
+            timer = answered = timer("answered");
+        }
+        return timer;
+    }
+
+    private Timer timer(String outcome) {
+        return Timer.builder("gateway.filter.duration")
+                .tag("filter", filterName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry.getObject());
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate instanceof Ordered ordered ? ordered.getOrder() : Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,76 @@
+package com.erp.system.gateway.filter;
+
+import com.erp.system.gateway.ratelimit.RateLimitDecision;
+import com.erp.system.gateway.ratelimit.RateLimitProperties;
+import com.erp.system.gateway.ratelimit.RateLimiter;
+import com.erp.system.gateway.security.JwtAuthenticationFilter;
+import com.erp.system.gateway.security.VerifiedTokenCache.VerifiedPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Per-user and per-route limits, applied after authentication so the caller
+ * is known: the principal verified by the JWT filter, or the client IP on
+ * routes that need no token. A route limit is counted per caller on that route.
+ */
+@Component
+public class UserRateLimitingFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(UserRateLimitingFilter.class);
+
+    private final RateLimiter rateLimiter;
+
+    public UserRateLimitingFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!rateLimiter.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        VerifiedPrincipal principal = exchange.getAttribute(JwtAuthenticationFilter.PRINCIPAL_ATTRIBUTE);
+        String userId = principal != null ? principal.userId() : null;
+        String caller = userId != null ? "user:" + userId : "ip:" + RateLimitingFilter.getClientIp(exchange);
+
+        Mono<RateLimitDecision> userDecision = userId != null
+                ? rateLimiter.tryConsume("user", userId, rateLimiter.perUserLimit())
+                : Mono.just(RateLimitDecision.ALLOWED);
+
+        return userDecision
+                .flatMap(decision -> decision.allowed() ? checkRoute(exchange, caller) : Mono.just(decision))
+                .flatMap(decision -> {
+                    if (decision.allowed()) {
+                        return chain.filter(exchange);
+                    }
+                    log.warn("Rate limit exceeded for {} on {}", caller, exchange.getRequest().getPath());
+                    return RateLimitingFilter.tooManyRequests(exchange, decision);
+                });
+    }
+
+    private Mono<RateLimitDecision> checkRoute(ServerWebExchange exchange, String caller) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return Mono.just(RateLimitDecision.ALLOWED);
+        }
+        Optional<RateLimitProperties.Limit> limit = rateLimiter.routeLimit(route.getId());
+        return limit.isPresent()
+                ? rateLimiter.tryConsume("route", route.getId() + ":" + caller, limit.get())
+                : Mono.just(RateLimitDecision.ALLOWED);
+    }
+
+    @Override
+    public int getOrder() {
+        return 0; // Execute after authentication filter
+    }
+}
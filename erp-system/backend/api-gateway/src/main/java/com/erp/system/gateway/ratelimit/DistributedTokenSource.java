@@ -0,0 +1,93 @@
+package com.erp.system.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets shared by every gateway instance through Redis. A Lua script
+ * refills and takes tokens atomically; each instance asks for a batch of up
+ * to prefetch tokens and spends them locally until they run out or the lease
+ * expires, so only about one request in prefetch goes to Redis. Tokens left
+ * in an expired lease are dropped, never returned, so the shared limit is
+ * never exceeded.
+ */
+class DistributedTokenSource {
+
+    private static final RedisScript<Long> TAKE_TOKENS = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local period_ms = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + (now - ts) * capacity / period_ms)
+            local granted = math.min(requested, math.floor(tokens))
+            redis.call('HSET', KEYS[1], 'tokens', tokens - granted, 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], period_ms * 2)
+            return granted
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RateLimitProperties.Distributed settings;
+    private final Cache<String, Lease> leases;
+
+    private static final class Lease {
+        private final AtomicLong remaining;
+        private final long expiresAtNanos;
+
+        private Lease(long tokens, long expiresAtNanos) {
+            this.remaining = new AtomicLong(tokens);
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean tryTake() {
+            if (System.nanoTime() - expiresAtNanos >= 0) {
+                return false;
+            }
+            return remaining.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0;
+        }
+    }
+
+    DistributedTokenSource(ReactiveStringRedisTemplate redisTemplate, RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.settings = properties.distributed();
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(properties.store().maxSize())
+                .expireAfterWrite(settings.leaseTtl())
+                .build();
+    }
+
+    Mono<RateLimitDecision> tryConsume(String key, RateLimitProperties.Limit limit) {
+        Lease lease = leases.getIfPresent(key);
+        if (lease != null && lease.tryTake()) {
+            return Mono.just(RateLimitDecision.ALLOWED);
+        }
+        long periodMillis = limit.period().toMillis();
+        long batch = Math.max(1, Math.min(settings.prefetch(), limit.capacity()));
+        return redisTemplate.execute(TAKE_TOKENS, List.of(settings.keyPrefix() + key),
+                        List.of(Long.toString(limit.capacity()), Long.toString(periodMillis), Long.toString(batch)))
+                .next()
+                .defaultIfEmpty(0L)
+                .map(granted -> {
+                    if (granted <= 0) {
+                        return RateLimitDecision.rejected(periodMillis / limit.capacity() / 1000 + 1);
+                    }
+                    if (granted > 1) {
+                        leases.put(key, new Lease(granted - 1, System.nanoTime() + settings.leaseTtl().toNanos()));
+                    }
+                    return RateLimitDecision.ALLOWED;
+                });
+    }
+
+    long size() {
+        return leases.estimatedSize();
+    }
+}
@@ -0,0 +1,47 @@
+package com.erp.system.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory token buckets, bounded in size and dropped after being idle, so
+ * the store no longer grows with every client address ever seen.
+ */
+@Component
+public class LocalBucketStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalBucketStore(RateLimitProperties properties) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.store().maxSize())
+                .expireAfterAccess(properties.store().idleExpiry())
+                .build();
+    }
+
+    public RateLimitDecision tryConsume(String key, RateLimitProperties.Limit limit) {
+        Bucket bucket = buckets.get(key, k -> newBucket(limit));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (probe.isConsumed()) {
+            return RateLimitDecision.ALLOWED;
+        }
+        return RateLimitDecision.rejected(TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()) + 1);
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    private Bucket newBucket(RateLimitProperties.Limit limit) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.classic(limit.capacity(), Refill.greedy(limit.capacity(), limit.period())))
+                .build();
+    }
+}
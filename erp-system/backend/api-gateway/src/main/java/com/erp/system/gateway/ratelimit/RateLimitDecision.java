@@ -0,0 +1,10 @@
+package com.erp.system.gateway.ratelimit;
+
+public record RateLimitDecision(boolean allowed, long retryAfterSeconds) {
+
+    public static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    static RateLimitDecision rejected(long retryAfterSeconds) {
+        return new RateLimitDecision(false, Math.max(1, retryAfterSeconds));
+    }
+}
@@ -0,0 +1,50 @@
+package com.erp.system.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Rate limits under app.rate-limit. Every limit is a token bucket of
+ * capacity requests refilled over period. Route limits are keyed by gateway
+ * route id and apply per caller (user, or IP when anonymous).
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        Limit perIp,
+        Limit perUser,
+        Map<String, Limit> routes,
+        @DefaultValue Store store,
+        @DefaultValue Distributed distributed) {
+
+    public RateLimitProperties {
+        perIp = perIp != null ? perIp : new Limit(100, Duration.ofMinutes(1));
+        perUser = perUser != null ? perUser : new Limit(300, Duration.ofMinutes(1));
+        routes = routes != null ? Map.copyOf(routes) : Map.of();
+    }
+
+    public record Limit(long capacity, Duration period) {
+    }
+
+    /**
+     * Local buckets; a bucket idle for longer than idleExpiry is dropped, by
+     * which time it would have refilled anyway.
+     */
+    public record Store(@DefaultValue("100000") long maxSize,
+                        @DefaultValue("10m") Duration idleExpiry) {
+    }
+
+    /**
+     * Shared buckets in Redis. Each instance takes up to prefetch tokens per
+     * call and spends them locally for at most leaseTtl, so most decisions
+     * need no network round trip.
+     */
+    public record Distributed(@DefaultValue("false") boolean enabled,
+                              @DefaultValue("10") long prefetch,
+                              @DefaultValue("1s") Duration leaseTtl,
+                              @DefaultValue("ratelimit:") String keyPrefix) {
+    }
+}
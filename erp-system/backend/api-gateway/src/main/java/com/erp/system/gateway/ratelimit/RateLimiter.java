@@ -0,0 +1,91 @@
+package com.erp.system.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Entry point for rate-limit decisions. Buckets are local to the instance
+ * unless app.rate-limit.distributed.enabled is set, in which case they live
+ * in Redis; if Redis cannot be reached the local bucket decides instead, so
+ * an outage degrades to per-instance limits rather than blocking traffic.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final RateLimitProperties properties;
+    private final LocalBucketStore localStore;
+    private final DistributedTokenSource distributedSource;
+    private final MeterRegistry meterRegistry;
+    private final Counter redisFallbacks;
+
+    public RateLimiter(RateLimitProperties properties,
+                       LocalBucketStore localStore,
+                       ObjectProvider<ReactiveStringRedisTemplate> redisTemplate,
+                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.localStore = localStore;
+        this.meterRegistry = meterRegistry;
+        this.distributedSource = properties.distributed().enabled()
+                ? new DistributedTokenSource(redisTemplate.getObject(), properties)
+                : null;
+        this.redisFallbacks = Counter.builder("gateway.ratelimit.redis.fallbacks")
+                .description("Decisions taken locally because Redis was unavailable")
+                .register(meterRegistry);
+        Gauge.builder("gateway.ratelimit.buckets", localStore, LocalBucketStore::size)
+                .tag("store", "local")
+                .register(meterRegistry);
+        if (distributedSource != null) {
+            Gauge.builder("gateway.ratelimit.buckets", distributedSource, DistributedTokenSource::size)
+                    .tag("store", "leases")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public RateLimitProperties.Limit perIpLimit() {
+        return properties.perIp();
+    }
+
+    public RateLimitProperties.Limit perUserLimit() {
+        return properties.perUser();
+    }
+
+    public Optional<RateLimitProperties.Limit> routeLimit(String routeId) {
+        return Optional.ofNullable(properties.routes().get(routeId));
+    }
+
+    /**
+     * Takes one token from the bucket identified by scope and key; a
+     * rejection is counted under gateway.ratelimit.rejected by scope.
+     */
+    public Mono<RateLimitDecision> tryConsume(String scope, String key, RateLimitProperties.Limit limit) {
+        String bucketKey = scope + ":" + key;
+        Mono<RateLimitDecision> decision = distributedSource != null
+                ? distributedSource.tryConsume(bucketKey, limit)
+                        .onErrorResume(e -> {
+                            redisFallbacks.increment();
+                            log.debug("Redis rate limit unavailable, deciding locally: {}", e.getMessage());
+                            return Mono.just(localStore.tryConsume(bucketKey, limit));
+                        })
+                : Mono.just(localStore.tryConsume(bucketKey, limit));
+        return decision.doOnNext(result -> {
+            if (!result.allowed()) {
+                meterRegistry.counter("gateway.ratelimit.rejected", "scope", scope).increment();
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.erp.system.gateway.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts with additive increase, multiplicative
+ * decrease: a request that fails or runs past the latency target shrinks the
+ * limit by the backoff ratio, while a success while the route is busy (at
+ * least half the limit in flight) grows it by one. Requests beyond the
+ * limit are refused up front, so a slow downstream sheds load instead of
+ * queueing it until latency collapses.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyTargetNanos;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyTargetNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot, or returns false when the route is at its limit. A
+     * successful acquire must be paired with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int inflightAtCompletion = inflight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyTargetNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inflightAtCompletion * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
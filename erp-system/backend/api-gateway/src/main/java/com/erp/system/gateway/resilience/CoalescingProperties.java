@@ -0,0 +1,25 @@
+package com.erp.system.gateway.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Request coalescing under app.coalescing: concurrent identical GETs on the
+ * listed paths share one upstream call. Followers wait at most waitTimeout
+ * before going upstream themselves.
+ */
+@ConfigurationProperties(prefix = "app.coalescing")
+public record CoalescingProperties(
+        @DefaultValue("true") boolean enabled,
+        List<String> paths,
+        @DefaultValue("2MB") DataSize maxBodySize,
+        @DefaultValue("10s") Duration waitTimeout) {
+
+    public CoalescingProperties {
+        paths = paths != null ? List.copyOf(paths) : List.of();
+    }
+}
@@ -0,0 +1,32 @@
+package com.erp.system.gateway.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Adaptive per-route concurrency limits under app.load-shedding. Each route
+ * starts at initialLimit; routes listed under routes override the latency
+ * target, which is the only per-route setting.
+ */
+@ConfigurationProperties(prefix = "app.load-shedding")
+public record LoadSheddingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50") int initialLimit,
+        @DefaultValue("5") int minLimit,
+        @DefaultValue("500") int maxLimit,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("2s") Duration latencyTarget,
+        @DefaultValue("1") long retryAfterSeconds,
+        Map<String, Duration> routeLatencyTargets) {
+
+    public LoadSheddingProperties {
+        routeLatencyTargets = routeLatencyTargets != null ? Map.copyOf(routeLatencyTargets) : Map.of();
+    }
+
+    public Duration latencyTargetFor(String routeId) {
+        return routeLatencyTargets.getOrDefault(routeId, latencyTarget);
+    }
+}
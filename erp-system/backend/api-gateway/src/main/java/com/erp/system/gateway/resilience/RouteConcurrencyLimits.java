@@ -0,0 +1,57 @@
+package com.erp.system.gateway.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link AimdLimiter} per route, created on the route's first request.
+ * Each limiter publishes its current limit and in-flight count as gauges
+ * tagged with the route id.
+ */
+@Component
+public class RouteConcurrencyLimits {
+
+    private final LoadSheddingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AimdLimiter> limiters = new ConcurrentHashMap<>();
+
+    public RouteConcurrencyLimits(LoadSheddingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public long retryAfterSeconds() {
+        return properties.retryAfterSeconds();
+    }
+
+    public AimdLimiter forRoute(String routeId) {
+        return limiters.computeIfAbsent(routeId, this::create);
+    }
+
+    public void recordRejected(String routeId) {
+        meterRegistry.counter("gateway.loadshed.rejected", "route", routeId).increment();
+    }
+
+    private AimdLimiter create(String routeId) {
+        AimdLimiter limiter = new AimdLimiter(properties.initialLimit(), properties.minLimit(),
+                properties.maxLimit(), properties.backoffRatio(),
+                properties.latencyTargetFor(routeId).toNanos());
+        Gauge.builder("gateway.loadshed.limit", limiter, AimdLimiter::getLimit)
+                .tag("route", routeId)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("gateway.loadshed.inflight", limiter, AimdLimiter::getInflight)
+                .tag("route", routeId)
+                .description("Requests currently forwarded to the route")
+                .register(meterRegistry);
+        return limiter;
+    }
+}
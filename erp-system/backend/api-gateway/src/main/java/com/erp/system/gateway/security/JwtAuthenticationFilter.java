@@ -1,9 +1,6 @@
 package com.erp.system.gateway.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import com.erp.system.gateway.security.VerifiedTokenCache.VerifiedPrincipal;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -15,15 +12,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
 import java.util.List;
-import java.util.Set;
 
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    public static final String PRINCIPAL_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".principal";
+
+    private final VerifiedTokenCache verifiedTokenCache;
 
     private static final List<String> EXCLUDED_PATHS = List.of(
             "/api/auth/login",
@@ -31,6 +27,10 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
             "/actuator"
     );
 
+    public JwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -50,12 +50,13 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         String token = authHeader.substring(7);
         
         try {
-            Claims claims = validateToken(token);
+            VerifiedPrincipal principal = verifiedTokenCache.verify(token);
+            exchange.getAttributes().put(PRINCIPAL_ATTRIBUTE, principal);
             
             // Add user info to headers for downstream services
             ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-User-Id", claims.getSubject())
-                    .header("X-User-Authorities", String.join(",", getAuthorities(claims)))
+                    .header("X-User-Id", principal.userId())
+                    .header("X-User-Authorities", principal.authorities())
                     .build();
 
             return chain.filter(exchange.mutate().request(modifiedRequest).build());
@@ -65,20 +66,6 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         }
     }
 
-    private Claims validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    @SuppressWarnings("unchecked")
-    private Set<String> getAuthorities(Claims claims) {
-        return (Set<String>) claims.get("authorities");
-    }
-
     private Mono<Void> unauthorizedResponse(ServerWebExchange exchange) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.UNAUTHORIZED);
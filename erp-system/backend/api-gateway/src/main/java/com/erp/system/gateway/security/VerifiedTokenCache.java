@@ -0,0 +1,116 @@
+package com.erp.system.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies access tokens and remembers the outcome. The signing key and
+ * parser are built once; a token that verified before is answered from a
+ * bounded cache until its own expiry, so repeat requests skip the HMAC check
+ * and the claims parsing. Entries are keyed by a SHA-256 of the token so raw
+ * tokens are not kept in memory, and hold the downstream header values
+ * ready to use.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtParser parser;
+    private final Cache<String, VerifiedPrincipal> cache;
+    private final long maxTtlNanos;
+
+    public record VerifiedPrincipal(String userId, String authorities, long expiresAtMillis) {
+    }
+
+    public VerifiedTokenCache(@Value("${app.jwt.secret}") String jwtSecret,
+                              @Value("${app.jwt.cache.max-size:50000}") long maxSize,
+                              @Value("${app.jwt.cache.max-ttl-seconds:900}") long maxTtlSeconds,
+                              MeterRegistry meterRegistry) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
+                .build();
+        this.maxTtlNanos = Duration.ofSeconds(maxTtlSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedPrincipal principal, long currentTime) {
+                        return timeToLive(principal);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedPrincipal principal, long currentTime,
+                                                  long currentDuration) {
+                        return timeToLive(principal);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedPrincipal principal, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.verified-tokens");
+    }
+
+    /**
+     * The principal of a valid token; throws for an invalid or expired one.
+     * Failures are not cached, so a token is never accepted on a stale
+     * negative or positive result past its expiry.
+     */
+    public VerifiedPrincipal verify(String token) {
+        String key = hash(token);
+        VerifiedPrincipal cached = cache.getIfPresent(key);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached;
+        }
+        VerifiedPrincipal principal = toPrincipal(parser.parseClaimsJws(token).getBody());
+        cache.put(key, principal);
+        return principal;
+    }
+
+    private VerifiedPrincipal toPrincipal(Claims claims) {
+        String authorities = "";
+        if (claims.get("authorities") instanceof Collection<?> values) {
+            authorities = values.stream().map(String::valueOf).collect(Collectors.joining(","));
+        }
+        Date expiration = claims.getExpiration();
+        long expiresAt = expiration != null
+                ? expiration.getTime()
+                : System.currentTimeMillis() + Duration.ofNanos(maxTtlNanos).toMillis();
+        return new VerifiedPrincipal(claims.getSubject(), authorities, expiresAt);
+    }
+
+    private long timeToLive(VerifiedPrincipal principal) {
+        long remaining = Duration.ofMillis(principal.expiresAtMillis() - System.currentTimeMillis()).toNanos();
+        return Math.max(0, Math.min(remaining, maxTtlNanos));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
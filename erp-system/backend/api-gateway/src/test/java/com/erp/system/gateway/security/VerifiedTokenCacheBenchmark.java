@@ -0,0 +1,106 @@
+package com.erp.system.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification per request three ways: building the key and parser
+ * for every request as the filter used to, parsing with a shared parser, and
+ * {@link VerifiedTokenCache#verify}. Requests cycle through a working set of
+ * distinct tokens, all of which fit in the cache, so the cached variant
+ * measures the hit path (SHA-256 of the token plus a lookup).
+ *
+ * mvn -Pbenchmark test-compile, then run main() with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerifiedTokenCacheBenchmark {
+
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+
+    @Param({"1", "1000"})
+    private int distinctTokens;
+
+    private String[] tokens;
+    private JwtParser sharedParser;
+    private VerifiedTokenCache cache;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        tokens = new String[distinctTokens];
+        for (int i = 0; i < distinctTokens; i++) {
+            tokens[i] = Jwts.builder()
+                    .setSubject("user" + i)
+                    .claim("authorities", List.of("PURCHASE_READ", "PURCHASE_WRITE", "INVENTORY_READ"))
+                    .setIssuedAt(new Date())
+                    .setExpiration(expiration)
+                    .signWith(key)
+                    .compact();
+        }
+        sharedParser = Jwts.parserBuilder().setSigningKey(key).build();
+        cache = new VerifiedTokenCache(SECRET, 50_000, 900, new SimpleMeterRegistry());
+    }
+
+    private String nextToken() {
+        String token = tokens[next];
+        next = next + 1 == tokens.length ? 0 : next + 1;
+        return token;
+    }
+
+    @Benchmark
+    public Claims parserPerRequest() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(nextToken())
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return sharedParser.parseClaimsJws(nextToken()).getBody();
+    }
+
+    @Benchmark
+    public VerifiedTokenCache.VerifiedPrincipal cachedVerify() {
+        return cache.verify(nextToken());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(VerifiedTokenCacheBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
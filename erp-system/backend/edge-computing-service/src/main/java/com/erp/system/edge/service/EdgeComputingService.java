@@ -8,6 +8,7 @@ import com.erp.system.edge.dto.DeviceMetricsDto;
 import com.erp.system.edge.dto.RealTimeAnalyticsDto;
 import com.erp.system.edge.dto.EdgeNodeStatusDto;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -76,6 +77,7 @@ public class EdgeComputingService {
      * Process incoming sensor data from IoT devices
      */
     @Async
+    @Timed(value = "erp.edge.sensor.data", histogram = true)
     public CompletableFuture<Void> processSensorData(String deviceId, SensorReading reading) {
         return CompletableFuture.runAsync(() -> {
             try {
@@ -0,0 +1,14 @@
+package com.erp.system.finance.config;
+
+import com.erp.system.currency.ExchangeRate;
+import com.erp.system.currency.ExchangeRateService;
+import com.erp.system.finance.FinanceServiceApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+@Configuration
+@EntityScan(basePackageClasses = {FinanceServiceApplication.class, ExchangeRate.class})
+@Import(ExchangeRateService.class)
+public class CurrencyConfig {
+}
@@ -0,0 +1,16 @@
+package com.erp.system.finance.config;
+
+import com.erp.system.finance.FinanceServiceApplication;
+import com.erp.system.scheduling.JobLease;
+import com.erp.system.scheduling.JobLeaseManager;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EntityScan(basePackageClasses = {FinanceServiceApplication.class, JobLease.class})
+@Import(JobLeaseManager.class)
+public class SchedulingConfig {
+}
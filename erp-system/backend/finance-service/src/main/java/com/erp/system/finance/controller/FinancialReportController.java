@@ -0,0 +1,28 @@
+package com.erp.system.finance.controller;
+
+import com.erp.system.finance.dto.ReceivablesReportDto;
+import com.erp.system.finance.service.FinancialReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/finance/reports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class FinancialReportController {
+    
+    private final FinancialReportService financialReportService;
+    
+    @GetMapping("/receivables")
+    public ResponseEntity<ReceivablesReportDto> getReceivablesReport(
+            @RequestParam(defaultValue = "USD") String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        ReceivablesReportDto report = financialReportService.getReceivablesReport(
+                currency, asOf != null ? asOf : LocalDate.now());
+        return ResponseEntity.ok(report);
+    }
+}
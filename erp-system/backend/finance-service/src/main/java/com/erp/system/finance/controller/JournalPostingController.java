@@ -0,0 +1,35 @@
+package com.erp.system.finance.controller;
+
+import com.erp.system.finance.dto.PostingResultDto;
+import com.erp.system.finance.dto.TransactionPostingDto;
+import com.erp.system.finance.service.JournalPostingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@Validated
+@RequestMapping("/api/finance/journal")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class JournalPostingController {
+    
+    private final JournalPostingService journalPostingService;
+    
+    @PostMapping("/postings")
+    public ResponseEntity<PostingResultDto> postTransaction(@Valid @RequestBody TransactionPostingDto transaction) {
+        PostingResultDto result = journalPostingService.postTransaction(transaction);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+    
+    @PostMapping("/postings/batch")
+    public ResponseEntity<PostingResultDto> postTransactions(@RequestBody List<@Valid TransactionPostingDto> transactions) {
+        PostingResultDto result = journalPostingService.postTransactions(transactions);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,24 @@
+package com.erp.system.finance.controller;
+
+import com.erp.system.finance.dto.ReconciliationReportDto;
+import com.erp.system.finance.dto.ReconciliationRequestDto;
+import com.erp.system.finance.service.ReconciliationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/finance/reconciliation")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReconciliationController {
+    
+    private final ReconciliationService reconciliationService;
+    
+    @PostMapping
+    public ResponseEntity<ReconciliationReportDto> reconcile(@Valid @RequestBody ReconciliationRequestDto request) {
+        ReconciliationReportDto report = reconciliationService.reconcile(request);
+        return ResponseEntity.ok(report);
+    }
+}
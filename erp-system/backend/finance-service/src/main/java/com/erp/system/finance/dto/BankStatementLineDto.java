@@ -0,0 +1,30 @@
+package com.erp.system.finance.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class BankStatementLineDto {
+
+    @NotBlank
+    @Size(max = 40)
+    private String lineId;
+
+    @NotNull
+    private LocalDate valueDate;
+
+    @NotNull
+    @Positive
+    private BigDecimal amount;
+
+    @Size(max = 500)
+    private String reference;
+
+    private Long customerId;
+}
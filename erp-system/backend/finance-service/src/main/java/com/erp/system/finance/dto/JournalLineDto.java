@@ -0,0 +1,24 @@
+package com.erp.system.finance.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class JournalLineDto {
+
+    @NotNull
+    private Long accountId;
+
+    @PositiveOrZero
+    private BigDecimal debitAmount = BigDecimal.ZERO;
+
+    @PositiveOrZero
+    private BigDecimal creditAmount = BigDecimal.ZERO;
+
+    @Size(max = 500)
+    private String description;
+}
@@ -0,0 +1,20 @@
+package com.erp.system.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostingResultDto {
+
+    private int postedTransactions;
+    private int journalLines;
+    private int accountsUpdated;
+    private List<Long> transactionIds;
+    private long elapsedMillis;
+    private boolean replayed;
+}
@@ -0,0 +1,18 @@
+package com.erp.system.finance.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+public class ReceivablesReportDto {
+
+    private String reportCurrency;
+    private LocalDate asOfDate;
+    private int openInvoices;
+    private BigDecimal totalOutstanding;
+    private BigDecimal totalOverdue;
+    private Map<String, BigDecimal> outstandingByCurrency;
+}
@@ -0,0 +1,23 @@
+package com.erp.system.finance.dto;
+
+import com.erp.system.finance.enums.MatchType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationMatchDto {
+
+    private String lineId;
+    private MatchType matchType;
+    private BigDecimal amount;
+    private List<Long> invoiceIds;
+    private List<BigDecimal> appliedAmounts;
+    // Part of the line amount above the matched balances, not booked to any invoice
+    private BigDecimal unappliedAmount;
+}
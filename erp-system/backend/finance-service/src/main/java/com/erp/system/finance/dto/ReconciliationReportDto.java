@@ -0,0 +1,27 @@
+package com.erp.system.finance.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ReconciliationReportDto {
+
+    private int totalLines;
+    private int exactMatches;
+    private int fuzzyMatches;
+    private int combinedMatches;
+    private int unmatchedLines;
+    private BigDecimal matchedAmount = BigDecimal.ZERO;
+    private BigDecimal unappliedAmount = BigDecimal.ZERO;
+    private BigDecimal unmatchedAmount = BigDecimal.ZERO;
+    private boolean applied;
+    private int paymentsCreated;
+    private int invoicesUpdated;
+    private long elapsedMillis;
+    private List<ReconciliationMatchDto> matches = new ArrayList<>();
+    private List<String> unmatchedLineIds = new ArrayList<>();
+    private List<String> alreadyReconciledLineIds = new ArrayList<>();
+}
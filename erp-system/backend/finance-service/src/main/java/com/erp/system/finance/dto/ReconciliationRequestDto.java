@@ -0,0 +1,27 @@
+package com.erp.system.finance.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class ReconciliationRequestDto {
+
+    private Long bankAccountId;
+
+    @PositiveOrZero
+    private BigDecimal amountTolerance;
+
+    @PositiveOrZero
+    private Integer dateWindowDays;
+
+    private boolean applyMatches;
+
+    @Valid
+    @NotEmpty
+    private List<BankStatementLineDto> lines;
+}
@@ -0,0 +1,44 @@
+package com.erp.system.finance.dto;
+
+import com.erp.system.finance.enums.TransactionType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class TransactionPostingDto {
+
+    @NotBlank
+    @Size(max = 50)
+    private String transactionNumber;
+
+    @NotNull
+    private LocalDate transactionDate;
+
+    @NotNull
+    private TransactionType transactionType;
+
+    @Size(max = 1000)
+    private String description;
+
+    @Size(max = 500)
+    private String reference;
+
+    @Size(max = 3)
+    private String currencyCode = "USD";
+
+    private BigDecimal exchangeRate = BigDecimal.ONE;
+    private Long customerId;
+    private Long supplierId;
+
+    @Valid
+    @NotEmpty
+    private List<JournalLineDto> lines;
+}
@@ -17,7 +17,9 @@ import java.util.List;
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", indexes = {
+        @Index(name = "idx_invoices_status_due_date", columnList = "status, due_date")
+})
 public class Invoice extends BaseEntity {
     
     @NotBlank
@@ -0,0 +1,7 @@
+package com.erp.system.finance.enums;
+
+public enum MatchType {
+    EXACT,          // Referencia e importe exactos
+    FUZZY,          // Importe con tolerancia y ventana de fechas
+    COMBINED        // Un pago que cubre varias facturas
+}
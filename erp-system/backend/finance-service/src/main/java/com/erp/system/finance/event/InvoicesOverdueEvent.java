@@ -0,0 +1,30 @@
+package com.erp.system.finance.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoicesOverdueEvent {
+
+    private List<OverdueInvoice> invoices;
+    private LocalDateTime detectedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OverdueInvoice {
+        private Long invoiceId;
+        private String invoiceNumber;
+        private Long customerId;
+        private LocalDate dueDate;
+        private BigDecimal balanceDue;
+    }
+}
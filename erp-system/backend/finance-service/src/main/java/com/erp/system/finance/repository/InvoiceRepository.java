@@ -20,10 +20,9 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     
     List<Invoice> findByStatus(InvoiceStatus status);
     
-    List<Invoice> findByCustomerId(Long customerId);
+    List<Invoice> findByStatusOrderByDueDateAsc(InvoiceStatus status);
     
-    @Query("SELECT i FROM Invoice i WHERE i.dueDate < :currentDate AND i.status = 'SENT'")
-    List<Invoice> findOverdueInvoices(@Param("currentDate") LocalDate currentDate);
+    List<Invoice> findByCustomerId(Long customerId);
     
     @Query("SELECT i FROM Invoice i WHERE i.invoiceDate BETWEEN :startDate AND :endDate ORDER BY i.invoiceDate DESC")
     List<Invoice> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
@@ -34,6 +33,9 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     @Query("SELECT SUM(i.balanceDue) FROM Invoice i WHERE i.status IN ('SENT', 'OVERDUE', 'PARTIALLY_PAID')")
     Double getTotalOutstandingAmount();
     
+    @Query("SELECT i FROM Invoice i WHERE i.status IN ('SENT', 'OVERDUE', 'PARTIALLY_PAID') AND i.balanceDue > 0 AND i.active = true")
+    List<Invoice> findOpenInvoices();
+    
     Page<Invoice> findByActiveTrue(Pageable pageable);
     
     boolean existsByInvoiceNumber(String invoiceNumber);
@@ -0,0 +1,19 @@
+package com.erp.system.finance.repository;
+
+import com.erp.system.finance.entity.Payment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+    
+    List<Payment> findByInvoiceId(Long invoiceId);
+    
+    @Query("SELECT p.paymentNumber FROM Payment p WHERE p.paymentNumber IN :paymentNumbers")
+    List<String> findExistingPaymentNumbers(@Param("paymentNumbers") Collection<String> paymentNumbers);
+}
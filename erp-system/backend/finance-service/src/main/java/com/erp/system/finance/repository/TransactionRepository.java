@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,4 +33,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     Page<Transaction> findByActiveTrue(Pageable pageable);
     
     boolean existsByTransactionNumber(String transactionNumber);
+    
+    @Query("SELECT t.transactionNumber, t.id FROM Transaction t WHERE t.transactionNumber IN :transactionNumbers")
+    List<Object[]> findIdsByTransactionNumbers(@Param("transactionNumbers") Collection<String> transactionNumbers);
 }
\ No newline at end of file
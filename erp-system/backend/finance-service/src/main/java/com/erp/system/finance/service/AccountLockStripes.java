@@ -0,0 +1,63 @@
+package com.erp.system.finance.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks shared by all accounts of the chart of accounts.
+ * Postings that touch the same hot account (cash, AR) queue here instead of
+ * piling up on the same chart_of_accounts row lock inside the database.
+ * Stripes are always taken in ascending index order, so two batches can never
+ * deadlock on each other.
+ */
+@Component
+public class AccountLockStripes {
+
+    private final ReentrantLock[] stripes;
+
+    public AccountLockStripes(@Value("${finance.posting.lock-stripes:64}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("finance.posting.lock-stripes must be positive");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public List<ReentrantLock> lockAll(Collection<Long> accountIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long accountId : accountIds) {
+            indexes.add(stripeIndex(accountId));
+        }
+
+        List<ReentrantLock> acquired = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                lock.lock();
+                acquired.add(lock);
+            }
+        } catch (RuntimeException e) {
+            unlockAll(acquired);
+            throw e;
+        }
+        return acquired;
+    }
+
+    public void unlockAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private int stripeIndex(Long accountId) {
+        return Math.floorMod(Long.hashCode(accountId), stripes.length);
+    }
+}
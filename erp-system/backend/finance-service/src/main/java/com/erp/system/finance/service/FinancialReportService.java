@@ -0,0 +1,66 @@
+package com.erp.system.finance.service;
+
+import com.erp.system.currency.ExchangeRateService;
+import com.erp.system.finance.dto.ReceivablesReportDto;
+import com.erp.system.finance.entity.Invoice;
+import com.erp.system.finance.enums.InvoiceStatus;
+import com.erp.system.finance.repository.InvoiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FinancialReportService {
+    
+    private final InvoiceRepository invoiceRepository;
+    private final ExchangeRateService exchangeRateService;
+    
+    @Transactional(readOnly = true)
+    public ReceivablesReportDto getReceivablesReport(String reportCurrency, LocalDate asOfDate) {
+        List<Invoice> invoices = invoiceRepository.findOpenInvoices();
+        int size = invoices.size();
+        
+        BigDecimal[] balances = new BigDecimal[size];
+        String[] currencies = new String[size];
+        LocalDate[] dates = new LocalDate[size];
+        Map<String, BigDecimal> byCurrency = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            Invoice invoice = invoices.get(i);
+            balances[i] = invoice.getBalanceDue();
+            currencies[i] = invoice.getCurrencyCode();
+            dates[i] = asOfDate;
+            byCurrency.merge(invoice.getCurrencyCode(), invoice.getBalanceDue(), BigDecimal::add);
+        }
+        
+        // Balances are revalued at the report date, converted in one pass
+        BigDecimal[] converted = exchangeRateService.convertAll(balances, currencies, dates, reportCurrency);
+        BigDecimal totalOutstanding = exchangeRateService.round(BigDecimal.ZERO, reportCurrency);
+        BigDecimal totalOverdue = totalOutstanding;
+        for (int i = 0; i < size; i++) {
+            totalOutstanding = totalOutstanding.add(converted[i]);
+            if (invoices.get(i).getStatus() == InvoiceStatus.OVERDUE) {
+                totalOverdue = totalOverdue.add(converted[i]);
+            }
+        }
+        
+        ReceivablesReportDto report = new ReceivablesReportDto();
+        report.setReportCurrency(reportCurrency);
+        report.setAsOfDate(asOfDate);
+        report.setOpenInvoices(size);
+        report.setTotalOutstanding(totalOutstanding);
+        report.setTotalOverdue(totalOverdue);
+        report.setOutstandingByCurrency(byCurrency);
+        
+        log.debug("Receivables report in {}: {} open invoices, outstanding {}", reportCurrency, size, totalOutstanding);
+        return report;
+    }
+}
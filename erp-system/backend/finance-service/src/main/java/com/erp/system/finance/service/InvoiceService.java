@@ -1,11 +1,13 @@
 package com.erp.system.finance.service;
 
+import com.erp.system.currency.Money;
 import com.erp.system.finance.dto.InvoiceDto;
 import com.erp.system.finance.dto.InvoiceItemDto;
 import com.erp.system.finance.entity.Invoice;
 import com.erp.system.finance.entity.InvoiceItem;
 import com.erp.system.finance.enums.InvoiceStatus;
 import com.erp.system.finance.repository.InvoiceRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,9 +26,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class InvoiceService {
     
+    private static final RoundingMode AMOUNT_ROUNDING = RoundingMode.HALF_UP;
+    
     private final InvoiceRepository invoiceRepository;
     
     @Transactional
+    @Timed(value = "erp.finance.invoice.create", histogram = true)
     public InvoiceDto createInvoice(InvoiceDto invoiceDto) {
         Invoice invoice = mapToEntity(invoiceDto);
         invoice.setInvoiceNumber(generateInvoiceNumber());
@@ -72,7 +78,7 @@ public class InvoiceService {
     }
     
     public List<InvoiceDto> getOverdueInvoices() {
-        return invoiceRepository.findOverdueInvoices(LocalDate.now())
+        return invoiceRepository.findByStatusOrderByDueDateAsc(InvoiceStatus.OVERDUE)
                 .stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
@@ -101,23 +107,27 @@ public class InvoiceService {
     }
     
     private void calculateTotals(Invoice invoice) {
-        BigDecimal subtotal = invoice.getItems().stream()
-                .map(InvoiceItem::getLineTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal taxAmount = invoice.getItems().stream()
-                .map(InvoiceItem::getTaxAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal discountAmount = invoice.getItems().stream()
-                .map(InvoiceItem::getDiscountAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        invoice.setSubtotal(subtotal);
-        invoice.setTaxAmount(taxAmount);
-        invoice.setDiscountAmount(discountAmount);
-        invoice.setTotalAmount(subtotal.add(taxAmount).subtract(discountAmount));
-        invoice.setBalanceDue(invoice.getTotalAmount().subtract(invoice.getPaidAmount()));
+        int scale = Money.scaleOf(invoice.getCurrencyCode());
+        Money.Accumulator lineTotals = Money.accumulator(scale);
+        Money.Accumulator taxAmount = Money.accumulator(scale);
+        Money.Accumulator discountAmount = Money.accumulator(scale);
+        
+        for (InvoiceItem item : invoice.getItems()) {
+            lineTotals.add(item.getLineTotal(), AMOUNT_ROUNDING);
+            taxAmount.add(item.getTaxAmount(), AMOUNT_ROUNDING);
+            discountAmount.add(item.getDiscountAmount(), AMOUNT_ROUNDING);
+        }
+        
+        // Line totals are net of discount and include tax
+        Money total = lineTotals.toMoney();
+        Money subtotal = total.minus(taxAmount.toMoney()).plus(discountAmount.toMoney());
+        Money paid = Money.of(invoice.getPaidAmount(), scale, AMOUNT_ROUNDING);
+        
+        invoice.setSubtotal(subtotal.toBigDecimal());
+        invoice.setTaxAmount(taxAmount.toBigDecimal());
+        invoice.setDiscountAmount(discountAmount.toBigDecimal());
+        invoice.setTotalAmount(total.toBigDecimal());
+        invoice.setBalanceDue(total.minus(paid).toBigDecimal());
     }
     
     private String generateInvoiceNumber() {
@@ -160,15 +170,16 @@ public class InvoiceService {
         item.setTaxPercentage(dto.getTaxPercentage());
         item.setLineOrder(dto.getLineOrder());
         
-        // Calculate amounts
-        BigDecimal lineSubtotal = dto.getQuantity().multiply(dto.getUnitPrice());
-        BigDecimal discountAmount = lineSubtotal.multiply(dto.getDiscountPercentage()).divide(BigDecimal.valueOf(100));
-        BigDecimal taxableAmount = lineSubtotal.subtract(discountAmount);
-        BigDecimal taxAmount = taxableAmount.multiply(dto.getTaxPercentage()).divide(BigDecimal.valueOf(100));
+        // Calculate amounts in minor units of the invoice currency
+        int scale = Money.scaleOf(invoice.getCurrencyCode());
+        Money lineSubtotal = Money.ofProduct(dto.getUnitPrice(), dto.getQuantity(), scale, AMOUNT_ROUNDING);
+        Money discountAmount = lineSubtotal.percentage(dto.getDiscountPercentage(), AMOUNT_ROUNDING);
+        Money taxableAmount = lineSubtotal.minus(discountAmount);
+        Money taxAmount = taxableAmount.percentage(dto.getTaxPercentage(), AMOUNT_ROUNDING);
         
-        item.setDiscountAmount(discountAmount);
-        item.setTaxAmount(taxAmount);
-        item.setLineTotal(taxableAmount.add(taxAmount));
+        item.setDiscountAmount(discountAmount.toBigDecimal());
+        item.setTaxAmount(taxAmount.toBigDecimal());
+        item.setLineTotal(taxableAmount.plus(taxAmount).toBigDecimal());
         
         return item;
     }
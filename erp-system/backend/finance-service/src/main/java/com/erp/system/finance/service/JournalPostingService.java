@@ -0,0 +1,340 @@
+package com.erp.system.finance.service;
+
+import com.erp.system.finance.dto.JournalLineDto;
+import com.erp.system.finance.dto.PostingResultDto;
+import com.erp.system.finance.dto.TransactionPostingDto;
+import com.erp.system.finance.entity.ChartOfAccounts;
+import com.erp.system.finance.enums.AccountType;
+import com.erp.system.finance.repository.ChartOfAccountsRepository;
+import com.erp.system.finance.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Journal Posting Service
+ * Posts balanced double-entry transactions in batches: validates every
+ * transaction in one pass, nets the lines per account, inserts headers and
+ * journal lines with JDBC batching and applies one balance update per account
+ * in ascending account order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JournalPostingService {
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO transactions (transaction_number, transaction_date, transaction_type, description, " +
+            "reference, total_amount, exchange_rate, currency_code, customer_id, supplier_id, " +
+            "active, version, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, true, 0, ?)";
+
+    private static final String INSERT_JOURNAL_ENTRY_SQL =
+            "INSERT INTO journal_entries (transaction_id, account_id, debit_amount, credit_amount, description, " +
+            "entry_order, active, version, created_at) VALUES (?, ?, ?, ?, ?, ?, true, 0, ?)";
+
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE chart_of_accounts SET current_balance = current_balance + ?, " +
+            "version = COALESCE(version, 0) + 1, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChartOfAccountsRepository chartOfAccountsRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountLockStripes accountLockStripes;
+
+    @Value("${finance.posting.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    public PostingResultDto postTransaction(TransactionPostingDto transaction) {
+        return postTransactions(List.of(transaction));
+    }
+
+    public PostingResultDto postTransactions(List<TransactionPostingDto> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            throw new RuntimeException("Posting batch must contain at least one transaction");
+        }
+
+        long startTime = System.nanoTime();
+        PostingPlan plan = validateAndGroup(transactions);
+
+        // A retried batch is answered from the rows the first attempt committed
+        List<Long> postedIds = findPostedIds(transactions);
+        if (postedIds != null) {
+            return replayResult(transactions, plan, postedIds, startTime);
+        }
+
+        // Stripes are held until the database transaction has committed
+        List<ReentrantLock> locks = accountLockStripes.lockAll(plan.accountTotals().keySet());
+        PersistResult persisted;
+        try {
+            persisted = transactionTemplate.execute(status -> persist(transactions, plan));
+        } finally {
+            accountLockStripes.unlockAll(locks);
+        }
+        if (persisted.replayed()) {
+            return replayResult(transactions, plan, persisted.transactionIds(), startTime);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        log.info("Posted {} transactions with {} journal lines across {} accounts in {}ms",
+                transactions.size(), plan.lineCount(), plan.accountTotals().size(), elapsedMillis);
+
+        return new PostingResultDto(transactions.size(), plan.lineCount(), plan.accountTotals().size(),
+                persisted.transactionIds(), elapsedMillis, false);
+    }
+
+    private PostingResultDto replayResult(List<TransactionPostingDto> transactions, PostingPlan plan,
+                                          List<Long> transactionIds, long startTime) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        log.info("Batch of {} transactions was already posted, returning the original transaction ids",
+                transactions.size());
+        return new PostingResultDto(transactions.size(), plan.lineCount(), plan.accountTotals().size(),
+                transactionIds, elapsedMillis, true);
+    }
+
+    /**
+     * Returns the ids of an already posted batch in batch order, or null when
+     * none of its transactions exist. A batch that is only partly posted is
+     * not a retry of the same request and is rejected.
+     */
+    private List<Long> findPostedIds(List<TransactionPostingDto> transactions) {
+        List<String> numbers = transactions.stream().map(TransactionPostingDto::getTransactionNumber).toList();
+        Map<String, Long> existing = new HashMap<>();
+        for (Object[] row : transactionRepository.findIdsByTransactionNumbers(numbers)) {
+            existing.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        if (existing.isEmpty()) {
+            return null;
+        }
+        if (existing.size() != numbers.size()) {
+            List<String> posted = numbers.stream().filter(existing::containsKey).toList();
+            throw new RuntimeException("Transactions already posted: " + posted);
+        }
+        return numbers.stream().map(existing::get).toList();
+    }
+
+    private PostingPlan validateAndGroup(List<TransactionPostingDto> transactions) {
+        Map<Long, BigDecimal[]> accountTotals = new TreeMap<>();
+        List<BigDecimal> transactionTotals = new ArrayList<>(transactions.size());
+        Set<String> transactionNumbers = new HashSet<>();
+        int lineCount = 0;
+
+        for (TransactionPostingDto transaction : transactions) {
+            if (transaction == null) {
+                throw new RuntimeException("Posting batch contains an empty transaction");
+            }
+            String number = transaction.getTransactionNumber();
+            if (number == null || number.isBlank()) {
+                throw new RuntimeException("Transaction number is required");
+            }
+            if (!transactionNumbers.add(number)) {
+                throw new RuntimeException("Duplicate transaction number in batch: " + number);
+            }
+            if (transaction.getTransactionDate() == null) {
+                throw new RuntimeException("Transaction " + number + " has no transaction date");
+            }
+            if (transaction.getTransactionType() == null) {
+                throw new RuntimeException("Transaction " + number + " has no transaction type");
+            }
+            if (transaction.getLines() == null || transaction.getLines().size() < 2) {
+                throw new RuntimeException("Transaction " + number + " must have at least two journal lines");
+            }
+
+            BigDecimal debits = BigDecimal.ZERO;
+            BigDecimal credits = BigDecimal.ZERO;
+            for (JournalLineDto line : transaction.getLines()) {
+                if (line == null) {
+                    throw new RuntimeException("Transaction " + number + " has an empty journal line");
+                }
+                BigDecimal debit = amountOrZero(line.getDebitAmount());
+                BigDecimal credit = amountOrZero(line.getCreditAmount());
+
+                if (line.getAccountId() == null) {
+                    throw new RuntimeException("Transaction " + number + " has a journal line without account");
+                }
+                if (debit.signum() < 0 || credit.signum() < 0) {
+                    throw new RuntimeException("Transaction " + number + " has a negative journal amount");
+                }
+                if ((debit.signum() > 0) == (credit.signum() > 0)) {
+                    throw new RuntimeException("Transaction " + number +
+                            " has a journal line that is not exactly one of debit or credit");
+                }
+
+                debits = debits.add(debit);
+                credits = credits.add(credit);
+
+                BigDecimal[] totals = accountTotals.computeIfAbsent(line.getAccountId(),
+                        id -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+                totals[0] = totals[0].add(debit);
+                totals[1] = totals[1].add(credit);
+                lineCount++;
+            }
+
+            if (debits.compareTo(credits) != 0) {
+                throw new RuntimeException("Transaction " + number + " is unbalanced: debits " + debits +
+                        " != credits " + credits);
+            }
+            transactionTotals.add(debits);
+        }
+
+        return new PostingPlan(accountTotals, transactionTotals, lineCount);
+    }
+
+    private PersistResult persist(List<TransactionPostingDto> transactions, PostingPlan plan) {
+        // Checked again under the stripes: an identical retry may have committed in the meantime
+        List<Long> postedIds = findPostedIds(transactions);
+        if (postedIds != null) {
+            return new PersistResult(postedIds, true);
+        }
+
+        Map<Long, ChartOfAccounts> accounts = loadPostingAccounts(plan);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> transactionIds = insertTransactions(transactions, plan.transactionTotals(), now);
+        insertJournalEntries(transactions, transactionIds, now);
+        updateBalances(plan.accountTotals(), accounts, now);
+
+        return new PersistResult(transactionIds, false);
+    }
+
+    private Map<Long, ChartOfAccounts> loadPostingAccounts(PostingPlan plan) {
+        Map<Long, ChartOfAccounts> accounts = chartOfAccountsRepository.findAllById(plan.accountTotals().keySet())
+                .stream()
+                .collect(Collectors.toMap(ChartOfAccounts::getId, Function.identity()));
+
+        for (Long accountId : plan.accountTotals().keySet()) {
+            ChartOfAccounts account = accounts.get(accountId);
+            if (account == null) {
+                throw new RuntimeException("Account not found: " + accountId);
+            }
+            if (Boolean.TRUE.equals(account.getIsHeader()) || !Boolean.TRUE.equals(account.getActive())) {
+                throw new RuntimeException("Account " + account.getAccountCode() + " does not accept postings");
+            }
+        }
+        return accounts;
+    }
+
+    private List<Long> insertTransactions(List<TransactionPostingDto> transactions,
+                                          List<BigDecimal> transactionTotals, LocalDateTime now) {
+        Timestamp createdAt = Timestamp.valueOf(now);
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TRANSACTION_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        TransactionPostingDto transaction = transactions.get(i);
+                        ps.setString(1, transaction.getTransactionNumber());
+                        ps.setDate(2, Date.valueOf(transaction.getTransactionDate()));
+                        ps.setString(3, transaction.getTransactionType().name());
+                        ps.setString(4, transaction.getDescription());
+                        ps.setString(5, transaction.getReference());
+                        ps.setBigDecimal(6, transactionTotals.get(i));
+                        ps.setBigDecimal(7, transaction.getExchangeRate() != null
+                                ? transaction.getExchangeRate() : BigDecimal.ONE);
+                        ps.setString(8, transaction.getCurrencyCode() != null
+                                ? transaction.getCurrencyCode() : "USD");
+                        ps.setObject(9, transaction.getCustomerId(), Types.BIGINT);
+                        ps.setObject(10, transaction.getSupplierId(), Types.BIGINT);
+                        ps.setTimestamp(11, createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size();
+                    }
+                },
+                keyHolder);
+
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.get("id")).longValue())
+                .toList();
+    }
+
+    private void insertJournalEntries(List<TransactionPostingDto> transactions, List<Long> transactionIds,
+                                      LocalDateTime now) {
+        Timestamp createdAt = Timestamp.valueOf(now);
+        List<PendingLine> pendingLines = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            List<JournalLineDto> lines = transactions.get(i).getLines();
+            for (int order = 0; order < lines.size(); order++) {
+                pendingLines.add(new PendingLine(transactionIds.get(i), lines.get(order), order + 1));
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_JOURNAL_ENTRY_SQL, pendingLines, jdbcBatchSize, (ps, pending) -> {
+            ps.setLong(1, pending.transactionId());
+            ps.setLong(2, pending.line().getAccountId());
+            ps.setBigDecimal(3, amountOrZero(pending.line().getDebitAmount()));
+            ps.setBigDecimal(4, amountOrZero(pending.line().getCreditAmount()));
+            ps.setString(5, pending.line().getDescription());
+            ps.setInt(6, pending.entryOrder());
+            ps.setTimestamp(7, createdAt);
+        });
+    }
+
+    private void updateBalances(Map<Long, BigDecimal[]> accountTotals, Map<Long, ChartOfAccounts> accounts,
+                                LocalDateTime now) {
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        List<Object[]> updates = new ArrayList<>(accountTotals.size());
+
+        // accountTotals is sorted by account id, so row locks are always taken in the same order
+        accountTotals.forEach((accountId, totals) -> {
+            BigDecimal delta = balanceDelta(accounts.get(accountId).getAccountType(), totals[0], totals[1]);
+            if (delta.signum() != 0) {
+                updates.add(new Object[] {delta, updatedAt, accountId});
+            }
+        });
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, updates);
+        }
+    }
+
+    private BigDecimal balanceDelta(AccountType accountType, BigDecimal debit, BigDecimal credit) {
+        return switch (accountType) {
+            case ASSET, EXPENSE, COST_OF_SALES -> debit.subtract(credit);
+            case LIABILITY, EQUITY, REVENUE -> credit.subtract(debit);
+        };
+    }
+
+    private static BigDecimal amountOrZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+
+    private record PostingPlan(Map<Long, BigDecimal[]> accountTotals, List<BigDecimal> transactionTotals,
+                               int lineCount) {
+    }
+
+    private record PersistResult(List<Long> transactionIds, boolean replayed) {
+    }
+
+    private record PendingLine(long transactionId, JournalLineDto line, int entryOrder) {
+    }
+}
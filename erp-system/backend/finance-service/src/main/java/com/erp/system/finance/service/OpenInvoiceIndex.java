@@ -0,0 +1,146 @@
+package com.erp.system.finance.service;
+
+import com.erp.system.finance.entity.Invoice;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Hash indexes over the open invoices of one reconciliation run: by
+ * normalised invoice number, by customer and by amount bucket. Amounts are
+ * kept in cents so lookups never depend on BigDecimal scale, and remaining
+ * balances are tracked here so an invoice is never allocated twice.
+ */
+class OpenInvoiceIndex {
+
+    private static final Pattern REFERENCE_SEPARATORS = Pattern.compile("[\\s,;/|:]+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^A-Z0-9]");
+
+    static final class Candidate {
+        final Long invoiceId;
+        final Long customerId;
+        final LocalDate invoiceDate;
+        final LocalDate dueDate;
+        long remainingCents;
+
+        private Candidate(Invoice invoice) {
+            this.invoiceId = invoice.getId();
+            this.customerId = invoice.getCustomerId();
+            this.invoiceDate = invoice.getInvoiceDate();
+            this.dueDate = invoice.getDueDate();
+            this.remainingCents = toCents(invoice.getBalanceDue());
+        }
+
+        boolean isOpen() {
+            return remainingCents > 0;
+        }
+    }
+
+    private final long bucketWidth;
+    private final Map<String, Candidate> byReference;
+    private final Map<Long, List<Candidate>> byCustomer;
+    private final Map<Long, List<Candidate>> byAmountBucket;
+
+    OpenInvoiceIndex(List<Invoice> invoices, long toleranceCents) {
+        this.bucketWidth = Math.max(toleranceCents, 1);
+        this.byReference = new HashMap<>(invoices.size() * 2);
+        this.byCustomer = new HashMap<>();
+        this.byAmountBucket = new HashMap<>(invoices.size() * 2);
+
+        for (Invoice invoice : invoices) {
+            Candidate candidate = new Candidate(invoice);
+            byReference.put(normalize(invoice.getInvoiceNumber()), candidate);
+            byCustomer.computeIfAbsent(candidate.customerId, id -> new ArrayList<>()).add(candidate);
+            if (candidate.isOpen()) {
+                byAmountBucket.computeIfAbsent(bucketOf(candidate.remainingCents), key -> new ArrayList<>())
+                        .add(candidate);
+            }
+        }
+    }
+
+    /**
+     * Books part of the candidate's remaining balance and moves it to the
+     * bucket of what is left, so later lines of the same run find it by its
+     * new balance and a settled invoice drops out of the amount lookup.
+     */
+    void settle(Candidate candidate, long cents) {
+        if (cents <= 0) {
+            return;
+        }
+        long previousBucket = bucketOf(candidate.remainingCents);
+        candidate.remainingCents -= cents;
+        long bucket = bucketOf(candidate.remainingCents);
+        if (bucket == previousBucket && candidate.isOpen()) {
+            return;
+        }
+        List<Candidate> previous = byAmountBucket.get(previousBucket);
+        if (previous != null) {
+            previous.remove(candidate);
+            if (previous.isEmpty()) {
+                byAmountBucket.remove(previousBucket);
+            }
+        }
+        if (candidate.isOpen()) {
+            byAmountBucket.computeIfAbsent(bucket, key -> new ArrayList<>()).add(candidate);
+        }
+    }
+
+    Candidate findByReference(String reference) {
+        if (reference == null || reference.isBlank()) {
+            return null;
+        }
+        Candidate candidate = byReference.get(normalize(reference));
+        if (candidate != null) {
+            return candidate;
+        }
+        for (String token : REFERENCE_SEPARATORS.split(reference)) {
+            candidate = byReference.get(normalize(token));
+            if (candidate != null) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Candidates whose remaining balance may lie within the tolerance of the
+     * given amount: with buckets as wide as the tolerance only the bucket of
+     * the amount and its two neighbours need to be inspected.
+     */
+    List<Candidate> findByAmount(long amountCents) {
+        long bucket = bucketOf(amountCents);
+        List<Candidate> result = new ArrayList<>();
+        for (long key = bucket - 1; key <= bucket + 1; key++) {
+            result.addAll(byAmountBucket.getOrDefault(key, Collections.emptyList()));
+        }
+        return result;
+    }
+
+    List<Candidate> findByCustomer(Long customerId) {
+        return byCustomer.getOrDefault(customerId, Collections.emptyList());
+    }
+
+    private long bucketOf(long cents) {
+        return cents / bucketWidth;
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : NON_ALPHANUMERIC.matcher(value.toUpperCase(Locale.ROOT)).replaceAll("");
+    }
+}
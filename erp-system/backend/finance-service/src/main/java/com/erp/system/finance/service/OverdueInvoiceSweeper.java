@@ -0,0 +1,146 @@
+package com.erp.system.finance.service;
+
+import com.erp.system.finance.event.InvoicesOverdueEvent;
+import com.erp.system.finance.event.InvoicesOverdueEvent.OverdueInvoice;
+import com.erp.system.scheduling.JobLeaseManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Overdue Invoice Sweeper
+ * Moves SENT and PARTIALLY_PAID invoices whose due date has passed to OVERDUE,
+ * so overdue lists are read from the (status, due_date) index instead of
+ * re-filtering dates per request. Each run only scans invoices that became due
+ * since the previous run or were modified after it, tracked by the high-water
+ * mark of a database lease that also keeps replicas from sweeping concurrently.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OverdueInvoiceSweeper {
+
+    private static final String JOB_NAME = "finance.overdue-invoices";
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT id, invoice_number, customer_id, due_date, balance_due FROM invoices " +
+            "WHERE status IN ('SENT', 'PARTIALLY_PAID') AND due_date < ? AND (due_date, id) > (?, ?) " +
+            "ORDER BY due_date, id LIMIT ?";
+
+    private static final String SELECT_INCREMENTAL_SQL =
+            "SELECT id, invoice_number, customer_id, due_date, balance_due FROM invoices " +
+            "WHERE status IN ('SENT', 'PARTIALLY_PAID') AND due_date < ? AND (due_date, id) > (?, ?) " +
+            "AND (due_date >= ? OR updated_at >= ?) " +
+            "ORDER BY due_date, id LIMIT ?";
+
+    private static final String MARK_OVERDUE_SQL =
+            "UPDATE invoices SET status = 'OVERDUE', version = COALESCE(version, 0) + 1, updated_at = ? " +
+            "WHERE id = ? AND status IN ('SENT', 'PARTIALLY_PAID')";
+
+    private static final RowMapper<OverdueInvoice> OVERDUE_INVOICE_MAPPER = (rs, rowNum) -> new OverdueInvoice(
+            rs.getLong("id"),
+            rs.getString("invoice_number"),
+            rs.getLong("customer_id"),
+            rs.getDate("due_date").toLocalDate(),
+            rs.getBigDecimal("balance_due"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseManager jobLeaseManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${finance.overdue-sweep.batch-size:500}")
+    private int batchSize;
+
+    @Value("${finance.overdue-sweep.lease-minutes:10}")
+    private long leaseMinutes;
+
+    @Scheduled(fixedDelayString = "${finance.overdue-sweep.interval-ms:300000}",
+               initialDelayString = "${finance.overdue-sweep.initial-delay-ms:60000}")
+    public void sweep() {
+        if (!jobLeaseManager.tryAcquire(JOB_NAME, Duration.ofMinutes(leaseMinutes))) {
+            return;
+        }
+        try {
+            LocalDateTime runStartedAt = LocalDateTime.now();
+            LocalDateTime lastRun = jobLeaseManager.getHighWaterMark(JOB_NAME);
+            int marked = sweepOverdue(runStartedAt.toLocalDate(), lastRun);
+
+            if (!jobLeaseManager.advanceHighWaterMark(JOB_NAME, runStartedAt)) {
+                log.warn("Lease for {} expired during the sweep, high-water mark not advanced", JOB_NAME);
+            }
+            if (marked > 0) {
+                log.info("Marked {} invoices as overdue (incremental: {})", marked, lastRun != null);
+            }
+        } catch (Exception e) {
+            log.error("Overdue invoice sweep failed", e);
+        } finally {
+            jobLeaseManager.release(JOB_NAME);
+        }
+    }
+
+    private int sweepOverdue(LocalDate today, LocalDateTime lastRun) {
+        Date dueBefore = Date.valueOf(today);
+        Date afterDueDate = Date.valueOf(LocalDate.of(1900, 1, 1));
+        long afterId = 0;
+        int marked = 0;
+
+        while (true) {
+            List<OverdueInvoice> batch = lastRun == null
+                    ? jdbcTemplate.query(SELECT_ALL_SQL, OVERDUE_INVOICE_MAPPER,
+                            dueBefore, afterDueDate, afterId, batchSize)
+                    : jdbcTemplate.query(SELECT_INCREMENTAL_SQL, OVERDUE_INVOICE_MAPPER,
+                            dueBefore, afterDueDate, afterId,
+                            Date.valueOf(lastRun.toLocalDate()), Timestamp.valueOf(lastRun), batchSize);
+            if (batch.isEmpty()) {
+                return marked;
+            }
+
+            Integer updated = transactionTemplate.execute(status -> markOverdue(batch));
+            marked += updated != null ? updated : 0;
+
+            OverdueInvoice last = batch.get(batch.size() - 1);
+            afterDueDate = Date.valueOf(last.getDueDate());
+            afterId = last.getInvoiceId();
+            if (batch.size() < batchSize) {
+                return marked;
+            }
+        }
+    }
+
+    private int markOverdue(List<OverdueInvoice> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(batch.size());
+        for (OverdueInvoice invoice : batch) {
+            updates.add(new Object[] {now, invoice.getInvoiceId()});
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(MARK_OVERDUE_SQL, updates);
+        List<OverdueInvoice> overdue = new ArrayList<>(batch.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                overdue.add(batch.get(i));
+            }
+        }
+
+        // One event per batch; listeners run inside the same transaction
+        if (!overdue.isEmpty()) {
+            eventPublisher.publishEvent(new InvoicesOverdueEvent(overdue, now.toLocalDateTime()));
+        }
+        return overdue.size();
+    }
+}
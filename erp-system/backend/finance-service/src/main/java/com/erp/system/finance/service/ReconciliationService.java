@@ -0,0 +1,409 @@
+package com.erp.system.finance.service;
+
+import com.erp.system.finance.dto.BankStatementLineDto;
+import com.erp.system.finance.dto.ReconciliationMatchDto;
+import com.erp.system.finance.dto.ReconciliationReportDto;
+import com.erp.system.finance.dto.ReconciliationRequestDto;
+import com.erp.system.finance.enums.MatchType;
+import com.erp.system.finance.repository.InvoiceRepository;
+import com.erp.system.finance.repository.PaymentRepository;
+import com.erp.system.finance.service.OpenInvoiceIndex.Candidate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reconciliation Service
+ * Matches bank statement lines against open invoices in three stages over
+ * in-memory hash indexes: exact (invoice reference), fuzzy (amount tolerance
+ * and date window) and combined (one payment settling several invoices of the
+ * same customer). Matched lines can be applied as payments in JDBC batches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliationService {
+
+    private static final String PAYMENT_NUMBER_PREFIX = "REC-";
+    private static final String PAYMENT_METHOD = "BANK_TRANSFER";
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final int PAYMENT_NUMBER_MAX_LENGTH = 50;
+
+    private static final String INSERT_PAYMENT_SQL =
+            "INSERT INTO payments (payment_number, payment_date, invoice_id, amount, payment_method, " +
+            "reference_number, notes, bank_account_id, active, version, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, true, 0, ?)";
+
+    private static final String APPLY_PAYMENT_SQL =
+            "UPDATE invoices SET paid_amount = paid_amount + ?, balance_due = balance_due - ?, " +
+            "status = CASE WHEN balance_due - ? <= 0 THEN 'PAID' WHEN status = 'OVERDUE' THEN 'OVERDUE' " +
+            "ELSE 'PARTIALLY_PAID' END, " +
+            "version = COALESCE(version, 0) + 1, updated_at = ? " +
+            "WHERE id = ? AND balance_due >= ? AND status IN ('SENT', 'OVERDUE', 'PARTIALLY_PAID')";
+
+    private final InvoiceRepository invoiceRepository;
+    private final PaymentRepository paymentRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${finance.reconciliation.amount-tolerance:0.50}")
+    private BigDecimal defaultAmountTolerance;
+
+    @Value("${finance.reconciliation.date-window-days:5}")
+    private int defaultDateWindowDays;
+
+    @Value("${finance.reconciliation.combined-max-invoices:4}")
+    private int combinedMaxInvoices;
+
+    @Value("${finance.reconciliation.combined-candidate-limit:20}")
+    private int combinedCandidateLimit;
+
+    @Value("${finance.posting.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    @Transactional
+    public ReconciliationReportDto reconcile(ReconciliationRequestDto request) {
+        long startTime = System.nanoTime();
+        List<BankStatementLineDto> lines = request.getLines();
+        long toleranceCents = OpenInvoiceIndex.toCents(request.getAmountTolerance() != null
+                ? request.getAmountTolerance() : defaultAmountTolerance);
+        int dateWindowDays = request.getDateWindowDays() != null
+                ? request.getDateWindowDays() : defaultDateWindowDays;
+
+        Set<String> lineIds = new HashSet<>();
+        for (BankStatementLineDto line : lines) {
+            if (!lineIds.add(line.getLineId())) {
+                throw new RuntimeException("Duplicate statement line: " + line.getLineId());
+            }
+        }
+        Set<String> reconciledLineIds = findReconciledLineIds(lines, request.getBankAccountId());
+
+        OpenInvoiceIndex index = new OpenInvoiceIndex(invoiceRepository.findOpenInvoices(), toleranceCents);
+        LineMatch[] matches = new LineMatch[lines.size()];
+
+        // Stage 1: reference hits settle the invoice they name
+        for (int i = 0; i < lines.size(); i++) {
+            BankStatementLineDto line = lines.get(i);
+            if (reconciledLineIds.contains(line.getLineId())) {
+                continue;
+            }
+            Candidate candidate = index.findByReference(line.getReference());
+            long amountCents = OpenInvoiceIndex.toCents(line.getAmount());
+            if (candidate != null && candidate.isOpen() && sameCustomer(line, candidate)
+                    && amountCents <= candidate.remainingCents + toleranceCents) {
+                matches[i] = allocate(index, MatchType.EXACT, List.of(candidate), amountCents);
+            }
+        }
+
+        // Stage 2: closest open balance within tolerance and date window
+        for (int i = 0; i < lines.size(); i++) {
+            BankStatementLineDto line = lines.get(i);
+            if (matches[i] != null || reconciledLineIds.contains(line.getLineId())) {
+                continue;
+            }
+            long amountCents = OpenInvoiceIndex.toCents(line.getAmount());
+            Candidate best = null;
+            long bestScore = Long.MAX_VALUE;
+            for (Candidate candidate : index.findByAmount(amountCents)) {
+                long difference = Math.abs(candidate.remainingCents - amountCents);
+                if (!candidate.isOpen() || difference > toleranceCents || !sameCustomer(line, candidate)
+                        || !withinDateWindow(line.getValueDate(), candidate, dateWindowDays)) {
+                    continue;
+                }
+                long score = difference * 1000
+                        + Math.abs(ChronoUnit.DAYS.between(candidate.dueDate, line.getValueDate()));
+                if (score < bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+            if (best != null) {
+                matches[i] = allocate(index, MatchType.FUZZY, List.of(best), amountCents);
+            }
+        }
+
+        // Stage 3: one payment covering several open invoices of the same customer
+        for (int i = 0; i < lines.size(); i++) {
+            BankStatementLineDto line = lines.get(i);
+            if (matches[i] != null || line.getCustomerId() == null
+                    || reconciledLineIds.contains(line.getLineId())) {
+                continue;
+            }
+            List<Candidate> combination = findCombination(line, index, toleranceCents, dateWindowDays);
+            if (combination != null) {
+                matches[i] = allocate(index, MatchType.COMBINED, combination,
+                        OpenInvoiceIndex.toCents(line.getAmount()));
+            }
+        }
+
+        ReconciliationReportDto report = buildReport(lines, matches, reconciledLineIds);
+        if (request.isApplyMatches()) {
+            applyMatches(lines, matches, request.getBankAccountId(), report);
+        }
+
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        log.info("Reconciled {} statement lines: {} exact, {} fuzzy, {} combined, {} unmatched in {}ms",
+                report.getTotalLines(), report.getExactMatches(), report.getFuzzyMatches(),
+                report.getCombinedMatches(), report.getUnmatchedLines(), report.getElapsedMillis());
+        return report;
+    }
+
+    private List<Candidate> findCombination(BankStatementLineDto line, OpenInvoiceIndex index,
+                                            long toleranceCents, int dateWindowDays) {
+        long amountCents = OpenInvoiceIndex.toCents(line.getAmount());
+        List<Candidate> candidates = index.findByCustomer(line.getCustomerId()).stream()
+                .filter(Candidate::isOpen)
+                .filter(candidate -> candidate.remainingCents <= amountCents + toleranceCents)
+                .filter(candidate -> !line.getValueDate().isBefore(candidate.invoiceDate.minusDays(dateWindowDays)))
+                .sorted(Comparator.comparing((Candidate candidate) -> candidate.dueDate)
+                        .thenComparing(candidate -> candidate.invoiceId))
+                .limit(combinedCandidateLimit)
+                .toList();
+        if (candidates.size() < 2) {
+            return null;
+        }
+
+        // Customers usually settle their oldest invoices first
+        long runningTotal = 0;
+        for (int i = 0; i < candidates.size() && i < combinedMaxInvoices; i++) {
+            runningTotal += candidates.get(i).remainingCents;
+            if (i > 0 && Math.abs(runningTotal - amountCents) <= toleranceCents) {
+                return new ArrayList<>(candidates.subList(0, i + 1));
+            }
+        }
+
+        List<Candidate> selection = new ArrayList<>();
+        return searchCombination(candidates, 0, amountCents, toleranceCents, selection) ? selection : null;
+    }
+
+    private boolean searchCombination(List<Candidate> candidates, int start, long remainingCents,
+                                      long toleranceCents, List<Candidate> selection) {
+        if (selection.size() >= 2 && Math.abs(remainingCents) <= toleranceCents) {
+            return true;
+        }
+        if (selection.size() == combinedMaxInvoices || remainingCents < -toleranceCents) {
+            return false;
+        }
+        for (int i = start; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            selection.add(candidate);
+            if (searchCombination(candidates, i + 1, remainingCents - candidate.remainingCents,
+                    toleranceCents, selection)) {
+                return true;
+            }
+            selection.remove(selection.size() - 1);
+        }
+        return false;
+    }
+
+    /**
+     * Books the line against the invoices in order. A short payment leaves
+     * the last invoice open; an overpayment within the tolerance settles the
+     * invoices and leaves the excess unapplied on the line.
+     */
+    private LineMatch allocate(OpenInvoiceIndex index, MatchType matchType, List<Candidate> invoices,
+                               long amountCents) {
+        long[] appliedCents = new long[invoices.size()];
+        long unallocated = amountCents;
+        for (int i = 0; i < invoices.size(); i++) {
+            Candidate candidate = invoices.get(i);
+            // Never book more than the bank line actually paid
+            long applied = Math.max(0, Math.min(unallocated, candidate.remainingCents));
+            index.settle(candidate, applied);
+            appliedCents[i] = applied;
+            unallocated -= applied;
+        }
+        return new LineMatch(matchType, invoices.stream().map(candidate -> candidate.invoiceId).toList(),
+                appliedCents, unallocated);
+    }
+
+    private ReconciliationReportDto buildReport(List<BankStatementLineDto> lines, LineMatch[] matches,
+                                                Set<String> reconciledLineIds) {
+        ReconciliationReportDto report = new ReconciliationReportDto();
+        report.setTotalLines(lines.size());
+        long matchedCents = 0;
+        long unappliedCents = 0;
+        BigDecimal unmatchedAmount = BigDecimal.ZERO;
+
+        for (int i = 0; i < lines.size(); i++) {
+            BankStatementLineDto line = lines.get(i);
+            LineMatch match = matches[i];
+            if (reconciledLineIds.contains(line.getLineId())) {
+                report.getAlreadyReconciledLineIds().add(line.getLineId());
+                continue;
+            }
+            if (match == null) {
+                report.getUnmatchedLineIds().add(line.getLineId());
+                unmatchedAmount = unmatchedAmount.add(line.getAmount());
+                continue;
+            }
+
+            switch (match.matchType()) {
+                case EXACT -> report.setExactMatches(report.getExactMatches() + 1);
+                case FUZZY -> report.setFuzzyMatches(report.getFuzzyMatches() + 1);
+                case COMBINED -> report.setCombinedMatches(report.getCombinedMatches() + 1);
+            }
+            List<BigDecimal> appliedAmounts = new ArrayList<>(match.appliedCents().length);
+            for (long cents : match.appliedCents()) {
+                appliedAmounts.add(OpenInvoiceIndex.fromCents(cents));
+                matchedCents += cents;
+            }
+            report.getMatches().add(new ReconciliationMatchDto(line.getLineId(), match.matchType(),
+                    line.getAmount(), match.invoiceIds(), appliedAmounts,
+                    OpenInvoiceIndex.fromCents(match.unappliedCents())));
+            unappliedCents += match.unappliedCents();
+        }
+
+        report.setUnmatchedLines(report.getUnmatchedLineIds().size());
+        // Only what was booked against invoices counts as matched; overpayments are reported apart
+        report.setMatchedAmount(OpenInvoiceIndex.fromCents(matchedCents));
+        report.setUnappliedAmount(OpenInvoiceIndex.fromCents(unappliedCents));
+        report.setUnmatchedAmount(unmatchedAmount);
+        return report;
+    }
+
+    private void applyMatches(List<BankStatementLineDto> lines, LineMatch[] matches, Long bankAccountId,
+                              ReconciliationReportDto report) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> payments = new ArrayList<>();
+        Map<Long, Long> appliedPerInvoice = new TreeMap<>();
+
+        for (int i = 0; i < lines.size(); i++) {
+            LineMatch match = matches[i];
+            if (match == null) {
+                continue;
+            }
+            BankStatementLineDto line = lines.get(i);
+            for (int j = 0; j < match.invoiceIds().size(); j++) {
+                long cents = match.appliedCents()[j];
+                if (cents <= 0) {
+                    continue;
+                }
+                Long invoiceId = match.invoiceIds().get(j);
+                payments.add(new Object[] {
+                        paymentNumber(bankAccountId, line.getLineId(), j + 1),
+                        Date.valueOf(line.getValueDate()),
+                        invoiceId,
+                        OpenInvoiceIndex.fromCents(cents),
+                        PAYMENT_METHOD,
+                        truncate(line.getReference(), 100),
+                        "Bank reconciliation (" + match.matchType() + ")",
+                        bankAccountId,
+                        now
+                });
+                appliedPerInvoice.merge(invoiceId, cents, Long::sum);
+            }
+        }
+
+        if (!payments.isEmpty()) {
+            int[] paymentTypes = {Types.VARCHAR, Types.DATE, Types.BIGINT, Types.NUMERIC, Types.VARCHAR,
+                    Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.TIMESTAMP};
+            for (int from = 0; from < payments.size(); from += jdbcBatchSize) {
+                List<Object[]> chunk = payments.subList(from, Math.min(from + jdbcBatchSize, payments.size()));
+                jdbcTemplate.batchUpdate(INSERT_PAYMENT_SQL, chunk, paymentTypes);
+            }
+        }
+
+        // Invoice rows are updated in ascending id order to keep row lock order stable
+        List<Object[]> invoiceUpdates = new ArrayList<>(appliedPerInvoice.size());
+        List<Long> invoiceIds = new ArrayList<>(appliedPerInvoice.size());
+        appliedPerInvoice.forEach((invoiceId, cents) -> {
+            BigDecimal amount = OpenInvoiceIndex.fromCents(cents);
+            invoiceUpdates.add(new Object[] {amount, amount, amount, now, invoiceId, amount});
+            invoiceIds.add(invoiceId);
+        });
+        for (int from = 0; from < invoiceUpdates.size(); from += jdbcBatchSize) {
+            int to = Math.min(from + jdbcBatchSize, invoiceUpdates.size());
+            int[] counts = jdbcTemplate.batchUpdate(APPLY_PAYMENT_SQL, invoiceUpdates.subList(from, to));
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    throw new RuntimeException("Invoice " + invoiceIds.get(from + i) +
+                            " changed during reconciliation, statement must be reconciled again");
+                }
+            }
+        }
+
+        report.setApplied(true);
+        report.setPaymentsCreated(payments.size());
+        report.setInvoicesUpdated(invoiceUpdates.size());
+    }
+
+    private Set<String> findReconciledLineIds(List<BankStatementLineDto> lines, Long bankAccountId) {
+        Map<String, String> lineIdsByPaymentNumber = new HashMap<>(lines.size() * 2);
+        for (BankStatementLineDto line : lines) {
+            lineIdsByPaymentNumber.put(paymentNumber(bankAccountId, line.getLineId(), 1), line.getLineId());
+        }
+
+        Set<String> reconciled = new HashSet<>();
+        List<String> paymentNumbers = new ArrayList<>(lineIdsByPaymentNumber.keySet());
+        for (int from = 0; from < paymentNumbers.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = paymentNumbers.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, paymentNumbers.size()));
+            for (String existing : paymentRepository.findExistingPaymentNumbers(chunk)) {
+                reconciled.add(lineIdsByPaymentNumber.get(existing));
+            }
+        }
+        return reconciled;
+    }
+
+    private boolean sameCustomer(BankStatementLineDto line, Candidate candidate) {
+        return line.getCustomerId() == null || line.getCustomerId().equals(candidate.customerId);
+    }
+
+    private boolean withinDateWindow(LocalDate valueDate, Candidate candidate, int dateWindowDays) {
+        return !valueDate.isBefore(candidate.invoiceDate.minusDays(dateWindowDays))
+                && !valueDate.isAfter(candidate.dueDate.plusDays(dateWindowDays));
+    }
+
+    /**
+     * Statement line ids are only unique within one bank account, so the
+     * account is part of the payment number. Line ids that would overflow the
+     * column are replaced by a stable digest.
+     */
+    private static String paymentNumber(Long bankAccountId, String lineId, int sequence) {
+        String prefix = PAYMENT_NUMBER_PREFIX + (bankAccountId != null ? bankAccountId : 0) + "-";
+        String suffix = "-" + sequence;
+        if (prefix.length() + lineId.length() + suffix.length() > PAYMENT_NUMBER_MAX_LENGTH) {
+            lineId = digest(lineId);
+        }
+        return prefix + lineId + suffix;
+    }
+
+    private static String digest(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private record LineMatch(MatchType matchType, List<Long> invoiceIds, long[] appliedCents, long unappliedCents) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.erp.system.finance.service;
+
+import com.erp.system.finance.dto.BankStatementLineDto;
+import com.erp.system.finance.dto.ReconciliationReportDto;
+import com.erp.system.finance.dto.ReconciliationRequestDto;
+import com.erp.system.finance.entity.Invoice;
+import com.erp.system.finance.enums.InvoiceStatus;
+import com.erp.system.finance.repository.InvoiceRepository;
+import com.erp.system.finance.repository.PaymentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * One reconciliation run over a statement without applying it: loading the
+ * open invoices into the index and matching every line. Per 20 lines, 12
+ * name their invoice (exact), 5 pay a balance give or take a few cents
+ * without a reference (fuzzy), 2 settle two invoices of one customer
+ * (combined) and 1 matches nothing. There are ten customers per hundred
+ * lines, so combined and fuzzy lookups see realistic candidate lists.
+ *
+ * mvn -Pbenchmark test-compile, then run main() with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ReconciliationServiceBenchmark {
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    @Param({"10000", "100000"})
+    private int lines;
+
+    private ReconciliationService service;
+    private ReconciliationRequestDto request;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int customers = Math.max(1, lines / 10);
+        List<Invoice> invoices = new ArrayList<>(lines + lines / 10);
+        List<BankStatementLineDto> statement = new ArrayList<>(lines);
+        int plantedExact = 0;
+
+        for (int i = 0; i < lines; i++) {
+            long customerId = i % customers + 1;
+            LocalDate invoiceDate = BASE_DATE.plusDays(random.nextInt(60));
+            Invoice invoice = invoice(invoices.size() + 1, customerId, invoiceDate, cents(random));
+            invoices.add(invoice);
+            LocalDate valueDate = invoice.getDueDate().minusDays(random.nextInt(10));
+
+            int kind = i % 20;
+            if (kind < 12) {
+                statement.add(line(i, valueDate, invoice.getBalanceDue(),
+                        "PAYMENT " + invoice.getInvoiceNumber(), customerId));
+                plantedExact++;
+            } else if (kind < 17) {
+                BigDecimal amount = invoice.getBalanceDue().add(BigDecimal.valueOf(random.nextInt(61) - 30, 2));
+                statement.add(line(i, valueDate, amount, "TRANSFER " + random.nextInt(1_000_000), customerId));
+            } else if (kind < 19) {
+                Invoice second = invoice(invoices.size() + 1, customerId, invoiceDate.plusDays(3), cents(random));
+                invoices.add(second);
+                statement.add(line(i, valueDate, invoice.getBalanceDue().add(second.getBalanceDue()),
+                        "TRANSFER " + random.nextInt(1_000_000), customerId));
+            } else {
+                statement.add(line(i, valueDate, BigDecimal.valueOf(100_000_000L + i, 2), null, null));
+            }
+        }
+
+        InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        when(invoiceRepository.findOpenInvoices()).thenReturn(invoices);
+        when(paymentRepository.findExistingPaymentNumbers(anyCollection())).thenReturn(List.of());
+
+        service = new ReconciliationService(invoiceRepository, paymentRepository, null);
+        ReflectionTestUtils.setField(service, "defaultAmountTolerance", new BigDecimal("0.50"));
+        ReflectionTestUtils.setField(service, "defaultDateWindowDays", 5);
+        ReflectionTestUtils.setField(service, "combinedMaxInvoices", 4);
+        ReflectionTestUtils.setField(service, "combinedCandidateLimit", 20);
+        ReflectionTestUtils.setField(service, "jdbcBatchSize", 500);
+
+        request = new ReconciliationRequestDto();
+        request.setBankAccountId(1L);
+        request.setLines(statement);
+
+        ReconciliationReportDto report = service.reconcile(request);
+        if (report.getExactMatches() != plantedExact) {
+            throw new IllegalStateException("Expected " + plantedExact + " exact matches, got "
+                    + report.getExactMatches());
+        }
+    }
+
+    private static long cents(Random random) {
+        return 1_000 + random.nextInt(500_000);
+    }
+
+    private static Invoice invoice(long id, long customerId, LocalDate invoiceDate, long balanceCents) {
+        Invoice invoice = new Invoice();
+        invoice.setId(id);
+        invoice.setInvoiceNumber(String.format("INV-%07d", id));
+        invoice.setCustomerId(customerId);
+        invoice.setInvoiceDate(invoiceDate);
+        invoice.setDueDate(invoiceDate.plusDays(30));
+        invoice.setStatus(InvoiceStatus.SENT);
+        invoice.setBalanceDue(BigDecimal.valueOf(balanceCents, 2));
+        return invoice;
+    }
+
+    private static BankStatementLineDto line(int index, LocalDate valueDate, BigDecimal amount, String reference,
+                                             Long customerId) {
+        BankStatementLineDto line = new BankStatementLineDto();
+        line.setLineId("L" + index);
+        line.setValueDate(valueDate);
+        line.setAmount(amount);
+        line.setReference(reference);
+        line.setCustomerId(customerId);
+        return line;
+    }
+
+    @Benchmark
+    public ReconciliationReportDto reconcileStatement() {
+        return service.reconcile(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ReconciliationServiceBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,31 @@
+package com.erp.system.hr.controller;
+
+import com.erp.system.hr.dto.AttendanceIngestionResultDto;
+import com.erp.system.hr.dto.AttendanceRecordDto;
+import com.erp.system.hr.service.AttendanceIngestionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/hr/attendance")
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceController {
+    
+    private final AttendanceIngestionService attendanceIngestionService;
+    
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('ATTENDANCE_DEVICE') or hasRole('ADMIN')")
+    public ResponseEntity<AttendanceIngestionResultDto> ingestAttendance(
+            @RequestBody List<@Valid AttendanceRecordDto> records) {
+        log.info("POST /api/hr/attendance/batch - Ingesting {} attendance records", records.size());
+        AttendanceIngestionResultDto result = attendanceIngestionService.ingest(records);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -1,7 +1,10 @@
 package com.erp.system.hr.controller;
 
 import com.erp.system.hr.dto.EmployeeDto;
+import com.erp.system.hr.dto.EmployeeSummary;
+import com.erp.system.hr.dto.HeadcountStatsDto;
 import com.erp.system.hr.enums.EmployeeStatus;
+import com.erp.system.hr.org.OrgHierarchy;
 import com.erp.system.hr.service.EmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -25,9 +28,9 @@ public class EmployeeController {
     
     @GetMapping
     @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('ADMIN')")
-    public ResponseEntity<Page<EmployeeDto>> getAllEmployees(Pageable pageable) {
+    public ResponseEntity<Page<EmployeeSummary>> getAllEmployees(Pageable pageable) {
         log.info("GET /api/hr/employees - Getting all employees");
-        Page<EmployeeDto> employees = employeeService.getAllEmployees(pageable);
+        Page<EmployeeSummary> employees = employeeService.getAllEmployees(pageable);
         return ResponseEntity.ok(employees);
     }
     
@@ -60,23 +63,24 @@ public class EmployeeController {
     
     @GetMapping("/department/{departmentId}")
     @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('ADMIN')")
-    public ResponseEntity<List<EmployeeDto>> getEmployeesByDepartment(@PathVariable Long departmentId) {
+    public ResponseEntity<List<EmployeeSummary>> getEmployeesByDepartment(@PathVariable Long departmentId) {
         log.info("GET /api/hr/employees/department/{} - Getting employees by department", departmentId);
-        List<EmployeeDto> employees = employeeService.getEmployeesByDepartment(departmentId);
+        List<EmployeeSummary> employees = employeeService.getEmployeesByDepartment(departmentId);
         return ResponseEntity.ok(employees);
     }
     
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('ADMIN')")
-    public ResponseEntity<List<EmployeeDto>> getEmployeesByStatus(@PathVariable EmployeeStatus status) {
+    public ResponseEntity<List<EmployeeSummary>> getEmployeesByStatus(@PathVariable EmployeeStatus status) {
         log.info("GET /api/hr/employees/status/{} - Getting employees by status", status);
-        List<EmployeeDto> employees = employeeService.getEmployeesByStatus(status);
+        List<EmployeeSummary> employees = employeeService.getEmployeesByStatus(status);
         return ResponseEntity.ok(employees);
     }
     
     @GetMapping("/search")
     @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('ADMIN')")
-    public ResponseEntity<Page<EmployeeDto>> searchEmployees(
+    public ResponseEntity<Page<EmployeeSummary>> searchEmployees(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String firstName,
             @RequestParam(required = false) String lastName,
             @RequestParam(required = false) String email,
@@ -85,8 +89,8 @@ public class EmployeeController {
             @RequestParam(required = false) EmployeeStatus status,
             Pageable pageable) {
         log.info("GET /api/hr/employees/search - Searching employees with filters");
-        Page<EmployeeDto> employees = employeeService.searchEmployees(
-                firstName, lastName, email, departmentId, positionId, status, pageable);
+        Page<EmployeeSummary> employees = employeeService.searchEmployees(
+                q, firstName, lastName, email, departmentId, positionId, status, pageable);
         return ResponseEntity.ok(employees);
     }
     
@@ -118,12 +122,42 @@ public class EmployeeController {
     
     @GetMapping("/{managerId}/subordinates")
     @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('MANAGER') or hasRole('ADMIN')")
-    public ResponseEntity<List<EmployeeDto>> getSubordinates(@PathVariable Long managerId) {
+    public ResponseEntity<List<EmployeeSummary>> getSubordinates(@PathVariable Long managerId) {
         log.info("GET /api/hr/employees/{}/subordinates - Getting subordinates", managerId);
-        List<EmployeeDto> subordinates = employeeService.getSubordinates(managerId);
+        List<EmployeeSummary> subordinates = employeeService.getSubordinates(managerId);
         return ResponseEntity.ok(subordinates);
     }
     
+    @GetMapping("/{managerId}/reports")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<List<EmployeeSummary>> getAllReports(@PathVariable Long managerId) {
+        log.info("GET /api/hr/employees/{}/reports - Getting all reports", managerId);
+        List<EmployeeSummary> reports = employeeService.getAllReports(managerId);
+        return ResponseEntity.ok(reports);
+    }
+    
+    @GetMapping("/{id}/management-chain")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<List<EmployeeSummary>> getManagementChain(@PathVariable Long id) {
+        log.info("GET /api/hr/employees/{}/management-chain - Getting management chain", id);
+        List<EmployeeSummary> chain = employeeService.getManagementChain(id);
+        return ResponseEntity.ok(chain);
+    }
+    
+    @GetMapping("/{managerId}/span-of-control")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<OrgHierarchy.SpanOfControl> getSpanOfControl(@PathVariable Long managerId) {
+        log.info("GET /api/hr/employees/{}/span-of-control - Getting span of control", managerId);
+        return ResponseEntity.ok(employeeService.getSpanOfControl(managerId));
+    }
+    
+    @GetMapping("/stats/headcounts")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<HeadcountStatsDto> getHeadcountStats() {
+        log.info("GET /api/hr/employees/stats/headcounts - Getting headcount counters");
+        return ResponseEntity.ok(employeeService.getHeadcountStats());
+    }
+    
     @GetMapping("/stats/count-by-status/{status}")
     @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('ADMIN')")
     public ResponseEntity<Long> getEmployeeCountByStatus(@PathVariable EmployeeStatus status) {
@@ -139,4 +173,12 @@ public class EmployeeController {
         Long count = employeeService.getEmployeeCountByDepartment(departmentId);
         return ResponseEntity.ok(count);
     }
+    
+    @GetMapping("/stats/headcount-by-department/{departmentId}")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<Long> getDepartmentHeadcount(@PathVariable Long departmentId) {
+        log.info("GET /api/hr/employees/stats/headcount-by-department/{} - Getting department subtree headcount", departmentId);
+        Long headcount = employeeService.getDepartmentHeadcount(departmentId);
+        return ResponseEntity.ok(headcount);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.erp.system.hr.controller;
+
+import com.erp.system.hr.dto.LeaveRequestDto;
+import com.erp.system.hr.dto.TeamCoverageDto;
+import com.erp.system.hr.leave.LeaveInterval;
+import com.erp.system.hr.service.LeaveRequestService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/hr/leave-requests")
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveRequestController {
+    
+    private final LeaveRequestService leaveRequestService;
+    
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<LeaveRequestDto> getLeaveRequestById(@PathVariable Long id) {
+        log.info("GET /api/hr/leave-requests/{} - Getting leave request by id", id);
+        return leaveRequestService.getLeaveRequestById(id)
+                .map(leaveRequest -> ResponseEntity.ok(leaveRequest))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/employee/{employeeId}")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<List<LeaveRequestDto>> getLeaveRequestsByEmployee(@PathVariable Long employeeId) {
+        log.info("GET /api/hr/leave-requests/employee/{} - Getting leave requests by employee", employeeId);
+        return ResponseEntity.ok(leaveRequestService.getLeaveRequestsByEmployee(employeeId));
+    }
+    
+    @PostMapping
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<LeaveRequestDto> submitLeaveRequest(@Valid @RequestBody LeaveRequestDto leaveRequestDto) {
+        log.info("POST /api/hr/leave-requests - Submitting leave request for employee: {}", leaveRequestDto.getEmployeeId());
+        LeaveRequestDto leaveRequest = leaveRequestService.submitLeaveRequest(leaveRequestDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(leaveRequest);
+    }
+    
+    @PatchMapping("/{id}/approve")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<LeaveRequestDto> approveLeaveRequest(
+            @PathVariable Long id,
+            @RequestParam Long reviewerId,
+            @RequestParam(required = false) String comments) {
+        log.info("PATCH /api/hr/leave-requests/{}/approve - Approving leave request", id);
+        return ResponseEntity.ok(leaveRequestService.approveLeaveRequest(id, reviewerId, comments));
+    }
+    
+    @PatchMapping("/{id}/reject")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<LeaveRequestDto> rejectLeaveRequest(
+            @PathVariable Long id,
+            @RequestParam Long reviewerId,
+            @RequestParam(required = false) String comments) {
+        log.info("PATCH /api/hr/leave-requests/{}/reject - Rejecting leave request", id);
+        return ResponseEntity.ok(leaveRequestService.rejectLeaveRequest(id, reviewerId, comments));
+    }
+    
+    @PatchMapping("/{id}/cancel")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<LeaveRequestDto> cancelLeaveRequest(@PathVariable Long id) {
+        log.info("PATCH /api/hr/leave-requests/{}/cancel - Cancelling leave request", id);
+        return ResponseEntity.ok(leaveRequestService.cancelLeaveRequest(id));
+    }
+    
+    @GetMapping("/calendar/department/{departmentId}")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<List<LeaveInterval>> getTeamCalendar(
+            @PathVariable Long departmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.info("GET /api/hr/leave-requests/calendar/department/{} - Getting team calendar", departmentId);
+        return ResponseEntity.ok(leaveRequestService.getTeamCalendar(departmentId, startDate, endDate));
+    }
+    
+    @GetMapping("/out/department/{departmentId}")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('HR_EMPLOYEE') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<List<LeaveInterval>> getWhoIsOut(
+            @PathVariable Long departmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "true") boolean approvedOnly) {
+        log.info("GET /api/hr/leave-requests/out/department/{} - Getting employees on leave", departmentId);
+        return ResponseEntity.ok(leaveRequestService.getWhoIsOut(departmentId, startDate, endDate, approvedOnly));
+    }
+    
+    @GetMapping("/coverage/department/{departmentId}")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<TeamCoverageDto> checkCoverage(
+            @PathVariable Long departmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam int minimumStaff,
+            @RequestParam(defaultValue = "false") boolean approvedOnly) {
+        log.info("GET /api/hr/leave-requests/coverage/department/{} - Checking staffing coverage", departmentId);
+        return ResponseEntity.ok(leaveRequestService.checkCoverage(departmentId, startDate, endDate,
+                minimumStaff, approvedOnly));
+    }
+}
@@ -0,0 +1,40 @@
+package com.erp.system.hr.controller;
+
+import com.erp.system.hr.dto.PayrollHoursDto;
+import com.erp.system.hr.service.PayrollHoursCalculator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/hr/payroll/hours")
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollHoursController {
+    
+    private final PayrollHoursCalculator payrollHoursCalculator;
+    
+    @PostMapping("/calculate")
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<List<PayrollHoursDto>> calculatePeriod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodStart,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodEnd) {
+        log.info("POST /api/hr/payroll/hours/calculate - Calculating hours from {} to {}", periodStart, periodEnd);
+        return ResponseEntity.ok(payrollHoursCalculator.calculatePeriod(periodStart, periodEnd));
+    }
+    
+    @GetMapping
+    @PreAuthorize("hasRole('HR_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<List<PayrollHoursDto>> getPeriodHours(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodStart,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodEnd) {
+        log.info("GET /api/hr/payroll/hours - Getting hours from {} to {}", periodStart, periodEnd);
+        return ResponseEntity.ok(payrollHoursCalculator.getPeriodHours(periodStart, periodEnd));
+    }
+}
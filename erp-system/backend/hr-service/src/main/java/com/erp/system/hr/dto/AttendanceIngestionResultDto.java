@@ -0,0 +1,18 @@
+package com.erp.system.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceIngestionResultDto {
+    
+    private int received;
+    private int upserted;
+    private int rejected;
+    private List<String> errors;
+}
@@ -0,0 +1,31 @@
+package com.erp.system.hr.dto;
+
+import com.erp.system.hr.enums.AttendanceStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceRecordDto {
+    
+    @NotNull(message = "Employee ID is required")
+    private Long employeeId;
+    
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+    
+    private LocalDateTime checkInTime;
+    private LocalDateTime checkOutTime;
+    private LocalDateTime breakStartTime;
+    private LocalDateTime breakEndTime;
+    private AttendanceStatus status;
+    private String workLocation;
+    private Boolean isRemoteWork;
+    private String notes;
+}
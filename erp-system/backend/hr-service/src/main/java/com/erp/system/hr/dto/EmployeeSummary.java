@@ -0,0 +1,27 @@
+package com.erp.system.hr.dto;
+
+import com.erp.system.hr.enums.EmployeeStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only list view of an employee, selected as a constructor projection
+ * with department, position and manager joined in the same query. It leaves
+ * out personal, payroll and banking columns that list screens do not show.
+ */
+public record EmployeeSummary(
+        Long id,
+        String employeeCode,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        EmployeeStatus status,
+        LocalDate hireDate,
+        Long departmentId,
+        String departmentName,
+        Long positionId,
+        String positionTitle,
+        Long managerId,
+        String managerName) {
+}
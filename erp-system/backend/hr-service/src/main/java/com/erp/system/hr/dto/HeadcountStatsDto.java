@@ -0,0 +1,21 @@
+package com.erp.system.hr.dto;
+
+import com.erp.system.hr.enums.EmployeeStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All headcount counters in one response: totals by status, and per
+ * department and per position broken down by status. A null id groups the
+ * employees without a department or position.
+ */
+public record HeadcountStatsDto(
+        long total,
+        Map<EmployeeStatus, Long> byStatus,
+        List<GroupHeadcount> byDepartment,
+        List<GroupHeadcount> byPosition) {
+    
+    public record GroupHeadcount(Long id, long total, Map<EmployeeStatus, Long> byStatus) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.erp.system.hr.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Hours worked by one employee in a payroll period, read from the stored
+ * period totals.
+ */
+public record PayrollHoursDto(
+        Long employeeId,
+        String employeeCode,
+        String employeeName,
+        LocalDate periodStart,
+        LocalDate periodEnd,
+        BigDecimal hoursWorked,
+        BigDecimal overtimeHours,
+        Integer daysWorked) {
+    
+    public PayrollHoursDto(Long employeeId, String employeeCode, String employeeName,
+                           LocalDate periodStart, LocalDate periodEnd,
+                           Long workedSeconds, Long overtimeSeconds, Integer daysWorked) {
+        this(employeeId, employeeCode, employeeName, periodStart, periodEnd,
+                toHours(workedSeconds), toHours(overtimeSeconds), daysWorked);
+    }
+    
+    private static BigDecimal toHours(Long seconds) {
+        return BigDecimal.valueOf(seconds != null ? seconds : 0)
+                .divide(BigDecimal.valueOf(3600), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,21 @@
+package com.erp.system.hr.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Day-by-day staffing of a department against a minimum head count. Pending
+ * leave counts as absence unless the check was run on approved leave only.
+ */
+public record TeamCoverageDto(
+        Long departmentId,
+        LocalDate startDate,
+        LocalDate endDate,
+        long headcount,
+        int minimumStaff,
+        boolean covered,
+        List<DayCoverage> days) {
+    
+    public record DayCoverage(LocalDate date, int onLeave, long available, boolean covered) {
+    }
+}
@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "attendances")
+@Table(name = "attendances",
+       uniqueConstraints = @UniqueConstraint(name = "uk_attendances_employee_date", columnNames = {"employee_id", "date"}),
+       indexes = @Index(name = "idx_attendances_date", columnList = "date"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
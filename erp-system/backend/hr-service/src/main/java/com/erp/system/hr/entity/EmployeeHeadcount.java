@@ -0,0 +1,46 @@
+package com.erp.system.hr.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Number of employees in one (department, position, status) cell; 0 stands
+ * for an unassigned department or position. Adjusted by HeadcountCounters in
+ * the transaction of every employee write.
+ */
+@Entity
+@Table(name = "employee_headcounts")
+@IdClass(EmployeeHeadcount.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeHeadcount {
+    
+    @Id
+    @Column(name = "department_id")
+    private Long departmentId;
+    
+    @Id
+    @Column(name = "position_id")
+    private Long positionId;
+    
+    @Id
+    @Column(name = "status", length = 32)
+    private String status;
+    
+    @Column(name = "headcount", nullable = false)
+    private Long headcount;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long departmentId;
+        private Long positionId;
+        private String status;
+    }
+}
@@ -0,0 +1,42 @@
+package com.erp.system.hr.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One (ancestor, descendant, depth) row of the persisted reporting lines,
+ * including the depth 0 row of every employee. Maintained by
+ * OrgClosureTable with plain SQL.
+ */
+@Entity
+@Table(name = "org_reporting_closure",
+       indexes = @Index(name = "idx_org_reporting_closure_descendant", columnList = "descendant_id, depth"))
+@IdClass(OrgReportingClosure.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrgReportingClosure {
+    
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+    
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+    
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
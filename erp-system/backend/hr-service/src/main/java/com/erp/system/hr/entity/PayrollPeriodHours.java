@@ -0,0 +1,50 @@
+package com.erp.system.hr.entity;
+
+import com.erp.system.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Worked and overtime seconds of an employee for a payroll period. Written by
+ * the period calculation and adjusted by attendance ingestion, so payroll
+ * export reads these rows instead of the raw attendance.
+ */
+@Entity
+@Table(name = "payroll_period_hours",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payroll_period_hours_employee_period",
+               columnNames = {"employee_id", "period_start", "period_end"}),
+       indexes = @Index(name = "idx_payroll_period_hours_period", columnList = "period_start, period_end"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class PayrollPeriodHours extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false)
+    private Employee employee;
+    
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+    
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+    
+    @Column(name = "worked_seconds", nullable = false)
+    private Long workedSeconds = 0L;
+    
+    @Column(name = "overtime_seconds", nullable = false)
+    private Long overtimeSeconds = 0L;
+    
+    @Column(name = "days_worked", nullable = false)
+    private Integer daysWorked = 0;
+    
+    @Column(name = "calculated_at", nullable = false)
+    private LocalDateTime calculatedAt;
+}
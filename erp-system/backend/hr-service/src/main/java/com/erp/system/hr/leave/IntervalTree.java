@@ -0,0 +1,158 @@
+package com.erp.system.hr.leave;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Treap of leave intervals keyed by (start day, request id), each node
+ * augmented with the largest end day in its subtree. Insert and remove are
+ * O(log n) expected, and an overlap query visits O(log n + k) nodes for k
+ * matches. Days are epoch days, bounds inclusive. Not thread-safe.
+ */
+final class IntervalTree {
+
+    private static final class Node {
+        private final int start;
+        private final int end;
+        private final long id;
+        private final int priority;
+        private final LeaveInterval value;
+        private int maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(int start, int end, long id, LeaveInterval value) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(LeaveInterval interval) {
+        Node node = new Node((int) interval.startDate().toEpochDay(), (int) interval.endDate().toEpochDay(),
+                interval.leaveRequestId(), interval);
+        root = insert(root, node);
+        size++;
+    }
+
+    boolean remove(LeaveInterval interval) {
+        int before = size;
+        root = remove(root, (int) interval.startDate().toEpochDay(), interval.leaveRequestId());
+        return size < before;
+    }
+
+    void forEachOverlapping(int from, int to, Consumer<LeaveInterval> action) {
+        collect(root, from, to, action);
+    }
+
+    private static void collect(Node node, int from, int to, Consumer<LeaveInterval> action) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collect(node.left, from, to, action);
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            action.accept(node.value);
+        }
+        collect(node.right, from, to, action);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, int start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        int maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(int start, long id, Node node) {
+        int cmp = Integer.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+}
@@ -0,0 +1,55 @@
+package com.erp.system.hr.leave;
+
+import com.erp.system.hr.enums.LeaveRequestStatus;
+import com.erp.system.hr.enums.LeaveType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Applies leave changes made on other replicas to this replica's leave
+ * calendar index. Each instance consumes with its own stable group; an event
+ * carries the leave's full state, so re-applying one is harmless.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveCalendarEventListener {
+
+    private final LeaveCalendarIndex leaveCalendarIndex;
+
+    @KafkaListener(topics = "leave-events", groupId = "hr-leave-${hr.instance-id}")
+    public void onLeaveEvent(Map<String, Object> event) {
+        try {
+            Long leaveRequestId = toLong(event.get("leaveRequestId"));
+            Long employeeId = toLong(event.get("employeeId"));
+            if (leaveRequestId == null || employeeId == null || event.get("status") == null) {
+                return;
+            }
+            leaveCalendarIndex.apply(new LeaveInterval(
+                    leaveRequestId,
+                    employeeId,
+                    toString(event.get("employeeName")),
+                    toLong(event.get("departmentId")),
+                    LeaveType.valueOf(event.get("leaveType").toString()),
+                    LeaveRequestStatus.valueOf(event.get("status").toString()),
+                    LocalDate.parse(event.get("startDate").toString()),
+                    LocalDate.parse(event.get("endDate").toString()),
+                    (Boolean) event.get("isHalfDay")));
+        } catch (Exception e) {
+            log.error("Error applying leave event to calendar index: {}", event, e);
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private static String toString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,265 @@
+package com.erp.system.hr.leave;
+
+import com.erp.system.hr.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory interval index of pending and approved leaves, one interval tree
+ * per employee and one per department. Overlap checks, "who is out" queries
+ * and the team calendar are answered from the trees instead of one database
+ * query per employee and date range. Leave state changes are applied after
+ * their transaction commits, and changes made on other replicas arrive
+ * through {@link LeaveCalendarEventListener}. Submissions check overlap
+ * against the database, not this index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveCalendarIndex {
+
+    private static final Comparator<LeaveInterval> CALENDAR_ORDER = Comparator
+            .comparing(LeaveInterval::startDate)
+            .thenComparing(LeaveInterval::endDate)
+            .thenComparing(LeaveInterval::leaveRequestId);
+
+    private final LeaveRequestRepository leaveRequestRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadMonitor = new Object();
+    private final Map<Long, LeaveInterval> byRequestId = new HashMap<>();
+    private final Map<Long, IntervalTree> byEmployee = new HashMap<>();
+    private final Map<Long, IntervalTree> byDepartment = new HashMap<>();
+    // Leaves applied while a rebuild reads its snapshot. Null when no rebuild
+    // is running.
+    private Map<Long, LeaveInterval> changesDuringRebuild;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        CompletableFuture.runAsync(this::ensureLoaded)
+                .exceptionally(e -> {
+                    log.error("Leave calendar index could not be built", e);
+                    return null;
+                });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the index with a fresh snapshot of the active leaves. The
+     * snapshot is read without holding the lock, so leaves applied meanwhile
+     * are recorded and re-applied on top of it.
+     */
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<LeaveInterval> intervals;
+        try {
+            intervals = leaveRequestRepository.findCalendarIntervals(LeaveStatuses.ACTIVE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            byRequestId.clear();
+            byEmployee.clear();
+            byDepartment.clear();
+            for (LeaveInterval interval : intervals) {
+                if (!changesDuringRebuild.containsKey(interval.leaveRequestId())) {
+                    addLocked(interval);
+                }
+            }
+            for (LeaveInterval interval : changesDuringRebuild.values()) {
+                if (LeaveStatuses.ACTIVE.contains(interval.status())) {
+                    addLocked(interval);
+                }
+            }
+            changesDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} leave requests in {} ms", intervals.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Applies the leave's new state once the surrounding transaction commits.
+     */
+    public void applyAfterCommit(LeaveInterval interval) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(interval);
+                }
+            });
+        } else {
+            apply(interval);
+        }
+    }
+
+    /**
+     * Replaces whatever the index holds for the leave request; leaves that are
+     * no longer pending or approved are dropped.
+     */
+    public void apply(LeaveInterval interval) {
+        lock.writeLock().lock();
+        try {
+            LeaveInterval previous = byRequestId.remove(interval.leaveRequestId());
+            if (previous != null) {
+                removeFrom(byEmployee, previous.employeeId(), previous);
+                removeFrom(byDepartment, previous.departmentId(), previous);
+            }
+            if (LeaveStatuses.ACTIVE.contains(interval.status())) {
+                addLocked(interval);
+            }
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(interval.leaveRequestId(), interval);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Pending and approved leaves of the employee overlapping the range.
+     */
+    public List<LeaveInterval> findOverlapping(Long employeeId, LocalDate from, LocalDate to) {
+        return query(byEmployee, employeeId, from, to, false);
+    }
+
+    /**
+     * Leaves in the department overlapping the range, in calendar order;
+     * with approvedOnly, pending requests are left out.
+     */
+    public List<LeaveInterval> findOut(Long departmentId, LocalDate from, LocalDate to, boolean approvedOnly) {
+        return query(byDepartment, departmentId, from, to, approvedOnly);
+    }
+
+    /**
+     * Number of distinct employees of the department on leave on each day of
+     * the range, index 0 being {@code from}. Built with a difference array over
+     * the overlapping leaves, so it costs O(log n + k + days).
+     */
+    public int[] countOutPerDay(Long departmentId, LocalDate from, LocalDate to, boolean approvedOnly) {
+        int first = (int) from.toEpochDay();
+        int days = (int) (to.toEpochDay() - first) + 1;
+        Map<Long, List<LeaveInterval>> byEmployeeOut = new HashMap<>();
+        for (LeaveInterval interval : findOut(departmentId, from, to, approvedOnly)) {
+            byEmployeeOut.computeIfAbsent(interval.employeeId(), id -> new ArrayList<>()).add(interval);
+        }
+
+        int[] delta = new int[days + 1];
+        for (List<LeaveInterval> leaves : byEmployeeOut.values()) {
+            // Leaves arrive in start order; merge an employee's own overlapping
+            // leaves so they count once per day.
+            int runStart = -1;
+            int runEnd = -1;
+            for (LeaveInterval leave : leaves) {
+                int start = Math.max((int) leave.startDate().toEpochDay() - first, 0);
+                int end = Math.min((int) leave.endDate().toEpochDay() - first, days - 1);
+                if (runStart >= 0 && start <= runEnd + 1) {
+                    runEnd = Math.max(runEnd, end);
+                    continue;
+                }
+                if (runStart >= 0) {
+                    delta[runStart]++;
+                    delta[runEnd + 1]--;
+                }
+                runStart = start;
+                runEnd = end;
+            }
+            if (runStart >= 0) {
+                delta[runStart]++;
+                delta[runEnd + 1]--;
+            }
+        }
+
+        int[] out = new int[days];
+        int running = 0;
+        for (int day = 0; day < days; day++) {
+            running += delta[day];
+            out[day] = running;
+        }
+        return out;
+    }
+
+    private List<LeaveInterval> query(Map<Long, IntervalTree> trees, Long key, LocalDate from, LocalDate to,
+                                      boolean approvedOnly) {
+        ensureLoaded();
+        List<LeaveInterval> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            IntervalTree tree = trees.get(key);
+            if (tree != null) {
+                tree.forEachOverlapping((int) from.toEpochDay(), (int) to.toEpochDay(), interval -> {
+                    if (!approvedOnly || interval.isApproved()) {
+                        result.add(interval);
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(CALENDAR_ORDER);
+        return result;
+    }
+
+    private void ensureLoaded() {
+        if (!ready) {
+            synchronized (loadMonitor) {
+                if (!ready) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private void addLocked(LeaveInterval interval) {
+        byRequestId.put(interval.leaveRequestId(), interval);
+        byEmployee.computeIfAbsent(interval.employeeId(), id -> new IntervalTree()).insert(interval);
+        if (interval.departmentId() != null) {
+            byDepartment.computeIfAbsent(interval.departmentId(), id -> new IntervalTree()).insert(interval);
+        }
+    }
+
+    private static void removeFrom(Map<Long, IntervalTree> trees, Long key, LeaveInterval interval) {
+        if (key == null) {
+            return;
+        }
+        IntervalTree tree = trees.get(key);
+        if (tree != null && tree.remove(interval) && tree.size() == 0) {
+            trees.remove(key);
+        }
+    }
+}
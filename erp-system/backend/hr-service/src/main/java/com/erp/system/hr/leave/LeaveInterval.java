@@ -0,0 +1,26 @@
+package com.erp.system.hr.leave;
+
+import com.erp.system.hr.enums.LeaveRequestStatus;
+import com.erp.system.hr.enums.LeaveType;
+
+import java.time.LocalDate;
+
+/**
+ * A pending or approved leave as held by the leave calendar index; also the
+ * entry type of the team calendar.
+ */
+public record LeaveInterval(
+        Long leaveRequestId,
+        Long employeeId,
+        String employeeName,
+        Long departmentId,
+        LeaveType leaveType,
+        LeaveRequestStatus status,
+        LocalDate startDate,
+        LocalDate endDate,
+        Boolean isHalfDay) {
+
+    public boolean isApproved() {
+        return status == LeaveRequestStatus.APPROVED || status == LeaveRequestStatus.PARTIALLY_APPROVED;
+    }
+}
@@ -0,0 +1,19 @@
+package com.erp.system.hr.leave;
+
+import com.erp.system.hr.enums.LeaveRequestStatus;
+
+import java.util.List;
+
+/**
+ * Leave request statuses that keep an employee booked out.
+ */
+public final class LeaveStatuses {
+
+    public static final List<LeaveRequestStatus> ACTIVE = List.of(
+            LeaveRequestStatus.PENDING,
+            LeaveRequestStatus.APPROVED,
+            LeaveRequestStatus.PARTIALLY_APPROVED);
+
+    private LeaveStatuses() {
+    }
+}
@@ -0,0 +1,79 @@
+package com.erp.system.hr.mapper;
+
+import com.erp.system.hr.dto.LeaveRequestDto;
+import com.erp.system.hr.entity.LeaveRequest;
+import com.erp.system.hr.leave.LeaveInterval;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LeaveRequestMapper {
+    
+    public LeaveRequestDto toDto(LeaveRequest leaveRequest) {
+        if (leaveRequest == null) {
+            return null;
+        }
+        
+        LeaveRequestDto dto = new LeaveRequestDto();
+        dto.setId(leaveRequest.getId());
+        dto.setLeaveType(leaveRequest.getLeaveType());
+        dto.setStartDate(leaveRequest.getStartDate());
+        dto.setEndDate(leaveRequest.getEndDate());
+        dto.setDaysRequested(leaveRequest.getDaysRequested());
+        dto.setReason(leaveRequest.getReason());
+        dto.setStatus(leaveRequest.getStatus());
+        dto.setSubmittedDate(leaveRequest.getSubmittedDate());
+        dto.setReviewedDate(leaveRequest.getReviewedDate());
+        dto.setReviewComments(leaveRequest.getReviewComments());
+        dto.setIsHalfDay(leaveRequest.getIsHalfDay());
+        dto.setContactDuringLeave(leaveRequest.getContactDuringLeave());
+        dto.setHandoverNotes(leaveRequest.getHandoverNotes());
+        dto.setCreatedAt(leaveRequest.getCreatedAt());
+        dto.setUpdatedAt(leaveRequest.getUpdatedAt());
+        
+        // Employee info
+        if (leaveRequest.getEmployee() != null) {
+            dto.setEmployeeId(leaveRequest.getEmployee().getId());
+            dto.setEmployeeName(leaveRequest.getEmployee().getFullName());
+        }
+        
+        // Reviewer info
+        if (leaveRequest.getReviewedBy() != null) {
+            dto.setReviewedById(leaveRequest.getReviewedBy().getId());
+            dto.setReviewedByName(leaveRequest.getReviewedBy().getFullName());
+        }
+        
+        return dto;
+    }
+    
+    public LeaveRequest toEntity(LeaveRequestDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setLeaveType(dto.getLeaveType());
+        leaveRequest.setStartDate(dto.getStartDate());
+        leaveRequest.setEndDate(dto.getEndDate());
+        leaveRequest.setReason(dto.getReason());
+        leaveRequest.setIsHalfDay(Boolean.TRUE.equals(dto.getIsHalfDay()));
+        leaveRequest.setContactDuringLeave(dto.getContactDuringLeave());
+        leaveRequest.setHandoverNotes(dto.getHandoverNotes());
+        
+        return leaveRequest;
+    }
+    
+    public LeaveInterval toInterval(LeaveRequest leaveRequest) {
+        return new LeaveInterval(
+                leaveRequest.getId(),
+                leaveRequest.getEmployee().getId(),
+                leaveRequest.getEmployee().getFullName(),
+                leaveRequest.getEmployee().getDepartment() != null
+                        ? leaveRequest.getEmployee().getDepartment().getId()
+                        : null,
+                leaveRequest.getLeaveType(),
+                leaveRequest.getStatus(),
+                leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(),
+                leaveRequest.getIsHalfDay());
+    }
+}
@@ -0,0 +1,151 @@
+package com.erp.system.hr.org;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional persisted copy of the reporting lines as a closure table of
+ * (ancestor, descendant, depth) rows, enabled with
+ * hr.org.closure-table.enabled. It is rewritten after a full graph load and
+ * patched on every manager change, so a freshly started instance can answer
+ * report and management-chain queries with one indexed query each while its
+ * in-memory graph is still loading. Writers serialize on a transaction-scoped
+ * advisory lock; a replica that finds a rewrite already running skips its own.
+ */
+@Component
+@Slf4j
+public class OrgClosureTable {
+
+    private static final long ADVISORY_LOCK_KEY = 0x6f72675f636c6fL;
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?)";
+
+    private static final String DELETE_ALL_SQL = "DELETE FROM org_reporting_closure";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO org_reporting_closure (ancestor_id, descendant_id, depth) VALUES (?, ?, ?)";
+
+    private static final String INSERT_SELF_SQL =
+            "INSERT INTO org_reporting_closure (ancestor_id, descendant_id, depth) VALUES (?, ?, 0) " +
+            "ON CONFLICT (ancestor_id, descendant_id) DO NOTHING";
+
+    private static final String DETACH_SUBTREE_SQL =
+            "DELETE FROM org_reporting_closure WHERE " +
+            "descendant_id IN (SELECT descendant_id FROM org_reporting_closure WHERE ancestor_id = ?) AND " +
+            "ancestor_id IN (SELECT ancestor_id FROM org_reporting_closure WHERE descendant_id = ? AND depth > 0)";
+
+    private static final String ATTACH_SUBTREE_SQL =
+            "INSERT INTO org_reporting_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT sup.ancestor_id, sub.descendant_id, sup.depth + sub.depth + 1 " +
+            "FROM org_reporting_closure sup, org_reporting_closure sub " +
+            "WHERE sup.descendant_id = ? AND sub.ancestor_id = ? " +
+            "ON CONFLICT (ancestor_id, descendant_id) DO UPDATE SET depth = EXCLUDED.depth";
+
+    private static final String SELECT_REPORTS_SQL =
+            "SELECT c.descendant_id FROM org_reporting_closure c JOIN employees e ON e.id = c.descendant_id " +
+            "WHERE c.ancestor_id = ? AND c.depth > 0 AND e.status <> 'TERMINATED' " +
+            "ORDER BY c.depth, c.descendant_id";
+
+    private static final String SELECT_CHAIN_SQL =
+            "SELECT c.ancestor_id FROM org_reporting_closure c JOIN employees e ON e.id = c.ancestor_id " +
+            "WHERE c.descendant_id = ? AND c.depth > 0 AND e.status <> 'TERMINATED' " +
+            "ORDER BY c.depth";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${hr.org.closure-table.enabled:false}")
+    private boolean enabled;
+
+    @Value("${hr.org.closure-table.batch-size:1000}")
+    private int batchSize;
+
+    public OrgClosureTable(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Writes are made from afterCommit callbacks of employee transactions;
+        // joining that finished transaction would mean they never commit.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Replaces the table with the given manager links, employee id to manager
+     * id (null for the top of a reporting line).
+     */
+    public void rewrite(Map<Long, Long> managerByEmployee) {
+        if (!enabled) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        Boolean written = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class, ADVISORY_LOCK_KEY))) {
+                return false;
+            }
+            jdbcTemplate.update(DELETE_ALL_SQL);
+
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            for (Long employeeId : managerByEmployee.keySet()) {
+                int depth = 0;
+                for (Long ancestor = employeeId; ancestor != null && depth <= managerByEmployee.size();
+                     ancestor = managerByEmployee.get(ancestor), depth++) {
+                    batch.add(new Object[] {ancestor, employeeId, depth});
+                    if (batch.size() == batchSize) {
+                        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            }
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(written)) {
+            log.info("Rewrote reporting closure table for {} employees in {} ms",
+                    managerByEmployee.size(), System.currentTimeMillis() - startTime);
+        } else {
+            log.debug("Reporting closure table rewrite already running on another instance");
+        }
+    }
+
+    /**
+     * Moves an employee, with everyone reporting to them, under a new manager.
+     */
+    public void move(Long employeeId, Long managerId) {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject(LOCK_SQL, Object.class, ADVISORY_LOCK_KEY);
+            jdbcTemplate.update(INSERT_SELF_SQL, employeeId, employeeId);
+            jdbcTemplate.update(DETACH_SUBTREE_SQL, employeeId, employeeId);
+            if (managerId != null) {
+                jdbcTemplate.update(INSERT_SELF_SQL, managerId, managerId);
+                jdbcTemplate.update(ATTACH_SUBTREE_SQL, managerId, employeeId);
+            }
+        });
+    }
+
+    public List<Long> findReports(Long managerId) {
+        return jdbcTemplate.queryForList(SELECT_REPORTS_SQL, Long.class, managerId);
+    }
+
+    public List<Long> findManagementChain(Long employeeId) {
+        return jdbcTemplate.queryForList(SELECT_CHAIN_SQL, Long.class, employeeId);
+    }
+}
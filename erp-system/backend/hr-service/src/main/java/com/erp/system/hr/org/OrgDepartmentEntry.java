@@ -0,0 +1,7 @@
+package com.erp.system.hr.org;
+
+/**
+ * Parent link of a department, loaded as a constructor projection.
+ */
+public record OrgDepartmentEntry(Long id, Long parentId) {
+}
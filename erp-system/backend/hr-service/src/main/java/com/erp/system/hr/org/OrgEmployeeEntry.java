@@ -0,0 +1,13 @@
+package com.erp.system.hr.org;
+
+import com.erp.system.hr.enums.EmployeeStatus;
+
+/**
+ * Reporting-line fields of an employee, loaded as a constructor projection.
+ */
+public record OrgEmployeeEntry(Long id, Long managerId, Long departmentId, EmployeeStatus status) {
+
+    public boolean isActive() {
+        return status != EmployeeStatus.TERMINATED;
+    }
+}
@@ -0,0 +1,61 @@
+package com.erp.system.hr.org;
+
+import com.erp.system.hr.enums.EmployeeStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Keeps every replica's org graph current from employee and department
+ * events. Each instance consumes with its own stable group so all of them
+ * see every event; applying an event sets absolute state, so replays are
+ * harmless.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrgEventListener {
+
+    private final OrgHierarchy orgHierarchy;
+
+    @KafkaListener(topics = "employee-events", groupId = "hr-org-${hr.instance-id}")
+    public void onEmployeeEvent(Map<String, Object> event) {
+        try {
+            Long employeeId = toLong(event.get("employeeId"));
+            if (employeeId == null || event.get("status") == null) {
+                return;
+            }
+            orgHierarchy.apply(new OrgEmployeeEntry(
+                    employeeId,
+                    toLong(event.get("managerId")),
+                    toLong(event.get("departmentId")),
+                    EmployeeStatus.valueOf(event.get("status").toString())));
+        } catch (Exception e) {
+            log.error("Error applying employee event to org hierarchy: {}", event, e);
+        }
+    }
+
+    @KafkaListener(topics = "department-events", groupId = "hr-org-${hr.instance-id}")
+    public void onDepartmentEvent(Map<String, Object> event) {
+        try {
+            Long departmentId = toLong(event.get("departmentId"));
+            if (departmentId == null) {
+                return;
+            }
+            if ("DEPARTMENT_DELETED".equals(event.get("eventType"))) {
+                orgHierarchy.removeDepartment(departmentId);
+            } else {
+                orgHierarchy.applyDepartment(departmentId, toLong(event.get("parentDepartmentId")));
+            }
+        } catch (Exception e) {
+            log.error("Error applying department event to org hierarchy: {}", event, e);
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
@@ -0,0 +1,509 @@
+package com.erp.system.hr.org;
+
+import com.erp.system.hr.entity.Employee;
+import com.erp.system.hr.repository.DepartmentRepository;
+import com.erp.system.hr.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory org graph built from Employee.manager and
+ * Department.parentDepartment. Each employee node keeps its direct reports
+ * and the number of active employees anywhere below it, and each department
+ * keeps the active headcount of its whole subtree, so span of control and
+ * headcount roll-ups are lookups and report trees are walked in memory
+ * instead of with one query per level. A move only adjusts the counters on
+ * the old and new ancestor chains. Terminated employees stay in the graph so
+ * their reports keep their place, but they are neither counted nor returned.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrgHierarchy {
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final OrgClosureTable closureTable;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadMonitor = new Object();
+    private final Map<Long, EmployeeNode> employees = new HashMap<>();
+    private final Map<Long, DepartmentNode> departments = new HashMap<>();
+    // Changes applied while a rebuild reads its snapshot, in arrival order.
+    // Null when no rebuild is running.
+    private Map<Long, OrgEmployeeEntry> employeeChangesDuringRebuild;
+    private Map<Long, DepartmentChange> departmentChangesDuringRebuild;
+    private volatile boolean ready;
+
+    public record SpanOfControl(Long employeeId, int directReports, int totalReports) {
+    }
+
+    private record DepartmentChange(Long parentId, boolean removed) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        CompletableFuture.runAsync(this::ensureLoaded)
+                .exceptionally(e -> {
+                    log.error("Org hierarchy could not be built", e);
+                    return null;
+                });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the graph with a fresh snapshot of employees and departments.
+     * The snapshot is read without holding the lock, so changes applied
+     * meanwhile are recorded and replayed on top of it.
+     */
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            employeeChangesDuringRebuild = new LinkedHashMap<>();
+            departmentChangesDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<OrgDepartmentEntry> departmentEntries;
+        List<OrgEmployeeEntry> employeeEntries;
+        try {
+            departmentEntries = departmentRepository.findAllOrgEntries();
+            employeeEntries = employeeRepository.findAllOrgEntries();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                employeeChangesDuringRebuild = null;
+                departmentChangesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        Map<Long, Long> managerByEmployee;
+        lock.writeLock().lock();
+        try {
+            employees.clear();
+            departments.clear();
+            for (OrgDepartmentEntry entry : departmentEntries) {
+                if (!departmentChangesDuringRebuild.containsKey(entry.id())) {
+                    applyDepartmentLocked(entry.id(), entry.parentId());
+                }
+            }
+            for (OrgEmployeeEntry entry : employeeEntries) {
+                if (!employeeChangesDuringRebuild.containsKey(entry.id())) {
+                    applyEmployeeLocked(entry);
+                }
+            }
+            departmentChangesDuringRebuild.forEach((departmentId, change) -> {
+                if (change.removed()) {
+                    removeDepartmentLocked(departmentId);
+                } else {
+                    applyDepartmentLocked(departmentId, change.parentId());
+                }
+            });
+            employeeChangesDuringRebuild.values().forEach(this::applyEmployeeLocked);
+            employeeChangesDuringRebuild = null;
+            departmentChangesDuringRebuild = null;
+            managerByEmployee = closureTable.isEnabled() ? managerLinksLocked() : Map.of();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Built org hierarchy of {} employees and {} departments in {} ms",
+                employeeEntries.size(), departmentEntries.size(), System.currentTimeMillis() - startTime);
+        closureTable.rewrite(managerByEmployee);
+    }
+
+    /**
+     * Applies the employee's reporting line once the surrounding transaction
+     * commits, so a rolled-back change never reaches the graph.
+     */
+    public void applyAfterCommit(Employee employee) {
+        OrgEmployeeEntry entry = new OrgEmployeeEntry(
+                employee.getId(),
+                employee.getManager() != null ? employee.getManager().getId() : null,
+                employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+                employee.getStatus());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyAndPersist(entry);
+                }
+            });
+        } else {
+            applyAndPersist(entry);
+        }
+    }
+
+    private void applyAndPersist(OrgEmployeeEntry entry) {
+        if (apply(entry)) {
+            try {
+                closureTable.move(entry.id(), entry.managerId());
+            } catch (Exception e) {
+                log.error("Error updating reporting closure table for employee: {}", entry.id(), e);
+            }
+        }
+    }
+
+    /**
+     * Applies an employee's current reporting line and status. Returns true
+     * when the employee moved to a different manager.
+     */
+    public boolean apply(OrgEmployeeEntry entry) {
+        lock.writeLock().lock();
+        try {
+            if (employeeChangesDuringRebuild != null) {
+                employeeChangesDuringRebuild.remove(entry.id());
+                employeeChangesDuringRebuild.put(entry.id(), entry);
+            }
+            return applyEmployeeLocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void applyDepartment(Long departmentId, Long parentId) {
+        lock.writeLock().lock();
+        try {
+            recordDepartmentChangeLocked(departmentId, new DepartmentChange(parentId, false));
+            applyDepartmentLocked(departmentId, parentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeDepartment(Long departmentId) {
+        lock.writeLock().lock();
+        try {
+            recordDepartmentChangeLocked(departmentId, new DepartmentChange(null, true));
+            removeDepartmentLocked(departmentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active employees reporting to the manager directly or indirectly, level
+     * by level.
+     */
+    public List<Long> getTransitiveReports(Long managerId) {
+        if (!ready && closureTable.isEnabled()) {
+            return closureTable.findReports(managerId);
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            EmployeeNode manager = employees.get(managerId);
+            if (manager == null || manager.reportCount == 0) {
+                return Collections.emptyList();
+            }
+            List<Long> reports = new ArrayList<>(manager.reportCount);
+            ArrayDeque<EmployeeNode> queue = new ArrayDeque<>(manager.directReports);
+            while (!queue.isEmpty()) {
+                EmployeeNode node = queue.poll();
+                if (node.active) {
+                    reports.add(node.id);
+                }
+                queue.addAll(node.directReports);
+            }
+            return reports;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Active managers above the employee, nearest first.
+     */
+    public List<Long> getManagementChain(Long employeeId) {
+        if (!ready && closureTable.isEnabled()) {
+            return closureTable.findManagementChain(employeeId);
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            EmployeeNode node = employees.get(employeeId);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            List<Long> chain = new ArrayList<>();
+            for (EmployeeNode manager = node.manager; manager != null; manager = manager.manager) {
+                if (manager.active) {
+                    chain.add(manager.id);
+                }
+            }
+            return chain;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isInReportingLine(Long managerId, Long employeeId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            EmployeeNode node = employees.get(employeeId);
+            EmployeeNode manager = employees.get(managerId);
+            return node != null && manager != null && node != manager && isAncestor(manager, node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SpanOfControl getSpanOfControl(Long managerId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            EmployeeNode manager = employees.get(managerId);
+            if (manager == null) {
+                return new SpanOfControl(managerId, 0, 0);
+            }
+            int direct = 0;
+            for (EmployeeNode report : manager.directReports) {
+                if (report.active) {
+                    direct++;
+                }
+            }
+            return new SpanOfControl(managerId, direct, manager.reportCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Active employees in the department and all of its sub-departments.
+     */
+    public long getDepartmentHeadcount(Long departmentId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            DepartmentNode node = departments.get(departmentId);
+            return node != null ? node.subtreeHeadcount : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Active employees assigned to the department itself.
+     */
+    public long getDirectHeadcount(Long departmentId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            DepartmentNode node = departments.get(departmentId);
+            return node != null ? node.headcount : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The department followed by all of its sub-departments, level by level.
+     */
+    public List<Long> getDepartmentSubtree(Long departmentId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            DepartmentNode root = departments.get(departmentId);
+            if (root == null) {
+                return Collections.emptyList();
+            }
+            List<Long> subtree = new ArrayList<>();
+            ArrayDeque<DepartmentNode> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                DepartmentNode node = queue.poll();
+                subtree.add(node.id);
+                queue.addAll(node.children);
+            }
+            return subtree;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!ready) {
+            synchronized (loadMonitor) {
+                if (!ready) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private boolean applyEmployeeLocked(OrgEmployeeEntry entry) {
+        EmployeeNode node = employees.computeIfAbsent(entry.id(), EmployeeNode::new);
+        EmployeeNode newManager = entry.managerId() != null
+                ? employees.computeIfAbsent(entry.managerId(), EmployeeNode::new)
+                : null;
+        if (newManager != null && isAncestor(node, newManager)) {
+            log.warn("Ignoring manager {} for employee {}: it would create a reporting cycle",
+                    entry.managerId(), entry.id());
+            newManager = node.manager;
+        }
+
+        boolean moved = node.manager != newManager;
+        if (moved) {
+            int weight = node.reportCount + (node.active ? 1 : 0);
+            if (node.manager != null) {
+                node.manager.directReports.remove(node);
+                adjustReportCounts(node.manager, -weight);
+            }
+            node.manager = newManager;
+            if (newManager != null) {
+                newManager.directReports.add(node);
+                adjustReportCounts(newManager, weight);
+            }
+        }
+
+        boolean wasActive = node.active;
+        boolean active = entry.isActive();
+        if (wasActive != active) {
+            node.active = active;
+            adjustReportCounts(node.manager, active ? 1 : -1);
+        }
+
+        DepartmentNode newDepartment = entry.departmentId() != null
+                ? departments.computeIfAbsent(entry.departmentId(), DepartmentNode::new)
+                : null;
+        if (wasActive && node.department != null) {
+            node.department.headcount--;
+            adjustHeadcount(node.department, -1);
+        }
+        node.department = newDepartment;
+        if (active && newDepartment != null) {
+            newDepartment.headcount++;
+            adjustHeadcount(newDepartment, 1);
+        }
+        return moved;
+    }
+
+    private void applyDepartmentLocked(Long departmentId, Long parentId) {
+        DepartmentNode node = departments.computeIfAbsent(departmentId, DepartmentNode::new);
+        DepartmentNode newParent = parentId != null ? departments.computeIfAbsent(parentId, DepartmentNode::new) : null;
+        if (newParent != null && isAncestor(node, newParent)) {
+            log.warn("Ignoring parent {} for department {}: it would create a cycle", parentId, departmentId);
+            return;
+        }
+        if (node.parent == newParent) {
+            return;
+        }
+        if (node.parent != null) {
+            node.parent.children.remove(node);
+            adjustHeadcount(node.parent, -node.subtreeHeadcount);
+        }
+        node.parent = newParent;
+        if (newParent != null) {
+            newParent.children.add(node);
+            adjustHeadcount(newParent, node.subtreeHeadcount);
+        }
+    }
+
+    private void removeDepartmentLocked(Long departmentId) {
+        DepartmentNode node = departments.get(departmentId);
+        if (node == null) {
+            return;
+        }
+        applyDepartmentLocked(departmentId, null);
+        if (node.children.isEmpty() && node.subtreeHeadcount == 0) {
+            departments.remove(departmentId);
+        }
+    }
+
+    private void recordDepartmentChangeLocked(Long departmentId, DepartmentChange change) {
+        if (departmentChangesDuringRebuild != null) {
+            // Re-inserted so replay follows the order the changes arrived in
+            departmentChangesDuringRebuild.remove(departmentId);
+            departmentChangesDuringRebuild.put(departmentId, change);
+        }
+    }
+
+    private Map<Long, Long> managerLinksLocked() {
+        Map<Long, Long> links = new HashMap<>(employees.size() * 2);
+        for (EmployeeNode node : employees.values()) {
+            links.put(node.id, node.manager != null ? node.manager.id : null);
+        }
+        return links;
+    }
+
+    private static void adjustReportCounts(EmployeeNode from, int delta) {
+        for (EmployeeNode node = from; node != null; node = node.manager) {
+            node.reportCount += delta;
+        }
+    }
+
+    private static void adjustHeadcount(DepartmentNode from, int delta) {
+        for (DepartmentNode node = from; node != null; node = node.parent) {
+            node.subtreeHeadcount += delta;
+        }
+    }
+
+    private static boolean isAncestor(EmployeeNode ancestor, EmployeeNode node) {
+        for (EmployeeNode current = node; current != null; current = current.manager) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAncestor(DepartmentNode ancestor, DepartmentNode node) {
+        for (DepartmentNode current = node; current != null; current = current.parent) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class EmployeeNode {
+        private final Long id;
+        private final List<EmployeeNode> directReports = new ArrayList<>(2);
+        private EmployeeNode manager;
+        private DepartmentNode department;
+        private boolean active;
+        private int reportCount;
+
+        private EmployeeNode(Long id) {
+            this.id = id;
+        }
+    }
+
+    private static final class DepartmentNode {
+        private final Long id;
+        private final List<DepartmentNode> children = new ArrayList<>(2);
+        private DepartmentNode parent;
+        private int headcount;
+        private int subtreeHeadcount;
+
+        private DepartmentNode(Long id) {
+            this.id = id;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.erp.system.hr.repository;
 
 import com.erp.system.hr.entity.Department;
+import com.erp.system.hr.org.OrgDepartmentEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,5 +26,9 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
         @Param("isActive") Boolean isActive
     );
     
+    @Query("SELECT new com.erp.system.hr.org.OrgDepartmentEntry(d.id, p.id) " +
+           "FROM Department d LEFT JOIN d.parentDepartment p")
+    List<OrgDepartmentEntry> findAllOrgEntries();
+    
     boolean existsByCode(String code);
 }
\ No newline at end of file
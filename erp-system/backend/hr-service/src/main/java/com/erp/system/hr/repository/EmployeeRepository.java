@@ -1,19 +1,54 @@
 package com.erp.system.hr.repository;
 
+import com.erp.system.hr.dto.EmployeeSummary;
 import com.erp.system.hr.entity.Employee;
 import com.erp.system.hr.enums.EmployeeStatus;
+import com.erp.system.hr.org.OrgEmployeeEntry;
+import com.erp.system.hr.search.EmployeeSearchEntry;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeSummaryRepository {
+    
+    String SUMMARY_SELECT = "SELECT new com.erp.system.hr.dto.EmployeeSummary(" +
+            "e.id, e.employeeCode, e.firstName, e.lastName, e.email, e.phone, e.status, e.hireDate, " +
+            "d.id, d.name, p.id, p.title, m.id, CONCAT(m.firstName, ' ', m.lastName)) " +
+            "FROM Employee e LEFT JOIN e.department d LEFT JOIN e.position p LEFT JOIN e.manager m";
+    
+    @EntityGraph(attributePaths = {"department", "position", "manager"})
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findDetailedById(@Param("id") Long id);
+    
+    @EntityGraph(attributePaths = {"department", "position", "manager"})
+    @Query("SELECT e FROM Employee e WHERE e.employeeCode = :employeeCode")
+    Optional<Employee> findDetailedByEmployeeCode(@Param("employeeCode") String employeeCode);
+    
+    @EntityGraph(attributePaths = {"department", "position", "manager"})
+    @Query("SELECT e FROM Employee e WHERE e.email = :email")
+    Optional<Employee> findDetailedByEmail(@Param("email") String email);
+    
+    /**
+     * The employee, locked until the transaction ends so that changes checked
+     * against the employee's other records, such as overlapping leave, are
+     * made one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findForUpdateById(@Param("id") Long id);
     
     Optional<Employee> findByEmployeeCode(String employeeCode);
     Optional<Employee> findByEmail(String email);
@@ -24,22 +59,14 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findByPositionId(Long positionId);
     List<Employee> findByManagerId(Long managerId);
     
-    @Query("SELECT e FROM Employee e WHERE " +
-           "(:firstName IS NULL OR LOWER(e.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))) AND " +
-           "(:lastName IS NULL OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) AND " +
-           "(:email IS NULL OR LOWER(e.email) LIKE LOWER(CONCAT('%', :email, '%'))) AND " +
-           "(:departmentId IS NULL OR e.department.id = :departmentId) AND " +
-           "(:positionId IS NULL OR e.position.id = :positionId) AND " +
-           "(:status IS NULL OR e.status = :status)")
-    Page<Employee> findByFilters(
-        @Param("firstName") String firstName,
-        @Param("lastName") String lastName,
-        @Param("email") String email,
-        @Param("departmentId") Long departmentId,
-        @Param("positionId") Long positionId,
-        @Param("status") EmployeeStatus status,
-        Pageable pageable
-    );
+    @Query("SELECT new com.erp.system.hr.search.EmployeeSearchEntry(" +
+           "e.id, e.employeeCode, e.firstName, e.lastName, e.email, d.id, p.id, e.status) " +
+           "FROM Employee e LEFT JOIN e.department d LEFT JOIN e.position p")
+    List<EmployeeSearchEntry> findAllSearchEntries();
+    
+    @Query("SELECT new com.erp.system.hr.org.OrgEmployeeEntry(e.id, m.id, d.id, e.status) " +
+           "FROM Employee e LEFT JOIN e.manager m LEFT JOIN e.department d")
+    List<OrgEmployeeEntry> findAllOrgEntries();
     
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.status = :status")
     Long countByStatus(@Param("status") EmployeeStatus status);
@@ -47,8 +74,20 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.department.id = :departmentId")
     Long countByDepartmentId(@Param("departmentId") Long departmentId);
     
-    @Query("SELECT e FROM Employee e WHERE e.manager.id = :managerId")
-    List<Employee> findSubordinates(@Param("managerId") Long managerId);
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(e) FROM Employee e")
+    Page<EmployeeSummary> findAllSummaries(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + " WHERE e.department.id = :departmentId")
+    List<EmployeeSummary> findSummariesByDepartmentId(@Param("departmentId") Long departmentId);
+    
+    @Query(SUMMARY_SELECT + " WHERE e.status = :status")
+    List<EmployeeSummary> findSummariesByStatus(@Param("status") EmployeeStatus status);
+    
+    @Query(SUMMARY_SELECT + " WHERE e.manager.id = :managerId")
+    List<EmployeeSummary> findSummariesByManagerId(@Param("managerId") Long managerId);
+    
+    @Query(SUMMARY_SELECT + " WHERE e.id IN :ids")
+    List<EmployeeSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
     
     boolean existsByEmployeeCode(String employeeCode);
     boolean existsByEmail(String email);
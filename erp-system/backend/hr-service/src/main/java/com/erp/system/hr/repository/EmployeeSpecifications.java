@@ -0,0 +1,87 @@
+package com.erp.system.hr.repository;
+
+import com.erp.system.hr.entity.Employee;
+import com.erp.system.hr.search.EmployeeSearchIndex;
+import com.erp.system.hr.search.EmployeeSearchQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds employee search predicates from the criteria that are actually
+ * present, so the database sees plain conditions instead of
+ * ":param IS NULL OR ..." guards. Text criteria match like the in-memory
+ * index: every query token must be found in the field, tokens of three or
+ * more characters anywhere in it and shorter ones at the start of a word.
+ * The LIKEs are served by the lower() trigram indexes in
+ * db/employee-search-indexes.sql.
+ */
+public final class EmployeeSpecifications {
+    
+    private static final char ESCAPE = '\\';
+    private static final String[] WORD_SEPARATORS = {" ", ".", "-", "_", "@", "'"};
+    
+    private EmployeeSpecifications() {
+    }
+    
+    public static Specification<Employee> matching(EmployeeSearchQuery query) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            Expression<String> employeeCode = cb.lower(root.get("employeeCode"));
+            Expression<String> firstName = cb.lower(root.get("firstName"));
+            Expression<String> lastName = cb.lower(root.get("lastName"));
+            Expression<String> email = cb.lower(root.get("email"));
+            
+            for (String token : EmployeeSearchIndex.tokens(query.firstName())) {
+                predicates.add(matchesToken(cb, firstName, token));
+            }
+            for (String token : EmployeeSearchIndex.tokens(query.lastName())) {
+                predicates.add(matchesToken(cb, lastName, token));
+            }
+            for (String token : EmployeeSearchIndex.tokens(query.email())) {
+                predicates.add(matchesToken(cb, email, token));
+            }
+            for (String token : EmployeeSearchIndex.tokens(query.text())) {
+                predicates.add(cb.or(
+                        matchesToken(cb, employeeCode, token),
+                        matchesToken(cb, firstName, token),
+                        matchesToken(cb, lastName, token),
+                        matchesToken(cb, email, token)));
+            }
+            if (query.departmentId() != null) {
+                predicates.add(cb.equal(root.get("department").get("id"), query.departmentId()));
+            }
+            if (query.positionId() != null) {
+                predicates.add(cb.equal(root.get("position").get("id"), query.positionId()));
+            }
+            if (query.status() != null) {
+                predicates.add(cb.equal(root.get("status"), query.status()));
+            }
+            
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    private static Predicate matchesToken(CriteriaBuilder cb, Expression<String> field, String token) {
+        String escaped = escape(token);
+        if (token.length() >= 3) {
+            return cb.like(field, "%" + escaped + "%", ESCAPE);
+        }
+        List<Predicate> wordStarts = new ArrayList<>(WORD_SEPARATORS.length + 1);
+        wordStarts.add(cb.like(field, escaped + "%", ESCAPE));
+        for (String separator : WORD_SEPARATORS) {
+            wordStarts.add(cb.like(field, "%" + escape(separator) + escaped + "%", ESCAPE));
+        }
+        return cb.or(wordStarts.toArray(new Predicate[0]));
+    }
+    
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,15 @@
+package com.erp.system.hr.repository;
+
+import com.erp.system.hr.dto.EmployeeSummary;
+import com.erp.system.hr.entity.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Summary projections for criteria that are only known at runtime.
+ */
+public interface EmployeeSummaryRepository {
+    
+    Page<EmployeeSummary> findSummaries(Specification<Employee> specification, Pageable pageable);
+}
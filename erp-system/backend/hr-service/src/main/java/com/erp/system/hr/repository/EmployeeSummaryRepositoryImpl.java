@@ -0,0 +1,78 @@
+package com.erp.system.hr.repository;
+
+import com.erp.system.hr.dto.EmployeeSummary;
+import com.erp.system.hr.entity.Department;
+import com.erp.system.hr.entity.Employee;
+import com.erp.system.hr.entity.Position;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+public class EmployeeSummaryRepositoryImpl implements EmployeeSummaryRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<EmployeeSummary> findSummaries(Specification<Employee> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        
+        CriteriaQuery<EmployeeSummary> query = cb.createQuery(EmployeeSummary.class);
+        Root<Employee> employee = query.from(Employee.class);
+        Join<Employee, Department> department = employee.join("department", JoinType.LEFT);
+        Join<Employee, Position> position = employee.join("position", JoinType.LEFT);
+        Join<Employee, Employee> manager = employee.join("manager", JoinType.LEFT);
+        query.select(cb.construct(EmployeeSummary.class,
+                employee.get("id"),
+                employee.get("employeeCode"),
+                employee.get("firstName"),
+                employee.get("lastName"),
+                employee.get("email"),
+                employee.get("phone"),
+                employee.get("status"),
+                employee.get("hireDate"),
+                department.get("id"),
+                department.get("name"),
+                position.get("id"),
+                position.get("title"),
+                manager.get("id"),
+                cb.concat(cb.concat(manager.get("firstName"), " "), manager.get("lastName"))));
+        Predicate predicate = specification.toPredicate(employee, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), employee, cb));
+        }
+        
+        TypedQuery<EmployeeSummary> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(specification));
+    }
+    
+    private long count(Specification<Employee> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employee> employee = query.from(Employee.class);
+        query.select(cb.count(employee));
+        Predicate predicate = specification.toPredicate(employee, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -2,6 +2,7 @@ package com.erp.system.hr.repository;
 
 import com.erp.system.hr.entity.LeaveRequest;
 import com.erp.system.hr.enums.LeaveRequestStatus;
+import com.erp.system.hr.leave.LeaveInterval;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,7 +11,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
@@ -35,6 +38,24 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
         @Param("endDate") LocalDate endDate
     );
     
+    @Query("SELECT lr.id FROM LeaveRequest lr WHERE lr.employee.id = :employeeId AND " +
+           "lr.startDate <= :endDate AND lr.endDate >= :startDate AND lr.status IN :statuses ORDER BY lr.startDate")
+    List<Long> findOverlappingIds(
+        @Param("employeeId") Long employeeId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("statuses") Collection<LeaveRequestStatus> statuses
+    );
+    
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee e LEFT JOIN FETCH e.department " +
+           "WHERE lr.id = :id")
+    Optional<LeaveRequest> findWithEmployeeById(@Param("id") Long id);
+    
+    @Query("SELECT new com.erp.system.hr.leave.LeaveInterval(lr.id, e.id, CONCAT(e.firstName, ' ', e.lastName), " +
+           "d.id, lr.leaveType, lr.status, lr.startDate, lr.endDate, lr.isHalfDay) " +
+           "FROM LeaveRequest lr JOIN lr.employee e LEFT JOIN e.department d WHERE lr.status IN :statuses")
+    List<LeaveInterval> findCalendarIntervals(@Param("statuses") Collection<LeaveRequestStatus> statuses);
+    
     @Query("SELECT lr FROM LeaveRequest lr WHERE " +
            "lr.employee.manager.id = :managerId AND lr.status = 'PENDING'")
     List<LeaveRequest> findPendingRequestsForManager(@Param("managerId") Long managerId);
@@ -46,4 +67,4 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
         @Param("employeeId") Long employeeId, 
         @Param("year") int year
     );
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.erp.system.hr.repository;
+
+import com.erp.system.hr.dto.PayrollHoursDto;
+import com.erp.system.hr.entity.PayrollPeriodHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PayrollPeriodHoursRepository extends JpaRepository<PayrollPeriodHours, Long> {
+    
+    @Query("SELECT new com.erp.system.hr.dto.PayrollHoursDto(" +
+           "e.id, e.employeeCode, CONCAT(e.firstName, ' ', e.lastName), h.periodStart, h.periodEnd, " +
+           "h.workedSeconds, h.overtimeSeconds, h.daysWorked) " +
+           "FROM PayrollPeriodHours h JOIN h.employee e " +
+           "WHERE h.periodStart = :periodStart AND h.periodEnd = :periodEnd ORDER BY e.employeeCode")
+    List<PayrollHoursDto> findPeriodHours(@Param("periodStart") LocalDate periodStart,
+                                          @Param("periodEnd") LocalDate periodEnd);
+}
@@ -0,0 +1,18 @@
+package com.erp.system.hr.search;
+
+import com.erp.system.hr.enums.EmployeeStatus;
+
+/**
+ * The searchable columns of one employee, loaded with a constructor
+ * projection so the index never touches full entities.
+ */
+public record EmployeeSearchEntry(
+        Long id,
+        String employeeCode,
+        String firstName,
+        String lastName,
+        String email,
+        Long departmentId,
+        Long positionId,
+        EmployeeStatus status) {
+}
@@ -0,0 +1,52 @@
+package com.erp.system.hr.search;
+
+import com.erp.system.hr.enums.EmployeeStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Applies employee changes made on other replicas to this replica's search
+ * index. Each instance consumes with its own stable group so all of them see
+ * every event; an event carries the full searchable state, so re-applying
+ * one, including this replica's own changes, is harmless.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeSearchEventListener {
+
+    private final EmployeeSearchIndex employeeSearchIndex;
+
+    @KafkaListener(topics = "employee-events", groupId = "hr-search-${hr.instance-id}")
+    public void onEmployeeEvent(Map<String, Object> event) {
+        try {
+            Long employeeId = toLong(event.get("employeeId"));
+            if (employeeId == null || event.get("status") == null || !event.containsKey("firstName")) {
+                return;
+            }
+            employeeSearchIndex.index(new EmployeeSearchEntry(
+                    employeeId,
+                    toString(event.get("employeeCode")),
+                    toString(event.get("firstName")),
+                    toString(event.get("lastName")),
+                    toString(event.get("email")),
+                    toLong(event.get("departmentId")),
+                    toLong(event.get("positionId")),
+                    EmployeeStatus.valueOf(event.get("status").toString())));
+        } catch (Exception e) {
+            log.error("Error applying employee event to search index: {}", event, e);
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private static String toString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,462 @@
+package com.erp.system.hr.search;
+
+import com.erp.system.hr.entity.Employee;
+import com.erp.system.hr.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory directory index over employee code, first name, last name and
+ * email. Every token is indexed by its trigrams and by its one- and
+ * two-character prefixes, so keystroke queries resolve to posting-list
+ * intersections instead of LIKE '%x%' scans. Query tokens of three or more
+ * characters match anywhere in a token, shorter ones match token prefixes.
+ * Text is lower-cased and stripped of accents before indexing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final String[] NO_TOKENS = new String[0];
+    private static final int MIN_DEAD_SLOTS_FOR_COMPACTION = 10_000;
+
+    private static final int SCORE_CODE = 100;
+    private static final int SCORE_EXACT_TOKEN = 40;
+    private static final int SCORE_PREFIX = 25;
+    private static final int SCORE_SUBSTRING = 10;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, PostingList> postings = new HashMap<>();
+    private Map<Long, Integer> slotsById = new HashMap<>();
+    private IndexedEmployee[] documents = new IndexedEmployee[1024];
+    private int slotCount;
+    private int deadSlots;
+    // Index and remove calls made while a rebuild reads its snapshot; null
+    // value for a removal. Null when no rebuild is running.
+    private Map<Long, EmployeeSearchEntry> changesDuringRebuild;
+    private volatile boolean ready;
+
+    public record SearchResult(long total, List<Long> employeeIds) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        CompletableFuture.runAsync(this::rebuild)
+                .exceptionally(e -> {
+                    log.error("Employee search index could not be built", e);
+                    return null;
+                });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the index with a fresh snapshot of the employees table. The
+     * snapshot is read without holding the lock, so index and remove calls
+     * made meanwhile are recorded and re-applied on top of it; otherwise a
+     * change committed after the snapshot was read would be lost.
+     */
+    public synchronized void rebuild() {
+        long startTime = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<EmployeeSearchEntry> entries;
+        try {
+            entries = employeeRepository.findAllSearchEntries();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            resetStructures(entries.size());
+            for (EmployeeSearchEntry entry : entries) {
+                if (!changesDuringRebuild.containsKey(entry.id())) {
+                    addDocument(new IndexedEmployee(entry));
+                }
+            }
+            for (EmployeeSearchEntry entry : changesDuringRebuild.values()) {
+                if (entry != null) {
+                    addDocument(new IndexedEmployee(entry));
+                }
+            }
+            changesDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Employee search index built with {} employees and {} keys in {}ms",
+                entries.size(), postings.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Indexes the employee once the surrounding transaction commits, so a
+     * rolled-back create or update never becomes searchable.
+     */
+    public void indexAfterCommit(Employee employee) {
+        EmployeeSearchEntry entry = toEntry(employee);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index(entry);
+                }
+            });
+        } else {
+            index(entry);
+        }
+    }
+
+    public void index(EmployeeSearchEntry entry) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(entry.id());
+            addDocument(new IndexedEmployee(entry));
+            compactIfNeeded();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(entry.id(), entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long employeeId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(employeeId);
+            compactIfNeeded();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(employeeId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search: code matches first, then whole-token, prefix and
+     * substring matches, ties broken by last name, first name and id. Only
+     * the best offset + limit matches are kept and sorted, so a short query
+     * matching a large part of the directory does not sort every match.
+     */
+    public SearchResult search(EmployeeSearchQuery query, int offset, int limit) {
+        List<String> textTokens = tokens(query.text());
+        List<String> firstNameTokens = tokens(query.firstName());
+        List<String> lastNameTokens = tokens(query.lastName());
+        List<String> emailTokens = tokens(query.email());
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (List<String> tokens : List.of(textTokens, firstNameTokens, lastNameTokens, emailTokens)) {
+            for (String token : tokens) {
+                keys.addAll(queryKeys(token));
+            }
+        }
+        if (keys.isEmpty()) {
+            return new SearchResult(0, Collections.emptyList());
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                PostingList list = postings.get(key);
+                if (list == null) {
+                    return new SearchResult(0, Collections.emptyList());
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            PostingList driver = lists.get(0);
+            int keep = (int) Math.min((long) offset + limit, driver.size());
+            // Worst kept match on top, so it is the one replaced by a better one
+            PriorityQueue<ScoredEmployee> best = new PriorityQueue<>(
+                    Math.max(1, Math.min(keep, 1024)), ScoredEmployee.RANKING.reversed());
+            int total = 0;
+            candidates:
+            for (int i = 0; i < driver.size(); i++) {
+                int slot = driver.get(i);
+                IndexedEmployee document = documents[slot];
+                if (document == null || !document.matchesFilters(query)) {
+                    continue;
+                }
+                for (int j = 1; j < lists.size(); j++) {
+                    if (!lists.get(j).contains(slot)) {
+                        continue candidates;
+                    }
+                }
+
+                int score = document.score(textTokens, firstNameTokens, lastNameTokens, emailTokens);
+                if (score > 0) {
+                    total++;
+                    ScoredEmployee match = new ScoredEmployee(document, score);
+                    if (best.size() < keep) {
+                        best.add(match);
+                    } else if (keep > 0 && ScoredEmployee.RANKING.compare(match, best.peek()) < 0) {
+                        best.poll();
+                        best.add(match);
+                    }
+                }
+            }
+
+            List<ScoredEmployee> ranked = new ArrayList<>(best);
+            ranked.sort(ScoredEmployee.RANKING);
+            List<Long> page = ranked.stream()
+                    .skip(offset)
+                    .map(match -> match.document().entry.id())
+                    .toList();
+            return new SearchResult(total, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addDocument(IndexedEmployee document) {
+        if (slotCount == documents.length) {
+            documents = Arrays.copyOf(documents, slotCount * 2);
+        }
+        int slot = slotCount++;
+        documents[slot] = document;
+        slotsById.put(document.entry.id(), slot);
+
+        for (String[] fieldTokens : document.allTokens) {
+            for (String token : fieldTokens) {
+                for (String key : documentKeys(token)) {
+                    postings.computeIfAbsent(key, k -> new PostingList()).append(slot);
+                }
+            }
+        }
+    }
+
+    private void removeDocument(Long employeeId) {
+        Integer slot = slotsById.remove(employeeId);
+        if (slot != null) {
+            documents[slot] = null;
+            deadSlots++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deadSlots < MIN_DEAD_SLOTS_FOR_COMPACTION || deadSlots < slotsById.size() / 4) {
+            return;
+        }
+        IndexedEmployee[] live = Arrays.stream(documents, 0, slotCount)
+                .filter(document -> document != null)
+                .toArray(IndexedEmployee[]::new);
+        resetStructures(live.length);
+        for (IndexedEmployee document : live) {
+            addDocument(document);
+        }
+        log.debug("Compacted employee search index to {} employees", live.length);
+    }
+
+    private void resetStructures(int expectedSize) {
+        postings = new HashMap<>();
+        slotsById = new HashMap<>(Math.max(16, expectedSize * 2));
+        documents = new IndexedEmployee[Math.max(1024, expectedSize + expectedSize / 4)];
+        slotCount = 0;
+        deadSlots = 0;
+    }
+
+    private static Set<String> documentKeys(String token) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add("^" + token.substring(0, 1));
+        if (token.length() >= 2) {
+            keys.add("^" + token.substring(0, 2));
+        }
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            keys.add(token.substring(i, i + 3));
+        }
+        return keys;
+    }
+
+    private static Set<String> queryKeys(String token) {
+        if (token.length() < 3) {
+            return Set.of("^" + token);
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            keys.add(token.substring(i, i + 3));
+        }
+        return keys;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Lower-cased, accent-free alphanumeric tokens of a value; the database
+     * fallback splits query text the same way.
+     */
+    public static List<String> tokens(String value) {
+        if (!EmployeeSearchQuery.isPresent(value)) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATORS.split(normalize(value))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String[] tokenArray(String value) {
+        List<String> tokens = tokens(value);
+        return tokens.isEmpty() ? NO_TOKENS : tokens.toArray(String[]::new);
+    }
+
+    private static EmployeeSearchEntry toEntry(Employee employee) {
+        return new EmployeeSearchEntry(
+                employee.getId(),
+                employee.getEmployeeCode(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+                employee.getPosition() != null ? employee.getPosition().getId() : null,
+                employee.getStatus());
+    }
+
+    private static final class IndexedEmployee {
+
+        private final EmployeeSearchEntry entry;
+        private final String normalizedCode;
+        private final String[] codeTokens;
+        private final String[] firstNameTokens;
+        private final String[] lastNameTokens;
+        private final String[] emailTokens;
+        private final String[][] allTokens;
+        private final String sortKey;
+
+        private IndexedEmployee(EmployeeSearchEntry entry) {
+            this.entry = entry;
+            this.normalizedCode = TOKEN_SEPARATORS.matcher(normalize(entry.employeeCode())).replaceAll("");
+            this.codeTokens = tokenArray(entry.employeeCode());
+            this.firstNameTokens = tokenArray(entry.firstName());
+            this.lastNameTokens = tokenArray(entry.lastName());
+            this.emailTokens = tokenArray(entry.email());
+            this.allTokens = new String[][] {codeTokens, firstNameTokens, lastNameTokens, emailTokens};
+            this.sortKey = normalize(entry.lastName()) + "\u0000" + normalize(entry.firstName());
+        }
+
+        private boolean matchesFilters(EmployeeSearchQuery query) {
+            return (query.departmentId() == null || query.departmentId().equals(entry.departmentId()))
+                    && (query.positionId() == null || query.positionId().equals(entry.positionId()))
+                    && (query.status() == null || query.status() == entry.status());
+        }
+
+        /**
+         * Sum of per-token scores, or 0 if any query token has no match in
+         * the field it is restricted to.
+         */
+        private int score(List<String> text, List<String> firstName, List<String> lastName, List<String> email) {
+            int total = 0;
+            for (String token : text) {
+                int best = normalizedCode.equals(token) ? SCORE_CODE : 0;
+                for (String[] field : allTokens) {
+                    best = Math.max(best, tokenScore(field, token));
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            int fieldScore = fieldScore(firstNameTokens, firstName);
+            if (fieldScore < 0) {
+                return 0;
+            }
+            total += fieldScore;
+            fieldScore = fieldScore(lastNameTokens, lastName);
+            if (fieldScore < 0) {
+                return 0;
+            }
+            total += fieldScore;
+            fieldScore = fieldScore(emailTokens, email);
+            if (fieldScore < 0) {
+                return 0;
+            }
+            return total + fieldScore;
+        }
+
+        private static int fieldScore(String[] fieldTokens, List<String> queryTokens) {
+            int total = 0;
+            for (String token : queryTokens) {
+                int score = tokenScore(fieldTokens, token);
+                if (score == 0) {
+                    return -1;
+                }
+                total += score;
+            }
+            return total;
+        }
+
+        private static int tokenScore(String[] fieldTokens, String token) {
+            int best = 0;
+            for (String fieldToken : fieldTokens) {
+                if (fieldToken.equals(token)) {
+                    return SCORE_EXACT_TOKEN;
+                }
+                if (fieldToken.startsWith(token)) {
+                    best = Math.max(best, SCORE_PREFIX);
+                } else if (token.length() >= 3 && fieldToken.contains(token)) {
+                    best = Math.max(best, SCORE_SUBSTRING);
+                }
+            }
+            return best;
+        }
+    }
+
+    private record ScoredEmployee(IndexedEmployee document, int score) {
+
+        private static final Comparator<ScoredEmployee> RANKING = Comparator
+                .comparingInt(ScoredEmployee::score).reversed()
+                .thenComparing(scored -> scored.document().sortKey)
+                .thenComparing(scored -> scored.document().entry.id());
+    }
+}
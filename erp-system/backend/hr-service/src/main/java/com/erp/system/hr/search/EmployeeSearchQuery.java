@@ -0,0 +1,25 @@
+package com.erp.system.hr.search;
+
+import com.erp.system.hr.enums.EmployeeStatus;
+
+/**
+ * Criteria of a directory search. Text criteria are matched against the
+ * in-memory index; the id and status criteria are plain equality filters.
+ */
+public record EmployeeSearchQuery(
+        String text,
+        String firstName,
+        String lastName,
+        String email,
+        Long departmentId,
+        Long positionId,
+        EmployeeStatus status) {
+
+    public boolean hasText() {
+        return isPresent(text) || isPresent(firstName) || isPresent(lastName) || isPresent(email);
+    }
+
+    static boolean isPresent(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,35 @@
+package com.erp.system.hr.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable, ascending list of document slots. Slots are only ever appended
+ * in increasing order, so the list stays sorted without re-sorting.
+ */
+final class PostingList {
+
+    private int[] slots = new int[4];
+    private int size;
+
+    void append(int slot) {
+        if (size > 0 && slots[size - 1] == slot) {
+            return;
+        }
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        slots[size++] = slot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return slots[index];
+    }
+
+    boolean contains(int slot) {
+        return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+    }
+}
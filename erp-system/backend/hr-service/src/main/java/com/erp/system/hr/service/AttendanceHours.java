@@ -0,0 +1,39 @@
+package com.erp.system.hr.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Worked time of one attendance day, in whole seconds. The break only counts
+ * for the part that falls between check-in and check-out, and a day without
+ * both punches counts as zero.
+ */
+final class AttendanceHours {
+    
+    private AttendanceHours() {
+    }
+    
+    static long workedSeconds(LocalDateTime checkIn, LocalDateTime checkOut,
+                              LocalDateTime breakStart, LocalDateTime breakEnd) {
+        if (checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            return 0;
+        }
+        long worked = Duration.between(checkIn, checkOut).getSeconds();
+        if (breakStart != null && breakEnd != null && breakEnd.isAfter(breakStart)) {
+            LocalDateTime from = breakStart.isAfter(checkIn) ? breakStart : checkIn;
+            LocalDateTime to = breakEnd.isBefore(checkOut) ? breakEnd : checkOut;
+            if (to.isAfter(from)) {
+                worked -= Duration.between(from, to).getSeconds();
+            }
+        }
+        return worked;
+    }
+    
+    static long overtimeSeconds(long workedSeconds, long standardDaySeconds) {
+        return Math.max(0, workedSeconds - standardDaySeconds);
+    }
+    
+    static Double toHours(long seconds) {
+        return Math.round(seconds / 36.0) / 100.0;
+    }
+}
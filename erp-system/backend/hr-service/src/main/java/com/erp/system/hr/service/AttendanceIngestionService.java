@@ -0,0 +1,234 @@
+package com.erp.system.hr.service;
+
+import com.erp.system.hr.dto.AttendanceIngestionResultDto;
+import com.erp.system.hr.dto.AttendanceRecordDto;
+import com.erp.system.hr.enums.AttendanceStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk attendance ingestion for badge-reader feeds. A batch is merged per
+ * (employee, date), combined with the rows already stored for those days,
+ * and written back with one batched upsert. Worked and overtime hours are
+ * computed while merging, and the change in hours is applied to any payroll
+ * period totals that cover the day.
+ *
+ * <p>The employee rows are locked first, in id order, so two batches for the
+ * same employee (a check-in feed and a check-out feed, say) merge one after
+ * the other instead of both starting from the same stored day.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceIngestionService {
+
+    private static final String SELECT_EMPLOYEE_IDS_SQL =
+            "SELECT id FROM employees WHERE id = ANY(?) ORDER BY id FOR NO KEY UPDATE";
+
+    private static final String SELECT_EXISTING_SQL =
+            "SELECT a.employee_id, a.date, a.check_in_time, a.check_out_time, a.break_start_time, " +
+            "a.break_end_time, a.status, a.work_location, a.is_remote_work, a.notes " +
+            "FROM attendances a JOIN unnest(?::bigint[], ?::date[]) AS k(employee_id, date) " +
+            "ON a.employee_id = k.employee_id AND a.date = k.date FOR UPDATE OF a";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO attendances (employee_id, date, check_in_time, check_out_time, break_start_time, " +
+            "break_end_time, total_hours_worked, overtime_hours, status, work_location, is_remote_work, notes, " +
+            "approved_by_manager, active, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, true, 0, ?, ?) " +
+            "ON CONFLICT (employee_id, date) DO UPDATE SET check_in_time = EXCLUDED.check_in_time, " +
+            "check_out_time = EXCLUDED.check_out_time, break_start_time = EXCLUDED.break_start_time, " +
+            "break_end_time = EXCLUDED.break_end_time, total_hours_worked = EXCLUDED.total_hours_worked, " +
+            "overtime_hours = EXCLUDED.overtime_hours, status = EXCLUDED.status, " +
+            "work_location = EXCLUDED.work_location, is_remote_work = EXCLUDED.is_remote_work, " +
+            "notes = EXCLUDED.notes, version = COALESCE(attendances.version, 0) + 1, updated_at = EXCLUDED.updated_at";
+
+    // Applies to every calculated period covering the day, creating the employee's
+    // row when the period was calculated before they had any attendance in it.
+    private static final String ADJUST_PERIOD_TOTALS_SQL =
+            "INSERT INTO payroll_period_hours (employee_id, period_start, period_end, worked_seconds, " +
+            "overtime_seconds, days_worked, calculated_at, active, version, created_at, updated_at) " +
+            "SELECT ?, p.period_start, p.period_end, ?, ?, ?, ?, true, 0, ?, ? " +
+            "FROM (SELECT DISTINCT period_start, period_end FROM payroll_period_hours " +
+            "WHERE period_start <= ? AND period_end >= ?) p " +
+            "ON CONFLICT (employee_id, period_start, period_end) DO UPDATE SET " +
+            "worked_seconds = payroll_period_hours.worked_seconds + EXCLUDED.worked_seconds, " +
+            "overtime_seconds = payroll_period_hours.overtime_seconds + EXCLUDED.overtime_seconds, " +
+            "days_worked = payroll_period_hours.days_worked + EXCLUDED.days_worked, " +
+            "version = COALESCE(payroll_period_hours.version, 0) + 1, updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${hr.attendance.standard-day-hours:8}")
+    private double standardDayHours;
+
+    @Value("${hr.attendance.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    private record DayKey(Long employeeId, LocalDate date) {
+    }
+
+    @Transactional
+    public AttendanceIngestionResultDto ingest(List<AttendanceRecordDto> records) {
+        long startTime = System.currentTimeMillis();
+        List<String> errors = new ArrayList<>();
+
+        Map<DayKey, AttendanceRecordDto> incoming = new LinkedHashMap<>();
+        for (AttendanceRecordDto record : records) {
+            incoming.merge(new DayKey(record.getEmployeeId(), record.getDate()), record,
+                    AttendanceIngestionService::overlay);
+        }
+
+        Set<Long> knownEmployees = findKnownEmployees(incoming.keySet());
+        int rejected = 0;
+        for (var iterator = incoming.keySet().iterator(); iterator.hasNext(); ) {
+            DayKey key = iterator.next();
+            if (!knownEmployees.contains(key.employeeId())) {
+                errors.add("Employee not found with id: " + key.employeeId() + " (" + key.date() + ")");
+                rejected++;
+                iterator.remove();
+            }
+        }
+        if (incoming.isEmpty()) {
+            return new AttendanceIngestionResultDto(records.size(), 0, rejected, errors);
+        }
+
+        Map<DayKey, AttendanceRecordDto> existing = findExisting(incoming.keySet());
+        long standardDaySeconds = Math.round(standardDayHours * 3600);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> upserts = new ArrayList<>(incoming.size());
+        List<Object[]> adjustments = new ArrayList<>();
+        for (Map.Entry<DayKey, AttendanceRecordDto> entry : incoming.entrySet()) {
+            AttendanceRecordDto previous = existing.get(entry.getKey());
+            AttendanceRecordDto merged = previous != null ? overlay(previous, entry.getValue()) : entry.getValue();
+
+            long worked = workedSeconds(merged);
+            long overtime = AttendanceHours.overtimeSeconds(worked, standardDaySeconds);
+            upserts.add(new Object[] {
+                    merged.getEmployeeId(), Date.valueOf(merged.getDate()),
+                    toTimestamp(merged.getCheckInTime()), toTimestamp(merged.getCheckOutTime()),
+                    toTimestamp(merged.getBreakStartTime()), toTimestamp(merged.getBreakEndTime()),
+                    AttendanceHours.toHours(worked), AttendanceHours.toHours(overtime),
+                    (merged.getStatus() != null ? merged.getStatus() : AttendanceStatus.PRESENT).name(),
+                    merged.getWorkLocation(), Boolean.TRUE.equals(merged.getIsRemoteWork()), merged.getNotes(),
+                    now, now});
+
+            long previousWorked = previous != null ? workedSeconds(previous) : 0;
+            long previousOvertime = AttendanceHours.overtimeSeconds(previousWorked, standardDaySeconds);
+            int dayDelta = (worked > 0 ? 1 : 0) - (previousWorked > 0 ? 1 : 0);
+            if (worked != previousWorked || dayDelta != 0) {
+                Date day = Date.valueOf(merged.getDate());
+                adjustments.add(new Object[] {merged.getEmployeeId(), worked - previousWorked,
+                        overtime - previousOvertime, dayDelta, now, now, now, day, day});
+            }
+        }
+
+        for (int from = 0; from < upserts.size(); from += jdbcBatchSize) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, upserts.subList(from, Math.min(from + jdbcBatchSize, upserts.size())));
+        }
+        for (int from = 0; from < adjustments.size(); from += jdbcBatchSize) {
+            jdbcTemplate.batchUpdate(ADJUST_PERIOD_TOTALS_SQL,
+                    adjustments.subList(from, Math.min(from + jdbcBatchSize, adjustments.size())));
+        }
+
+        log.info("Ingested {} attendance records as {} days in {} ms ({} rejected)",
+                records.size(), upserts.size(), System.currentTimeMillis() - startTime, rejected);
+        return new AttendanceIngestionResultDto(records.size(), upserts.size(), rejected, errors);
+    }
+
+    private Set<Long> findKnownEmployees(Set<DayKey> keys) {
+        Set<Long> ids = new HashSet<>();
+        for (DayKey key : keys) {
+            ids.add(key.employeeId());
+        }
+        Set<Long> known = new HashSet<>(ids.size() * 2);
+        jdbcTemplate.query(SELECT_EMPLOYEE_IDS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+                rs -> {
+                    known.add(rs.getLong(1));
+                });
+        return known;
+    }
+
+    private Map<DayKey, AttendanceRecordDto> findExisting(Set<DayKey> keys) {
+        Object[] employeeIds = new Object[keys.size()];
+        Object[] dates = new Object[keys.size()];
+        int i = 0;
+        for (DayKey key : keys) {
+            employeeIds[i] = key.employeeId();
+            dates[i] = Date.valueOf(key.date());
+            i++;
+        }
+
+        Map<DayKey, AttendanceRecordDto> existing = new HashMap<>();
+        jdbcTemplate.query(SELECT_EXISTING_SQL, ps -> {
+            Array employeeIdArray = ps.getConnection().createArrayOf("bigint", employeeIds);
+            Array dateArray = ps.getConnection().createArrayOf("date", dates);
+            ps.setArray(1, employeeIdArray);
+            ps.setArray(2, dateArray);
+        }, rs -> {
+            AttendanceRecordDto row = new AttendanceRecordDto(
+                    rs.getLong("employee_id"),
+                    rs.getDate("date").toLocalDate(),
+                    toLocalDateTime(rs.getTimestamp("check_in_time")),
+                    toLocalDateTime(rs.getTimestamp("check_out_time")),
+                    toLocalDateTime(rs.getTimestamp("break_start_time")),
+                    toLocalDateTime(rs.getTimestamp("break_end_time")),
+                    rs.getString("status") != null ? AttendanceStatus.valueOf(rs.getString("status")) : null,
+                    rs.getString("work_location"),
+                    (Boolean) rs.getObject("is_remote_work"),
+                    rs.getString("notes"));
+            existing.put(new DayKey(row.getEmployeeId(), row.getDate()), row);
+        });
+        return existing;
+    }
+
+    /**
+     * The later record's punches and details win wherever it has a value, so a
+     * check-out arriving after the check-in completes the day.
+     */
+    private static AttendanceRecordDto overlay(AttendanceRecordDto earlier, AttendanceRecordDto later) {
+        return new AttendanceRecordDto(
+                earlier.getEmployeeId(),
+                earlier.getDate(),
+                later.getCheckInTime() != null ? later.getCheckInTime() : earlier.getCheckInTime(),
+                later.getCheckOutTime() != null ? later.getCheckOutTime() : earlier.getCheckOutTime(),
+                later.getBreakStartTime() != null ? later.getBreakStartTime() : earlier.getBreakStartTime(),
+                later.getBreakEndTime() != null ? later.getBreakEndTime() : earlier.getBreakEndTime(),
+                later.getStatus() != null ? later.getStatus() : earlier.getStatus(),
+                later.getWorkLocation() != null ? later.getWorkLocation() : earlier.getWorkLocation(),
+                later.getIsRemoteWork() != null ? later.getIsRemoteWork() : earlier.getIsRemoteWork(),
+                later.getNotes() != null ? later.getNotes() : earlier.getNotes());
+    }
+
+    private static long workedSeconds(AttendanceRecordDto record) {
+        return AttendanceHours.workedSeconds(record.getCheckInTime(), record.getCheckOutTime(),
+                record.getBreakStartTime(), record.getBreakEndTime());
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
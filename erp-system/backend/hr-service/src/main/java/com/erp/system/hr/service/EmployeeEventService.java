@@ -1,54 +1,47 @@
 package com.erp.system.hr.service;
 
 import com.erp.system.hr.entity.Employee;
+import com.erp.system.outbox.OutboxPublisher;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Employee events go through the transactional outbox: they are stored with
+ * the employee change and published to Kafka by the outbox relay after the
+ * transaction commits.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeEventService {
     
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxPublisher outboxPublisher;
     private final ObjectMapper objectMapper;
     
     private static final String EMPLOYEE_TOPIC = "employee-events";
     
     public void publishEmployeeCreated(Employee employee) {
-        try {
-            Map<String, Object> event = createEmployeeEvent("EMPLOYEE_CREATED", employee);
-            kafkaTemplate.send(EMPLOYEE_TOPIC, employee.getId().toString(), event);
-            log.info("Published employee created event for employee: {}", employee.getId());
-        } catch (Exception e) {
-            log.error("Error publishing employee created event", e);
-        }
+        Map<String, Object> event = createEmployeeEvent("EMPLOYEE_CREATED", employee);
+        outboxPublisher.publish(EMPLOYEE_TOPIC, employee.getId().toString(), event);
+        log.info("Queued employee created event for employee: {}", employee.getId());
     }
     
     public void publishEmployeeUpdated(Employee employee) {
-        try {
-            Map<String, Object> event = createEmployeeEvent("EMPLOYEE_UPDATED", employee);
-            kafkaTemplate.send(EMPLOYEE_TOPIC, employee.getId().toString(), event);
-            log.info("Published employee updated event for employee: {}", employee.getId());
-        } catch (Exception e) {
-            log.error("Error publishing employee updated event", e);
-        }
+        Map<String, Object> event = createEmployeeEvent("EMPLOYEE_UPDATED", employee);
+        outboxPublisher.publish(EMPLOYEE_TOPIC, employee.getId().toString(), event);
+        log.info("Queued employee updated event for employee: {}", employee.getId());
     }
     
     public void publishEmployeeDeleted(Employee employee) {
-        try {
-            Map<String, Object> event = createEmployeeEvent("EMPLOYEE_DELETED", employee);
-            kafkaTemplate.send(EMPLOYEE_TOPIC, employee.getId().toString(), event);
-            log.info("Published employee deleted event for employee: {}", employee.getId());
-        } catch (Exception e) {
-            log.error("Error publishing employee deleted event", e);
-        }
+        Map<String, Object> event = createEmployeeEvent("EMPLOYEE_DELETED", employee);
+        outboxPublisher.publish(EMPLOYEE_TOPIC, employee.getId().toString(), event);
+        log.info("Queued employee deleted event for employee: {}", employee.getId());
     }
     
     private Map<String, Object> createEmployeeEvent(String eventType, Employee employee) {
@@ -58,6 +51,8 @@ public class EmployeeEventService {
         event.put("employeeId", employee.getId());
         event.put("employeeCode", employee.getEmployeeCode());
         event.put("employeeName", employee.getFullName());
+        event.put("firstName", employee.getFirstName());
+        event.put("lastName", employee.getLastName());
         event.put("email", employee.getEmail());
         event.put("status", employee.getStatus().toString());
         
@@ -66,6 +61,10 @@ public class EmployeeEventService {
             event.put("departmentName", employee.getDepartment().getName());
         }
         
+        if (employee.getManager() != null) {
+            event.put("managerId", employee.getManager().getId());
+        }
+        
         if (employee.getPosition() != null) {
             event.put("positionId", employee.getPosition().getId());
             event.put("positionTitle", employee.getPosition().getTitle());
@@ -1,18 +1,30 @@
 package com.erp.system.hr.service;
 
 import com.erp.system.hr.dto.EmployeeDto;
+import com.erp.system.hr.dto.EmployeeSummary;
+import com.erp.system.hr.dto.HeadcountStatsDto;
 import com.erp.system.hr.entity.Employee;
 import com.erp.system.hr.enums.EmployeeStatus;
 import com.erp.system.hr.mapper.EmployeeMapper;
+import com.erp.system.hr.org.OrgHierarchy;
 import com.erp.system.hr.repository.EmployeeRepository;
+import com.erp.system.hr.repository.EmployeeSpecifications;
+import com.erp.system.hr.search.EmployeeSearchIndex;
+import com.erp.system.hr.search.EmployeeSearchQuery;
+import com.erp.system.hr.stats.HeadcountCell;
+import com.erp.system.hr.stats.HeadcountCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -21,58 +33,89 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class EmployeeService {
     
+    static final int SUMMARY_LOOKUP_CHUNK_SIZE = 1000;
+    
     private final EmployeeRepository employeeRepository;
     private final EmployeeMapper employeeMapper;
     private final EmployeeEventService employeeEventService;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final OrgHierarchy orgHierarchy;
+    private final HeadcountCounters headcountCounters;
     
-    public Page<EmployeeDto> getAllEmployees(Pageable pageable) {
+    public Page<EmployeeSummary> getAllEmployees(Pageable pageable) {
         log.debug("Getting all employees with pagination: {}", pageable);
-        return employeeRepository.findAll(pageable)
-                .map(employeeMapper::toDto);
+        return employeeRepository.findAllSummaries(pageable);
     }
     
     public Optional<EmployeeDto> getEmployeeById(Long id) {
         log.debug("Getting employee by id: {}", id);
-        return employeeRepository.findById(id)
+        return employeeRepository.findDetailedById(id)
                 .map(employeeMapper::toDto);
     }
     
     public Optional<EmployeeDto> getEmployeeByCode(String code) {
         log.debug("Getting employee by code: {}", code);
-        return employeeRepository.findByEmployeeCode(code)
+        return employeeRepository.findDetailedByEmployeeCode(code)
                 .map(employeeMapper::toDto);
     }
     
     public Optional<EmployeeDto> getEmployeeByEmail(String email) {
         log.debug("Getting employee by email: {}", email);
-        return employeeRepository.findByEmail(email)
+        return employeeRepository.findDetailedByEmail(email)
                 .map(employeeMapper::toDto);
     }
     
-    public List<EmployeeDto> getEmployeesByDepartment(Long departmentId) {
+    public List<EmployeeSummary> getEmployeesByDepartment(Long departmentId) {
         log.debug("Getting employees by department: {}", departmentId);
-        return employeeRepository.findByDepartmentId(departmentId)
-                .stream()
-                .map(employeeMapper::toDto)
-                .toList();
+        return employeeRepository.findSummariesByDepartmentId(departmentId);
     }
     
-    public List<EmployeeDto> getEmployeesByStatus(EmployeeStatus status) {
+    public List<EmployeeSummary> getEmployeesByStatus(EmployeeStatus status) {
         log.debug("Getting employees by status: {}", status);
-        return employeeRepository.findByStatus(status)
-                .stream()
-                .map(employeeMapper::toDto)
-                .toList();
+        return employeeRepository.findSummariesByStatus(status);
     }
     
-    public Page<EmployeeDto> searchEmployees(
-            String firstName, String lastName, String email,
+    public Page<EmployeeSummary> searchEmployees(
+            String text, String firstName, String lastName, String email,
             Long departmentId, Long positionId, EmployeeStatus status,
             Pageable pageable) {
         log.debug("Searching employees with filters");
-        return employeeRepository.findByFilters(
-                firstName, lastName, email, departmentId, positionId, status, pageable)
-                .map(employeeMapper::toDto);
+        EmployeeSearchQuery query = new EmployeeSearchQuery(
+                text, firstName, lastName, email, departmentId, positionId, status);
+        
+        // Ranked text search is served from the in-memory index; explicit sort
+        // orders and searches before the index has loaded go to the database.
+        if (query.hasText() && pageable.getSort().isUnsorted() && employeeSearchIndex.isReady()) {
+            return searchIndexed(query, pageable);
+        }
+        return employeeRepository.findSummaries(EmployeeSpecifications.matching(query), pageable);
+    }
+    
+    private Page<EmployeeSummary> searchIndexed(EmployeeSearchQuery query, Pageable pageable) {
+        int offset = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        EmployeeSearchIndex.SearchResult result = employeeSearchIndex.search(query, offset, limit);
+        
+        List<EmployeeSummary> content = findSummariesInOrder(result.employeeIds());
+        return new PageImpl<>(content, pageable, result.total());
+    }
+    
+    private List<EmployeeSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Chunked so a large reporting tree stays far below the driver's bind parameter limit
+        Map<Long, EmployeeSummary> summariesById = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += SUMMARY_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + SUMMARY_LOOKUP_CHUNK_SIZE, ids.size()));
+            for (EmployeeSummary summary : employeeRepository.findSummariesByIdIn(chunk)) {
+                summariesById.put(summary.id(), summary);
+            }
+        }
+        return ids.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
     
     @Transactional
@@ -83,6 +126,9 @@ public class EmployeeService {
         
         Employee employee = employeeMapper.toEntity(employeeDto);
         Employee savedEmployee = employeeRepository.save(employee);
+        headcountCounters.added(HeadcountCell.of(savedEmployee));
+        employeeSearchIndex.indexAfterCommit(savedEmployee);
+        orgHierarchy.applyAfterCommit(savedEmployee);
         
         // Publish employee created event
         employeeEventService.publishEmployeeCreated(savedEmployee);
@@ -95,13 +141,17 @@ public class EmployeeService {
     public EmployeeDto updateEmployee(Long id, EmployeeDto employeeDto) {
         log.info("Updating employee with id: {}", id);
         
-        Employee existingEmployee = employeeRepository.findById(id)
+        Employee existingEmployee = employeeRepository.findDetailedById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
         
         validateEmployeeForUpdate(id, employeeDto);
         
+        HeadcountCell previousCell = HeadcountCell.of(existingEmployee);
         Employee updatedEmployee = employeeMapper.updateEntity(existingEmployee, employeeDto);
         Employee savedEmployee = employeeRepository.save(updatedEmployee);
+        headcountCounters.moved(previousCell, HeadcountCell.of(savedEmployee));
+        employeeSearchIndex.indexAfterCommit(savedEmployee);
+        orgHierarchy.applyAfterCommit(savedEmployee);
         
         // Publish employee updated event
         employeeEventService.publishEmployeeUpdated(savedEmployee);
@@ -114,12 +164,16 @@ public class EmployeeService {
     public void deleteEmployee(Long id) {
         log.info("Deleting employee with id: {}", id);
         
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeRepository.findDetailedById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
         
         // Soft delete - change status to terminated
+        HeadcountCell previousCell = HeadcountCell.of(employee);
         employee.setStatus(EmployeeStatus.TERMINATED);
         employeeRepository.save(employee);
+        headcountCounters.moved(previousCell, HeadcountCell.of(employee));
+        employeeSearchIndex.indexAfterCommit(employee);
+        orgHierarchy.applyAfterCommit(employee);
         
         // Publish employee deleted event
         employeeEventService.publishEmployeeDeleted(employee);
@@ -128,19 +182,38 @@ public class EmployeeService {
     }
     
     public Long getEmployeeCountByStatus(EmployeeStatus status) {
-        return employeeRepository.countByStatus(status);
+        return headcountCounters.countByStatus(status);
     }
     
     public Long getEmployeeCountByDepartment(Long departmentId) {
-        return employeeRepository.countByDepartmentId(departmentId);
+        return headcountCounters.countByDepartment(departmentId);
+    }
+    
+    public HeadcountStatsDto getHeadcountStats() {
+        return headcountCounters.getStats();
     }
     
-    public List<EmployeeDto> getSubordinates(Long managerId) {
+    public List<EmployeeSummary> getSubordinates(Long managerId) {
         log.debug("Getting subordinates for manager: {}", managerId);
-        return employeeRepository.findSubordinates(managerId)
-                .stream()
-                .map(employeeMapper::toDto)
-                .toList();
+        return employeeRepository.findSummariesByManagerId(managerId);
+    }
+    
+    public List<EmployeeSummary> getAllReports(Long managerId) {
+        log.debug("Getting all reports for manager: {}", managerId);
+        return findSummariesInOrder(orgHierarchy.getTransitiveReports(managerId));
+    }
+    
+    public List<EmployeeSummary> getManagementChain(Long employeeId) {
+        log.debug("Getting management chain for employee: {}", employeeId);
+        return findSummariesInOrder(orgHierarchy.getManagementChain(employeeId));
+    }
+    
+    public OrgHierarchy.SpanOfControl getSpanOfControl(Long managerId) {
+        return orgHierarchy.getSpanOfControl(managerId);
+    }
+    
+    public Long getDepartmentHeadcount(Long departmentId) {
+        return orgHierarchy.getDepartmentHeadcount(departmentId);
     }
     
     private void validateEmployeeForCreation(EmployeeDto employeeDto) {
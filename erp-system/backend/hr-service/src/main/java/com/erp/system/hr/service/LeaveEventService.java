@@ -0,0 +1,42 @@
+package com.erp.system.hr.service;
+
+import com.erp.system.hr.leave.LeaveInterval;
+import com.erp.system.outbox.OutboxPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Leave events go through the transactional outbox like employee events, so
+ * every replica's leave calendar index learns about a leave change once its
+ * transaction has committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveEventService {
+
+    private final OutboxPublisher outboxPublisher;
+
+    private static final String LEAVE_TOPIC = "leave-events";
+
+    public void publishLeaveChanged(LeaveInterval interval) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventType", "LEAVE_CHANGED");
+        event.put("timestamp", System.currentTimeMillis());
+        event.put("leaveRequestId", interval.leaveRequestId());
+        event.put("employeeId", interval.employeeId());
+        event.put("employeeName", interval.employeeName());
+        event.put("departmentId", interval.departmentId());
+        event.put("leaveType", interval.leaveType().name());
+        event.put("status", interval.status().name());
+        event.put("startDate", interval.startDate().toString());
+        event.put("endDate", interval.endDate().toString());
+        event.put("isHalfDay", interval.isHalfDay());
+        outboxPublisher.publish(LEAVE_TOPIC, interval.employeeId().toString(), event);
+        log.debug("Queued leave changed event for leave request: {}", interval.leaveRequestId());
+    }
+}
@@ -0,0 +1,196 @@
+package com.erp.system.hr.service;
+
+import com.erp.system.hr.dto.LeaveRequestDto;
+import com.erp.system.hr.dto.TeamCoverageDto;
+import com.erp.system.hr.entity.Employee;
+import com.erp.system.hr.entity.LeaveRequest;
+import com.erp.system.hr.enums.LeaveRequestStatus;
+import com.erp.system.hr.leave.LeaveCalendarIndex;
+import com.erp.system.hr.leave.LeaveInterval;
+import com.erp.system.hr.leave.LeaveStatuses;
+import com.erp.system.hr.mapper.LeaveRequestMapper;
+import com.erp.system.hr.org.OrgHierarchy;
+import com.erp.system.hr.repository.EmployeeRepository;
+import com.erp.system.hr.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class LeaveRequestService {
+    
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final EmployeeRepository employeeRepository;
+    private final LeaveRequestMapper leaveRequestMapper;
+    private final LeaveCalendarIndex leaveCalendarIndex;
+    private final LeaveEventService leaveEventService;
+    private final OrgHierarchy orgHierarchy;
+    
+    @Value("${hr.leave.max-calendar-days:366}")
+    private int maxCalendarDays;
+    
+    public Optional<LeaveRequestDto> getLeaveRequestById(Long id) {
+        log.debug("Getting leave request by id: {}", id);
+        return leaveRequestRepository.findById(id)
+                .map(leaveRequestMapper::toDto);
+    }
+    
+    public List<LeaveRequestDto> getLeaveRequestsByEmployee(Long employeeId) {
+        log.debug("Getting leave requests by employee: {}", employeeId);
+        return leaveRequestRepository.findByEmployeeId(employeeId).stream()
+                .map(leaveRequestMapper::toDto)
+                .toList();
+    }
+    
+    @Transactional
+    public LeaveRequestDto submitLeaveRequest(LeaveRequestDto leaveRequestDto) {
+        log.info("Submitting leave request for employee: {}", leaveRequestDto.getEmployeeId());
+        
+        LocalDate startDate = leaveRequestDto.getStartDate();
+        LocalDate endDate = leaveRequestDto.getEndDate();
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("Leave end date " + endDate + " is before its start date " + startDate);
+        }
+        if (Boolean.TRUE.equals(leaveRequestDto.getIsHalfDay()) && !startDate.equals(endDate)) {
+            throw new RuntimeException("A half-day leave must start and end on the same day");
+        }
+        
+        // The employee row lock serialises submissions for the employee across
+        // replicas, so the overlap query below sees every committed leave.
+        Employee employee = employeeRepository.findForUpdateById(leaveRequestDto.getEmployeeId())
+                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + leaveRequestDto.getEmployeeId()));
+        
+        List<Long> overlapping = leaveRequestRepository.findOverlappingIds(
+                employee.getId(), startDate, endDate, LeaveStatuses.ACTIVE);
+        if (!overlapping.isEmpty()) {
+            throw new RuntimeException("Leave overlaps existing leave request: " + overlapping.get(0));
+        }
+        
+        LeaveRequest leaveRequest = leaveRequestMapper.toEntity(leaveRequestDto);
+        leaveRequest.setEmployee(employee);
+        leaveRequest.setStatus(LeaveRequestStatus.PENDING);
+        leaveRequest.setSubmittedDate(LocalDateTime.now());
+        leaveRequest.setDaysRequested((int) ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        
+        LeaveRequest savedLeaveRequest = leaveRequestRepository.save(leaveRequest);
+        LeaveInterval interval = leaveRequestMapper.toInterval(savedLeaveRequest);
+        leaveCalendarIndex.applyAfterCommit(interval);
+        leaveEventService.publishLeaveChanged(interval);
+        
+        log.info("Leave request submitted successfully with id: {}", savedLeaveRequest.getId());
+        return leaveRequestMapper.toDto(savedLeaveRequest);
+    }
+    
+    @Transactional
+    public LeaveRequestDto approveLeaveRequest(Long id, Long reviewerId, String comments) {
+        log.info("Approving leave request: {}", id);
+        return review(id, reviewerId, comments, LeaveRequestStatus.APPROVED);
+    }
+    
+    @Transactional
+    public LeaveRequestDto rejectLeaveRequest(Long id, Long reviewerId, String comments) {
+        log.info("Rejecting leave request: {}", id);
+        return review(id, reviewerId, comments, LeaveRequestStatus.REJECTED);
+    }
+    
+    @Transactional
+    public LeaveRequestDto cancelLeaveRequest(Long id) {
+        log.info("Cancelling leave request: {}", id);
+        
+        LeaveRequest leaveRequest = leaveRequestRepository.findWithEmployeeById(id)
+                .orElseThrow(() -> new RuntimeException("Leave request not found with id: " + id));
+        if (leaveRequest.getStatus() == LeaveRequestStatus.REJECTED
+                || leaveRequest.getStatus() == LeaveRequestStatus.CANCELLED) {
+            throw new RuntimeException("Leave request " + id + " is already " + leaveRequest.getStatus());
+        }
+        
+        leaveRequest.setStatus(LeaveRequestStatus.CANCELLED);
+        LeaveRequest savedLeaveRequest = leaveRequestRepository.save(leaveRequest);
+        LeaveInterval interval = leaveRequestMapper.toInterval(savedLeaveRequest);
+        leaveCalendarIndex.applyAfterCommit(interval);
+        leaveEventService.publishLeaveChanged(interval);
+        return leaveRequestMapper.toDto(savedLeaveRequest);
+    }
+    
+    /**
+     * Pending and approved leaves of the department overlapping the range, in
+     * calendar order.
+     */
+    public List<LeaveInterval> getTeamCalendar(Long departmentId, LocalDate startDate, LocalDate endDate) {
+        log.debug("Getting team calendar for department {} from {} to {}", departmentId, startDate, endDate);
+        validateRange(startDate, endDate);
+        return leaveCalendarIndex.findOut(departmentId, startDate, endDate, false);
+    }
+    
+    public List<LeaveInterval> getWhoIsOut(Long departmentId, LocalDate startDate, LocalDate endDate,
+                                           boolean approvedOnly) {
+        log.debug("Getting who is out in department {} from {} to {}", departmentId, startDate, endDate);
+        validateRange(startDate, endDate);
+        return leaveCalendarIndex.findOut(departmentId, startDate, endDate, approvedOnly);
+    }
+    
+    /**
+     * Checks that at least minimumStaff of the department's active employees
+     * are not on leave on every day of the range.
+     */
+    public TeamCoverageDto checkCoverage(Long departmentId, LocalDate startDate, LocalDate endDate,
+                                         int minimumStaff, boolean approvedOnly) {
+        log.debug("Checking coverage of department {} from {} to {}", departmentId, startDate, endDate);
+        validateRange(startDate, endDate);
+        
+        long headcount = orgHierarchy.getDirectHeadcount(departmentId);
+        int[] onLeave = leaveCalendarIndex.countOutPerDay(departmentId, startDate, endDate, approvedOnly);
+        
+        List<TeamCoverageDto.DayCoverage> days = new ArrayList<>(onLeave.length);
+        boolean covered = true;
+        for (int day = 0; day < onLeave.length; day++) {
+            long available = Math.max(headcount - onLeave[day], 0);
+            boolean dayCovered = available >= minimumStaff;
+            covered &= dayCovered;
+            days.add(new TeamCoverageDto.DayCoverage(startDate.plusDays(day), onLeave[day], available, dayCovered));
+        }
+        return new TeamCoverageDto(departmentId, startDate, endDate, headcount, minimumStaff, covered, days);
+    }
+    
+    private LeaveRequestDto review(Long id, Long reviewerId, String comments, LeaveRequestStatus decision) {
+        LeaveRequest leaveRequest = leaveRequestRepository.findWithEmployeeById(id)
+                .orElseThrow(() -> new RuntimeException("Leave request not found with id: " + id));
+        if (leaveRequest.getStatus() != LeaveRequestStatus.PENDING) {
+            throw new RuntimeException("Leave request " + id + " is not pending: " + leaveRequest.getStatus());
+        }
+        Employee reviewer = employeeRepository.findById(reviewerId)
+                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + reviewerId));
+        
+        leaveRequest.setStatus(decision);
+        leaveRequest.setReviewedBy(reviewer);
+        leaveRequest.setReviewedDate(LocalDateTime.now());
+        leaveRequest.setReviewComments(comments);
+        
+        LeaveRequest savedLeaveRequest = leaveRequestRepository.save(leaveRequest);
+        LeaveInterval interval = leaveRequestMapper.toInterval(savedLeaveRequest);
+        leaveCalendarIndex.applyAfterCommit(interval);
+        leaveEventService.publishLeaveChanged(interval);
+        return leaveRequestMapper.toDto(savedLeaveRequest);
+    }
+    
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date " + endDate + " is before start date " + startDate);
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxCalendarDays) {
+            throw new RuntimeException("Date range exceeds " + maxCalendarDays + " days");
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.erp.system.hr.service;
+
+import com.erp.system.hr.dto.PayrollHoursDto;
+import com.erp.system.hr.repository.PayrollPeriodHoursRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Payroll-period hours calculation. Employees are split into contiguous id
+ * ranges that are scanned in parallel, each streaming its attendance rows in
+ * (employee, date) order and summing worked and overtime seconds in primitive
+ * accumulators. The totals replace the stored period totals in one
+ * transaction; payroll export then reads those instead of the raw rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollHoursCalculator {
+
+    private static final String SELECT_EMPLOYEE_IDS_SQL = "SELECT id FROM employees ORDER BY id";
+
+    private static final String SELECT_ATTENDANCE_SQL =
+            "SELECT employee_id, check_in_time, check_out_time, break_start_time, break_end_time " +
+            "FROM attendances WHERE employee_id BETWEEN ? AND ? AND date BETWEEN ? AND ? AND active = true " +
+            "ORDER BY employee_id, date";
+
+    private static final String DELETE_PERIOD_SQL =
+            "DELETE FROM payroll_period_hours WHERE period_start = ? AND period_end = ?";
+
+    private static final String INSERT_PERIOD_SQL =
+            "INSERT INTO payroll_period_hours (employee_id, period_start, period_end, worked_seconds, " +
+            "overtime_seconds, days_worked, calculated_at, active, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, true, 0, ?, ?)";
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PayrollPeriodHoursRepository payrollPeriodHoursRepository;
+
+    @Value("${hr.attendance.standard-day-hours:8}")
+    private double standardDayHours;
+
+    @Value("${hr.attendance.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    @Value("${hr.payroll.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${hr.payroll.parallelism:4}")
+    private int parallelism;
+
+    private ExecutorService executor;
+
+    private record EmployeeRange(long fromId, long toId) {
+    }
+
+    private record EmployeeTotals(long employeeId, long workedSeconds, long overtimeSeconds, int daysWorked) {
+    }
+
+    public List<PayrollHoursDto> calculatePeriod(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodEnd.isBefore(periodStart)) {
+            throw new RuntimeException("Payroll period end " + periodEnd + " is before its start " + periodStart);
+        }
+        long startTime = System.currentTimeMillis();
+        long standardDaySeconds = Math.round(standardDayHours * 3600);
+
+        List<CompletableFuture<List<EmployeeTotals>>> partitions = new ArrayList<>();
+        for (EmployeeRange range : partitionEmployees()) {
+            partitions.add(CompletableFuture.supplyAsync(
+                    () -> sumRange(range, periodStart, periodEnd, standardDaySeconds), executor));
+        }
+
+        List<EmployeeTotals> totals = new ArrayList<>();
+        for (CompletableFuture<List<EmployeeTotals>> partition : partitions) {
+            totals.addAll(partition.join());
+        }
+        storeTotals(periodStart, periodEnd, totals);
+
+        log.info("Calculated payroll hours for {} employees from {} to {} in {} ms",
+                totals.size(), periodStart, periodEnd, System.currentTimeMillis() - startTime);
+        return getPeriodHours(periodStart, periodEnd);
+    }
+
+    public List<PayrollHoursDto> getPeriodHours(LocalDate periodStart, LocalDate periodEnd) {
+        return payrollPeriodHoursRepository.findPeriodHours(periodStart, periodEnd);
+    }
+
+    private List<EmployeeRange> partitionEmployees() {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_EMPLOYEE_IDS_SQL, Long.class);
+        List<EmployeeRange> ranges = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return ranges;
+        }
+        int partitionSize = (ids.size() + parallelism - 1) / parallelism;
+        for (int from = 0; from < ids.size(); from += partitionSize) {
+            int to = Math.min(from + partitionSize, ids.size()) - 1;
+            ranges.add(new EmployeeRange(ids.get(from), ids.get(to)));
+        }
+        return ranges;
+    }
+
+    private List<EmployeeTotals> sumRange(EmployeeRange range, LocalDate periodStart, LocalDate periodEnd,
+                                          long standardDaySeconds) {
+        List<EmployeeTotals> totals = new ArrayList<>();
+        // Streaming with a fetch size needs a transaction on PostgreSQL.
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_ATTENDANCE_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, range.fromId());
+            ps.setLong(2, range.toId());
+            ps.setDate(3, Date.valueOf(periodStart));
+            ps.setDate(4, Date.valueOf(periodEnd));
+            return ps;
+        }, (ResultSet rs) -> {
+            long employeeId = -1;
+            long worked = 0;
+            long overtime = 0;
+            int days = 0;
+            while (rs.next()) {
+                long rowEmployeeId = rs.getLong(1);
+                if (rowEmployeeId != employeeId) {
+                    if (employeeId != -1) {
+                        totals.add(new EmployeeTotals(employeeId, worked, overtime, days));
+                    }
+                    employeeId = rowEmployeeId;
+                    worked = 0;
+                    overtime = 0;
+                    days = 0;
+                }
+                long dayWorked = AttendanceHours.workedSeconds(toLocalDateTime(rs.getTimestamp(2)),
+                        toLocalDateTime(rs.getTimestamp(3)), toLocalDateTime(rs.getTimestamp(4)),
+                        toLocalDateTime(rs.getTimestamp(5)));
+                if (dayWorked > 0) {
+                    worked += dayWorked;
+                    overtime += AttendanceHours.overtimeSeconds(dayWorked, standardDaySeconds);
+                    days++;
+                }
+            }
+            if (employeeId != -1) {
+                totals.add(new EmployeeTotals(employeeId, worked, overtime, days));
+            }
+            return null;
+        }));
+        return totals;
+    }
+
+    private void storeTotals(LocalDate periodStart, LocalDate periodEnd, List<EmployeeTotals> totals) {
+        Date start = Date.valueOf(periodStart);
+        Date end = Date.valueOf(periodEnd);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_PERIOD_SQL, start, end);
+            List<Object[]> rows = new ArrayList<>(Math.min(totals.size(), jdbcBatchSize));
+            for (EmployeeTotals employee : totals) {
+                rows.add(new Object[] {employee.employeeId(), start, end, employee.workedSeconds(),
+                        employee.overtimeSeconds(), employee.daysWorked(), now, now, now});
+                if (rows.size() == jdbcBatchSize) {
+                    jdbcTemplate.batchUpdate(INSERT_PERIOD_SQL, rows);
+                    rows.clear();
+                }
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_PERIOD_SQL, rows);
+            }
+        });
+    }
+
+    @PostConstruct
+    public void initialize() {
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "payroll-hours-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
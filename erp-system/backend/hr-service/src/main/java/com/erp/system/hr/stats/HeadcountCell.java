@@ -0,0 +1,21 @@
+package com.erp.system.hr.stats;
+
+import com.erp.system.hr.entity.Employee;
+import com.erp.system.hr.enums.EmployeeStatus;
+
+/**
+ * The (department, position, status) combination an employee is counted
+ * under. Every employee is in exactly one cell; 0 stands for no department
+ * or no position.
+ */
+public record HeadcountCell(long departmentId, long positionId, EmployeeStatus status) {
+
+    public static final long UNASSIGNED = 0L;
+
+    public static HeadcountCell of(Employee employee) {
+        return new HeadcountCell(
+                employee.getDepartment() != null ? employee.getDepartment().getId() : UNASSIGNED,
+                employee.getPosition() != null ? employee.getPosition().getId() : UNASSIGNED,
+                employee.getStatus());
+    }
+}
@@ -0,0 +1,205 @@
+package com.erp.system.hr.stats;
+
+import com.erp.system.hr.dto.HeadcountStatsDto;
+import com.erp.system.hr.dto.HeadcountStatsDto.GroupHeadcount;
+import com.erp.system.hr.enums.EmployeeStatus;
+import com.erp.system.scheduling.JobLeaseManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Employee headcount kept in employee_headcounts, one row per
+ * (department, position, status) cell. Employee writes adjust the cells they
+ * leave and enter in the same transaction, so the counters commit or roll
+ * back with the employee row, and every department, position and status
+ * total is a sum over this small table instead of a COUNT over employees.
+ * A scheduled check recounts the employees table under a job lease and
+ * repairs any cell that drifted, e.g. after a write that bypassed the
+ * service.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HeadcountCounters {
+
+    private static final String JOB_NAME = "hr.headcount-reconcile";
+
+    private static final String ADJUST_SQL =
+            "INSERT INTO employee_headcounts (department_id, position_id, status, headcount) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (department_id, position_id, status) " +
+            "DO UPDATE SET headcount = employee_headcounts.headcount + EXCLUDED.headcount";
+
+    private static final String SELECT_COUNTERS_SQL =
+            "SELECT department_id, position_id, status, headcount FROM employee_headcounts WHERE headcount <> 0";
+
+    private static final String COUNT_BY_STATUS_SQL =
+            "SELECT COALESCE(SUM(headcount), 0) FROM employee_headcounts WHERE status = ?";
+
+    private static final String COUNT_BY_DEPARTMENT_SQL =
+            "SELECT COALESCE(SUM(headcount), 0) FROM employee_headcounts WHERE department_id = ?";
+
+    private static final String SELECT_ACTUAL_SQL =
+            "SELECT COALESCE(department_id, 0) AS department_id, COALESCE(position_id, 0) AS position_id, " +
+            "status, COUNT(*) AS headcount FROM employees GROUP BY 1, 2, 3";
+
+    private static final String LOCK_SQL = "LOCK TABLE employee_headcounts IN EXCLUSIVE MODE";
+
+    private static final String SET_SQL =
+            "INSERT INTO employee_headcounts (department_id, position_id, status, headcount) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (department_id, position_id, status) DO UPDATE SET headcount = EXCLUDED.headcount";
+
+    private static final Comparator<HeadcountCell> LOCK_ORDER = Comparator
+            .comparingLong(HeadcountCell::departmentId)
+            .thenComparingLong(HeadcountCell::positionId)
+            .thenComparing(HeadcountCell::status);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseManager jobLeaseManager;
+
+    @Value("${hr.headcount.lease-minutes:5}")
+    private long leaseMinutes;
+
+    /**
+     * Counts a new employee. Must run in the transaction that inserts it.
+     */
+    public void added(HeadcountCell cell) {
+        adjust(cell, 1);
+    }
+
+    /**
+     * Moves an employee between cells. Must run in the transaction that
+     * updates it; a no-op when the cell did not change.
+     */
+    public void moved(HeadcountCell from, HeadcountCell to) {
+        if (from.equals(to)) {
+            return;
+        }
+        // Touch the two rows in a fixed order so concurrent opposite moves
+        // cannot deadlock on each other's row locks.
+        if (LOCK_ORDER.compare(from, to) < 0) {
+            adjust(from, -1);
+            adjust(to, 1);
+        } else {
+            adjust(to, 1);
+            adjust(from, -1);
+        }
+    }
+
+    public long countByStatus(EmployeeStatus status) {
+        Long count = jdbcTemplate.queryForObject(COUNT_BY_STATUS_SQL, Long.class, status.name());
+        return count != null ? count : 0;
+    }
+
+    public long countByDepartment(Long departmentId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_BY_DEPARTMENT_SQL, Long.class, departmentId);
+        return count != null ? count : 0;
+    }
+
+    public HeadcountStatsDto getStats() {
+        Map<EmployeeStatus, Long> byStatus = new EnumMap<>(EmployeeStatus.class);
+        Map<Long, Map<EmployeeStatus, Long>> byDepartment = new TreeMap<>();
+        Map<Long, Map<EmployeeStatus, Long>> byPosition = new TreeMap<>();
+        long[] total = new long[1];
+
+        jdbcTemplate.query(SELECT_COUNTERS_SQL, rs -> {
+            EmployeeStatus status = EmployeeStatus.valueOf(rs.getString("status"));
+            long headcount = rs.getLong("headcount");
+            total[0] += headcount;
+            byStatus.merge(status, headcount, Long::sum);
+            byDepartment.computeIfAbsent(rs.getLong("department_id"), id -> new EnumMap<>(EmployeeStatus.class))
+                    .merge(status, headcount, Long::sum);
+            byPosition.computeIfAbsent(rs.getLong("position_id"), id -> new EnumMap<>(EmployeeStatus.class))
+                    .merge(status, headcount, Long::sum);
+        });
+        return new HeadcountStatsDto(total[0], byStatus, toGroups(byDepartment), toGroups(byPosition));
+    }
+
+    @Scheduled(fixedDelayString = "${hr.headcount.reconcile-interval-ms:900000}",
+               initialDelayString = "${hr.headcount.reconcile-initial-delay-ms:10000}")
+    public void reconcile() {
+        if (!jobLeaseManager.tryAcquire(JOB_NAME, Duration.ofMinutes(leaseMinutes))) {
+            return;
+        }
+        try {
+            Integer repaired = transactionTemplate.execute(status -> repairDrift());
+            if (repaired != null && repaired > 0) {
+                log.warn("Repaired {} drifted headcount counters", repaired);
+            }
+        } catch (Exception e) {
+            log.error("Headcount reconciliation failed", e);
+        } finally {
+            jobLeaseManager.release(JOB_NAME);
+        }
+    }
+
+    /**
+     * Blocks counter writers for the duration of the recount; a writer that
+     * already adjusted a counter holds a row lock, so the recount also waits
+     * for its transaction to finish and then sees its employee change.
+     */
+    private int repairDrift() {
+        jdbcTemplate.execute(LOCK_SQL);
+
+        Map<HeadcountCell, Long> stored = new HashMap<>();
+        jdbcTemplate.query(SELECT_COUNTERS_SQL, rs -> {
+            stored.put(readCell(rs.getLong("department_id"), rs.getLong("position_id"), rs.getString("status")),
+                    rs.getLong("headcount"));
+        });
+
+        List<Object[]> repairs = new ArrayList<>();
+        jdbcTemplate.query(SELECT_ACTUAL_SQL, rs -> {
+            HeadcountCell cell = readCell(rs.getLong("department_id"), rs.getLong("position_id"),
+                    rs.getString("status"));
+            long actual = rs.getLong("headcount");
+            Long counted = stored.remove(cell);
+            if (counted == null || counted != actual) {
+                repairs.add(new Object[] {cell.departmentId(), cell.positionId(), cell.status().name(), actual});
+            }
+        });
+        // Whatever is left is counted but no longer has any employees.
+        for (HeadcountCell cell : stored.keySet()) {
+            repairs.add(new Object[] {cell.departmentId(), cell.positionId(), cell.status().name(), 0L});
+        }
+
+        if (!repairs.isEmpty()) {
+            jdbcTemplate.batchUpdate(SET_SQL, repairs);
+        }
+        return repairs.size();
+    }
+
+    private void adjust(HeadcountCell cell, long delta) {
+        jdbcTemplate.update(ADJUST_SQL, cell.departmentId(), cell.positionId(), cell.status().name(), delta);
+    }
+
+    private static HeadcountCell readCell(long departmentId, long positionId, String status) {
+        return new HeadcountCell(departmentId, positionId, EmployeeStatus.valueOf(status));
+    }
+
+    private static List<GroupHeadcount> toGroups(Map<Long, Map<EmployeeStatus, Long>> counts) {
+        List<GroupHeadcount> groups = new ArrayList<>(counts.size());
+        for (Map.Entry<Long, Map<EmployeeStatus, Long>> entry : counts.entrySet()) {
+            long total = 0;
+            for (long headcount : entry.getValue().values()) {
+                total += headcount;
+            }
+            Long id = entry.getKey() == HeadcountCell.UNASSIGNED ? null : entry.getKey();
+            groups.add(new GroupHeadcount(id, total, entry.getValue()));
+        }
+        return groups;
+    }
+}
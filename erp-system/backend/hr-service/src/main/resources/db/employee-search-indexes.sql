@@ -0,0 +1,11 @@
+-- Trigram indexes for the database fallback of the employee directory search
+-- (EmployeeSpecifications), which matches lower(column) LIKE '%token%' and
+-- word-start patterns. Runs after Hibernate has created the tables.
+-- pg_trgm needs superuser rights and is created by
+-- infrastructure/database/init/02-create-extensions.sql; without it these
+-- statements fail, startup continues and the fallback searches unindexed.
+
+CREATE INDEX IF NOT EXISTS idx_employees_code_trgm ON employees USING gin (lower(employee_code) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employees_first_name_trgm ON employees USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employees_last_name_trgm ON employees USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employees_email_trgm ON employees USING gin (lower(email) gin_trgm_ops);
@@ -0,0 +1,113 @@
+package com.erp.system.hr.search;
+
+import com.erp.system.hr.enums.EmployeeStatus;
+import com.erp.system.hr.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Directory search over 500k employees, asking for the first page of 20:
+ * a one-letter prefix, a three-letter substring, a full last name, a first
+ * and last name together, and an employee code. Names are built from random
+ * syllables, so common prefixes have long posting lists as they do in a
+ * real directory. The index is loaded through rebuild() from a stubbed
+ * repository, the same path it takes at startup.
+ *
+ * mvn -Pbenchmark test-compile, then run main() with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class EmployeeSearchIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ma", "ri", "a", "jo", "se", "lu", "is", "an", "to", "ni", "o", "ca", "los",
+            "gon", "za", "lez", "ro", "dri", "guez", "mar", "tin", "her", "nan", "dez", "per", "ez"};
+
+    @Param({"500000"})
+    private int employees;
+
+    @Param({"m", "mar", "gonzalez", "maria gonzalez", "emp-0421337"})
+    private String text;
+
+    private EmployeeSearchIndex index;
+    private EmployeeSearchQuery query;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<EmployeeSearchEntry> entries = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            String firstName = name(random);
+            String lastName = name(random);
+            entries.add(new EmployeeSearchEntry(
+                    (long) i + 1,
+                    String.format("EMP-%07d", i),
+                    firstName,
+                    lastName,
+                    firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@erp.test",
+                    (long) random.nextInt(200) + 1,
+                    (long) random.nextInt(1000) + 1,
+                    EmployeeStatus.ACTIVE));
+        }
+        // A few exact hits for the two-token query
+        for (int i = 0; i < employees; i += 5000) {
+            EmployeeSearchEntry entry = entries.get(i);
+            entries.set(i, new EmployeeSearchEntry(entry.id(), entry.employeeCode(), "Maria", "Gonzalez",
+                    entry.email(), entry.departmentId(), entry.positionId(), entry.status()));
+        }
+
+        EmployeeRepository repository = mock(EmployeeRepository.class);
+        when(repository.findAllSearchEntries()).thenReturn(entries);
+        index = new EmployeeSearchIndex(repository);
+        index.rebuild();
+        query = new EmployeeSearchQuery(text, null, null, null, null, null, null);
+    }
+
+    private static String name(Random random) {
+        int syllables = 2 + random.nextInt(3);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    @Benchmark
+    public EmployeeSearchIndex.SearchResult firstPage() {
+        return index.search(query, 0, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EmployeeSearchIndexBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,192 @@
+package com.erp.system.hr.service;
+
+import com.erp.system.hr.HrServiceApplication;
+import com.erp.system.hr.dto.EmployeeSummary;
+import com.erp.system.hr.entity.Department;
+import com.erp.system.hr.entity.Employee;
+import com.erp.system.hr.enums.EmployeeStatus;
+import com.erp.system.hr.mapper.EmployeeMapper;
+import com.erp.system.hr.org.OrgHierarchy;
+import com.erp.system.hr.repository.EmployeeRepository;
+import com.erp.system.hr.search.EmployeeSearchIndex;
+import com.erp.system.hr.stats.HeadcountCounters;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the JDBC statements behind the hierarchy and list endpoints against a
+ * real database, so a lazy association touched per row shows up as extra
+ * statements instead of passing unnoticed.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class EmployeeServiceTest {
+
+    private static final int REPORT_COUNT = 2500;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15"))
+            .withDatabaseName("erp_hr")
+            .withUsername("test_user")
+            .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    /** Only the JPA slice; the application class would also pull in Feign and Kafka. */
+    @SpringBootConfiguration
+    @EnableJpaAuditing
+    @EntityScan(basePackageClasses = HrServiceApplication.class)
+    @EnableJpaRepositories(basePackageClasses = EmployeeRepository.class)
+    static class JpaSliceConfig {
+    }
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private OrgHierarchy orgHierarchy;
+    private EmployeeService employeeService;
+    private Statistics statistics;
+
+    private Department department;
+    private Employee manager;
+    private List<Long> reportIds;
+
+    @BeforeEach
+    void setUp() {
+        orgHierarchy = mock(OrgHierarchy.class);
+        employeeService = new EmployeeService(
+                employeeRepository,
+                mock(EmployeeMapper.class),
+                mock(EmployeeEventService.class),
+                mock(EmployeeSearchIndex.class),
+                orgHierarchy,
+                mock(HeadcountCounters.class));
+
+        department = new Department();
+        department.setCode("ENG");
+        department.setName("Engineering");
+        entityManager.persist(department);
+
+        manager = employee("MGR", null);
+        reportIds = new ArrayList<>(REPORT_COUNT);
+        for (int i = 0; i < REPORT_COUNT; i++) {
+            reportIds.add(employee("EMP-" + i, manager).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void allReportsOfALargeTreeAreLoadedInBoundedChunks() {
+        // Served in reverse id order so the result also has to be re-ordered
+        List<Long> reports = new ArrayList<>(reportIds);
+        Collections.reverse(reports);
+        when(orgHierarchy.getTransitiveReports(manager.getId())).thenReturn(reports);
+
+        List<EmployeeSummary> result = employeeService.getAllReports(manager.getId());
+
+        int chunks = (REPORT_COUNT + EmployeeService.SUMMARY_LOOKUP_CHUNK_SIZE - 1)
+                / EmployeeService.SUMMARY_LOOKUP_CHUNK_SIZE;
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(chunks);
+        assertThat(result).extracting(EmployeeSummary::id).containsExactlyElementsOf(reports);
+        assertThat(result).allSatisfy(summary -> {
+            assertThat(summary.departmentName()).isEqualTo("Engineering");
+            assertThat(summary.managerId()).isEqualTo(manager.getId());
+        });
+    }
+
+    @Test
+    void managementChainIsOneStatementAndKeepsChainOrder() {
+        List<Long> chain = List.of(reportIds.get(7), manager.getId());
+        when(orgHierarchy.getManagementChain(reportIds.get(3))).thenReturn(chain);
+
+        List<EmployeeSummary> result = employeeService.getManagementChain(reportIds.get(3));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(result).extracting(EmployeeSummary::id).containsExactlyElementsOf(chain);
+    }
+
+    @Test
+    void emptyHierarchyIssuesNoStatement() {
+        when(orgHierarchy.getTransitiveReports(reportIds.get(0))).thenReturn(List.of());
+
+        assertThat(employeeService.getAllReports(reportIds.get(0))).isEmpty();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void employeesMissingFromTheDatabaseAreSkipped() {
+        long missing = reportIds.get(REPORT_COUNT - 1) + 1000;
+        when(orgHierarchy.getTransitiveReports(manager.getId()))
+                .thenReturn(List.of(reportIds.get(0), missing, reportIds.get(1)));
+
+        assertThat(employeeService.getAllReports(manager.getId()))
+                .extracting(EmployeeSummary::id)
+                .containsExactly(reportIds.get(0), reportIds.get(1));
+    }
+
+    @Test
+    void listEndpointsAreOneStatementEach() {
+        assertThat(employeeService.getEmployeesByDepartment(department.getId())).hasSize(REPORT_COUNT + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(employeeService.getEmployeesByStatus(EmployeeStatus.ACTIVE)).hasSize(REPORT_COUNT + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        assertThat(employeeService.getSubordinates(manager.getId())).hasSize(REPORT_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private Employee employee(String code, Employee reportsTo) {
+        Employee employee = new Employee();
+        employee.setEmployeeCode(code);
+        employee.setFirstName("First " + code);
+        employee.setLastName("Last " + code);
+        employee.setEmail(code.toLowerCase() + "@erp.test");
+        employee.setHireDate(LocalDate.of(2020, 1, 1));
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        employee.setDepartment(department);
+        employee.setManager(reportsTo);
+        entityManager.persist(employee);
+        return employee;
+    }
+}
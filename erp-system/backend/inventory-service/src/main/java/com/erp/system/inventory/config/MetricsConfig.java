@@ -0,0 +1,10 @@
+package com.erp.system.inventory.config;
+
+import com.erp.system.metrics.MetricsConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+@Configuration
+@Import(MetricsConfiguration.class)
+public class MetricsConfig {
+}
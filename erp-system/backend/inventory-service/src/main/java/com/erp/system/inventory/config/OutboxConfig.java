@@ -0,0 +1,19 @@
+package com.erp.system.inventory.config;
+
+import com.erp.system.inventory.InventoryServiceApplication;
+import com.erp.system.outbox.OutboxEvent;
+import com.erp.system.outbox.OutboxPublisher;
+import com.erp.system.outbox.OutboxRelay;
+import com.erp.system.scheduling.JobLease;
+import com.erp.system.scheduling.JobLeaseManager;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EntityScan(basePackageClasses = {InventoryServiceApplication.class, OutboxEvent.class, JobLease.class})
+@Import({JobLeaseManager.class, OutboxPublisher.class, OutboxRelay.class})
+public class OutboxConfig {
+}
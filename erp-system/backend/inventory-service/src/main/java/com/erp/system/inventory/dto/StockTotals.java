@@ -0,0 +1,10 @@
+package com.erp.system.inventory.dto;
+
+import java.math.BigDecimal;
+
+public record StockTotals(BigDecimal quantityOnHand, BigDecimal quantityReserved) {
+
+    public BigDecimal quantityAvailable() {
+        return quantityOnHand.subtract(quantityReserved);
+    }
+}
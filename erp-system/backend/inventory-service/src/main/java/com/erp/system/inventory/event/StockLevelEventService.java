@@ -0,0 +1,69 @@
+package com.erp.system.inventory.event;
+
+import com.erp.system.inventory.dto.StockTotals;
+import com.erp.system.inventory.entity.Product;
+import com.erp.system.inventory.repository.WarehouseStockRepository;
+import com.erp.system.outbox.OutboxPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Publishes a product's stock position to inventory-events on every change
+ * to its available quantity (on hand minus reserved, over all warehouses),
+ * so planners always net against the current position: STOCK_BELOW_MINIMUM
+ * while the product is short, STOCK_RESTORED when a change brings it back
+ * up, and STOCK_LEVEL_CHANGED otherwise. Events go through the outbox with
+ * the product id as key, so consumers see them in order per product.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockLevelEventService {
+
+    private static final String INVENTORY_TOPIC = "inventory-events";
+
+    private final OutboxPublisher outboxPublisher;
+    private final WarehouseStockRepository stockRepository;
+
+    /**
+     * Must run in the transaction that changed the stock, after the change;
+     * availableDelta is how much it moved the product's available quantity.
+     */
+    public void stockChanged(Product product, BigDecimal availableDelta) {
+        if (!Boolean.TRUE.equals(product.getTrackInventory()) || availableDelta.signum() == 0) {
+            return;
+        }
+        StockTotals totals = stockRepository.getStockTotalsByProduct(product.getId());
+        BigDecimal minimum = product.getMinimumStock() != null ? product.getMinimumStock() : BigDecimal.ZERO;
+        BigDecimal availableAfter = totals.quantityAvailable();
+        boolean belowAfter = availableAfter.compareTo(minimum) < 0;
+        boolean belowBefore = availableAfter.subtract(availableDelta).compareTo(minimum) < 0;
+
+        if (belowAfter) {
+            publish("STOCK_BELOW_MINIMUM", product, totals, minimum);
+        } else if (belowBefore) {
+            publish("STOCK_RESTORED", product, totals, minimum);
+        } else {
+            publish("STOCK_LEVEL_CHANGED", product, totals, minimum);
+        }
+    }
+
+    private void publish(String eventType, Product product, StockTotals totals, BigDecimal minimum) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventType", eventType);
+        event.put("timestamp", System.currentTimeMillis());
+        event.put("productId", product.getId());
+        event.put("sku", product.getSku());
+        event.put("quantityOnHand", totals.quantityOnHand());
+        event.put("quantityReserved", totals.quantityReserved());
+        event.put("minimumStock", minimum);
+        event.put("maximumStock", product.getMaximumStock());
+        outboxPublisher.publish(INVENTORY_TOPIC, product.getId().toString(), event);
+        log.debug("Queued {} event for product {}", eventType, product.getSku());
+    }
+}
@@ -1,5 +1,6 @@
 package com.erp.system.inventory.repository;
 
+import com.erp.system.inventory.dto.StockTotals;
 import com.erp.system.inventory.entity.WarehouseStock;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -23,6 +24,10 @@ public interface WarehouseStockRepository extends JpaRepository<WarehouseStock,
     @Query("SELECT SUM(ws.quantityOnHand) FROM WarehouseStock ws WHERE ws.product.id = :productId")
     BigDecimal getTotalStockByProduct(@Param("productId") Long productId);
     
+    @Query("SELECT new com.erp.system.inventory.dto.StockTotals(COALESCE(SUM(ws.quantityOnHand), 0), " +
+           "COALESCE(SUM(ws.quantityReserved), 0)) FROM WarehouseStock ws WHERE ws.product.id = :productId")
+    StockTotals getStockTotalsByProduct(@Param("productId") Long productId);
+    
     @Query("SELECT SUM(ws.quantityAvailable) FROM WarehouseStock ws WHERE ws.product.id = :productId")
     BigDecimal getAvailableStockByProduct(@Param("productId") Long productId);
     
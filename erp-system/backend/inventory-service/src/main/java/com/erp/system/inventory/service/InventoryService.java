@@ -6,10 +6,12 @@ import com.erp.system.inventory.entity.Product;
 import com.erp.system.inventory.entity.Warehouse;
 import com.erp.system.inventory.entity.WarehouseStock;
 import com.erp.system.inventory.enums.MovementType;
+import com.erp.system.inventory.event.StockLevelEventService;
 import com.erp.system.inventory.repository.InventoryMovementRepository;
 import com.erp.system.inventory.repository.ProductRepository;
 import com.erp.system.inventory.repository.WarehouseRepository;
 import com.erp.system.inventory.repository.WarehouseStockRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,8 +31,10 @@ public class InventoryService {
     private final WarehouseStockRepository stockRepository;
     private final ProductRepository productRepository;
     private final WarehouseRepository warehouseRepository;
+    private final StockLevelEventService stockLevelEventService;
     
     @Transactional
+    @Timed(value = "erp.inventory.stock.movement", histogram = true)
     public void processStockMovement(StockMovementDto movementDto) {
         Product product = productRepository.findById(movementDto.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found"));
@@ -72,6 +76,7 @@ public class InventoryService {
         // Update available quantity
         stock.setQuantityAvailable(stock.getQuantityOnHand().subtract(stock.getQuantityReserved()));
         stockRepository.save(stock);
+        stockLevelEventService.stockChanged(product, stock.getQuantityOnHand().subtract(quantityBefore));
         
         // Create movement record
         InventoryMovement movement = new InventoryMovement();
@@ -131,6 +136,7 @@ public class InventoryService {
         stock.setQuantityReserved(stock.getQuantityReserved().add(quantity));
         stock.setQuantityAvailable(stock.getQuantityOnHand().subtract(stock.getQuantityReserved()));
         stockRepository.save(stock);
+        stockLevelEventService.stockChanged(stock.getProduct(), quantity.negate());
         
         log.info("Reserved {} units of product {} in warehouse {}", 
                 quantity, productId, warehouseId);
@@ -146,9 +152,11 @@ public class InventoryService {
             newReserved = BigDecimal.ZERO;
         }
         
+        BigDecimal released = stock.getQuantityReserved().subtract(newReserved);
         stock.setQuantityReserved(newReserved);
         stock.setQuantityAvailable(stock.getQuantityOnHand().subtract(stock.getQuantityReserved()));
         stockRepository.save(stock);
+        stockLevelEventService.stockChanged(stock.getProduct(), released);
         
         log.info("Released reservation of {} units of product {} in warehouse {}", 
                 quantity, productId, warehouseId);
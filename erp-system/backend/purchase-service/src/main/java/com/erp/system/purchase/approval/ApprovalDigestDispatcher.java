@@ -0,0 +1,166 @@
+package com.erp.system.purchase.approval;
+
+import com.erp.system.purchase.approval.ApprovalNotificationQueue.QueuedNotification;
+import com.erp.system.purchase.service.EmailNotificationService;
+import com.erp.system.scheduling.JobLeaseManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Delivers queued approval notifications as digest emails of at most
+ * max-digest-size notifications per recipient. Runs on a single instance at a
+ * time under a job lease. A digest that fails to send stays pending and the
+ * recipient is left out with a growing back-off while the others are served,
+ * so recipients may see a digest twice but never miss one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApprovalDigestDispatcher {
+
+    private static final String JOB_NAME = "purchase.approval-digest";
+
+    private final ApprovalNotificationQueue notificationQueue;
+    private final EmailNotificationService emailNotificationService;
+    private final JobLeaseManager jobLeaseManager;
+    private final ApprovalPipelineMetrics metrics;
+
+    // Recipients whose last digest failed; only touched under the job lease.
+    private final Map<String, Backoff> backoffs = new HashMap<>();
+
+    @Value("${purchase.approval.digest.coalescing-window-seconds:120}")
+    private long coalescingWindowSeconds;
+
+    @Value("${purchase.approval.digest.max-digest-size:50}")
+    private int maxDigestSize;
+
+    @Value("${purchase.approval.digest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${purchase.approval.digest.retention-hours:168}")
+    private long retentionHours;
+
+    @Value("${purchase.approval.digest.lease-minutes:5}")
+    private long leaseMinutes;
+
+    @Value("${purchase.approval.digest.retry-backoff-seconds:60}")
+    private long retryBackoffSeconds;
+
+    @Value("${purchase.approval.digest.max-retry-backoff-seconds:3600}")
+    private long maxRetryBackoffSeconds;
+
+    private record Backoff(int failures, long retryAtMillis) {
+    }
+
+    @Scheduled(fixedDelayString = "${purchase.approval.digest.poll-interval-ms:10000}",
+               initialDelayString = "${purchase.approval.digest.initial-delay-ms:30000}")
+    public void dispatch() {
+        Duration lease = Duration.ofMinutes(leaseMinutes);
+        if (!jobLeaseManager.tryAcquire(JOB_NAME, lease)) {
+            return;
+        }
+        try {
+            long deadline = System.currentTimeMillis() + lease.toMillis() / 2;
+            Set<String> excluded = backingOff();
+            boolean more = true;
+            while (more && System.currentTimeMillis() < deadline) {
+                more = dispatchBatch(excluded);
+            }
+            notificationQueue.purgeSentBefore(LocalDateTime.now().minusHours(retentionHours));
+        } catch (Exception e) {
+            log.error("Approval digest dispatch failed", e);
+        } finally {
+            jobLeaseManager.release(JOB_NAME);
+        }
+    }
+
+    /**
+     * Sends the digests of one batch and returns true when the batch was full,
+     * i.e. when more are probably due. Recipients that fail are added to the
+     * excluded set so the following batches go to the others.
+     */
+    private boolean dispatchBatch(Set<String> excluded) {
+        LocalDateTime windowStart = LocalDateTime.now().minusSeconds(coalescingWindowSeconds);
+        List<QueuedNotification> due = notificationQueue.findDue(windowStart, maxDigestSize, batchSize, excluded);
+        if (due.isEmpty()) {
+            return false;
+        }
+
+        Map<String, List<QueuedNotification>> byRecipient = new LinkedHashMap<>();
+        for (QueuedNotification notification : due) {
+            byRecipient.computeIfAbsent(notification.recipient(), r -> new ArrayList<>()).add(notification);
+        }
+
+        for (Map.Entry<String, List<QueuedNotification>> pending : byRecipient.entrySet()) {
+            String recipient = pending.getKey();
+            List<QueuedNotification> notifications = pending.getValue();
+            boolean sent = true;
+            for (int from = 0; from < notifications.size() && sent; from += maxDigestSize) {
+                sent = sendDigest(recipient,
+                        notifications.subList(from, Math.min(from + maxDigestSize, notifications.size())));
+            }
+            if (sent) {
+                backoffs.remove(recipient);
+            } else {
+                backOff(recipient);
+                excluded.add(recipient);
+            }
+        }
+        log.debug("Dispatched {} approval notifications to {} recipients", due.size(), byRecipient.size());
+        return due.size() == batchSize;
+    }
+
+    private Set<String> backingOff() {
+        long now = System.currentTimeMillis();
+        Set<String> recipients = new HashSet<>();
+        backoffs.forEach((recipient, backoff) -> {
+            if (backoff.retryAtMillis() > now) {
+                recipients.add(recipient);
+            }
+        });
+        return recipients;
+    }
+
+    private void backOff(String recipient) {
+        Backoff previous = backoffs.get(recipient);
+        int failures = previous != null ? previous.failures() + 1 : 1;
+        long delaySeconds = Math.min(retryBackoffSeconds << Math.min(failures - 1, 20), maxRetryBackoffSeconds);
+        backoffs.put(recipient, new Backoff(failures, System.currentTimeMillis() + delaySeconds * 1000));
+        log.warn("Backing off approval digests to {} for {}s after {} failed attempts",
+                recipient, delaySeconds, failures);
+    }
+
+    private boolean sendDigest(String recipient, List<QueuedNotification> notifications) {
+        long start = System.nanoTime();
+        try {
+            emailNotificationService.sendDigest(recipient, notifications);
+        } catch (Exception e) {
+            metrics.recordDigestSent(Duration.ofNanos(System.nanoTime() - start), notifications.size(), false);
+            log.warn("Could not send approval digest to {}, will retry", recipient, e);
+            return false;
+        }
+        metrics.recordDigestSent(Duration.ofNanos(System.nanoTime() - start), notifications.size(), true);
+
+        LocalDateTime sentAt = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(notifications.size());
+        for (QueuedNotification notification : notifications) {
+            ids.add(notification.id());
+            metrics.recordQueueWait(Duration.between(notification.createdAt(), sentAt));
+        }
+        notificationQueue.markSent(ids, sentAt);
+        return true;
+    }
+}
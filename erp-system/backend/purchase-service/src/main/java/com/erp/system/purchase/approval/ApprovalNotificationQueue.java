@@ -0,0 +1,108 @@
+package com.erp.system.purchase.approval;
+
+import com.erp.system.purchase.enums.ApprovalNotificationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Approval emails waiting to be delivered. Rows are written on the caller's
+ * connection, so a notification exists only if the decision that produced it
+ * committed; {@link ApprovalDigestDispatcher} later sends everything pending
+ * for one recipient as a single digest.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApprovalNotificationQueue {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO approval_notifications (recipient, notification_type, purchase_order_id, po_number, " +
+            "detail, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // A recipient is due once its oldest pending notification has waited out
+    // the coalescing window, or earlier when enough have piled up to fill a
+    // digest. Recipients backing off after a failed send are skipped.
+    private static final String SELECT_DUE_SQL =
+            "SELECT id, recipient, notification_type, purchase_order_id, po_number, detail, created_at " +
+            "FROM approval_notifications WHERE sent_at IS NULL AND recipient IN (" +
+            "SELECT recipient FROM approval_notifications WHERE sent_at IS NULL AND recipient <> ALL(?) " +
+            "GROUP BY recipient HAVING MIN(created_at) <= ? OR COUNT(*) >= ?) " +
+            "ORDER BY recipient, id LIMIT ?";
+
+    private static final String MARK_SENT_SQL =
+            "UPDATE approval_notifications SET sent_at = ? WHERE id = ANY(?)";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM approval_notifications WHERE sent_at < ?";
+
+    private static final String COUNT_PENDING_SQL =
+            "SELECT COUNT(*) FROM approval_notifications WHERE sent_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record PendingNotification(String recipient, ApprovalNotificationType type,
+                                      Long purchaseOrderId, String poNumber, String detail) {
+    }
+
+    public record QueuedNotification(long id, String recipient, ApprovalNotificationType type,
+                                     Long purchaseOrderId, String poNumber, String detail,
+                                     LocalDateTime createdAt) {
+    }
+
+    public void enqueue(Collection<PendingNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(notifications.size());
+        for (PendingNotification notification : notifications) {
+            rows.add(new Object[] {notification.recipient(), notification.type().name(),
+                    notification.purchaseOrderId(), notification.poNumber(), notification.detail(), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Pending notifications of the recipients that are due, grouped by
+     * recipient, leaving out the excluded recipients. A recipient cut off by
+     * the limit keeps the rest for the next round.
+     */
+    List<QueuedNotification> findDue(LocalDateTime windowStart, int digestSize, int limit,
+                                     Collection<String> excludedRecipients) {
+        return jdbcTemplate.query(SELECT_DUE_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", excludedRecipients.toArray()));
+            ps.setTimestamp(2, Timestamp.valueOf(windowStart));
+            ps.setInt(3, digestSize);
+            ps.setInt(4, limit);
+        }, (rs, rowNum) -> new QueuedNotification(
+                        rs.getLong("id"),
+                        rs.getString("recipient"),
+                        ApprovalNotificationType.valueOf(rs.getString("notification_type")),
+                        rs.getLong("purchase_order_id"),
+                        rs.getString("po_number"),
+                        rs.getString("detail"),
+                        rs.getTimestamp("created_at").toLocalDateTime()));
+    }
+
+    void markSent(List<Long> ids, LocalDateTime sentAt) {
+        jdbcTemplate.update(MARK_SENT_SQL, ps -> {
+            ps.setTimestamp(1, Timestamp.valueOf(sentAt));
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+        });
+    }
+
+    int purgeSentBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(cutoff));
+    }
+
+    public long pendingNotifications() {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.erp.system.purchase.config;
+
+import com.erp.system.outbox.OutboxEvent;
+import com.erp.system.outbox.OutboxPublisher;
+import com.erp.system.outbox.OutboxRelay;
+import com.erp.system.purchase.PurchaseServiceApplication;
+import com.erp.system.scheduling.JobLease;
+import com.erp.system.scheduling.JobLeaseManager;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+@Configuration
+@EntityScan(basePackageClasses = {PurchaseServiceApplication.class, OutboxEvent.class, JobLease.class})
+@Import({JobLeaseManager.class, OutboxPublisher.class, OutboxRelay.class})
+public class SchedulingConfig {
+}
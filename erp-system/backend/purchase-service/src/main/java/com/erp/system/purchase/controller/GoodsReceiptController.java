@@ -0,0 +1,48 @@
+package com.erp.system.purchase.controller;
+
+import com.erp.system.purchase.dto.GoodsReceiptDto;
+import com.erp.system.purchase.service.GoodsReceiptService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/purchase/purchase-orders")
+@RequiredArgsConstructor
+@Slf4j
+public class GoodsReceiptController {
+
+    private final GoodsReceiptService goodsReceiptService;
+
+    @GetMapping("/{id}/receipts")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('PURCHASE_EMPLOYEE') or hasRole('WAREHOUSE_EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<List<GoodsReceiptDto>> getReceipts(@PathVariable Long id) {
+        log.info("GET /api/purchase/purchase-orders/{}/receipts - Getting goods receipts", id);
+        return ResponseEntity.ok(goodsReceiptService.getReceiptsByPurchaseOrder(id));
+    }
+
+    @PostMapping("/{id}/receipts")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('WAREHOUSE_EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<GoodsReceiptDto> receiveGoods(@PathVariable Long id,
+                                                        @Valid @RequestBody GoodsReceiptDto receiptDto) {
+        log.info("POST /api/purchase/purchase-orders/{}/receipts - Recording goods receipt", id);
+        GoodsReceiptDto receipt = goodsReceiptService.receiveGoods(id, receiptDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(receipt);
+    }
+
+    @PatchMapping("/{id}/close")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<Void> closePurchaseOrder(@PathVariable Long id,
+                                                   @RequestParam Long userId,
+                                                   @RequestParam(required = false) String reason) {
+        log.info("PATCH /api/purchase/purchase-orders/{}/close - Closing partially received purchase order", id);
+        goodsReceiptService.closePurchaseOrder(id, userId, reason);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.erp.system.purchase.controller;
+
+import com.erp.system.purchase.mrp.MrpPlanner;
+import com.erp.system.purchase.mrp.MrpPlanningState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/purchase/mrp")
+@RequiredArgsConstructor
+@Slf4j
+public class MrpController {
+
+    private final MrpPlanner mrpPlanner;
+    private final MrpPlanningState mrpPlanningState;
+
+    @GetMapping("/queue")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('PLANNER') or hasRole('ADMIN')")
+    public ResponseEntity<Long> getQueuedProducts() {
+        log.info("GET /api/purchase/mrp/queue - Getting queued products");
+        return ResponseEntity.ok(mrpPlanningState.queuedProducts());
+    }
+
+    @PostMapping("/queue")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('PLANNER') or hasRole('ADMIN')")
+    public ResponseEntity<Void> enqueueProducts(@RequestBody List<Long> productIds) {
+        log.info("POST /api/purchase/mrp/queue - Queueing {} products for planning", productIds.size());
+        mrpPlanningState.enqueue(productIds);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<Integer> runPlanning() {
+        log.info("POST /api/purchase/mrp/run - Running MRP planning");
+        int created = mrpPlanner.plan();
+        if (created < 0) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(created);
+    }
+}
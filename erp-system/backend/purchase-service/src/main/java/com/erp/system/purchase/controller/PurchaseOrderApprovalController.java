@@ -0,0 +1,39 @@
+package com.erp.system.purchase.controller;
+
+import com.erp.system.purchase.approval.ApprovalNotificationQueue;
+import com.erp.system.purchase.dto.BulkApprovalRequestDto;
+import com.erp.system.purchase.dto.BulkApprovalResultDto;
+import com.erp.system.purchase.service.PurchaseOrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/purchase/purchase-orders")
+@RequiredArgsConstructor
+@Slf4j
+public class PurchaseOrderApprovalController {
+
+    private final PurchaseOrderService purchaseOrderService;
+    private final ApprovalNotificationQueue approvalNotificationQueue;
+
+    @PostMapping("/bulk-approve")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<BulkApprovalResultDto> approvePurchaseOrders(
+            @Valid @RequestBody BulkApprovalRequestDto request) {
+        log.info("POST /api/purchase/purchase-orders/bulk-approve - Approving {} purchase orders",
+                request.getPurchaseOrderIds().size());
+        return ResponseEntity.ok(purchaseOrderService.approvePurchaseOrders(
+                request.getPurchaseOrderIds(), request.getApproverUserId(), request.getComments()));
+    }
+
+    @GetMapping("/approval-notifications/pending")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<Long> getPendingNotifications() {
+        log.info("GET /api/purchase/purchase-orders/approval-notifications/pending - Counting queued notifications");
+        return ResponseEntity.ok(approvalNotificationQueue.pendingNotifications());
+    }
+}
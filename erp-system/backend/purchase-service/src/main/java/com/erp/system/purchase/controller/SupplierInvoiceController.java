@@ -0,0 +1,49 @@
+package com.erp.system.purchase.controller;
+
+import com.erp.system.purchase.dto.SupplierInvoiceDto;
+import com.erp.system.purchase.dto.ThreeWayMatchReportDto;
+import com.erp.system.purchase.dto.ThreeWayMatchRequestDto;
+import com.erp.system.purchase.matching.ThreeWayMatchService;
+import com.erp.system.purchase.service.SupplierInvoiceService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/purchase/supplier-invoices")
+@RequiredArgsConstructor
+@Slf4j
+public class SupplierInvoiceController {
+
+    private final SupplierInvoiceService supplierInvoiceService;
+    private final ThreeWayMatchService threeWayMatchService;
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('ACCOUNTS_PAYABLE') or hasRole('ADMIN')")
+    public ResponseEntity<SupplierInvoiceDto> getSupplierInvoiceById(@PathVariable Long id) {
+        log.info("GET /api/purchase/supplier-invoices/{} - Getting supplier invoice by id", id);
+        return supplierInvoiceService.getSupplierInvoiceById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('ACCOUNTS_PAYABLE') or hasRole('ADMIN')")
+    public ResponseEntity<SupplierInvoiceDto> registerInvoice(@Valid @RequestBody SupplierInvoiceDto invoiceDto) {
+        log.info("POST /api/purchase/supplier-invoices - Registering invoice {} for supplier {}",
+                invoiceDto.getInvoiceNumber(), invoiceDto.getSupplierId());
+        SupplierInvoiceDto invoice = supplierInvoiceService.registerInvoice(invoiceDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(invoice);
+    }
+
+    @PostMapping("/match")
+    @PreAuthorize("hasRole('ACCOUNTS_PAYABLE') or hasRole('ADMIN')")
+    public ResponseEntity<ThreeWayMatchReportDto> match(@Valid @RequestBody ThreeWayMatchRequestDto request) {
+        log.info("POST /api/purchase/supplier-invoices/match - Matching invoices for supplier {}", request.getSupplierId());
+        return ResponseEntity.ok(threeWayMatchService.match(request));
+    }
+}
@@ -0,0 +1,59 @@
+package com.erp.system.purchase.controller;
+
+import com.erp.system.purchase.dto.RankedSupplierDto;
+import com.erp.system.purchase.dto.SupplierScorecardDto;
+import com.erp.system.purchase.scorecard.SupplierScorecardRebuilder;
+import com.erp.system.purchase.scorecard.SupplierScorecardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/purchase/suppliers")
+@RequiredArgsConstructor
+@Slf4j
+public class SupplierScorecardController {
+
+    private final SupplierScorecardService supplierScorecardService;
+    private final SupplierScorecardRebuilder supplierScorecardRebuilder;
+
+    @GetMapping("/{id}/scorecard")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('PURCHASE_EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<SupplierScorecardDto> getScorecard(@PathVariable Long id) {
+        log.info("GET /api/purchase/suppliers/{}/scorecard - Getting supplier scorecard", id);
+        return supplierScorecardService.getScorecard(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/ranking/product/{productId}")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('PURCHASE_EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<List<RankedSupplierDto>> rankSuppliers(@PathVariable Long productId) {
+        log.info("GET /api/purchase/suppliers/ranking/product/{} - Ranking suppliers for product", productId);
+        return ResponseEntity.ok(supplierScorecardService.rankSuppliers(productId));
+    }
+
+    @GetMapping("/ranking")
+    @PreAuthorize("hasRole('PURCHASE_MANAGER') or hasRole('PURCHASE_EMPLOYEE') or hasRole('ADMIN')")
+    public ResponseEntity<Map<Long, List<RankedSupplierDto>>> rankSuppliers(@RequestParam List<Long> productIds) {
+        log.info("GET /api/purchase/suppliers/ranking - Ranking suppliers for {} products", productIds.size());
+        return ResponseEntity.ok(supplierScorecardService.rankSuppliers(productIds));
+    }
+
+    @PostMapping("/scorecards/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> rebuildScorecards() {
+        log.info("POST /api/purchase/suppliers/scorecards/rebuild - Rebuilding supplier scorecards");
+        int written = supplierScorecardRebuilder.rebuild();
+        if (written < 0) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(written);
+    }
+}
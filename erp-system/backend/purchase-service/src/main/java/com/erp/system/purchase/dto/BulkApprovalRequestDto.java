@@ -0,0 +1,19 @@
+package com.erp.system.purchase.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkApprovalRequestDto {
+
+    @NotEmpty(message = "At least one purchase order is required")
+    private List<Long> purchaseOrderIds;
+
+    @NotNull(message = "Approver is required")
+    private Long approverUserId;
+
+    private String comments;
+}
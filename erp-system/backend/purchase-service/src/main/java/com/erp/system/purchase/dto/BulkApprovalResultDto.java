@@ -0,0 +1,16 @@
+package com.erp.system.purchase.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class BulkApprovalResultDto {
+
+    private List<String> approvedPoNumbers = new ArrayList<>();
+    private Map<Long, String> failures = new LinkedHashMap<>();
+    private long elapsedMillis;
+}
@@ -0,0 +1,34 @@
+package com.erp.system.purchase.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoodsReceiptDto {
+    
+    private Long id;
+    private String receiptNumber;
+    private Long purchaseOrderId;
+    private String poNumber;
+    private LocalDate receiptDate;
+    private Long receivedByUserId;
+    private BigDecimal totalAmount;
+    private String deliveryNoteNumber;
+    private String notes;
+    
+    @NotEmpty(message = "Goods receipt must have at least one item")
+    private List<@Valid GoodsReceiptItemDto> items;
+    
+    // Audit fields
+    private LocalDateTime createdAt;
+}
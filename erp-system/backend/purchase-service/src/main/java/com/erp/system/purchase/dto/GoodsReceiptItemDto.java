@@ -0,0 +1,28 @@
+package com.erp.system.purchase.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoodsReceiptItemDto {
+    
+    private Long id;
+    
+    @NotNull(message = "Purchase order item ID is required")
+    private Long purchaseOrderItemId;
+    private Integer lineNumber;
+    private Long productId;
+    
+    @NotNull(message = "Received quantity is required")
+    @Min(value = 0, message = "Received quantity must be non-negative")
+    private Integer quantityReceived;
+    
+    @Min(value = 0, message = "Rejected quantity must be non-negative")
+    private Integer quantityRejected;
+    private String rejectionReason;
+}
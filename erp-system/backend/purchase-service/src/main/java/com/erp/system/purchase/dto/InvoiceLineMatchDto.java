@@ -0,0 +1,25 @@
+package com.erp.system.purchase.dto;
+
+import com.erp.system.purchase.enums.InvoiceMatchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceLineMatchDto {
+
+    private Long invoiceId;
+    private String invoiceNumber;
+    private Integer lineNumber;
+    private String poNumber;
+    private Integer poLineNumber;
+    private InvoiceMatchStatus matchStatus;
+    private Integer invoicedQuantity;
+    private Integer receivedQuantity;
+    private Integer quantityVariance;
+    private BigDecimal priceVariance;
+}
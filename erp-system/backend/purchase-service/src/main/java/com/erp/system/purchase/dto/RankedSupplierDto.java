@@ -0,0 +1,25 @@
+package com.erp.system.purchase.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One active supplier of a product, in ranking order: best score first, then
+ * preferred suppliers, then lowest price. The expected lead time is the
+ * observed mean when there is one, otherwise the quoted lead time.
+ */
+public record RankedSupplierDto(
+        Long productId,
+        int rank,
+        Long supplierId,
+        String supplierCode,
+        String supplierName,
+        Double score,
+        Double onTimeRate,
+        Double fillRate,
+        Double rejectionRate,
+        Double expectedLeadTimeDays,
+        BigDecimal unitPrice,
+        String currency,
+        Integer minimumOrderQuantity,
+        boolean preferred) {
+}
@@ -0,0 +1,51 @@
+package com.erp.system.purchase.dto;
+
+import com.erp.system.purchase.enums.SupplierInvoiceStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierInvoiceDto {
+    
+    private Long id;
+    
+    @NotBlank(message = "Invoice number is required")
+    @Size(max = 50)
+    private String invoiceNumber;
+    
+    @NotNull(message = "Supplier ID is required")
+    private Long supplierId;
+    
+    @NotNull(message = "Invoice date is required")
+    private LocalDate invoiceDate;
+    private LocalDate dueDate;
+    private SupplierInvoiceStatus status;
+    private String currency;
+    private BigDecimal subtotal;
+    
+    @DecimalMin(value = "0.0", message = "Tax amount must be non-negative")
+    private BigDecimal taxAmount;
+    private BigDecimal totalAmount;
+    private LocalDateTime matchedAt;
+    private String notes;
+    
+    @NotEmpty(message = "Supplier invoice must have at least one item")
+    private List<@Valid SupplierInvoiceItemDto> items;
+    
+    // Audit fields
+    private LocalDateTime createdAt;
+}
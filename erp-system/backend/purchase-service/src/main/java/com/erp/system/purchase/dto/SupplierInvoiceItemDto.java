@@ -0,0 +1,43 @@
+package com.erp.system.purchase.dto;
+
+import com.erp.system.purchase.enums.InvoiceMatchStatus;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierInvoiceItemDto {
+    
+    private Long id;
+    private Integer lineNumber;
+    
+    @NotBlank(message = "PO number is required")
+    private String poNumber;
+    
+    @NotNull(message = "PO line number is required")
+    private Integer poLineNumber;
+    private String description;
+    
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+    
+    @NotNull(message = "Unit price is required")
+    @DecimalMin(value = "0.0", message = "Unit price must be non-negative")
+    private BigDecimal unitPrice;
+    private BigDecimal totalPrice;
+    
+    // Three-way match outcome
+    private InvoiceMatchStatus matchStatus;
+    private Long purchaseOrderItemId;
+    private Integer quantityVariance;
+    private BigDecimal priceVariance;
+}
@@ -0,0 +1,23 @@
+package com.erp.system.purchase.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A supplier's rolling delivery performance. Rates are between 0 and 1 and
+ * come with the number of observations behind them; score is null until
+ * something has been observed.
+ */
+public record SupplierScorecardDto(
+        Long supplierId,
+        Double score,
+        double onTimeRate,
+        long onTimeCount,
+        double fillRate,
+        long fillCount,
+        double rejectionRate,
+        long inspectedCount,
+        double leadTimeMeanDays,
+        double leadTimeStdDevDays,
+        long leadTimeCount,
+        LocalDate lastObservedOn) {
+}
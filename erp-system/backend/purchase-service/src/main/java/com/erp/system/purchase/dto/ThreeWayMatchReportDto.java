@@ -0,0 +1,27 @@
+package com.erp.system.purchase.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ThreeWayMatchReportDto {
+
+    private Long supplierId;
+    private int invoicesProcessed;
+    private int invoicesMatched;
+    private int invoicesPendingReceipt;
+    private int invoicesWithExceptions;
+    private int linesProcessed;
+    private int matchedLines;
+    private int awaitingReceiptLines;
+    private int quantityVarianceLines;
+    private int priceVarianceLines;
+    private int unmatchedLines;
+    private BigDecimal matchedAmount = BigDecimal.ZERO;
+    private BigDecimal exceptionAmount = BigDecimal.ZERO;
+    private long elapsedMillis;
+    private List<InvoiceLineMatchDto> exceptions = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.erp.system.purchase.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class ThreeWayMatchRequestDto {
+
+    @NotNull(message = "Supplier ID is required")
+    private Long supplierId;
+
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+
+    @PositiveOrZero
+    private BigDecimal quantityTolerancePercent;
+
+    @PositiveOrZero
+    private BigDecimal priceTolerancePercent;
+}
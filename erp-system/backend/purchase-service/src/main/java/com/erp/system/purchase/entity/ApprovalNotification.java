@@ -0,0 +1,46 @@
+package com.erp.system.purchase.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An approval email waiting for, or already included in, a recipient's
+ * digest. Written and drained by ApprovalNotificationQueue with plain SQL.
+ */
+@Entity
+@Table(name = "approval_notifications",
+       indexes = @Index(name = "idx_approval_notifications_pending", columnList = "sent_at, recipient, created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApprovalNotification {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+    
+    @Column(name = "notification_type", length = 30, nullable = false)
+    private String notificationType;
+    
+    @Column(name = "purchase_order_id", nullable = false)
+    private Long purchaseOrderId;
+    
+    @Column(name = "po_number", length = 50, nullable = false)
+    private String poNumber;
+    
+    @Column(name = "detail", columnDefinition = "TEXT")
+    private String detail;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,56 @@
+package com.erp.system.purchase.entity;
+
+import com.erp.system.entity.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Entity
+@Table(name = "goods_receipts", indexes = {
+        @Index(name = "idx_goods_receipts_order", columnList = "purchase_order_id"),
+        @Index(name = "idx_goods_receipts_date", columnList = "receipt_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class GoodsReceipt extends BaseEntity {
+    
+    @Column(name = "receipt_number", unique = true, nullable = false)
+    @NotBlank(message = "Receipt number is required")
+    @Size(max = 50)
+    private String receiptNumber;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "purchase_order_id", nullable = false)
+    @NotNull(message = "Purchase order is required")
+    private PurchaseOrder purchaseOrder;
+    
+    @Column(name = "receipt_date", nullable = false)
+    @NotNull(message = "Receipt date is required")
+    private LocalDate receiptDate;
+    
+    @Column(name = "received_by_user_id")
+    private Long receivedByUserId;
+    
+    @Column(name = "total_amount", precision = 12, scale = 2, nullable = false)
+    @NotNull(message = "Total amount is required")
+    private BigDecimal totalAmount;
+    
+    @Column(name = "delivery_note_number")
+    @Size(max = 100)
+    private String deliveryNoteNumber;
+    
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+    
+    @OneToMany(mappedBy = "goodsReceipt", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<GoodsReceiptItem> items;
+}
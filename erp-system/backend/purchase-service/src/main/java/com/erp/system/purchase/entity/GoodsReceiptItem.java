@@ -0,0 +1,48 @@
+package com.erp.system.purchase.entity;
+
+import com.erp.system.entity.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "goods_receipt_items", indexes = {
+        @Index(name = "idx_goods_receipt_items_receipt", columnList = "goods_receipt_id"),
+        @Index(name = "idx_goods_receipt_items_order_item", columnList = "purchase_order_item_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class GoodsReceiptItem extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "goods_receipt_id", nullable = false)
+    @NotNull(message = "Goods receipt is required")
+    private GoodsReceipt goodsReceipt;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "purchase_order_item_id", nullable = false)
+    @NotNull(message = "Purchase order item is required")
+    private PurchaseOrderItem purchaseOrderItem;
+    
+    @Column(name = "quantity_received", nullable = false)
+    @NotNull(message = "Received quantity is required")
+    @Min(value = 0, message = "Received quantity must be non-negative")
+    private Integer quantityReceived;
+    
+    @Column(name = "quantity_rejected", nullable = false)
+    @Min(value = 0, message = "Rejected quantity must be non-negative")
+    private Integer quantityRejected = 0;
+    
+    @Column(name = "rejection_reason")
+    @Size(max = 500)
+    private String rejectionReason;
+    
+    public int getQuantityAccepted() {
+        return quantityReceived - (quantityRejected != null ? quantityRejected : 0);
+    }
+}
@@ -0,0 +1,27 @@
+package com.erp.system.purchase.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A product whose net requirement has to be recomputed; at most one row per
+ * product however many inputs changed.
+ */
+@Entity
+@Table(name = "mrp_planning_queue")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MrpPlanningQueueEntry {
+    
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(name = "queued_at", nullable = false)
+    private LocalDateTime queuedAt;
+}
@@ -0,0 +1,45 @@
+package com.erp.system.purchase.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Open material demand of a production order for one product.
+ */
+@Entity
+@Table(name = "mrp_production_demand",
+       indexes = @Index(name = "idx_mrp_production_demand_product", columnList = "product_id, required_date"))
+@IdClass(MrpProductionDemand.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MrpProductionDemand {
+    
+    @Id
+    @Column(name = "production_order_id")
+    private Long productionOrderId;
+    
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(name = "quantity", precision = 15, scale = 3, nullable = false)
+    private BigDecimal quantity;
+    
+    @Column(name = "required_date", nullable = false)
+    private LocalDate requiredDate;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productionOrderId;
+        private Long productId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.erp.system.purchase.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Last stock position inventory reported for a product; as_of is the
+ * event's version, so a replayed older event cannot overwrite a newer one.
+ */
+@Entity
+@Table(name = "mrp_stock_positions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MrpStockPosition {
+    
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(name = "quantity_on_hand", precision = 15, scale = 3, nullable = false)
+    private BigDecimal quantityOnHand;
+    
+    @Column(name = "quantity_reserved", precision = 15, scale = 3, nullable = false)
+    private BigDecimal quantityReserved;
+    
+    @Column(name = "minimum_stock", precision = 15, scale = 3, nullable = false)
+    private BigDecimal minimumStock;
+    
+    @Column(name = "maximum_stock", precision = 15, scale = 3)
+    private BigDecimal maximumStock;
+    
+    @Column(name = "as_of", nullable = false)
+    private Long asOf;
+}
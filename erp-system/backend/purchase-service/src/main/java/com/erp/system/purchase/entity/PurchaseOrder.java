@@ -1,5 +1,6 @@
 package com.erp.system.purchase.entity;
 
+import com.erp.system.currency.Money;
 import com.erp.system.entity.BaseEntity;
 import com.erp.system.purchase.enums.PurchaseOrderStatus;
 import com.erp.system.purchase.enums.Priority;
@@ -11,12 +12,15 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "purchase_orders")
+@Table(name = "purchase_orders", indexes = {
+        @Index(name = "idx_purchase_orders_overdue", columnList = "overdue_flagged, expected_delivery_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -118,6 +122,9 @@ public class PurchaseOrder extends BaseEntity {
     @Column(name = "is_drop_shipment")
     private Boolean isDropShipment = false;
     
+    @Column(name = "overdue_flagged")
+    private Boolean overdueFlagged = false;
+    
     @Column(name = "tracking_number")
     @Size(max = 100)
     private String trackingNumber;
@@ -137,14 +144,18 @@ public class PurchaseOrder extends BaseEntity {
     
     public void calculateTotals() {
         if (items != null && !items.isEmpty()) {
-            subtotal = items.stream()
-                    .map(PurchaseOrderItem::getTotalPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            int scale = Money.scaleOf(currency);
+            Money.Accumulator itemTotals = Money.accumulator(scale);
+            for (PurchaseOrderItem item : items) {
+                itemTotals.add(item.getTotalPrice(), RoundingMode.HALF_UP);
+            }
             
-            totalAmount = subtotal
-                    .add(taxAmount != null ? taxAmount : BigDecimal.ZERO)
-                    .add(shippingCost != null ? shippingCost : BigDecimal.ZERO)
-                    .subtract(discountAmount != null ? discountAmount : BigDecimal.ZERO);
+            subtotal = itemTotals.toBigDecimal();
+            totalAmount = itemTotals
+                    .add(taxAmount, RoundingMode.HALF_UP)
+                    .add(shippingCost, RoundingMode.HALF_UP)
+                    .subtract(Money.of(discountAmount, scale, RoundingMode.HALF_UP))
+                    .toBigDecimal();
         }
     }
     
@@ -0,0 +1,66 @@
+package com.erp.system.purchase.entity;
+
+import com.erp.system.entity.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "purchase_order_items", indexes = {
+        @Index(name = "idx_purchase_order_items_order", columnList = "purchase_order_id, line_number"),
+        @Index(name = "idx_purchase_order_items_product", columnList = "product_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class PurchaseOrderItem extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "purchase_order_id", nullable = false)
+    @NotNull(message = "Purchase order is required")
+    private PurchaseOrder purchaseOrder;
+    
+    @Column(name = "line_number", nullable = false)
+    @NotNull(message = "Line number is required")
+    private Integer lineNumber;
+    
+    @Column(name = "product_id", nullable = false)
+    @NotNull(message = "Product is required")
+    private Long productId;
+    
+    @Column(name = "product_code")
+    @Size(max = 50)
+    private String productCode;
+    
+    @Column(name = "description")
+    @Size(max = 500)
+    private String description;
+    
+    @Column(name = "quantity", nullable = false)
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+    
+    @Column(name = "quantity_received", nullable = false)
+    @Min(value = 0, message = "Received quantity must be non-negative")
+    private Integer quantityReceived = 0;
+    
+    @Column(name = "unit_price", precision = 12, scale = 4, nullable = false)
+    @NotNull(message = "Unit price is required")
+    @DecimalMin(value = "0.0", message = "Unit price must be non-negative")
+    private BigDecimal unitPrice;
+    
+    @Column(name = "total_price", precision = 12, scale = 2, nullable = false)
+    @NotNull(message = "Total price is required")
+    private BigDecimal totalPrice;
+    
+    public int getOpenQuantity() {
+        return Math.max(quantity - (quantityReceived != null ? quantityReceived : 0), 0);
+    }
+}
@@ -0,0 +1,46 @@
+package com.erp.system.purchase.entity;
+
+import com.erp.system.entity.BaseEntity;
+import com.erp.system.purchase.enums.PurchaseOrderStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "purchase_order_status_history", indexes = {
+        @Index(name = "idx_po_status_history_order", columnList = "purchase_order_id, changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class PurchaseOrderStatusHistory extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "purchase_order_id", nullable = false)
+    @NotNull(message = "Purchase order is required")
+    private PurchaseOrder purchaseOrder;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private PurchaseOrderStatus fromStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    @NotNull(message = "Status is required")
+    private PurchaseOrderStatus toStatus;
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt = LocalDateTime.now();
+    
+    @Column(name = "changed_by_user_id")
+    private Long changedByUserId;
+    
+    @Column(name = "comments", columnDefinition = "TEXT")
+    private String comments;
+}
@@ -0,0 +1,60 @@
+package com.erp.system.purchase.entity;
+
+import com.erp.system.entity.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "purchase_requisition_items", indexes = {
+        @Index(name = "idx_purchase_requisition_items_requisition", columnList = "purchase_requisition_id, line_number"),
+        @Index(name = "idx_purchase_requisition_items_product", columnList = "product_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class PurchaseRequisitionItem extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "purchase_requisition_id", nullable = false)
+    @NotNull(message = "Purchase requisition is required")
+    private PurchaseRequisition purchaseRequisition;
+    
+    @Column(name = "line_number", nullable = false)
+    @NotNull(message = "Line number is required")
+    private Integer lineNumber;
+    
+    @Column(name = "product_id", nullable = false)
+    @NotNull(message = "Product is required")
+    private Long productId;
+    
+    @Column(name = "description")
+    @Size(max = 500)
+    private String description;
+    
+    @Column(name = "quantity", nullable = false)
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+    
+    @Column(name = "estimated_unit_price", precision = 12, scale = 4, nullable = false)
+    @NotNull(message = "Estimated unit price is required")
+    @DecimalMin(value = "0.0", message = "Estimated unit price must be non-negative")
+    private BigDecimal estimatedUnitPrice;
+    
+    @Column(name = "suggested_supplier_id")
+    private Long suggestedSupplierId;
+    
+    @Column(name = "required_date")
+    private LocalDate requiredDate;
+    
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+}
@@ -0,0 +1,71 @@
+package com.erp.system.purchase.entity;
+
+import com.erp.system.entity.BaseEntity;
+import com.erp.system.purchase.enums.SupplierInvoiceStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Table(name = "supplier_invoices",
+        uniqueConstraints = @UniqueConstraint(name = "uk_supplier_invoices_supplier_number",
+                columnNames = {"supplier_id", "invoice_number"}),
+        indexes = @Index(name = "idx_supplier_invoices_supplier_status", columnList = "supplier_id, status, invoice_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class SupplierInvoice extends BaseEntity {
+    
+    @Column(name = "invoice_number", nullable = false)
+    @NotBlank(message = "Invoice number is required")
+    @Size(max = 50)
+    private String invoiceNumber;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_id", nullable = false)
+    @NotNull(message = "Supplier is required")
+    private Supplier supplier;
+    
+    @Column(name = "invoice_date", nullable = false)
+    @NotNull(message = "Invoice date is required")
+    private LocalDate invoiceDate;
+    
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private SupplierInvoiceStatus status = SupplierInvoiceStatus.RECEIVED;
+    
+    @Column(name = "currency", length = 3)
+    private String currency = "USD";
+    
+    @Column(name = "subtotal", precision = 15, scale = 2, nullable = false)
+    @NotNull(message = "Subtotal is required")
+    private BigDecimal subtotal;
+    
+    @Column(name = "tax_amount", precision = 15, scale = 2)
+    private BigDecimal taxAmount = BigDecimal.ZERO;
+    
+    @Column(name = "total_amount", precision = 15, scale = 2, nullable = false)
+    @NotNull(message = "Total amount is required")
+    private BigDecimal totalAmount;
+    
+    @Column(name = "matched_at")
+    private LocalDateTime matchedAt;
+    
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+    
+    @OneToMany(mappedBy = "supplierInvoice", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<SupplierInvoiceItem> items;
+}
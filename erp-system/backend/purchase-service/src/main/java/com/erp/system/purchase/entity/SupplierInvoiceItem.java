@@ -0,0 +1,74 @@
+package com.erp.system.purchase.entity;
+
+import com.erp.system.entity.BaseEntity;
+import com.erp.system.purchase.enums.InvoiceMatchStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "supplier_invoice_items", indexes = {
+        @Index(name = "idx_supplier_invoice_items_invoice", columnList = "supplier_invoice_id, line_number"),
+        @Index(name = "idx_supplier_invoice_items_po_item", columnList = "purchase_order_item_id, match_status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class SupplierInvoiceItem extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_invoice_id", nullable = false)
+    @NotNull(message = "Supplier invoice is required")
+    private SupplierInvoice supplierInvoice;
+    
+    @Column(name = "line_number", nullable = false)
+    @NotNull(message = "Line number is required")
+    private Integer lineNumber;
+    
+    @Column(name = "po_number", nullable = false)
+    @NotBlank(message = "PO number is required")
+    @Size(max = 50)
+    private String poNumber;
+    
+    @Column(name = "po_line_number", nullable = false)
+    @NotNull(message = "PO line number is required")
+    private Integer poLineNumber;
+    
+    @Column(name = "description")
+    @Size(max = 500)
+    private String description;
+    
+    @Column(name = "quantity", nullable = false)
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+    
+    @Column(name = "unit_price", precision = 12, scale = 4, nullable = false)
+    @NotNull(message = "Unit price is required")
+    @DecimalMin(value = "0.0", message = "Unit price must be non-negative")
+    private BigDecimal unitPrice;
+    
+    @Column(name = "total_price", precision = 12, scale = 2, nullable = false)
+    @NotNull(message = "Total price is required")
+    private BigDecimal totalPrice;
+    
+    // Outcome of the last three-way match run
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_status", nullable = false)
+    private InvoiceMatchStatus matchStatus = InvoiceMatchStatus.UNMATCHED;
+    
+    @Column(name = "purchase_order_item_id")
+    private Long purchaseOrderItemId;
+    
+    @Column(name = "quantity_variance")
+    private Integer quantityVariance;
+    
+    @Column(name = "price_variance", precision = 12, scale = 4)
+    private BigDecimal priceVariance;
+}
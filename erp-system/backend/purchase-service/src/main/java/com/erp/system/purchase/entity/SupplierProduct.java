@@ -0,0 +1,55 @@
+package com.erp.system.purchase.entity;
+
+import com.erp.system.entity.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "supplier_products",
+        uniqueConstraints = @UniqueConstraint(name = "uk_supplier_products_supplier_product",
+                columnNames = {"supplier_id", "product_id"}),
+        indexes = @Index(name = "idx_supplier_products_product", columnList = "product_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class SupplierProduct extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_id", nullable = false)
+    @NotNull(message = "Supplier is required")
+    private Supplier supplier;
+    
+    @Column(name = "product_id", nullable = false)
+    @NotNull(message = "Product is required")
+    private Long productId;
+    
+    @Column(name = "supplier_product_code")
+    @Size(max = 50)
+    private String supplierProductCode;
+    
+    @Column(name = "unit_price", precision = 12, scale = 4)
+    @DecimalMin(value = "0.0", message = "Unit price must be non-negative")
+    private BigDecimal unitPrice;
+    
+    @Column(name = "currency", length = 3)
+    @Size(min = 3, max = 3, message = "Currency must be 3 characters")
+    private String currency = "USD";
+    
+    @Column(name = "lead_time_days")
+    @Min(value = 0, message = "Lead time must be non-negative")
+    private Integer leadTimeDays;
+    
+    @Column(name = "minimum_order_quantity")
+    @Min(value = 1, message = "Minimum order quantity must be at least 1")
+    private Integer minimumOrderQuantity = 1;
+    
+    @Column(name = "is_preferred")
+    private Boolean isPreferred = false;
+}
@@ -0,0 +1,63 @@
+package com.erp.system.purchase.entity;
+
+import com.erp.system.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Rolling delivery performance of a supplier: on-time, fill and rejection
+ * rates and lead-time mean and variance, each with its observation count.
+ * Maintained by the supplier scorecard from goods receipts and closed
+ * purchase orders; the score is what supplier ranking sorts on.
+ */
+@Entity
+@Table(name = "supplier_scorecards",
+       uniqueConstraints = @UniqueConstraint(name = "uk_supplier_scorecards_supplier", columnNames = "supplier_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class SupplierScorecard extends BaseEntity {
+    
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_id", nullable = false)
+    private Supplier supplier;
+    
+    @Column(name = "on_time_count", nullable = false)
+    private Long onTimeCount = 0L;
+    
+    @Column(name = "on_time_rate", nullable = false)
+    private Double onTimeRate = 0.0;
+    
+    @Column(name = "fill_count", nullable = false)
+    private Long fillCount = 0L;
+    
+    @Column(name = "fill_rate", nullable = false)
+    private Double fillRate = 0.0;
+    
+    @Column(name = "inspected_count", nullable = false)
+    private Long inspectedCount = 0L;
+    
+    @Column(name = "rejection_rate", nullable = false)
+    private Double rejectionRate = 0.0;
+    
+    @Column(name = "lead_time_count", nullable = false)
+    private Long leadTimeCount = 0L;
+    
+    @Column(name = "lead_time_mean_days", nullable = false)
+    private Double leadTimeMeanDays = 0.0;
+    
+    @Column(name = "lead_time_variance", nullable = false)
+    private Double leadTimeVariance = 0.0;
+    
+    @Column(name = "score")
+    private Double score;
+    
+    @Column(name = "last_observed_on")
+    private LocalDate lastObservedOn;
+}
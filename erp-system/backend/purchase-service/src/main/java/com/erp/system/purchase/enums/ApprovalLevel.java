@@ -0,0 +1,7 @@
+package com.erp.system.purchase.enums;
+
+public enum ApprovalLevel {
+    MANAGER,
+    DIRECTOR,
+    EXECUTIVE
+}
@@ -0,0 +1,8 @@
+package com.erp.system.purchase.enums;
+
+public enum ApprovalNotificationType {
+    APPROVAL_REQUESTED,
+    APPROVED,
+    REJECTED,
+    SENT_TO_SUPPLIER
+}
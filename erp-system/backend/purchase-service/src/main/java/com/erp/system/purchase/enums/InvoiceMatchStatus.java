@@ -0,0 +1,10 @@
+package com.erp.system.purchase.enums;
+
+public enum InvoiceMatchStatus {
+    UNMATCHED,
+    MATCHED,
+    AWAITING_RECEIPT,
+    QUANTITY_VARIANCE,
+    PRICE_VARIANCE,
+    NO_PURCHASE_ORDER_LINE
+}
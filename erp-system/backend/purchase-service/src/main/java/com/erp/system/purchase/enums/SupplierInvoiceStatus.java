@@ -0,0 +1,11 @@
+package com.erp.system.purchase.enums;
+
+public enum SupplierInvoiceStatus {
+    RECEIVED,
+    PENDING_RECEIPT,
+    EXCEPTION,
+    MATCHED,
+    APPROVED_FOR_PAYMENT,
+    PAID,
+    CANCELLED
+}
@@ -0,0 +1,57 @@
+package com.erp.system.purchase.mapper;
+
+import com.erp.system.purchase.dto.GoodsReceiptDto;
+import com.erp.system.purchase.dto.GoodsReceiptItemDto;
+import com.erp.system.purchase.entity.GoodsReceipt;
+import com.erp.system.purchase.entity.GoodsReceiptItem;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GoodsReceiptMapper {
+    
+    public GoodsReceiptDto toDto(GoodsReceipt receipt) {
+        if (receipt == null) {
+            return null;
+        }
+        
+        GoodsReceiptDto dto = new GoodsReceiptDto();
+        dto.setId(receipt.getId());
+        dto.setReceiptNumber(receipt.getReceiptNumber());
+        dto.setReceiptDate(receipt.getReceiptDate());
+        dto.setReceivedByUserId(receipt.getReceivedByUserId());
+        dto.setTotalAmount(receipt.getTotalAmount());
+        dto.setDeliveryNoteNumber(receipt.getDeliveryNoteNumber());
+        dto.setNotes(receipt.getNotes());
+        dto.setCreatedAt(receipt.getCreatedAt());
+        
+        // Purchase order info
+        if (receipt.getPurchaseOrder() != null) {
+            dto.setPurchaseOrderId(receipt.getPurchaseOrder().getId());
+            dto.setPoNumber(receipt.getPurchaseOrder().getPoNumber());
+        }
+        
+        if (receipt.getItems() != null) {
+            dto.setItems(receipt.getItems().stream()
+                    .map(this::toDto)
+                    .toList());
+        }
+        
+        return dto;
+    }
+    
+    public GoodsReceiptItemDto toDto(GoodsReceiptItem item) {
+        GoodsReceiptItemDto dto = new GoodsReceiptItemDto();
+        dto.setId(item.getId());
+        dto.setQuantityReceived(item.getQuantityReceived());
+        dto.setQuantityRejected(item.getQuantityRejected());
+        dto.setRejectionReason(item.getRejectionReason());
+        
+        if (item.getPurchaseOrderItem() != null) {
+            dto.setPurchaseOrderItemId(item.getPurchaseOrderItem().getId());
+            dto.setLineNumber(item.getPurchaseOrderItem().getLineNumber());
+            dto.setProductId(item.getPurchaseOrderItem().getProductId());
+        }
+        
+        return dto;
+    }
+}
@@ -0,0 +1,92 @@
+package com.erp.system.purchase.mapper;
+
+import com.erp.system.purchase.dto.SupplierInvoiceDto;
+import com.erp.system.purchase.dto.SupplierInvoiceItemDto;
+import com.erp.system.purchase.entity.SupplierInvoice;
+import com.erp.system.purchase.entity.SupplierInvoiceItem;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SupplierInvoiceMapper {
+    
+    public SupplierInvoiceDto toDto(SupplierInvoice invoice) {
+        if (invoice == null) {
+            return null;
+        }
+        
+        SupplierInvoiceDto dto = new SupplierInvoiceDto();
+        dto.setId(invoice.getId());
+        dto.setInvoiceNumber(invoice.getInvoiceNumber());
+        dto.setInvoiceDate(invoice.getInvoiceDate());
+        dto.setDueDate(invoice.getDueDate());
+        dto.setStatus(invoice.getStatus());
+        dto.setCurrency(invoice.getCurrency());
+        dto.setSubtotal(invoice.getSubtotal());
+        dto.setTaxAmount(invoice.getTaxAmount());
+        dto.setTotalAmount(invoice.getTotalAmount());
+        dto.setMatchedAt(invoice.getMatchedAt());
+        dto.setNotes(invoice.getNotes());
+        dto.setCreatedAt(invoice.getCreatedAt());
+        
+        if (invoice.getSupplier() != null) {
+            dto.setSupplierId(invoice.getSupplier().getId());
+        }
+        
+        if (invoice.getItems() != null) {
+            dto.setItems(invoice.getItems().stream()
+                    .map(this::toDto)
+                    .toList());
+        }
+        
+        return dto;
+    }
+    
+    public SupplierInvoiceItemDto toDto(SupplierInvoiceItem item) {
+        SupplierInvoiceItemDto dto = new SupplierInvoiceItemDto();
+        dto.setId(item.getId());
+        dto.setLineNumber(item.getLineNumber());
+        dto.setPoNumber(item.getPoNumber());
+        dto.setPoLineNumber(item.getPoLineNumber());
+        dto.setDescription(item.getDescription());
+        dto.setQuantity(item.getQuantity());
+        dto.setUnitPrice(item.getUnitPrice());
+        dto.setTotalPrice(item.getTotalPrice());
+        dto.setMatchStatus(item.getMatchStatus());
+        dto.setPurchaseOrderItemId(item.getPurchaseOrderItemId());
+        dto.setQuantityVariance(item.getQuantityVariance());
+        dto.setPriceVariance(item.getPriceVariance());
+        return dto;
+    }
+    
+    public SupplierInvoice toEntity(SupplierInvoiceDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        
+        SupplierInvoice invoice = new SupplierInvoice();
+        invoice.setInvoiceNumber(dto.getInvoiceNumber());
+        invoice.setInvoiceDate(dto.getInvoiceDate());
+        invoice.setDueDate(dto.getDueDate());
+        invoice.setNotes(dto.getNotes());
+        
+        if (dto.getCurrency() != null) {
+            invoice.setCurrency(dto.getCurrency());
+        }
+        if (dto.getTaxAmount() != null) {
+            invoice.setTaxAmount(dto.getTaxAmount());
+        }
+        
+        return invoice;
+    }
+    
+    public SupplierInvoiceItem toEntity(SupplierInvoiceItemDto dto) {
+        SupplierInvoiceItem item = new SupplierInvoiceItem();
+        item.setLineNumber(dto.getLineNumber());
+        item.setPoNumber(dto.getPoNumber());
+        item.setPoLineNumber(dto.getPoLineNumber());
+        item.setDescription(dto.getDescription());
+        item.setQuantity(dto.getQuantity());
+        item.setUnitPrice(dto.getUnitPrice());
+        return item;
+    }
+}
@@ -0,0 +1,340 @@
+package com.erp.system.purchase.matching;
+
+import com.erp.system.purchase.dto.InvoiceLineMatchDto;
+import com.erp.system.purchase.dto.ThreeWayMatchReportDto;
+import com.erp.system.purchase.dto.ThreeWayMatchRequestDto;
+import com.erp.system.purchase.enums.InvoiceMatchStatus;
+import com.erp.system.purchase.enums.SupplierInvoiceStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Three-way match of supplier invoices against purchase order lines and the
+ * quantities accepted on goods receipts. One run covers one supplier: its
+ * open invoices, the order lines they reference (with accepted and already
+ * invoiced quantities aggregated in the same query) are loaded in two
+ * statements and indexed by (PO number, line), then every invoice line is
+ * checked in invoice-date order in a single pass. Quantity matched by an
+ * earlier invoice is consumed, so partial invoices add up against partial
+ * receipts; an invoice only consumes once all of its lines match. Results
+ * are written back in JDBC batches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ThreeWayMatchService {
+
+    private static final LocalDate EARLIEST_INVOICE_DATE = LocalDate.of(1970, 1, 1);
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private static final String LOCK_SUPPLIER_SQL = "SELECT id FROM suppliers WHERE id = ? FOR UPDATE";
+
+    private static final String SELECT_INVOICE_LINES_SQL =
+            "SELECT si.id AS invoice_id, si.invoice_number, sii.id AS item_id, sii.line_number, sii.po_number, " +
+            "sii.po_line_number, sii.quantity, sii.unit_price, sii.total_price " +
+            "FROM supplier_invoices si " +
+            "JOIN supplier_invoice_items sii ON sii.supplier_invoice_id = si.id " +
+            "WHERE si.supplier_id = ? AND si.status IN ('RECEIVED', 'PENDING_RECEIPT', 'EXCEPTION') " +
+            "AND si.invoice_date BETWEEN ? AND ? AND si.active = true " +
+            "ORDER BY si.invoice_date, si.id, sii.line_number";
+
+    // Accepted quantities come from the receipts themselves; already invoiced
+    // quantities only count invoices that left the matching cycle.
+    private static final String SELECT_ORDER_LINES_SQL =
+            "SELECT po.po_number, poi.line_number, poi.id, poi.quantity, poi.unit_price, " +
+            "COALESCE(r.accepted, 0) AS accepted, COALESCE(i.invoiced, 0) AS invoiced " +
+            "FROM purchase_orders po " +
+            "JOIN purchase_order_items poi ON poi.purchase_order_id = po.id " +
+            "LEFT JOIN (SELECT gri.purchase_order_item_id, SUM(gri.quantity_received - gri.quantity_rejected) AS accepted " +
+            "    FROM goods_receipt_items gri " +
+            "    JOIN goods_receipts gr ON gr.id = gri.goods_receipt_id " +
+            "    JOIN purchase_orders rpo ON rpo.id = gr.purchase_order_id " +
+            "    WHERE rpo.supplier_id = ? AND rpo.po_number = ANY(?) AND gr.active = true " +
+            "    GROUP BY gri.purchase_order_item_id) r ON r.purchase_order_item_id = poi.id " +
+            "LEFT JOIN (SELECT sii.purchase_order_item_id, SUM(sii.quantity) AS invoiced " +
+            "    FROM supplier_invoice_items sii " +
+            "    JOIN supplier_invoices si ON si.id = sii.supplier_invoice_id " +
+            "    WHERE si.supplier_id = ? AND si.status IN ('MATCHED', 'APPROVED_FOR_PAYMENT', 'PAID') " +
+            "    AND sii.match_status = 'MATCHED' " +
+            "    GROUP BY sii.purchase_order_item_id) i ON i.purchase_order_item_id = poi.id " +
+            "WHERE po.supplier_id = ? AND po.po_number = ANY(?) " +
+            "AND po.status NOT IN ('DRAFT', 'PENDING_APPROVAL', 'CANCELLED')";
+
+    private static final String UPDATE_INVOICE_LINE_SQL =
+            "UPDATE supplier_invoice_items SET match_status = ?, purchase_order_item_id = ?, " +
+            "quantity_variance = ?, price_variance = ?, " +
+            "version = COALESCE(version, 0) + 1, updated_at = ? WHERE id = ?";
+
+    private static final String UPDATE_INVOICE_SQL =
+            "UPDATE supplier_invoices SET status = ?, matched_at = ?, " +
+            "version = COALESCE(version, 0) + 1, updated_at = ? " +
+            "WHERE id = ? AND status IN ('RECEIVED', 'PENDING_RECEIPT', 'EXCEPTION')";
+
+    private static final int[] INVOICE_LINE_TYPES = {Types.VARCHAR, Types.BIGINT, Types.INTEGER, Types.NUMERIC,
+            Types.TIMESTAMP, Types.BIGINT};
+
+    private static final int[] INVOICE_TYPES = {Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${purchase.matching.quantity-tolerance-percent:0}")
+    private BigDecimal defaultQuantityTolerancePercent;
+
+    @Value("${purchase.matching.price-tolerance-percent:1.0}")
+    private BigDecimal defaultPriceTolerancePercent;
+
+    @Value("${purchase.matching.batch-size:500}")
+    private int batchSize;
+
+    private record LineKey(String poNumber, int lineNumber) {
+    }
+
+    private static final class OrderLine {
+        final long itemId;
+        final int ordered;
+        final BigDecimal unitPrice;
+        final int accepted;
+        int invoiced;
+
+        OrderLine(long itemId, int ordered, BigDecimal unitPrice, int accepted, int invoiced) {
+            this.itemId = itemId;
+            this.ordered = ordered;
+            this.unitPrice = unitPrice;
+            this.accepted = accepted;
+            this.invoiced = invoiced;
+        }
+    }
+
+    private record Consumption(OrderLine orderLine, int quantity) {
+    }
+
+    private record InvoiceLine(long invoiceId, String invoiceNumber, long itemId, int lineNumber, String poNumber,
+                               int poLineNumber, int quantity, BigDecimal unitPrice, BigDecimal totalPrice) {
+    }
+
+    @Transactional
+    public ThreeWayMatchReportDto match(ThreeWayMatchRequestDto request) {
+        long startTime = System.nanoTime();
+        Long supplierId = request.getSupplierId();
+        BigDecimal quantityTolerancePercent = request.getQuantityTolerancePercent() != null
+                ? request.getQuantityTolerancePercent() : defaultQuantityTolerancePercent;
+        BigDecimal priceTolerancePercent = request.getPriceTolerancePercent() != null
+                ? request.getPriceTolerancePercent() : defaultPriceTolerancePercent;
+        LocalDate fromDate = request.getFromDate() != null ? request.getFromDate() : EARLIEST_INVOICE_DATE;
+        LocalDate toDate = request.getToDate() != null ? request.getToDate() : LocalDate.now();
+
+        // Runs for the same supplier would otherwise consume the same received quantity twice
+        if (jdbcTemplate.queryForList(LOCK_SUPPLIER_SQL, Long.class, supplierId).isEmpty()) {
+            throw new RuntimeException("Supplier not found with id: " + supplierId);
+        }
+
+        List<InvoiceLine> invoiceLines = jdbcTemplate.query(SELECT_INVOICE_LINES_SQL, (rs, rowNum) -> new InvoiceLine(
+                rs.getLong("invoice_id"),
+                rs.getString("invoice_number"),
+                rs.getLong("item_id"),
+                rs.getInt("line_number"),
+                rs.getString("po_number"),
+                rs.getInt("po_line_number"),
+                rs.getInt("quantity"),
+                rs.getBigDecimal("unit_price"),
+                rs.getBigDecimal("total_price")),
+                supplierId, Date.valueOf(fromDate), Date.valueOf(toDate));
+
+        ThreeWayMatchReportDto report = new ThreeWayMatchReportDto();
+        report.setSupplierId(supplierId);
+        if (!invoiceLines.isEmpty()) {
+            Map<LineKey, OrderLine> orderLines = loadOrderLines(supplierId, invoiceLines);
+            Map<Long, SupplierInvoiceStatus> invoiceStatuses = matchLines(invoiceLines, orderLines,
+                    quantityTolerancePercent, priceTolerancePercent, report);
+            writeInvoiceStatuses(invoiceStatuses, report);
+        }
+
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        log.info("Three-way match for supplier {}: {} invoices, {} lines, {} matched, {} awaiting receipt, " +
+                        "{} quantity and {} price variances, {} without order line in {}ms",
+                supplierId, report.getInvoicesProcessed(), report.getLinesProcessed(), report.getMatchedLines(),
+                report.getAwaitingReceiptLines(), report.getQuantityVarianceLines(), report.getPriceVarianceLines(),
+                report.getUnmatchedLines(), report.getElapsedMillis());
+        return report;
+    }
+
+    private Map<LineKey, OrderLine> loadOrderLines(Long supplierId, List<InvoiceLine> invoiceLines) {
+        Set<String> poNumbers = new LinkedHashSet<>();
+        for (InvoiceLine line : invoiceLines) {
+            poNumbers.add(line.poNumber());
+        }
+        Object[] poNumberArray = poNumbers.toArray();
+
+        Map<LineKey, OrderLine> orderLines = new HashMap<>(poNumbers.size() * 8);
+        jdbcTemplate.query(SELECT_ORDER_LINES_SQL, ps -> {
+            ps.setLong(1, supplierId);
+            ps.setArray(2, ps.getConnection().createArrayOf("varchar", poNumberArray));
+            ps.setLong(3, supplierId);
+            ps.setLong(4, supplierId);
+            ps.setArray(5, ps.getConnection().createArrayOf("varchar", poNumberArray));
+        }, rs -> {
+            orderLines.put(new LineKey(rs.getString("po_number"), rs.getInt("line_number")),
+                    new OrderLine(rs.getLong("id"), rs.getInt("quantity"), rs.getBigDecimal("unit_price"),
+                            rs.getInt("accepted"), rs.getInt("invoiced")));
+        });
+        return orderLines;
+    }
+
+    private Map<Long, SupplierInvoiceStatus> matchLines(List<InvoiceLine> invoiceLines, Map<LineKey, OrderLine> orderLines,
+                                                        BigDecimal quantityTolerancePercent,
+                                                        BigDecimal priceTolerancePercent,
+                                                        ThreeWayMatchReportDto report) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, SupplierInvoiceStatus> invoiceStatuses = new LinkedHashMap<>();
+        List<Object[]> updates = new ArrayList<>(Math.min(invoiceLines.size(), batchSize));
+        // Quantity taken by the current invoice's matched lines; later lines of
+        // the same invoice see it, and it is given back unless the whole
+        // invoice matches.
+        List<Consumption> consumed = new ArrayList<>();
+        long currentInvoiceId = -1;
+
+        for (InvoiceLine line : invoiceLines) {
+            if (line.invoiceId() != currentInvoiceId) {
+                settleConsumption(invoiceStatuses.get(currentInvoiceId), consumed);
+                currentInvoiceId = line.invoiceId();
+            }
+            OrderLine orderLine = orderLines.get(new LineKey(line.poNumber(), line.poLineNumber()));
+            InvoiceMatchStatus status;
+            Integer quantityVariance = null;
+            BigDecimal priceVariance = null;
+
+            if (orderLine == null) {
+                status = InvoiceMatchStatus.NO_PURCHASE_ORDER_LINE;
+            } else {
+                int quantityTolerance = BigDecimal.valueOf(orderLine.ordered)
+                        .multiply(quantityTolerancePercent)
+                        .divide(HUNDRED, 0, RoundingMode.DOWN)
+                        .intValue();
+                BigDecimal priceTolerance = orderLine.unitPrice.multiply(priceTolerancePercent)
+                        .divide(HUNDRED, 4, RoundingMode.HALF_UP);
+                int receivedOpen = orderLine.accepted - orderLine.invoiced;
+                int orderedOpen = orderLine.ordered - orderLine.invoiced;
+                quantityVariance = line.quantity() - receivedOpen;
+                priceVariance = line.unitPrice().subtract(orderLine.unitPrice);
+
+                if (line.quantity() > receivedOpen + quantityTolerance) {
+                    // Invoiced ahead of a partial receipt stays pending until the goods arrive
+                    status = line.quantity() <= orderedOpen + quantityTolerance
+                            ? InvoiceMatchStatus.AWAITING_RECEIPT
+                            : InvoiceMatchStatus.QUANTITY_VARIANCE;
+                } else if (priceVariance.abs().compareTo(priceTolerance) > 0) {
+                    status = InvoiceMatchStatus.PRICE_VARIANCE;
+                } else {
+                    status = InvoiceMatchStatus.MATCHED;
+                    orderLine.invoiced += line.quantity();
+                    consumed.add(new Consumption(orderLine, line.quantity()));
+                }
+            }
+
+            record(line, status, orderLine, quantityVariance, priceVariance, report);
+            invoiceStatuses.merge(line.invoiceId(), invoiceStatusFor(status), ThreeWayMatchService::worse);
+            updates.add(new Object[] {status.name(), orderLine != null ? orderLine.itemId : null,
+                    quantityVariance, priceVariance, now, line.itemId()});
+            if (updates.size() == batchSize) {
+                jdbcTemplate.batchUpdate(UPDATE_INVOICE_LINE_SQL, updates, INVOICE_LINE_TYPES);
+                updates.clear();
+            }
+        }
+        settleConsumption(invoiceStatuses.get(currentInvoiceId), consumed);
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_INVOICE_LINE_SQL, updates, INVOICE_LINE_TYPES);
+        }
+        return invoiceStatuses;
+    }
+
+    /**
+     * Keeps the quantity consumed by a fully matched invoice and returns it to
+     * the order lines for an invoice left in exception or pending receipt,
+     * which will be matched again on a later run.
+     */
+    private static void settleConsumption(SupplierInvoiceStatus invoiceStatus, List<Consumption> consumed) {
+        if (invoiceStatus != SupplierInvoiceStatus.MATCHED) {
+            for (Consumption consumption : consumed) {
+                consumption.orderLine().invoiced -= consumption.quantity();
+            }
+        }
+        consumed.clear();
+    }
+
+    private void record(InvoiceLine line, InvoiceMatchStatus status, OrderLine orderLine, Integer quantityVariance,
+                        BigDecimal priceVariance, ThreeWayMatchReportDto report) {
+        report.setLinesProcessed(report.getLinesProcessed() + 1);
+        switch (status) {
+            case MATCHED -> report.setMatchedLines(report.getMatchedLines() + 1);
+            case AWAITING_RECEIPT -> report.setAwaitingReceiptLines(report.getAwaitingReceiptLines() + 1);
+            case QUANTITY_VARIANCE -> report.setQuantityVarianceLines(report.getQuantityVarianceLines() + 1);
+            case PRICE_VARIANCE -> report.setPriceVarianceLines(report.getPriceVarianceLines() + 1);
+            default -> report.setUnmatchedLines(report.getUnmatchedLines() + 1);
+        }
+        if (status == InvoiceMatchStatus.MATCHED) {
+            report.setMatchedAmount(report.getMatchedAmount().add(line.totalPrice()));
+            return;
+        }
+        report.setExceptionAmount(report.getExceptionAmount().add(line.totalPrice()));
+        report.getExceptions().add(new InvoiceLineMatchDto(line.invoiceId(), line.invoiceNumber(), line.lineNumber(),
+                line.poNumber(), line.poLineNumber(), status, line.quantity(),
+                orderLine != null ? orderLine.accepted : null, quantityVariance, priceVariance));
+    }
+
+    private void writeInvoiceStatuses(Map<Long, SupplierInvoiceStatus> invoiceStatuses, ThreeWayMatchReportDto report) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(invoiceStatuses.size());
+        invoiceStatuses.forEach((invoiceId, status) -> {
+            switch (status) {
+                case MATCHED -> report.setInvoicesMatched(report.getInvoicesMatched() + 1);
+                case PENDING_RECEIPT -> report.setInvoicesPendingReceipt(report.getInvoicesPendingReceipt() + 1);
+                default -> report.setInvoicesWithExceptions(report.getInvoicesWithExceptions() + 1);
+            }
+            updates.add(new Object[] {status.name(), status == SupplierInvoiceStatus.MATCHED ? now : null,
+                    now, invoiceId});
+        });
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<Object[]> chunk = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            jdbcTemplate.batchUpdate(UPDATE_INVOICE_SQL, chunk, INVOICE_TYPES);
+        }
+        report.setInvoicesProcessed(invoiceStatuses.size());
+    }
+
+    private static SupplierInvoiceStatus invoiceStatusFor(InvoiceMatchStatus status) {
+        return switch (status) {
+            case MATCHED -> SupplierInvoiceStatus.MATCHED;
+            case AWAITING_RECEIPT -> SupplierInvoiceStatus.PENDING_RECEIPT;
+            default -> SupplierInvoiceStatus.EXCEPTION;
+        };
+    }
+
+    private static SupplierInvoiceStatus worse(SupplierInvoiceStatus a, SupplierInvoiceStatus b) {
+        if (a == SupplierInvoiceStatus.EXCEPTION || b == SupplierInvoiceStatus.EXCEPTION) {
+            return SupplierInvoiceStatus.EXCEPTION;
+        }
+        if (a == SupplierInvoiceStatus.PENDING_RECEIPT || b == SupplierInvoiceStatus.PENDING_RECEIPT) {
+            return SupplierInvoiceStatus.PENDING_RECEIPT;
+        }
+        return SupplierInvoiceStatus.MATCHED;
+    }
+}
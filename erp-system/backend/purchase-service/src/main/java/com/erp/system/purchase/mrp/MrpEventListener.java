@@ -0,0 +1,107 @@
+package com.erp.system.purchase.mrp;
+
+import com.erp.system.purchase.mrp.MrpPlanningState.MaterialDemand;
+import com.erp.system.purchase.mrp.MrpPlanningState.StockPosition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Feeds MRP planning from inventory stock positions and production order
+ * material demand. Replicas share one consumer group: the planning state is
+ * in the database, so each event only has to be applied once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MrpEventListener {
+
+    private static final Set<String> CLOSED_PRODUCTION_STATUSES = Set.of("COMPLETED", "CANCELLED", "CLOSED");
+
+    private final MrpPlanningState planningState;
+
+    @KafkaListener(topics = "inventory-events", groupId = "purchase-mrp")
+    public void onInventoryEvent(Map<String, Object> event) {
+        try {
+            Long productId = toLong(event.get("productId"));
+            Long timestamp = toLong(event.get("timestamp"));
+            if (productId == null || timestamp == null || event.get("quantityOnHand") == null) {
+                return;
+            }
+            planningState.applyStockPosition(new StockPosition(
+                            productId,
+                            toDecimal(event.get("quantityOnHand")),
+                            toDecimal(event.get("quantityReserved")),
+                            toDecimal(event.get("minimumStock")),
+                            event.get("maximumStock") != null ? toDecimal(event.get("maximumStock")) : null,
+                            timestamp),
+                    "STOCK_BELOW_MINIMUM".equals(event.get("eventType")));
+        } catch (Exception e) {
+            log.error("Error applying inventory event to MRP planning: {}", event, e);
+        }
+    }
+
+    /**
+     * Expects the production order's materials with their required and issued
+     * quantities; what is still to be issued is the open demand. A closed
+     * order releases its demand.
+     */
+    @KafkaListener(topics = "production-order-events", groupId = "purchase-mrp")
+    public void onProductionOrderEvent(Map<String, Object> event) {
+        try {
+            Long productionOrderId = toLong(event.get("productionOrderId"));
+            if (productionOrderId == null) {
+                return;
+            }
+            List<MaterialDemand> demand = new ArrayList<>();
+            Object status = event.get("status");
+            if (status == null || !CLOSED_PRODUCTION_STATUSES.contains(status.toString())) {
+                LocalDate defaultDate = event.get("plannedStartDate") != null
+                        ? LocalDate.parse(event.get("plannedStartDate").toString()) : LocalDate.now();
+                if (event.get("materials") instanceof List<?> materials) {
+                    for (Object item : materials) {
+                        if (item instanceof Map<?, ?> material) {
+                            addOpenDemand(demand, material, defaultDate);
+                        }
+                    }
+                }
+            }
+            planningState.applyProductionDemand(productionOrderId, demand);
+        } catch (Exception e) {
+            log.error("Error applying production order event to MRP planning: {}", event, e);
+        }
+    }
+
+    private void addOpenDemand(List<MaterialDemand> demand, Map<?, ?> material, LocalDate defaultDate) {
+        Long productId = toLong(material.get("productId"));
+        if (productId == null || material.get("quantityRequired") == null) {
+            return;
+        }
+        BigDecimal open = toDecimal(material.get("quantityRequired"));
+        if (material.get("quantityIssued") != null) {
+            open = open.subtract(toDecimal(material.get("quantityIssued")));
+        }
+        if (open.signum() <= 0) {
+            return;
+        }
+        LocalDate requiredDate = material.get("requiredDate") != null
+                ? LocalDate.parse(material.get("requiredDate").toString()) : defaultDate;
+        demand.add(new MaterialDemand(productId, open, requiredDate));
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        return value != null ? new BigDecimal(value.toString()) : BigDecimal.ZERO;
+    }
+}
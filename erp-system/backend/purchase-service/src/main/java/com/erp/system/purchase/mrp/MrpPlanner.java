@@ -0,0 +1,325 @@
+package com.erp.system.purchase.mrp;
+
+import com.erp.system.currency.Money;
+import com.erp.system.purchase.dto.RankedSupplierDto;
+import com.erp.system.purchase.enums.Priority;
+import com.erp.system.purchase.scorecard.SupplierScorecardService;
+import com.erp.system.scheduling.JobLeaseManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nets queued products and turns their shortfalls into purchase
+ * requisitions. For each batch of products one query computes
+ * on hand - reserved - production demand due within the planning horizon
+ * + open purchase orders + open requisitions; a product whose projection is
+ * below its minimum is ordered up to its maximum (or minimum), rounded up to
+ * the supplier's minimum order quantity. Lines are grouped by the best
+ * ranked supplier of each product and written as one submitted requisition
+ * per supplier and currency with JDBC batches, in the same transaction that
+ * claims the products from the queue. Each run first queues the products
+ * whose production demand has come into the horizon since the last run, so
+ * demand dated beyond the horizon is planned once it gets close enough.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MrpPlanner {
+
+    private static final String JOB_NAME = "purchase.mrp-planning";
+    private static final String DEFAULT_CURRENCY = "USD";
+    private static final DateTimeFormatter RUN_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private static final String NETTING_SQL =
+            "SELECT q.product_id, s.quantity_on_hand, s.quantity_reserved, s.minimum_stock, s.maximum_stock, " +
+            "COALESCE(d.demand, 0) AS demand, d.first_required_date, " +
+            "COALESCE(o.open_orders, 0) AS open_orders, COALESCE(r.open_requisitions, 0) AS open_requisitions " +
+            "FROM unnest(?) AS q(product_id) " +
+            "LEFT JOIN mrp_stock_positions s ON s.product_id = q.product_id " +
+            "LEFT JOIN (SELECT product_id, SUM(quantity) AS demand, MIN(required_date) AS first_required_date " +
+            "    FROM mrp_production_demand WHERE product_id = ANY(?) AND required_date <= ? " +
+            "    GROUP BY product_id) d ON d.product_id = q.product_id " +
+            "LEFT JOIN (SELECT poi.product_id, SUM(GREATEST(poi.quantity - poi.quantity_received, 0)) AS open_orders " +
+            "    FROM purchase_order_items poi JOIN purchase_orders po ON po.id = poi.purchase_order_id " +
+            "    WHERE poi.product_id = ANY(?) AND po.status IN ('PENDING_APPROVAL', 'APPROVED', 'SENT_TO_SUPPLIER', " +
+            "    'ACKNOWLEDGED_BY_SUPPLIER', 'IN_PRODUCTION', 'SHIPPED', 'PARTIALLY_RECEIVED', 'ON_HOLD') " +
+            "    GROUP BY poi.product_id) o ON o.product_id = q.product_id " +
+            "LEFT JOIN (SELECT ri.product_id, SUM(ri.quantity) AS open_requisitions " +
+            "    FROM purchase_requisition_items ri " +
+            "    JOIN purchase_requisitions pr ON pr.id = ri.purchase_requisition_id " +
+            "    WHERE ri.product_id = ANY(?) AND pr.status IN ('DRAFT', 'SUBMITTED', 'PENDING_APPROVAL', " +
+            "    'APPROVED', 'ON_HOLD') " +
+            "    GROUP BY ri.product_id) r ON r.product_id = q.product_id";
+
+    private static final String INSERT_REQUISITION_SQL =
+            "INSERT INTO purchase_requisitions (requisition_number, title, description, status, priority, " +
+            "requested_by_user_id, requested_date, required_date, justification, estimated_total, currency, " +
+            "is_urgent, is_capital_expenditure, active, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, 'SUBMITTED', ?, ?, ?, ?, ?, ?, ?, ?, false, true, 0, ?, ?)";
+
+    private static final String INSERT_REQUISITION_ITEM_SQL =
+            "INSERT INTO purchase_requisition_items (purchase_requisition_id, line_number, product_id, description, " +
+            "quantity, estimated_unit_price, suggested_supplier_id, required_date, notes, active, version, " +
+            "created_at, updated_at) " +
+            "SELECT id, ?, ?, ?, ?, ?, ?, ?, ?, true, 0, ?, ? FROM purchase_requisitions WHERE requisition_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseManager jobLeaseManager;
+    private final MrpPlanningState planningState;
+    private final SupplierScorecardService supplierScorecardService;
+
+    @Value("${purchase.mrp.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${purchase.mrp.planning-horizon-days:30}")
+    private int planningHorizonDays;
+
+    @Value("${purchase.mrp.requested-by-user-id:0}")
+    private long requestedByUserId;
+
+    @Value("${purchase.mrp.lease-minutes:10}")
+    private long leaseMinutes;
+
+    private record NetRequirement(long productId, BigDecimal projected, BigDecimal minimum, BigDecimal target,
+                                  LocalDate firstRequiredDate) {
+    }
+
+    private record RequisitionKey(Long supplierId, String currency) {
+    }
+
+    private record PlannedLine(long productId, String supplierCode, int quantity, BigDecimal unitPrice,
+                               String currency, LocalDate requiredDate, boolean stockout, String note) {
+    }
+
+    @Scheduled(fixedDelayString = "${purchase.mrp.interval-ms:60000}",
+               initialDelayString = "${purchase.mrp.initial-delay-ms:30000}")
+    public void scheduledPlan() {
+        try {
+            plan();
+        } catch (Exception e) {
+            log.error("MRP planning failed", e);
+        }
+    }
+
+    /**
+     * Drains the planning queue unless another replica holds the job lease;
+     * returns the number of requisitions created, or -1 when the lease was
+     * taken.
+     */
+    public int plan() {
+        if (!jobLeaseManager.tryAcquire(JOB_NAME, Duration.ofMinutes(leaseMinutes))) {
+            return -1;
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            LocalDateTime runStartedAt = LocalDateTime.now();
+            String runId = runStartedAt.format(RUN_FORMAT);
+            queueDemandEnteringHorizon(runStartedAt);
+            int[] totals = new int[2];
+            int claimed;
+            do {
+                int[] batch = transactionTemplate.execute(status -> planBatch(runId, totals[1]));
+                claimed = batch != null ? batch[0] : 0;
+                totals[0] += claimed;
+                totals[1] += batch != null ? batch[1] : 0;
+            } while (claimed == batchSize);
+
+            if (totals[0] > 0) {
+                log.info("MRP netted {} products and created {} requisitions in {} ms",
+                        totals[0], totals[1], System.currentTimeMillis() - startTime);
+            }
+            return totals[1];
+        } finally {
+            jobLeaseManager.release(JOB_NAME);
+        }
+    }
+
+    /**
+     * The lease's high-water mark is the start of the previous run; demand
+     * between that run's horizon and this one's is queued.
+     */
+    private void queueDemandEnteringHorizon(LocalDateTime runStartedAt) {
+        LocalDateTime lastRun = jobLeaseManager.getHighWaterMark(JOB_NAME);
+        LocalDate previousHorizon = lastRun != null ? lastRun.toLocalDate().plusDays(planningHorizonDays) : null;
+        int queued = planningState.enqueueDemandEnteringHorizon(previousHorizon,
+                runStartedAt.toLocalDate().plusDays(planningHorizonDays));
+        if (!jobLeaseManager.advanceHighWaterMark(JOB_NAME, runStartedAt)) {
+            log.warn("Lease for {} expired during planning, high-water mark not advanced", JOB_NAME);
+        }
+        if (queued > 0) {
+            log.debug("Queued {} products whose demand entered the planning horizon", queued);
+        }
+    }
+
+    /**
+     * Returns the number of products claimed and requisitions created.
+     */
+    private int[] planBatch(String runId, int requisitionsSoFar) {
+        List<Long> productIds = planningState.claim(batchSize);
+        if (productIds.isEmpty()) {
+            return new int[] {0, 0};
+        }
+
+        List<NetRequirement> shortfalls = net(productIds);
+        if (shortfalls.isEmpty()) {
+            return new int[] {productIds.size(), 0};
+        }
+
+        Map<Long, List<RankedSupplierDto>> ranked = supplierScorecardService.rankSuppliers(
+                shortfalls.stream().map(NetRequirement::productId).toList());
+        Map<RequisitionKey, List<PlannedLine>> byRequisition = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now();
+        for (NetRequirement requirement : shortfalls) {
+            List<RankedSupplierDto> suppliers = ranked.getOrDefault(requirement.productId(), List.of());
+            RankedSupplierDto supplier = suppliers.isEmpty() ? null : suppliers.get(0);
+            PlannedLine line = plannedLine(requirement, supplier, today);
+            byRequisition.computeIfAbsent(new RequisitionKey(supplier != null ? supplier.supplierId() : null,
+                            line.currency() != null ? line.currency() : DEFAULT_CURRENCY), key -> new ArrayList<>())
+                    .add(line);
+        }
+
+        int created = writeRequisitions(runId, requisitionsSoFar, byRequisition, today);
+        return new int[] {productIds.size(), created};
+    }
+
+    private List<NetRequirement> net(List<Long> productIds) {
+        Object[] ids = productIds.toArray();
+        Date horizon = Date.valueOf(LocalDate.now().plusDays(planningHorizonDays));
+        List<NetRequirement> shortfalls = new ArrayList<>();
+        int[] unknown = new int[1];
+
+        jdbcTemplate.query(NETTING_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids));
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids));
+            ps.setDate(3, horizon);
+            ps.setArray(4, ps.getConnection().createArrayOf("bigint", ids));
+            ps.setArray(5, ps.getConnection().createArrayOf("bigint", ids));
+        }, rs -> {
+            BigDecimal onHand = rs.getBigDecimal("quantity_on_hand");
+            if (onHand == null) {
+                // Without a reported stock position the shortfall cannot be netted
+                unknown[0]++;
+                return;
+            }
+            BigDecimal minimum = rs.getBigDecimal("minimum_stock");
+            BigDecimal maximum = rs.getBigDecimal("maximum_stock");
+            BigDecimal projected = onHand
+                    .subtract(rs.getBigDecimal("quantity_reserved"))
+                    .subtract(rs.getBigDecimal("demand"))
+                    .add(rs.getBigDecimal("open_orders"))
+                    .add(rs.getBigDecimal("open_requisitions"));
+            if (projected.compareTo(minimum) >= 0 && projected.signum() >= 0) {
+                return;
+            }
+            BigDecimal target = maximum != null && maximum.compareTo(minimum) > 0 ? maximum : minimum;
+            Date firstRequired = rs.getDate("first_required_date");
+            shortfalls.add(new NetRequirement(rs.getLong("product_id"), projected, minimum, target,
+                    firstRequired != null ? firstRequired.toLocalDate() : null));
+        });
+
+        if (unknown[0] > 0) {
+            log.warn("Skipped {} queued products without a reported stock position", unknown[0]);
+        }
+        return shortfalls;
+    }
+
+    private PlannedLine plannedLine(NetRequirement requirement, RankedSupplierDto supplier, LocalDate today) {
+        int quantity = requirement.target().subtract(requirement.projected())
+                .setScale(0, RoundingMode.CEILING).intValueExact();
+        quantity = Math.max(quantity, 1);
+        BigDecimal unitPrice = BigDecimal.ZERO;
+        String currency = null;
+        LocalDate requiredDate = requirement.firstRequiredDate();
+        if (supplier != null) {
+            if (supplier.minimumOrderQuantity() != null) {
+                quantity = Math.max(quantity, supplier.minimumOrderQuantity());
+            }
+            if (supplier.unitPrice() != null) {
+                unitPrice = supplier.unitPrice();
+            }
+            currency = supplier.currency();
+            if (requiredDate == null && supplier.expectedLeadTimeDays() != null) {
+                requiredDate = today.plusDays((long) Math.ceil(supplier.expectedLeadTimeDays()));
+            }
+        }
+        String note = "Projected " + requirement.projected().stripTrailingZeros().toPlainString() +
+                " against minimum " + requirement.minimum().stripTrailingZeros().toPlainString();
+        return new PlannedLine(requirement.productId(), supplier != null ? supplier.supplierCode() : null,
+                quantity, unitPrice, currency,
+                requiredDate != null ? requiredDate : today, requirement.projected().signum() < 0, note);
+    }
+
+    private int writeRequisitions(String runId, int requisitionsSoFar,
+                                  Map<RequisitionKey, List<PlannedLine>> byRequisition, LocalDate today) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> requisitions = new ArrayList<>(byRequisition.size());
+        List<Object[]> items = new ArrayList<>();
+        int sequence = requisitionsSoFar;
+
+        for (Map.Entry<RequisitionKey, List<PlannedLine>> entry : byRequisition.entrySet()) {
+            Long supplierId = entry.getKey().supplierId();
+            List<PlannedLine> lines = entry.getValue();
+            String requisitionNumber = "MRP-" + runId + "-" + (++sequence);
+            String currency = entry.getKey().currency();
+            int scale = Money.scaleOf(currency);
+            Money.Accumulator total = Money.accumulator(scale);
+            LocalDate requiredDate = null;
+            boolean stockout = false;
+
+            int lineNumber = 0;
+            for (PlannedLine line : lines) {
+                total.add(Money.ofProduct(line.unitPrice(), BigDecimal.valueOf(line.quantity()),
+                        scale, RoundingMode.HALF_UP));
+                if (requiredDate == null || line.requiredDate().isBefore(requiredDate)) {
+                    requiredDate = line.requiredDate();
+                }
+                stockout |= line.stockout();
+                items.add(new Object[] {++lineNumber, line.productId(), "MRP replenishment", line.quantity(),
+                        line.unitPrice(), supplierId, Date.valueOf(line.requiredDate()), line.note(),
+                        now, now, requisitionNumber});
+            }
+
+            requisitions.add(new Object[] {
+                    requisitionNumber,
+                    supplierId != null ? "MRP replenishment - " + lines.get(0).supplierCode() : "MRP replenishment",
+                    "Generated by material requirements planning for " + lines.size() + " products",
+                    (stockout ? Priority.HIGH : Priority.MEDIUM).name(),
+                    requestedByUserId,
+                    Date.valueOf(today),
+                    Date.valueOf(requiredDate),
+                    "Projected stock below minimum within the " + planningHorizonDays + " day planning horizon",
+                    total.toBigDecimal(),
+                    currency,
+                    stockout,
+                    now,
+                    now
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_REQUISITION_SQL, requisitions);
+        for (int from = 0; from < items.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(INSERT_REQUISITION_ITEM_SQL,
+                    items.subList(from, Math.min(from + batchSize, items.size())));
+        }
+        return requisitions.size();
+    }
+}
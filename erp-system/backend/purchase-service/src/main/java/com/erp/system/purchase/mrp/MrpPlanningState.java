@@ -0,0 +1,159 @@
+package com.erp.system.purchase.mrp;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Planning inputs kept in the purchase database from inventory and
+ * production events: the last reported stock position of each product, the
+ * open material demand of each production order, and the queue of products
+ * whose net requirement has to be recomputed. Every input change queues only
+ * the products it affects, so planning work follows the events instead of
+ * the size of the catalogue.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MrpPlanningState {
+
+    // Kafka keeps events of one product in order, but a replayed older event
+    // must not overwrite a newer position.
+    private static final String UPSERT_POSITION_SQL =
+            "INSERT INTO mrp_stock_positions (product_id, quantity_on_hand, quantity_reserved, minimum_stock, " +
+            "maximum_stock, as_of) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (product_id) DO UPDATE SET quantity_on_hand = EXCLUDED.quantity_on_hand, " +
+            "quantity_reserved = EXCLUDED.quantity_reserved, minimum_stock = EXCLUDED.minimum_stock, " +
+            "maximum_stock = EXCLUDED.maximum_stock, as_of = EXCLUDED.as_of " +
+            "WHERE mrp_stock_positions.as_of <= EXCLUDED.as_of";
+
+    private static final String DELETE_DEMAND_SQL =
+            "DELETE FROM mrp_production_demand WHERE production_order_id = ? RETURNING product_id";
+
+    private static final String INSERT_DEMAND_SQL =
+            "INSERT INTO mrp_production_demand (production_order_id, product_id, quantity, required_date) " +
+            "VALUES (?, ?, ?, ?) ON CONFLICT (production_order_id, product_id) DO UPDATE SET " +
+            "quantity = mrp_production_demand.quantity + EXCLUDED.quantity, " +
+            "required_date = LEAST(mrp_production_demand.required_date, EXCLUDED.required_date)";
+
+    private static final String ENQUEUE_IF_DEMAND_SQL =
+            "INSERT INTO mrp_planning_queue (product_id, queued_at) SELECT CAST(? AS BIGINT), CAST(? AS TIMESTAMP) " +
+            "WHERE EXISTS (SELECT 1 FROM mrp_production_demand WHERE product_id = ?) " +
+            "ON CONFLICT (product_id) DO NOTHING";
+
+    private static final String ENQUEUE_DEMAND_DUE_SQL =
+            "INSERT INTO mrp_planning_queue (product_id, queued_at) " +
+            "SELECT DISTINCT product_id, CAST(? AS TIMESTAMP) FROM mrp_production_demand " +
+            "WHERE required_date > ? AND required_date <= ? " +
+            "ON CONFLICT (product_id) DO NOTHING";
+
+    private static final String ENQUEUE_SQL =
+            "INSERT INTO mrp_planning_queue (product_id, queued_at) VALUES (?, ?) ON CONFLICT (product_id) DO NOTHING";
+
+    private static final String CLAIM_SQL =
+            "DELETE FROM mrp_planning_queue WHERE product_id IN (" +
+            "SELECT product_id FROM mrp_planning_queue ORDER BY queued_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING product_id";
+
+    private static final String COUNT_QUEUE_SQL = "SELECT COUNT(*) FROM mrp_planning_queue";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record StockPosition(Long productId, BigDecimal quantityOnHand, BigDecimal quantityReserved,
+                                BigDecimal minimumStock, BigDecimal maximumStock, long asOf) {
+    }
+
+    public record MaterialDemand(Long productId, BigDecimal quantity, LocalDate requiredDate) {
+    }
+
+    /**
+     * Records a product's stock position; queues it for planning when asked
+     * to, i.e. when the position fell below its minimum, or when production
+     * demand for the product may now push it below.
+     */
+    @Transactional
+    public void applyStockPosition(StockPosition position, boolean plan) {
+        jdbcTemplate.update(UPSERT_POSITION_SQL, position.productId(), position.quantityOnHand(),
+                position.quantityReserved(), position.minimumStock(), position.maximumStock(), position.asOf());
+        if (plan) {
+            enqueue(List.of(position.productId()));
+        } else {
+            jdbcTemplate.update(ENQUEUE_IF_DEMAND_SQL, position.productId(),
+                    Timestamp.valueOf(LocalDateTime.now()), position.productId());
+        }
+    }
+
+    /**
+     * Replaces the open material demand of a production order and queues
+     * every product whose demand changed; an empty list removes the order.
+     */
+    @Transactional
+    public void applyProductionDemand(Long productionOrderId, List<MaterialDemand> materials) {
+        Set<Long> affected = new LinkedHashSet<>(
+                jdbcTemplate.queryForList(DELETE_DEMAND_SQL, Long.class, productionOrderId));
+        if (!materials.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(materials.size());
+            for (MaterialDemand material : materials) {
+                rows.add(new Object[] {productionOrderId, material.productId(), material.quantity(),
+                        Date.valueOf(material.requiredDate())});
+                affected.add(material.productId());
+            }
+            jdbcTemplate.batchUpdate(INSERT_DEMAND_SQL, rows);
+        }
+        enqueue(affected);
+    }
+
+    public void enqueue(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            rows.add(new Object[] {productId, now});
+        }
+        jdbcTemplate.batchUpdate(ENQUEUE_SQL, rows);
+    }
+
+    /**
+     * Queues the products with demand required after the previous horizon
+     * and up to the new one, i.e. demand that has just come into the
+     * planning horizon; with no previous horizon every product with demand
+     * up to the new one is queued. Returns the number of products queued.
+     */
+    public int enqueueDemandEnteringHorizon(LocalDate previousHorizon, LocalDate horizon) {
+        LocalDate after = previousHorizon != null ? previousHorizon : LocalDate.of(1900, 1, 1);
+        if (!horizon.isAfter(after)) {
+            return 0;
+        }
+        return jdbcTemplate.update(ENQUEUE_DEMAND_DUE_SQL, Timestamp.valueOf(LocalDateTime.now()),
+                Date.valueOf(after), Date.valueOf(horizon));
+    }
+
+    /**
+     * Takes up to limit queued products, oldest first. Must run in the
+     * planning transaction: a rollback puts them back in the queue, and rows
+     * claimed by another planner are skipped rather than waited for.
+     */
+    List<Long> claim(int limit) {
+        return jdbcTemplate.queryForList(CLAIM_SQL, Long.class, limit);
+    }
+
+    public long queuedProducts() {
+        Long count = jdbcTemplate.queryForObject(COUNT_QUEUE_SQL, Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.erp.system.purchase.repository;
+
+import com.erp.system.purchase.entity.GoodsReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GoodsReceiptRepository extends JpaRepository<GoodsReceipt, Long> {
+    
+    boolean existsByReceiptNumber(String receiptNumber);
+    
+    @Query("SELECT DISTINCT gr FROM GoodsReceipt gr LEFT JOIN FETCH gr.items WHERE gr.purchaseOrder.id = :purchaseOrderId " +
+           "ORDER BY gr.receiptDate")
+    List<GoodsReceipt> findByPurchaseOrderId(@Param("purchaseOrderId") Long purchaseOrderId);
+}
@@ -0,0 +1,69 @@
+package com.erp.system.purchase.repository;
+
+import com.erp.system.purchase.entity.PurchaseOrder;
+import com.erp.system.purchase.enums.PurchaseOrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
+    
+    Optional<PurchaseOrder> findByPoNumber(String poNumber);
+    List<PurchaseOrder> findBySupplierId(Long supplierId);
+    List<PurchaseOrder> findByStatus(PurchaseOrderStatus status);
+    
+    @Query("SELECT po FROM PurchaseOrder po WHERE " +
+           "(:poNumber IS NULL OR po.poNumber = :poNumber) AND " +
+           "(:supplierId IS NULL OR po.supplier.id = :supplierId) AND " +
+           "(:status IS NULL OR po.status = :status) AND " +
+           "(:orderDateFrom IS NULL OR po.orderDate >= :orderDateFrom) AND " +
+           "(:orderDateTo IS NULL OR po.orderDate <= :orderDateTo) AND " +
+           "(:amountFrom IS NULL OR po.totalAmount >= :amountFrom) AND " +
+           "(:amountTo IS NULL OR po.totalAmount <= :amountTo)")
+    Page<PurchaseOrder> findByFilters(
+        @Param("poNumber") String poNumber,
+        @Param("supplierId") Long supplierId,
+        @Param("status") PurchaseOrderStatus status,
+        @Param("orderDateFrom") LocalDate orderDateFrom,
+        @Param("orderDateTo") LocalDate orderDateTo,
+        @Param("amountFrom") BigDecimal amountFrom,
+        @Param("amountTo") BigDecimal amountTo,
+        Pageable pageable
+    );
+    
+    @Query("SELECT po FROM PurchaseOrder po WHERE po.overdueFlagged = true ORDER BY po.expectedDeliveryDate")
+    List<PurchaseOrder> findOverdueOrders();
+    
+    @Query("SELECT COALESCE(SUM(po.totalAmount), 0) FROM PurchaseOrder po WHERE " +
+           "po.orderDate BETWEEN :fromDate AND :toDate AND po.status <> 'CANCELLED'")
+    BigDecimal getTotalPurchaseValue(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+    
+    /**
+     * The order with its supplier and lines, locked until the transaction
+     * ends so concurrent receipts against it are applied one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT DISTINCT po FROM PurchaseOrder po JOIN FETCH po.supplier LEFT JOIN FETCH po.items " +
+           "WHERE po.id = :id")
+    Optional<PurchaseOrder> findForReceiptById(@Param("id") Long id);
+
+    /**
+     * Orders for a bulk decision, locked in id order so that overlapping
+     * batches cannot deadlock on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT po FROM PurchaseOrder po JOIN FETCH po.supplier WHERE po.id IN :ids ORDER BY po.id")
+    List<PurchaseOrder> findForApprovalByIdIn(@Param("ids") Collection<Long> ids);
+}
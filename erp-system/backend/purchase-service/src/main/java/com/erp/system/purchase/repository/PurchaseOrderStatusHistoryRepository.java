@@ -0,0 +1,13 @@
+package com.erp.system.purchase.repository;
+
+import com.erp.system.purchase.entity.PurchaseOrderStatusHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PurchaseOrderStatusHistoryRepository extends JpaRepository<PurchaseOrderStatusHistory, Long> {
+    
+    List<PurchaseOrderStatusHistory> findByPurchaseOrderIdOrderByChangedAtAsc(Long purchaseOrderId);
+}
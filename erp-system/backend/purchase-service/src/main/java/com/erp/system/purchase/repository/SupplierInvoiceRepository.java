@@ -0,0 +1,18 @@
+package com.erp.system.purchase.repository;
+
+import com.erp.system.purchase.entity.SupplierInvoice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SupplierInvoiceRepository extends JpaRepository<SupplierInvoice, Long> {
+    
+    boolean existsBySupplierIdAndInvoiceNumber(Long supplierId, String invoiceNumber);
+    
+    @Query("SELECT DISTINCT si FROM SupplierInvoice si JOIN FETCH si.supplier LEFT JOIN FETCH si.items WHERE si.id = :id")
+    Optional<SupplierInvoice> findWithItemsById(@Param("id") Long id);
+}
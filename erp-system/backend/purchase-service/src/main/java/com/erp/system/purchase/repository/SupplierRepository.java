@@ -0,0 +1,13 @@
+package com.erp.system.purchase.repository;
+
+import com.erp.system.purchase.entity.Supplier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+    
+    Optional<Supplier> findBySupplierCode(String supplierCode);
+}
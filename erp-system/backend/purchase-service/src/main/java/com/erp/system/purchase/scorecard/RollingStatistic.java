@@ -0,0 +1,49 @@
+package com.erp.system.purchase.scorecard;
+
+/**
+ * Exponentially weighted mean and variance of a stream in constant memory.
+ * Until 1/alpha observations have been seen every observation is weighted
+ * equally, so a new supplier's first deliveries give the plain average
+ * instead of being dragged towards zero; after that older observations
+ * decay by (1 - alpha) per new one.
+ */
+final class RollingStatistic {
+
+    private long count;
+    private double mean;
+    private double variance;
+
+    RollingStatistic() {
+    }
+
+    RollingStatistic(long count, double mean, double variance) {
+        this.count = count;
+        this.mean = mean;
+        this.variance = variance;
+    }
+
+    void add(double value, double alpha) {
+        count++;
+        double weight = Math.max(alpha, 1.0 / count);
+        double difference = value - mean;
+        double increment = weight * difference;
+        mean += increment;
+        variance = (1 - weight) * (variance + difference * increment);
+    }
+
+    long count() {
+        return count;
+    }
+
+    double mean() {
+        return mean;
+    }
+
+    double variance() {
+        return variance;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.erp.system.purchase.scorecard;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Rolling delivery statistics of one supplier. Goods receipts feed the
+ * on-time rate, the quality rejection rate and the lead time; a purchase
+ * order that is closed feeds the fill rate with the share of its ordered
+ * quantity that actually arrived.
+ */
+final class SupplierScoreState {
+
+    final RollingStatistic onTime;
+    final RollingStatistic fill;
+    final RollingStatistic rejection;
+    final RollingStatistic leadTimeDays;
+    LocalDate lastObservedOn;
+
+    SupplierScoreState() {
+        this(new RollingStatistic(), new RollingStatistic(), new RollingStatistic(), new RollingStatistic(), null);
+    }
+
+    SupplierScoreState(RollingStatistic onTime, RollingStatistic fill, RollingStatistic rejection,
+                       RollingStatistic leadTimeDays, LocalDate lastObservedOn) {
+        this.onTime = onTime;
+        this.fill = fill;
+        this.rejection = rejection;
+        this.leadTimeDays = leadTimeDays;
+        this.lastObservedOn = lastObservedOn;
+    }
+
+    void observeReceipt(LocalDate receivedOn, LocalDate expectedOn, LocalDate orderedOn,
+                        long quantityReceived, long quantityRejected, double alpha) {
+        if (expectedOn != null) {
+            onTime.add(receivedOn.isAfter(expectedOn) ? 0 : 1, alpha);
+        }
+        if (quantityReceived > 0) {
+            rejection.add(Math.min((double) quantityRejected / quantityReceived, 1), alpha);
+        }
+        if (orderedOn != null && !receivedOn.isBefore(orderedOn)) {
+            leadTimeDays.add(ChronoUnit.DAYS.between(orderedOn, receivedOn), alpha);
+        }
+        touch(receivedOn);
+    }
+
+    void observeClosedOrder(LocalDate closedOn, long quantityOrdered, long quantityReceived, double alpha) {
+        if (quantityOrdered > 0) {
+            fill.add(Math.min((double) quantityReceived / quantityOrdered, 1), alpha);
+        }
+        touch(closedOn);
+    }
+
+    /**
+     * Weighted blend of the components that have observations, between 0
+     * and 1, or null while nothing has been observed.
+     */
+    Double score(double onTimeWeight, double fillWeight, double qualityWeight) {
+        double weighted = 0;
+        double weights = 0;
+        if (!onTime.isEmpty()) {
+            weighted += onTimeWeight * onTime.mean();
+            weights += onTimeWeight;
+        }
+        if (!fill.isEmpty()) {
+            weighted += fillWeight * fill.mean();
+            weights += fillWeight;
+        }
+        if (!rejection.isEmpty()) {
+            weighted += qualityWeight * (1 - rejection.mean());
+            weights += qualityWeight;
+        }
+        return weights > 0 ? weighted / weights : null;
+    }
+
+    private void touch(LocalDate observedOn) {
+        if (lastObservedOn == null || observedOn.isAfter(lastObservedOn)) {
+            lastObservedOn = observedOn;
+        }
+    }
+}
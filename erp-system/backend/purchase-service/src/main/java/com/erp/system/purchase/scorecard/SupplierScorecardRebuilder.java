@@ -0,0 +1,262 @@
+package com.erp.system.purchase.scorecard;
+
+import com.erp.system.scheduling.JobLeaseManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recomputes every supplier scorecard from the goods receipts and completed
+ * purchase orders of the rebuild window. Suppliers are split into contiguous
+ * id ranges replayed in parallel, each streaming its observations in
+ * (supplier, date) order through the same estimators the incremental path
+ * uses, so memory stays at one state per supplier. A scorecard that an
+ * incremental update touched after the rebuild started is left alone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SupplierScorecardRebuilder {
+
+    private static final String JOB_NAME = "purchase.scorecard-rebuild";
+
+    private static final String SELECT_SUPPLIER_IDS_SQL = "SELECT id FROM suppliers ORDER BY id";
+
+    private static final String SELECT_OBSERVATIONS_SQL =
+            "SELECT po.supplier_id, gr.receipt_date AS observed_on, 0 AS kind, po.expected_delivery_date, " +
+            "COALESCE(CAST(po.sent_to_supplier_date AS date), po.order_date) AS ordered_on, " +
+            "SUM(gri.quantity_received) AS quantity_received, SUM(gri.quantity_rejected) AS quantity_rejected, " +
+            "0 AS quantity_ordered " +
+            "FROM goods_receipts gr " +
+            "JOIN purchase_orders po ON po.id = gr.purchase_order_id " +
+            "JOIN goods_receipt_items gri ON gri.goods_receipt_id = gr.id " +
+            "WHERE po.supplier_id BETWEEN ? AND ? AND gr.receipt_date >= ? AND gr.active = true " +
+            "GROUP BY gr.id, po.id " +
+            "UNION ALL " +
+            "SELECT po.supplier_id, CAST(h.changed_at AS date), 1, NULL, NULL, " +
+            "SUM(LEAST(poi.quantity_received, poi.quantity)), 0, SUM(poi.quantity) " +
+            "FROM purchase_order_status_history h " +
+            "JOIN purchase_orders po ON po.id = h.purchase_order_id " +
+            "JOIN purchase_order_items poi ON poi.purchase_order_id = po.id " +
+            "WHERE h.to_status = 'COMPLETED' AND po.supplier_id BETWEEN ? AND ? AND h.changed_at >= ? " +
+            "GROUP BY h.id, po.id " +
+            "ORDER BY 1, 2, 3";
+
+    private static final String UPSERT_IF_UNTOUCHED_SQL =
+            SupplierScorecardService.UPSERT_SQL + " WHERE supplier_scorecards.updated_at < ?";
+
+    private static final String DELETE_UNOBSERVED_SQL =
+            "DELETE FROM supplier_scorecards WHERE supplier_id BETWEEN ? AND ? AND updated_at < ? " +
+            "AND NOT (supplier_id = ANY(?))";
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseManager jobLeaseManager;
+    private final SupplierScorecardService scorecardService;
+
+    @Value("${purchase.scorecard.rebuild-window-days:365}")
+    private int windowDays;
+
+    @Value("${purchase.scorecard.parallelism:4}")
+    private int parallelism;
+
+    @Value("${purchase.scorecard.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${purchase.scorecard.batch-size:500}")
+    private int batchSize;
+
+    @Value("${purchase.scorecard.lease-minutes:30}")
+    private long leaseMinutes;
+
+    private ExecutorService executor;
+
+    private record SupplierRange(long fromId, long toId) {
+    }
+
+    @Scheduled(cron = "${purchase.scorecard.rebuild-cron:0 30 2 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Supplier scorecard rebuild failed", e);
+        }
+    }
+
+    /**
+     * Runs a full rebuild unless another replica holds the job lease; returns
+     * the number of scorecards written, or -1 when the lease was taken.
+     */
+    public int rebuild() {
+        if (!jobLeaseManager.tryAcquire(JOB_NAME, Duration.ofMinutes(leaseMinutes))) {
+            return -1;
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            Timestamp startedAt = Timestamp.valueOf(LocalDateTime.now());
+            LocalDate windowStart = LocalDate.now().minusDays(windowDays);
+
+            List<CompletableFuture<Integer>> partitions = new ArrayList<>();
+            for (SupplierRange range : partitionSuppliers()) {
+                partitions.add(CompletableFuture.supplyAsync(
+                        () -> rebuildRange(range, windowStart, startedAt), executor));
+            }
+            int written = 0;
+            for (CompletableFuture<Integer> partition : partitions) {
+                written += partition.join();
+            }
+
+            log.info("Rebuilt {} supplier scorecards from {} in {} ms",
+                    written, windowStart, System.currentTimeMillis() - startTime);
+            return written;
+        } finally {
+            jobLeaseManager.release(JOB_NAME);
+        }
+    }
+
+    private List<SupplierRange> partitionSuppliers() {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_SUPPLIER_IDS_SQL, Long.class);
+        List<SupplierRange> ranges = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return ranges;
+        }
+        int partitionSize = (ids.size() + parallelism - 1) / parallelism;
+        for (int from = 0; from < ids.size(); from += partitionSize) {
+            int to = Math.min(from + partitionSize, ids.size()) - 1;
+            ranges.add(new SupplierRange(ids.get(from), ids.get(to)));
+        }
+        return ranges;
+    }
+
+    private int rebuildRange(SupplierRange range, LocalDate windowStart, Timestamp startedAt) {
+        double alpha = scorecardService.alpha();
+        Map<Long, SupplierScoreState> states = new HashMap<>();
+        Date since = Date.valueOf(windowStart);
+        Timestamp sinceTimestamp = Timestamp.valueOf(windowStart.atStartOfDay());
+
+        // Streaming with a fetch size needs a transaction on PostgreSQL.
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_OBSERVATIONS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, range.fromId());
+            ps.setLong(2, range.toId());
+            ps.setDate(3, since);
+            ps.setLong(4, range.fromId());
+            ps.setLong(5, range.toId());
+            ps.setTimestamp(6, sinceTimestamp);
+            return ps;
+        }, (ResultSet rs) -> {
+            long supplierId = -1;
+            SupplierScoreState state = null;
+            while (rs.next()) {
+                long rowSupplierId = rs.getLong(1);
+                if (rowSupplierId != supplierId) {
+                    supplierId = rowSupplierId;
+                    state = new SupplierScoreState();
+                    states.put(supplierId, state);
+                }
+                LocalDate observedOn = rs.getDate(2).toLocalDate();
+                if (rs.getInt(3) == 0) {
+                    Date expectedOn = rs.getDate(4);
+                    Date orderedOn = rs.getDate(5);
+                    state.observeReceipt(observedOn,
+                            expectedOn != null ? expectedOn.toLocalDate() : null,
+                            orderedOn != null ? orderedOn.toLocalDate() : null,
+                            rs.getLong(6), rs.getLong(7), alpha);
+                } else {
+                    state.observeClosedOrder(observedOn, rs.getLong(8), rs.getLong(6), alpha);
+                }
+            }
+            return null;
+        }));
+
+        transactionTemplate.executeWithoutResult(status -> store(range, states, startedAt));
+        return states.size();
+    }
+
+    private void store(SupplierRange range, Map<Long, SupplierScoreState> states, Timestamp startedAt) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> scorecards = new ArrayList<>(Math.min(states.size(), batchSize));
+        List<Object[]> ratings = new ArrayList<>(Math.min(states.size(), batchSize));
+        for (Map.Entry<Long, SupplierScoreState> entry : states.entrySet()) {
+            Object[] row = scorecardService.toRow(entry.getKey(), entry.getValue(), now);
+            Object[] guarded = Arrays.copyOf(row, row.length + 1);
+            guarded[row.length] = startedAt;
+            scorecards.add(guarded);
+            ratings.add(SupplierScorecardService.toRatingsRow(entry.getKey(), entry.getValue(), now));
+            if (scorecards.size() == batchSize) {
+                flush(scorecards, ratings);
+            }
+        }
+        if (!scorecards.isEmpty()) {
+            flush(scorecards, ratings);
+        }
+
+        Object[] observed = states.keySet().toArray();
+        jdbcTemplate.update(DELETE_UNOBSERVED_SQL, ps -> {
+            ps.setLong(1, range.fromId());
+            ps.setLong(2, range.toId());
+            ps.setTimestamp(3, startedAt);
+            ps.setArray(4, ps.getConnection().createArrayOf("bigint", observed));
+        });
+    }
+
+    /**
+     * Writes a batch of scorecards, then the ratings of those that were not
+     * skipped for having been updated incrementally in the meantime.
+     */
+    private void flush(List<Object[]> scorecards, List<Object[]> ratings) {
+        int[] written = jdbcTemplate.batchUpdate(UPSERT_IF_UNTOUCHED_SQL, scorecards);
+        List<Object[]> applied = new ArrayList<>(ratings.size());
+        for (int i = 0; i < written.length; i++) {
+            if (written[i] != 0) {
+                applied.add(ratings.get(i));
+            }
+        }
+        if (!applied.isEmpty()) {
+            jdbcTemplate.batchUpdate(SupplierScorecardService.UPDATE_RATINGS_SQL, applied);
+        }
+        scorecards.clear();
+        ratings.clear();
+    }
+
+    @PostConstruct
+    public void initialize() {
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "scorecard-rebuild-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,271 @@
+package com.erp.system.purchase.scorecard;
+
+import com.erp.system.purchase.dto.RankedSupplierDto;
+import com.erp.system.purchase.dto.SupplierScorecardDto;
+import com.erp.system.purchase.entity.GoodsReceipt;
+import com.erp.system.purchase.entity.GoodsReceiptItem;
+import com.erp.system.purchase.entity.PurchaseOrder;
+import com.erp.system.purchase.entity.PurchaseOrderItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Supplier scorecard maintained incrementally. Each goods receipt and each
+ * closed purchase order is folded into the supplier's rolling statistics in
+ * the transaction that records it, under a row lock on the scorecard, and the
+ * supplier's delivery, quality and service ratings are refreshed from the
+ * on-time, rejection and fill rates (0 to 5 scale). Ranking reads scorecards
+ * and supplier products in one query per batch of products.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SupplierScorecardService {
+
+    static final String UPSERT_SQL =
+            "INSERT INTO supplier_scorecards (supplier_id, on_time_count, on_time_rate, fill_count, fill_rate, " +
+            "inspected_count, rejection_rate, lead_time_count, lead_time_mean_days, lead_time_variance, score, " +
+            "last_observed_on, active, version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, true, 0, ?, ?) " +
+            "ON CONFLICT (supplier_id) DO UPDATE SET on_time_count = EXCLUDED.on_time_count, " +
+            "on_time_rate = EXCLUDED.on_time_rate, fill_count = EXCLUDED.fill_count, " +
+            "fill_rate = EXCLUDED.fill_rate, inspected_count = EXCLUDED.inspected_count, " +
+            "rejection_rate = EXCLUDED.rejection_rate, lead_time_count = EXCLUDED.lead_time_count, " +
+            "lead_time_mean_days = EXCLUDED.lead_time_mean_days, " +
+            "lead_time_variance = EXCLUDED.lead_time_variance, score = EXCLUDED.score, " +
+            "last_observed_on = EXCLUDED.last_observed_on, " +
+            "version = COALESCE(supplier_scorecards.version, 0) + 1, updated_at = EXCLUDED.updated_at";
+
+    static final String UPDATE_RATINGS_SQL =
+            "UPDATE suppliers SET delivery_rating = COALESCE(?, delivery_rating), " +
+            "quality_rating = COALESCE(?, quality_rating), service_rating = COALESCE(?, service_rating), " +
+            "version = COALESCE(version, 0) + 1, updated_at = ? WHERE id = ?";
+
+    private static final String INSERT_EMPTY_SQL =
+            "INSERT INTO supplier_scorecards (supplier_id, on_time_count, on_time_rate, fill_count, fill_rate, " +
+            "inspected_count, rejection_rate, lead_time_count, lead_time_mean_days, lead_time_variance, " +
+            "active, version, created_at, updated_at) " +
+            "VALUES (?, 0, 0, 0, 0, 0, 0, 0, 0, 0, true, 0, ?, ?) ON CONFLICT (supplier_id) DO NOTHING";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT supplier_id, on_time_count, on_time_rate, fill_count, fill_rate, inspected_count, " +
+            "rejection_rate, lead_time_count, lead_time_mean_days, lead_time_variance, score, last_observed_on " +
+            "FROM supplier_scorecards WHERE supplier_id = ?";
+
+    private static final String SELECT_FOR_UPDATE_SQL = SELECT_COLUMNS + " FOR UPDATE";
+
+    private static final String RANK_SQL =
+            "SELECT sp.product_id, s.id AS supplier_id, s.supplier_code, s.company_name, sc.score, " +
+            "sc.on_time_rate, sc.on_time_count, sc.fill_rate, sc.fill_count, sc.rejection_rate, " +
+            "sc.inspected_count, sc.lead_time_mean_days, sc.lead_time_count, sp.lead_time_days, " +
+            "sp.unit_price, sp.currency, sp.minimum_order_quantity, sp.is_preferred " +
+            "FROM supplier_products sp " +
+            "JOIN suppliers s ON s.id = sp.supplier_id AND s.status = 'ACTIVE' " +
+            "LEFT JOIN supplier_scorecards sc ON sc.supplier_id = sp.supplier_id " +
+            "WHERE sp.product_id = ANY(?) AND sp.active = true " +
+            "ORDER BY sp.product_id, sc.score DESC NULLS LAST, sp.is_preferred DESC NULLS LAST, " +
+            "sp.unit_price ASC NULLS LAST, s.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${purchase.scorecard.alpha:0.1}")
+    private double alpha;
+
+    @Value("${purchase.scorecard.weights.on-time:0.4}")
+    private double onTimeWeight;
+
+    @Value("${purchase.scorecard.weights.fill:0.3}")
+    private double fillWeight;
+
+    @Value("${purchase.scorecard.weights.quality:0.3}")
+    private double qualityWeight;
+
+    /**
+     * Folds a goods receipt into the supplier's on-time, rejection and lead
+     * time statistics. Lead time runs from the day the order was sent to the
+     * supplier, or its order date if it never was.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReceipt(GoodsReceipt receipt) {
+        PurchaseOrder order = receipt.getPurchaseOrder();
+        long received = 0;
+        long rejected = 0;
+        for (GoodsReceiptItem item : receipt.getItems()) {
+            received += item.getQuantityReceived();
+            rejected += item.getQuantityRejected() != null ? item.getQuantityRejected() : 0;
+        }
+        LocalDate orderedOn = order.getSentToSupplierDate() != null
+                ? order.getSentToSupplierDate().toLocalDate()
+                : order.getOrderDate();
+
+        SupplierScoreState state = lock(order.getSupplier().getId());
+        state.observeReceipt(receipt.getReceiptDate(), order.getExpectedDeliveryDate(), orderedOn,
+                received, rejected, alpha);
+        save(order.getSupplier().getId(), state);
+    }
+
+    /**
+     * Folds the fill rate of a purchase order that will receive nothing more
+     * into the supplier's statistics.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordClosedOrder(PurchaseOrder order, LocalDate closedOn) {
+        long ordered = 0;
+        long received = 0;
+        for (PurchaseOrderItem item : order.getItems()) {
+            ordered += item.getQuantity();
+            received += Math.min(item.getQuantityReceived(), item.getQuantity());
+        }
+
+        SupplierScoreState state = lock(order.getSupplier().getId());
+        state.observeClosedOrder(closedOn, ordered, received, alpha);
+        save(order.getSupplier().getId(), state);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SupplierScorecardDto> getScorecard(Long supplierId) {
+        return jdbcTemplate.query(SELECT_COLUMNS, (rs, rowNum) -> toDto(rs), supplierId).stream().findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public List<RankedSupplierDto> rankSuppliers(Long productId) {
+        return rankSuppliers(List.of(productId)).getOrDefault(productId, List.of());
+    }
+
+    /**
+     * Ranked active suppliers of each product, in one query for the batch.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<RankedSupplierDto>> rankSuppliers(Collection<Long> productIds) {
+        Map<Long, List<RankedSupplierDto>> ranked = new LinkedHashMap<>();
+        if (productIds.isEmpty()) {
+            return ranked;
+        }
+        jdbcTemplate.query(RANK_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray())),
+                rs -> {
+                    long productId = rs.getLong("product_id");
+                    List<RankedSupplierDto> suppliers = ranked.computeIfAbsent(productId, id -> new ArrayList<>());
+                    boolean scored = rs.getObject("score") != null;
+                    Double observedLeadTime = rs.getLong("lead_time_count") > 0 ? rs.getDouble("lead_time_mean_days") : null;
+                    Integer quotedLeadTime = (Integer) rs.getObject("lead_time_days");
+                    suppliers.add(new RankedSupplierDto(
+                            productId,
+                            suppliers.size() + 1,
+                            rs.getLong("supplier_id"),
+                            rs.getString("supplier_code"),
+                            rs.getString("company_name"),
+                            scored ? rs.getDouble("score") : null,
+                            rs.getLong("on_time_count") > 0 ? rs.getDouble("on_time_rate") : null,
+                            rs.getLong("fill_count") > 0 ? rs.getDouble("fill_rate") : null,
+                            rs.getLong("inspected_count") > 0 ? rs.getDouble("rejection_rate") : null,
+                            observedLeadTime != null ? observedLeadTime
+                                    : quotedLeadTime != null ? quotedLeadTime.doubleValue() : null,
+                            rs.getBigDecimal("unit_price"),
+                            rs.getString("currency"),
+                            (Integer) rs.getObject("minimum_order_quantity"),
+                            Boolean.TRUE.equals(rs.getObject("is_preferred"))));
+                });
+        return ranked;
+    }
+
+    Double score(SupplierScoreState state) {
+        return state.score(onTimeWeight, fillWeight, qualityWeight);
+    }
+
+    double alpha() {
+        return alpha;
+    }
+
+    /**
+     * Row values for UPSERT_SQL.
+     */
+    Object[] toRow(Long supplierId, SupplierScoreState state, Timestamp now) {
+        return new Object[] {
+                supplierId,
+                state.onTime.count(), state.onTime.mean(),
+                state.fill.count(), state.fill.mean(),
+                state.rejection.count(), state.rejection.mean(),
+                state.leadTimeDays.count(), state.leadTimeDays.mean(), state.leadTimeDays.variance(),
+                score(state),
+                state.lastObservedOn != null ? Date.valueOf(state.lastObservedOn) : null,
+                now, now};
+    }
+
+    /**
+     * Row values for UPDATE_RATINGS_SQL; ratings without observations are
+     * left as they are.
+     */
+    static Object[] toRatingsRow(Long supplierId, SupplierScoreState state, Timestamp now) {
+        return new Object[] {
+                state.onTime.isEmpty() ? null : toRating(state.onTime.mean()),
+                state.rejection.isEmpty() ? null : toRating(1 - state.rejection.mean()),
+                state.fill.isEmpty() ? null : toRating(state.fill.mean()),
+                now,
+                supplierId};
+    }
+
+    private SupplierScoreState lock(Long supplierId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_EMPTY_SQL, supplierId, now, now);
+        return jdbcTemplate.queryForObject(SELECT_FOR_UPDATE_SQL, (rs, rowNum) -> toState(rs), supplierId);
+    }
+
+    private void save(Long supplierId, SupplierScoreState state) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(UPSERT_SQL, toRow(supplierId, state, now));
+        jdbcTemplate.update(UPDATE_RATINGS_SQL, toRatingsRow(supplierId, state, now));
+    }
+
+    private static BigDecimal toRating(double rate) {
+        return BigDecimal.valueOf(Math.max(0, Math.min(rate, 1)) * 5).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static SupplierScoreState toState(ResultSet rs) throws SQLException {
+        Date lastObservedOn = rs.getDate("last_observed_on");
+        return new SupplierScoreState(
+                new RollingStatistic(rs.getLong("on_time_count"), rs.getDouble("on_time_rate"), 0),
+                new RollingStatistic(rs.getLong("fill_count"), rs.getDouble("fill_rate"), 0),
+                new RollingStatistic(rs.getLong("inspected_count"), rs.getDouble("rejection_rate"), 0),
+                new RollingStatistic(rs.getLong("lead_time_count"), rs.getDouble("lead_time_mean_days"),
+                        rs.getDouble("lead_time_variance")),
+                lastObservedOn != null ? lastObservedOn.toLocalDate() : null);
+    }
+
+    private static SupplierScorecardDto toDto(ResultSet rs) throws SQLException {
+        Date lastObservedOn = rs.getDate("last_observed_on");
+        return new SupplierScorecardDto(
+                rs.getLong("supplier_id"),
+                rs.getObject("score") != null ? rs.getDouble("score") : null,
+                rs.getDouble("on_time_rate"),
+                rs.getLong("on_time_count"),
+                rs.getDouble("fill_rate"),
+                rs.getLong("fill_count"),
+                rs.getDouble("rejection_rate"),
+                rs.getLong("inspected_count"),
+                rs.getDouble("lead_time_mean_days"),
+                Math.sqrt(Math.max(rs.getDouble("lead_time_variance"), 0)),
+                rs.getLong("lead_time_count"),
+                lastObservedOn != null ? lastObservedOn.toLocalDate() : null);
+    }
+}
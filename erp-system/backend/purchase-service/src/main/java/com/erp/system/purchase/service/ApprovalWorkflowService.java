@@ -0,0 +1,90 @@
+package com.erp.system.purchase.service;
+
+import com.erp.system.purchase.entity.PurchaseOrder;
+import com.erp.system.purchase.entity.PurchaseOrderStatusHistory;
+import com.erp.system.purchase.enums.ApprovalLevel;
+import com.erp.system.purchase.enums.PurchaseOrderStatus;
+import com.erp.system.purchase.repository.PurchaseOrderStatusHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApprovalWorkflowService {
+
+    private final PurchaseOrderStatusHistoryRepository statusHistoryRepository;
+
+    @Value("${purchase.approval.manager-approval-threshold:5000.00}")
+    private BigDecimal managerApprovalThreshold;
+
+    @Value("${purchase.approval.director-approval-threshold:25000.00}")
+    private BigDecimal directorApprovalThreshold;
+
+    @Value("${purchase.approval.approvers.manager}")
+    private String managerApprover;
+
+    @Value("${purchase.approval.approvers.director}")
+    private String directorApprover;
+
+    @Value("${purchase.approval.approvers.executive}")
+    private String executiveApprover;
+
+    public ApprovalLevel determineApprovalLevel(PurchaseOrder purchaseOrder) {
+        BigDecimal total = purchaseOrder.getTotalAmount();
+        if (total.compareTo(managerApprovalThreshold) <= 0) {
+            return ApprovalLevel.MANAGER;
+        }
+        if (total.compareTo(directorApprovalThreshold) <= 0) {
+            return ApprovalLevel.DIRECTOR;
+        }
+        return ApprovalLevel.EXECUTIVE;
+    }
+
+    public String approverFor(PurchaseOrder purchaseOrder) {
+        return switch (determineApprovalLevel(purchaseOrder)) {
+            case MANAGER -> managerApprover;
+            case DIRECTOR -> directorApprover;
+            case EXECUTIVE -> executiveApprover;
+        };
+    }
+
+    /**
+     * Records the submission in the order's status history, noting the
+     * approval level its total requires.
+     */
+    public ApprovalLevel startApprovalProcess(PurchaseOrder purchaseOrder) {
+        ApprovalLevel level = determineApprovalLevel(purchaseOrder);
+        statusHistoryRepository.save(historyEntry(purchaseOrder, PurchaseOrderStatus.DRAFT,
+                purchaseOrder.getCreatedByUserId(), "Submitted for " + level + " approval"));
+        log.debug("Purchase order {} requires {} approval", purchaseOrder.getPoNumber(), level);
+        return level;
+    }
+
+    public void recordDecisions(List<PurchaseOrder> purchaseOrders, Long userId, String comments) {
+        List<PurchaseOrderStatusHistory> entries = new ArrayList<>(purchaseOrders.size());
+        for (PurchaseOrder purchaseOrder : purchaseOrders) {
+            entries.add(historyEntry(purchaseOrder, PurchaseOrderStatus.PENDING_APPROVAL, userId, comments));
+        }
+        statusHistoryRepository.saveAll(entries);
+    }
+
+    private PurchaseOrderStatusHistory historyEntry(PurchaseOrder purchaseOrder, PurchaseOrderStatus fromStatus,
+                                                    Long userId, String comments) {
+        PurchaseOrderStatusHistory history = new PurchaseOrderStatusHistory();
+        history.setPurchaseOrder(purchaseOrder);
+        history.setFromStatus(fromStatus);
+        history.setToStatus(purchaseOrder.getStatus());
+        history.setChangedAt(LocalDateTime.now());
+        history.setChangedByUserId(userId);
+        history.setComments(comments);
+        return history;
+    }
+}
@@ -0,0 +1,120 @@
+package com.erp.system.purchase.service;
+
+import com.erp.system.purchase.approval.ApprovalNotificationQueue;
+import com.erp.system.purchase.approval.ApprovalNotificationQueue.PendingNotification;
+import com.erp.system.purchase.approval.ApprovalNotificationQueue.QueuedNotification;
+import com.erp.system.purchase.entity.PurchaseOrder;
+import com.erp.system.purchase.enums.ApprovalNotificationType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Approval emails are not sent from the request: the send methods queue a
+ * notification in the caller's transaction and the approval digest
+ * dispatcher delivers them, one digest per recipient.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailNotificationService {
+
+    private final ApprovalNotificationQueue notificationQueue;
+    private final ApprovalWorkflowService approvalWorkflowService;
+    private final JavaMailSender mailSender;
+
+    @Value("${purchase.email.from}")
+    private String fromAddress;
+
+    @Value("${purchase.email.purchasing-team}")
+    private String purchasingTeamAddress;
+
+    public void sendApprovalRequestNotification(PurchaseOrder purchaseOrder) {
+        notificationQueue.enqueue(List.of(new PendingNotification(
+                approvalWorkflowService.approverFor(purchaseOrder),
+                ApprovalNotificationType.APPROVAL_REQUESTED,
+                purchaseOrder.getId(),
+                purchaseOrder.getPoNumber(),
+                summary(purchaseOrder))));
+    }
+
+    public void sendApprovalNotification(PurchaseOrder purchaseOrder, String comments) {
+        sendApprovalNotifications(List.of(purchaseOrder), comments);
+    }
+
+    public void sendApprovalNotifications(List<PurchaseOrder> purchaseOrders, String comments) {
+        queueForPurchasingTeam(purchaseOrders, ApprovalNotificationType.APPROVED, comments);
+    }
+
+    public void sendRejectionNotification(PurchaseOrder purchaseOrder, String rejectionReason) {
+        queueForPurchasingTeam(List.of(purchaseOrder), ApprovalNotificationType.REJECTED, rejectionReason);
+    }
+
+    /**
+     * Supplier contacts are not kept here yet, so the purchasing team is told
+     * which orders went out and forwards them.
+     */
+    public void sendPurchaseOrderToSupplier(PurchaseOrder purchaseOrder) {
+        sendPurchaseOrdersToSupplier(List.of(purchaseOrder));
+    }
+
+    public void sendPurchaseOrdersToSupplier(List<PurchaseOrder> purchaseOrders) {
+        queueForPurchasingTeam(purchaseOrders, ApprovalNotificationType.SENT_TO_SUPPLIER, null);
+    }
+
+    /**
+     * Sends the queued notifications of one recipient as a single email.
+     * Called by the digest dispatcher; failures propagate so the
+     * notifications stay queued.
+     */
+    public void sendDigest(String recipient, List<QueuedNotification> notifications) {
+        StringBuilder body = new StringBuilder();
+        for (QueuedNotification notification : notifications) {
+            body.append(describe(notification.type())).append(": ").append(notification.poNumber());
+            if (notification.detail() != null && !notification.detail().isBlank()) {
+                body.append(" - ").append(notification.detail());
+            }
+            body.append('\n');
+        }
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromAddress);
+        message.setTo(recipient);
+        message.setSubject(notifications.size() == 1
+                ? describe(notifications.get(0).type()) + ": " + notifications.get(0).poNumber()
+                : notifications.size() + " purchase order updates");
+        message.setText(body.toString());
+        mailSender.send(message);
+        log.info("Sent approval digest with {} notifications to {}", notifications.size(), recipient);
+    }
+
+    private void queueForPurchasingTeam(List<PurchaseOrder> purchaseOrders, ApprovalNotificationType type,
+                                        String detail) {
+        List<PendingNotification> notifications = new ArrayList<>(purchaseOrders.size());
+        for (PurchaseOrder purchaseOrder : purchaseOrders) {
+            notifications.add(new PendingNotification(purchasingTeamAddress, type, purchaseOrder.getId(),
+                    purchaseOrder.getPoNumber(), detail != null ? detail : summary(purchaseOrder)));
+        }
+        notificationQueue.enqueue(notifications);
+    }
+
+    private String summary(PurchaseOrder purchaseOrder) {
+        return purchaseOrder.getSupplier().getCompanyName() + ", "
+                + purchaseOrder.getTotalAmount().toPlainString() + " " + purchaseOrder.getCurrency();
+    }
+
+    private String describe(ApprovalNotificationType type) {
+        return switch (type) {
+            case APPROVAL_REQUESTED -> "Approval requested";
+            case APPROVED -> "Approved";
+            case REJECTED -> "Rejected";
+            case SENT_TO_SUPPLIER -> "Sent to supplier";
+        };
+    }
+}
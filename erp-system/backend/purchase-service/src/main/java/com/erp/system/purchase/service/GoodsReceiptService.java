@@ -0,0 +1,176 @@
+package com.erp.system.purchase.service;
+
+import com.erp.system.currency.Money;
+import com.erp.system.purchase.dto.GoodsReceiptDto;
+import com.erp.system.purchase.dto.GoodsReceiptItemDto;
+import com.erp.system.purchase.entity.GoodsReceipt;
+import com.erp.system.purchase.entity.GoodsReceiptItem;
+import com.erp.system.purchase.entity.PurchaseOrder;
+import com.erp.system.purchase.entity.PurchaseOrderItem;
+import com.erp.system.purchase.entity.PurchaseOrderStatusHistory;
+import com.erp.system.purchase.enums.PurchaseOrderStatus;
+import com.erp.system.purchase.mapper.GoodsReceiptMapper;
+import com.erp.system.purchase.repository.GoodsReceiptRepository;
+import com.erp.system.purchase.repository.PurchaseOrderRepository;
+import com.erp.system.purchase.repository.PurchaseOrderStatusHistoryRepository;
+import com.erp.system.purchase.scorecard.SupplierScorecardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class GoodsReceiptService {
+
+    private static final Set<PurchaseOrderStatus> RECEIVABLE_STATUSES = EnumSet.of(
+            PurchaseOrderStatus.SENT_TO_SUPPLIER,
+            PurchaseOrderStatus.ACKNOWLEDGED_BY_SUPPLIER,
+            PurchaseOrderStatus.IN_PRODUCTION,
+            PurchaseOrderStatus.SHIPPED,
+            PurchaseOrderStatus.PARTIALLY_RECEIVED);
+
+    private final GoodsReceiptRepository goodsReceiptRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final PurchaseOrderStatusHistoryRepository statusHistoryRepository;
+    private final GoodsReceiptMapper goodsReceiptMapper;
+    private final SupplierScorecardService supplierScorecardService;
+
+    public List<GoodsReceiptDto> getReceiptsByPurchaseOrder(Long purchaseOrderId) {
+        log.debug("Getting goods receipts for purchase order: {}", purchaseOrderId);
+        return goodsReceiptRepository.findByPurchaseOrderId(purchaseOrderId)
+                .stream()
+                .map(goodsReceiptMapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Records a delivery against the order's lines. Accepted quantities count
+     * towards each line's received quantity; the order moves to
+     * PARTIALLY_RECEIVED, or COMPLETED once every line is fully received, and
+     * the supplier scorecard is updated in the same transaction.
+     */
+    @Transactional
+    public GoodsReceiptDto receiveGoods(Long purchaseOrderId, GoodsReceiptDto receiptDto) {
+        log.info("Recording goods receipt for purchase order: {}", purchaseOrderId);
+
+        PurchaseOrder purchaseOrder = purchaseOrderRepository.findForReceiptById(purchaseOrderId)
+                .orElseThrow(() -> new RuntimeException("Purchase order not found with id: " + purchaseOrderId));
+        if (!RECEIVABLE_STATUSES.contains(purchaseOrder.getStatus())) {
+            throw new RuntimeException("Cannot receive goods for purchase order in status: " + purchaseOrder.getStatus());
+        }
+
+        Map<Long, PurchaseOrderItem> orderItems = purchaseOrder.getItems().stream()
+                .collect(Collectors.toMap(PurchaseOrderItem::getId, Function.identity()));
+        int scale = Money.scaleOf(purchaseOrder.getCurrency());
+        Money.Accumulator total = Money.accumulator(scale);
+
+        GoodsReceipt receipt = new GoodsReceipt();
+        receipt.setPurchaseOrder(purchaseOrder);
+        receipt.setReceiptDate(receiptDto.getReceiptDate() != null ? receiptDto.getReceiptDate() : LocalDate.now());
+        receipt.setReceivedByUserId(receiptDto.getReceivedByUserId());
+        receipt.setDeliveryNoteNumber(receiptDto.getDeliveryNoteNumber());
+        receipt.setNotes(receiptDto.getNotes());
+        receipt.setReceiptNumber(nextReceiptNumber(purchaseOrder));
+
+        List<GoodsReceiptItem> receiptItems = new ArrayList<>(receiptDto.getItems().size());
+        for (GoodsReceiptItemDto itemDto : receiptDto.getItems()) {
+            PurchaseOrderItem orderItem = orderItems.get(itemDto.getPurchaseOrderItemId());
+            if (orderItem == null) {
+                throw new RuntimeException("Item " + itemDto.getPurchaseOrderItemId() +
+                        " does not belong to purchase order " + purchaseOrder.getPoNumber());
+            }
+            int rejected = itemDto.getQuantityRejected() != null ? itemDto.getQuantityRejected() : 0;
+            int accepted = itemDto.getQuantityReceived() - rejected;
+            if (accepted < 0) {
+                throw new RuntimeException("Rejected quantity exceeds received quantity on line " + orderItem.getLineNumber());
+            }
+            if (accepted > orderItem.getOpenQuantity()) {
+                throw new RuntimeException("Accepted quantity " + accepted + " exceeds open quantity " +
+                        orderItem.getOpenQuantity() + " on line " + orderItem.getLineNumber());
+            }
+
+            GoodsReceiptItem receiptItem = new GoodsReceiptItem();
+            receiptItem.setGoodsReceipt(receipt);
+            receiptItem.setPurchaseOrderItem(orderItem);
+            receiptItem.setQuantityReceived(itemDto.getQuantityReceived());
+            receiptItem.setQuantityRejected(rejected);
+            receiptItem.setRejectionReason(itemDto.getRejectionReason());
+            receiptItems.add(receiptItem);
+
+            orderItem.setQuantityReceived(orderItem.getQuantityReceived() + accepted);
+            total.add(Money.ofProduct(orderItem.getUnitPrice(), BigDecimal.valueOf(accepted), scale, RoundingMode.HALF_UP));
+        }
+        receipt.setItems(receiptItems);
+        receipt.setTotalAmount(total.toBigDecimal());
+
+        GoodsReceipt savedReceipt = goodsReceiptRepository.save(receipt);
+        supplierScorecardService.recordReceipt(savedReceipt);
+
+        boolean fullyReceived = purchaseOrder.getItems().stream().allMatch(item -> item.getOpenQuantity() == 0);
+        changeStatus(purchaseOrder,
+                fullyReceived ? PurchaseOrderStatus.COMPLETED : PurchaseOrderStatus.PARTIALLY_RECEIVED,
+                receiptDto.getReceivedByUserId(), "Goods receipt " + savedReceipt.getReceiptNumber());
+
+        log.info("Goods receipt {} recorded for purchase order {}", savedReceipt.getReceiptNumber(), purchaseOrder.getPoNumber());
+        return goodsReceiptMapper.toDto(savedReceipt);
+    }
+
+    /**
+     * Completes a partially received order that will receive nothing more;
+     * the shortfall counts against the supplier's fill rate.
+     */
+    @Transactional
+    public void closePurchaseOrder(Long purchaseOrderId, Long userId, String reason) {
+        log.info("Closing purchase order: {}", purchaseOrderId);
+
+        PurchaseOrder purchaseOrder = purchaseOrderRepository.findForReceiptById(purchaseOrderId)
+                .orElseThrow(() -> new RuntimeException("Purchase order not found with id: " + purchaseOrderId));
+        if (purchaseOrder.getStatus() != PurchaseOrderStatus.PARTIALLY_RECEIVED) {
+            throw new RuntimeException("Only partially received purchase orders can be closed");
+        }
+        changeStatus(purchaseOrder, PurchaseOrderStatus.COMPLETED, userId, reason);
+    }
+
+    private void changeStatus(PurchaseOrder purchaseOrder, PurchaseOrderStatus status, Long userId, String comments) {
+        PurchaseOrderStatus previous = purchaseOrder.getStatus();
+        if (previous == status) {
+            return;
+        }
+        purchaseOrder.setStatus(status);
+        purchaseOrderRepository.save(purchaseOrder);
+
+        PurchaseOrderStatusHistory history = new PurchaseOrderStatusHistory();
+        history.setPurchaseOrder(purchaseOrder);
+        history.setFromStatus(previous);
+        history.setToStatus(status);
+        history.setChangedAt(LocalDateTime.now());
+        history.setChangedByUserId(userId);
+        history.setComments(comments);
+        statusHistoryRepository.save(history);
+
+        if (status == PurchaseOrderStatus.COMPLETED) {
+            supplierScorecardService.recordClosedOrder(purchaseOrder, history.getChangedAt().toLocalDate());
+        }
+    }
+
+    private String nextReceiptNumber(PurchaseOrder purchaseOrder) {
+        // The order row is locked, so the count cannot change under us.
+        int sequence = goodsReceiptRepository.findByPurchaseOrderId(purchaseOrder.getId()).size() + 1;
+        return purchaseOrder.getPoNumber() + "-GR" + sequence;
+    }
+}
@@ -0,0 +1,168 @@
+package com.erp.system.purchase.service;
+
+import com.erp.system.scheduling.JobLeaseManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Overdue Purchase Order Sweeper
+ * Keeps the overdue_flagged column in line with PurchaseOrder.isOverdue(), so
+ * overdue orders are read from the (overdue_flagged, expected_delivery_date)
+ * index. Runs under a database lease so only one replica sweeps at a time, and
+ * only scans orders that became due or were modified since the last run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OverduePurchaseOrderSweeper {
+
+    private static final String JOB_NAME = "purchase.overdue-orders";
+    private static final String PURCHASE_ORDER_TOPIC = "purchase-order-events";
+
+    private static final String CLEAR_FLAGS_SQL =
+            "UPDATE purchase_orders SET overdue_flagged = false, version = COALESCE(version, 0) + 1, updated_at = ? " +
+            "WHERE overdue_flagged = true AND (status IN ('COMPLETED', 'CANCELLED') " +
+            "OR expected_delivery_date IS NULL OR expected_delivery_date >= ?)";
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT id, po_number, supplier_id, expected_delivery_date, status FROM purchase_orders " +
+            "WHERE overdue_flagged IS NOT TRUE AND status NOT IN ('COMPLETED', 'CANCELLED') " +
+            "AND expected_delivery_date < ? AND (expected_delivery_date, id) > (?, ?) " +
+            "ORDER BY expected_delivery_date, id LIMIT ?";
+
+    private static final String SELECT_INCREMENTAL_SQL =
+            "SELECT id, po_number, supplier_id, expected_delivery_date, status FROM purchase_orders " +
+            "WHERE overdue_flagged IS NOT TRUE AND status NOT IN ('COMPLETED', 'CANCELLED') " +
+            "AND expected_delivery_date < ? AND (expected_delivery_date, id) > (?, ?) " +
+            "AND (expected_delivery_date >= ? OR updated_at >= ?) " +
+            "ORDER BY expected_delivery_date, id LIMIT ?";
+
+    private static final String FLAG_OVERDUE_SQL =
+            "UPDATE purchase_orders SET overdue_flagged = true, version = COALESCE(version, 0) + 1, updated_at = ? " +
+            "WHERE id = ? AND overdue_flagged IS NOT TRUE AND status NOT IN ('COMPLETED', 'CANCELLED')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseManager jobLeaseManager;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${purchase.overdue-sweep.batch-size:500}")
+    private int batchSize;
+
+    @Value("${purchase.overdue-sweep.lease-minutes:10}")
+    private long leaseMinutes;
+
+    @Scheduled(fixedDelayString = "${purchase.overdue-sweep.interval-ms:300000}",
+               initialDelayString = "${purchase.overdue-sweep.initial-delay-ms:60000}")
+    public void sweep() {
+        if (!jobLeaseManager.tryAcquire(JOB_NAME, Duration.ofMinutes(leaseMinutes))) {
+            return;
+        }
+        try {
+            LocalDateTime runStartedAt = LocalDateTime.now();
+            LocalDateTime lastRun = jobLeaseManager.getHighWaterMark(JOB_NAME);
+            LocalDate today = runStartedAt.toLocalDate();
+
+            int cleared = jdbcTemplate.update(CLEAR_FLAGS_SQL, Timestamp.valueOf(runStartedAt), Date.valueOf(today));
+            int flagged = flagOverdue(today, lastRun);
+
+            if (!jobLeaseManager.advanceHighWaterMark(JOB_NAME, runStartedAt)) {
+                log.warn("Lease for {} expired during the sweep, high-water mark not advanced", JOB_NAME);
+            }
+            if (flagged > 0 || cleared > 0) {
+                log.info("Overdue purchase order sweep: {} flagged, {} cleared", flagged, cleared);
+            }
+        } catch (Exception e) {
+            log.error("Overdue purchase order sweep failed", e);
+        } finally {
+            jobLeaseManager.release(JOB_NAME);
+        }
+    }
+
+    private int flagOverdue(LocalDate today, LocalDateTime lastRun) {
+        Date dueBefore = Date.valueOf(today);
+        Date afterDate = Date.valueOf(LocalDate.of(1900, 1, 1));
+        long afterId = 0;
+        int flagged = 0;
+
+        while (true) {
+            List<Map<String, Object>> batch = lastRun == null
+                    ? jdbcTemplate.queryForList(SELECT_ALL_SQL, dueBefore, afterDate, afterId, batchSize)
+                    : jdbcTemplate.queryForList(SELECT_INCREMENTAL_SQL, dueBefore, afterDate, afterId,
+                            Date.valueOf(lastRun.toLocalDate()), Timestamp.valueOf(lastRun), batchSize);
+            if (batch.isEmpty()) {
+                return flagged;
+            }
+
+            List<Map<String, Object>> updated = transactionTemplate.execute(status -> flagBatch(batch));
+            if (updated != null && !updated.isEmpty()) {
+                publishOverdueEvent(updated);
+                flagged += updated.size();
+            }
+
+            Map<String, Object> last = batch.get(batch.size() - 1);
+            afterDate = (Date) last.get("expected_delivery_date");
+            afterId = ((Number) last.get("id")).longValue();
+            if (batch.size() < batchSize) {
+                return flagged;
+            }
+        }
+    }
+
+    private List<Map<String, Object>> flagBatch(List<Map<String, Object>> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(batch.size());
+        for (Map<String, Object> row : batch) {
+            updates.add(new Object[] {now, row.get("id")});
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(FLAG_OVERDUE_SQL, updates);
+        List<Map<String, Object>> updated = new ArrayList<>(batch.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                updated.add(batch.get(i));
+            }
+        }
+        return updated;
+    }
+
+    private void publishOverdueEvent(List<Map<String, Object>> orders) {
+        try {
+            List<Map<String, Object>> payload = new ArrayList<>(orders.size());
+            for (Map<String, Object> row : orders) {
+                Map<String, Object> order = new HashMap<>();
+                order.put("purchaseOrderId", row.get("id"));
+                order.put("poNumber", row.get("po_number"));
+                order.put("supplierId", row.get("supplier_id"));
+                order.put("expectedDeliveryDate", ((Date) row.get("expected_delivery_date")).toLocalDate().toString());
+                order.put("status", row.get("status"));
+                payload.add(order);
+            }
+
+            Map<String, Object> event = new HashMap<>();
+            event.put("eventType", "PURCHASE_ORDERS_OVERDUE");
+            event.put("timestamp", System.currentTimeMillis());
+            event.put("purchaseOrders", payload);
+            kafkaTemplate.send(PURCHASE_ORDER_TOPIC, JOB_NAME, event);
+            log.debug("Published overdue event for {} purchase orders", orders.size());
+        } catch (Exception e) {
+            log.error("Error publishing purchase orders overdue event", e);
+        }
+    }
+}
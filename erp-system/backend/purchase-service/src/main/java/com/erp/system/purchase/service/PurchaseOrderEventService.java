@@ -0,0 +1,74 @@
+package com.erp.system.purchase.service;
+
+import com.erp.system.outbox.OutboxPublisher;
+import com.erp.system.purchase.entity.PurchaseOrder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Purchase order events go through the transactional outbox: they are stored
+ * with the order change and published to Kafka by the outbox relay after the
+ * transaction commits, so a rolled-back change is never announced.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PurchaseOrderEventService {
+
+    private static final String PURCHASE_ORDER_TOPIC = "purchase-order-events";
+
+    private final OutboxPublisher outboxPublisher;
+
+    public void publishPurchaseOrderCreated(PurchaseOrder purchaseOrder) {
+        publish("PURCHASE_ORDER_CREATED", purchaseOrder, null);
+    }
+
+    public void publishPurchaseOrderUpdated(PurchaseOrder purchaseOrder) {
+        publish("PURCHASE_ORDER_UPDATED", purchaseOrder, null);
+    }
+
+    public void publishPurchaseOrderDeleted(PurchaseOrder purchaseOrder) {
+        publish("PURCHASE_ORDER_DELETED", purchaseOrder, null);
+    }
+
+    public void publishPurchaseOrderSubmittedForApproval(PurchaseOrder purchaseOrder) {
+        publish("PURCHASE_ORDER_SUBMITTED_FOR_APPROVAL", purchaseOrder, null);
+    }
+
+    public void publishPurchaseOrderApproved(PurchaseOrder purchaseOrder) {
+        publish("PURCHASE_ORDER_APPROVED", purchaseOrder, null);
+    }
+
+    public void publishPurchaseOrderRejected(PurchaseOrder purchaseOrder, String rejectionReason) {
+        publish("PURCHASE_ORDER_REJECTED", purchaseOrder, rejectionReason);
+    }
+
+    public void publishPurchaseOrderSentToSupplier(PurchaseOrder purchaseOrder) {
+        publish("PURCHASE_ORDER_SENT_TO_SUPPLIER", purchaseOrder, null);
+    }
+
+    private void publish(String eventType, PurchaseOrder purchaseOrder, String reason) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventType", eventType);
+        event.put("timestamp", System.currentTimeMillis());
+        event.put("purchaseOrderId", purchaseOrder.getId());
+        event.put("poNumber", purchaseOrder.getPoNumber());
+        event.put("supplierId", purchaseOrder.getSupplier().getId());
+        event.put("status", purchaseOrder.getStatus().toString());
+        event.put("totalAmount", purchaseOrder.getTotalAmount());
+        event.put("currency", purchaseOrder.getCurrency());
+        if (purchaseOrder.getApprovedByUserId() != null) {
+            event.put("approvedByUserId", purchaseOrder.getApprovedByUserId());
+        }
+        if (reason != null) {
+            event.put("reason", reason);
+        }
+
+        outboxPublisher.publish(PURCHASE_ORDER_TOPIC, purchaseOrder.getPoNumber(), event);
+        log.debug("Queued {} event for purchase order: {}", eventType, purchaseOrder.getPoNumber());
+    }
+}
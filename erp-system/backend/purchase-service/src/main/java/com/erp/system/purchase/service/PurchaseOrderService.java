@@ -1,5 +1,7 @@
 package com.erp.system.purchase.service;
 
+import com.erp.system.purchase.approval.ApprovalPipelineMetrics;
+import com.erp.system.purchase.dto.BulkApprovalResultDto;
 import com.erp.system.purchase.dto.PurchaseOrderDto;
 import com.erp.system.purchase.entity.PurchaseOrder;
 import com.erp.system.purchase.enums.PurchaseOrderStatus;
@@ -15,8 +17,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +36,7 @@ public class PurchaseOrderService {
     private final EmailNotificationService emailNotificationService;
     private final PurchaseOrderEventService eventService;
     private final PurchaseOrderNumberGenerator numberGenerator;
+    private final ApprovalPipelineMetrics approvalMetrics;
     
     public Page<PurchaseOrderDto> getAllPurchaseOrders(Pageable pageable) {
         log.debug("Getting all purchase orders with pagination: {}", pageable);
@@ -151,6 +157,7 @@ public class PurchaseOrderService {
     @Transactional
     public PurchaseOrderDto submitForApproval(Long id) {
         log.info("Submitting purchase order for approval: {}", id);
+        approvalMetrics.timeDecision("submit");
         
         PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Purchase order not found with id: " + id));
@@ -165,7 +172,7 @@ public class PurchaseOrderService {
         // Start approval workflow
         approvalWorkflowService.startApprovalProcess(savedOrder);
         
-        // Send notification
+        // Queue notification for the approver's digest
         emailNotificationService.sendApprovalRequestNotification(savedOrder);
         
         // Publish event
@@ -178,6 +185,7 @@ public class PurchaseOrderService {
     @Transactional
     public PurchaseOrderDto approvePurchaseOrder(Long id, Long approverUserId, String comments) {
         log.info("Approving purchase order: {} by user: {}", id, approverUserId);
+        approvalMetrics.timeDecision("approve");
         
         PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Purchase order not found with id: " + id));
@@ -191,15 +199,16 @@ public class PurchaseOrderService {
         purchaseOrder.setApprovedDate(LocalDateTime.now());
         
         PurchaseOrder savedOrder = purchaseOrderRepository.save(purchaseOrder);
+        approvalWorkflowService.recordDecisions(List.of(savedOrder), approverUserId, comments);
         
-        // Send to supplier
-        sendToSupplier(savedOrder);
+        // Publish event
+        eventService.publishPurchaseOrderApproved(savedOrder);
         
-        // Send notification
+        // Queue notification
         emailNotificationService.sendApprovalNotification(savedOrder, comments);
         
-        // Publish event
-        eventService.publishPurchaseOrderApproved(savedOrder);
+        // Send to supplier
+        sendToSupplier(savedOrder);
         
         log.info("Purchase order approved: {}", savedOrder.getPoNumber());
         return purchaseOrderMapper.toDto(savedOrder);
@@ -208,6 +217,7 @@ public class PurchaseOrderService {
     @Transactional
     public PurchaseOrderDto rejectPurchaseOrder(Long id, Long rejectorUserId, String rejectionReason) {
         log.info("Rejecting purchase order: {} by user: {}", id, rejectorUserId);
+        approvalMetrics.timeDecision("reject");
         
         PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Purchase order not found with id: " + id));
@@ -219,8 +229,9 @@ public class PurchaseOrderService {
         purchaseOrder.setStatus(PurchaseOrderStatus.DRAFT);
         
         PurchaseOrder savedOrder = purchaseOrderRepository.save(purchaseOrder);
+        approvalWorkflowService.recordDecisions(List.of(savedOrder), rejectorUserId, rejectionReason);
         
-        // Send notification
+        // Queue notification
         emailNotificationService.sendRejectionNotification(savedOrder, rejectionReason);
         
         // Publish event
@@ -230,6 +241,60 @@ public class PurchaseOrderService {
         return purchaseOrderMapper.toDto(savedOrder);
     }
     
+    /**
+     * Approves several orders in one transaction: the orders are locked and
+     * loaded with a single query, and their history rows, events and
+     * notifications are written as one batch each. Orders that are not
+     * pending approval are reported back instead of failing the batch.
+     */
+    @Transactional
+    public BulkApprovalResultDto approvePurchaseOrders(List<Long> ids, Long approverUserId, String comments) {
+        log.info("Bulk approving {} purchase orders by user: {}", ids.size(), approverUserId);
+        approvalMetrics.timeDecision("bulk_approve");
+        long start = System.currentTimeMillis();
+        
+        BulkApprovalResultDto result = new BulkApprovalResultDto();
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        List<PurchaseOrder> approved = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        
+        for (PurchaseOrder purchaseOrder : purchaseOrderRepository.findForApprovalByIdIn(missing)) {
+            missing.remove(purchaseOrder.getId());
+            if (purchaseOrder.getStatus() != PurchaseOrderStatus.PENDING_APPROVAL) {
+                result.getFailures().put(purchaseOrder.getId(),
+                        "Purchase order must be pending approval, was " + purchaseOrder.getStatus());
+                continue;
+            }
+            purchaseOrder.setStatus(PurchaseOrderStatus.APPROVED);
+            purchaseOrder.setApprovedByUserId(approverUserId);
+            purchaseOrder.setApprovedDate(now);
+            approved.add(purchaseOrder);
+        }
+        for (Long id : missing) {
+            result.getFailures().put(id, "Purchase order not found with id: " + id);
+        }
+        
+        if (!approved.isEmpty()) {
+            approvalWorkflowService.recordDecisions(approved, approverUserId, comments);
+            approved.forEach(eventService::publishPurchaseOrderApproved);
+            emailNotificationService.sendApprovalNotifications(approved, comments);
+            
+            for (PurchaseOrder purchaseOrder : approved) {
+                purchaseOrder.setStatus(PurchaseOrderStatus.SENT_TO_SUPPLIER);
+                purchaseOrder.setSentToSupplierDate(now);
+                eventService.publishPurchaseOrderSentToSupplier(purchaseOrder);
+                result.getApprovedPoNumbers().add(purchaseOrder.getPoNumber());
+            }
+            emailNotificationService.sendPurchaseOrdersToSupplier(approved);
+            purchaseOrderRepository.saveAll(approved);
+        }
+        
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("Bulk approval finished: {} approved, {} failed",
+                result.getApprovedPoNumbers().size(), result.getFailures().size());
+        return result;
+    }
+    
     @Transactional
     public PurchaseOrderDto sendToSupplier(Long id) {
         PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(id)
@@ -250,7 +315,7 @@ public class PurchaseOrderService {
         
         PurchaseOrder savedOrder = purchaseOrderRepository.save(purchaseOrder);
         
-        // Send email to supplier
+        // Queue email to supplier
         emailNotificationService.sendPurchaseOrderToSupplier(savedOrder);
         
         // Publish event
@@ -262,7 +327,7 @@ public class PurchaseOrderService {
     
     public List<PurchaseOrderDto> getOverduePurchaseOrders() {
         log.debug("Getting overdue purchase orders");
-        return purchaseOrderRepository.findOverdueOrders(LocalDate.now())
+        return purchaseOrderRepository.findOverdueOrders()
                 .stream()
                 .map(purchaseOrderMapper::toDto)
                 .toList();
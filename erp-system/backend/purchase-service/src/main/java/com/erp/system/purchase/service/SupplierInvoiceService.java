@@ -0,0 +1,83 @@
+package com.erp.system.purchase.service;
+
+import com.erp.system.currency.Money;
+import com.erp.system.purchase.dto.SupplierInvoiceDto;
+import com.erp.system.purchase.dto.SupplierInvoiceItemDto;
+import com.erp.system.purchase.entity.Supplier;
+import com.erp.system.purchase.entity.SupplierInvoice;
+import com.erp.system.purchase.entity.SupplierInvoiceItem;
+import com.erp.system.purchase.mapper.SupplierInvoiceMapper;
+import com.erp.system.purchase.repository.SupplierInvoiceRepository;
+import com.erp.system.purchase.repository.SupplierRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SupplierInvoiceService {
+
+    private final SupplierInvoiceRepository supplierInvoiceRepository;
+    private final SupplierRepository supplierRepository;
+    private final SupplierInvoiceMapper supplierInvoiceMapper;
+
+    public Optional<SupplierInvoiceDto> getSupplierInvoiceById(Long id) {
+        log.debug("Getting supplier invoice by id: {}", id);
+        return supplierInvoiceRepository.findWithItemsById(id)
+                .map(supplierInvoiceMapper::toDto);
+    }
+
+    /**
+     * Registers an invoice as received from the supplier. Lines reference the
+     * purchase order by number and line, as printed on the invoice, and are
+     * resolved by the three-way match.
+     */
+    @Transactional
+    public SupplierInvoiceDto registerInvoice(SupplierInvoiceDto invoiceDto) {
+        log.info("Registering supplier invoice {} for supplier {}", invoiceDto.getInvoiceNumber(), invoiceDto.getSupplierId());
+
+        Supplier supplier = supplierRepository.findById(invoiceDto.getSupplierId())
+                .orElseThrow(() -> new RuntimeException("Supplier not found with id: " + invoiceDto.getSupplierId()));
+        if (supplierInvoiceRepository.existsBySupplierIdAndInvoiceNumber(supplier.getId(), invoiceDto.getInvoiceNumber())) {
+            throw new RuntimeException("Invoice " + invoiceDto.getInvoiceNumber() + " already registered for supplier " +
+                    supplier.getSupplierCode());
+        }
+
+        SupplierInvoice invoice = supplierInvoiceMapper.toEntity(invoiceDto);
+        invoice.setSupplier(supplier);
+
+        int scale = Money.scaleOf(invoice.getCurrency());
+        Money.Accumulator subtotal = Money.accumulator(scale);
+        List<SupplierInvoiceItem> items = new ArrayList<>(invoiceDto.getItems().size());
+        int lineNumber = 0;
+        for (SupplierInvoiceItemDto itemDto : invoiceDto.getItems()) {
+            SupplierInvoiceItem item = supplierInvoiceMapper.toEntity(itemDto);
+            item.setSupplierInvoice(invoice);
+            lineNumber++;
+            if (item.getLineNumber() == null) {
+                item.setLineNumber(lineNumber);
+            }
+            Money lineTotal = Money.ofProduct(item.getUnitPrice(), BigDecimal.valueOf(item.getQuantity()),
+                    scale, RoundingMode.HALF_UP);
+            item.setTotalPrice(lineTotal.toBigDecimal());
+            subtotal.add(lineTotal);
+            items.add(item);
+        }
+        invoice.setItems(items);
+        invoice.setSubtotal(subtotal.toBigDecimal());
+        invoice.setTotalAmount(subtotal.add(invoice.getTaxAmount(), RoundingMode.HALF_UP).toBigDecimal());
+
+        SupplierInvoice savedInvoice = supplierInvoiceRepository.save(invoice);
+        log.info("Supplier invoice registered with id: {}", savedInvoice.getId());
+        return supplierInvoiceMapper.toDto(savedInvoice);
+    }
+}
@@ -0,0 +1,49 @@
+package com.erp.system.currency;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Units of the base currency per unit of a currency from an effective date
+ * on. Rows are maintained outside the services and loaded into memory by
+ * {@link ExchangeRateService}.
+ */
+@Entity
+@Table(name = "exchange_rates")
+@IdClass(ExchangeRate.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRate {
+
+    @Id
+    @Column(name = "currency_code", length = 3)
+    private String currencyCode;
+
+    @Id
+    @Column(name = "effective_date")
+    private LocalDate effectiveDate;
+
+    @Column(name = "rate", precision = 19, scale = 10, nullable = false)
+    private BigDecimal rate;
+
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String currencyCode;
+        private LocalDate effectiveDate;
+    }
+}
@@ -0,0 +1,193 @@
+package com.erp.system.currency;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exchange rates held in memory for report generation. Rates are stored in
+ * the exchange_rates table as units of the base currency per unit of a
+ * currency, reloaded in full at startup and on a slow cadence, and refreshed
+ * incrementally by updated_at in between. Conversions always round to the
+ * target currency's minor unit with the configured rounding mode, so every
+ * report rounds the same way.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExchangeRateService {
+
+    private static final MathContext CROSS_RATE_CONTEXT = MathContext.DECIMAL64;
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT currency_code, effective_date, rate, updated_at FROM exchange_rates";
+
+    private static final String SELECT_CHANGED_SQL =
+            "SELECT currency_code, effective_date, rate, updated_at FROM exchange_rates WHERE updated_at > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${erp.currency.base:USD}")
+    private String baseCurrency;
+
+    @Value("${erp.currency.rounding-mode:HALF_EVEN}")
+    private RoundingMode roundingMode;
+
+    @Value("${erp.currency.refresh-overlap-ms:300000}")
+    private long refreshOverlapMs;
+
+    @Value("${erp.currency.full-refresh-interval-ms:3600000}")
+    private long fullRefreshIntervalMs;
+
+    private volatile Map<String, RateSeries> seriesByCurrency = Map.of();
+    private volatile LocalDateTime lastUpdatedAt;
+    private long lastFullRefreshNanos;
+
+    @PostConstruct
+    public void initialize() {
+        refresh();
+    }
+
+    /**
+     * Re-reads every rate changed since the newest updated_at already loaded,
+     * minus an overlap: a row whose transaction started before that mark but
+     * committed after the last refresh carries an older updated_at and would
+     * otherwise be skipped for good. Re-applying a row is harmless, a rate
+     * simply replaces itself. Deleted rows never show up in an incremental
+     * read, so the whole table is reloaded on the slower full-refresh cadence.
+     */
+    @Scheduled(fixedDelayString = "${erp.currency.refresh-interval-ms:600000}",
+               initialDelayString = "${erp.currency.refresh-interval-ms:600000}")
+    public synchronized void refresh() {
+        boolean full = lastUpdatedAt == null
+                || System.nanoTime() - lastFullRefreshNanos >= fullRefreshIntervalMs * 1_000_000L;
+        Map<String, Map<LocalDate, BigDecimal>> changes = new HashMap<>();
+        LocalDateTime[] newest = {full ? null : lastUpdatedAt};
+
+        Object[] args = full ? new Object[0]
+                : new Object[] {Timestamp.valueOf(lastUpdatedAt.minusNanos(refreshOverlapMs * 1_000_000L))};
+        jdbcTemplate.query(full ? SELECT_ALL_SQL : SELECT_CHANGED_SQL, rs -> {
+            changes.computeIfAbsent(rs.getString("currency_code").toUpperCase(), code -> new HashMap<>())
+                    .put(rs.getDate("effective_date").toLocalDate(), rs.getBigDecimal("rate"));
+            LocalDateTime updatedAt = rs.getTimestamp("updated_at").toLocalDateTime();
+            if (newest[0] == null || updatedAt.isAfter(newest[0])) {
+                newest[0] = updatedAt;
+            }
+        }, args);
+
+        if (full) {
+            Map<String, RateSeries> loaded = new HashMap<>();
+            changes.forEach((currency, rates) -> loaded.put(currency, RateSeries.of(rates)));
+            seriesByCurrency = Map.copyOf(loaded);
+            lastUpdatedAt = newest[0] != null ? newest[0] : LocalDateTime.of(1970, 1, 1, 0, 0);
+            lastFullRefreshNanos = System.nanoTime();
+            log.info("Loaded exchange rates for {} currencies", loaded.size());
+            return;
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        Map<String, RateSeries> updated = new HashMap<>(seriesByCurrency);
+        changes.forEach((currency, rates) -> {
+            RateSeries current = updated.get(currency);
+            updated.put(currency, current == null ? RateSeries.of(rates) : current.merge(rates));
+        });
+        seriesByCurrency = Map.copyOf(updated);
+        lastUpdatedAt = newest[0];
+
+        log.debug("Merged exchange rates of {} currencies changed since {}", changes.size(), args[0]);
+    }
+
+    /**
+     * Units of the base currency per unit of the given currency on a date.
+     */
+    public BigDecimal getRate(String currency, LocalDate date) {
+        if (baseCurrency.equalsIgnoreCase(currency)) {
+            return BigDecimal.ONE;
+        }
+        RateSeries series = seriesByCurrency.get(currency.toUpperCase());
+        BigDecimal rate = series != null ? series.rateOn(date) : null;
+        if (rate == null) {
+            throw new RuntimeException("No exchange rate for " + currency + " on " + date);
+        }
+        return rate;
+    }
+
+    public BigDecimal getCrossRate(String fromCurrency, String toCurrency, LocalDate date) {
+        if (fromCurrency.equalsIgnoreCase(toCurrency)) {
+            return BigDecimal.ONE;
+        }
+        return getRate(fromCurrency, date).divide(getRate(toCurrency, date), CROSS_RATE_CONTEXT);
+    }
+
+    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency, LocalDate date) {
+        return round(amount.multiply(getCrossRate(fromCurrency, toCurrency, date)), toCurrency);
+    }
+
+    /**
+     * Converts a column of amounts for a report in one pass. Cross rates are
+     * resolved once per distinct currency and date instead of once per row.
+     */
+    public BigDecimal[] convertAll(BigDecimal[] amounts, String[] fromCurrencies, LocalDate[] dates,
+                                   String toCurrency) {
+        if (amounts.length != fromCurrencies.length || amounts.length != dates.length) {
+            throw new IllegalArgumentException("Amounts, currencies and dates must have the same length");
+        }
+
+        int scale = scaleOf(toCurrency);
+        Map<String, Map<LocalDate, BigDecimal>> crossRates = new HashMap<>();
+        BigDecimal[] converted = new BigDecimal[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] == null) {
+                continue;
+            }
+            String fromCurrency = fromCurrencies[i];
+            LocalDate date = dates[i];
+            BigDecimal rate = crossRates.computeIfAbsent(fromCurrency, code -> new HashMap<>())
+                    .computeIfAbsent(date, day -> getCrossRate(fromCurrency, toCurrency, day));
+            converted[i] = amounts[i].multiply(rate).setScale(scale, roundingMode);
+        }
+        return converted;
+    }
+
+    /**
+     * Total of a column of amounts in the target currency, each row rounded
+     * before summing so the total matches the sum of the converted rows.
+     */
+    public BigDecimal sumConverted(BigDecimal[] amounts, String[] fromCurrencies, LocalDate[] dates,
+                                   String toCurrency) {
+        BigDecimal total = BigDecimal.ZERO.setScale(scaleOf(toCurrency));
+        for (BigDecimal amount : convertAll(amounts, fromCurrencies, dates, toCurrency)) {
+            if (amount != null) {
+                total = total.add(amount);
+            }
+        }
+        return total;
+    }
+
+    public BigDecimal round(BigDecimal amount, String currency) {
+        return amount.setScale(scaleOf(currency), roundingMode);
+    }
+
+    public int scaleOf(String currency) {
+        return Money.scaleOf(currency);
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+}
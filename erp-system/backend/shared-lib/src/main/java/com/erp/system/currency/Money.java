@@ -0,0 +1,310 @@
+package com.erp.system.currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Fixed-point monetary amount: a long count of minor units (cents for a
+ * currency with two decimals) and the scale of the currency. Arithmetic stays
+ * in long, is overflow-checked and rounds explicitly, so line-item math does
+ * not allocate a BigDecimal per step and never hits a non-terminating
+ * division. Convert with {@link #of} and {@link #toBigDecimal()} at the
+ * JPA and DTO boundaries.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int MAX_SCALE = 6;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L,
+            100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    // A product of factors with this many digits in total always fits a long
+    private static final int MAX_EXACT_PRODUCT_DIGITS = 18;
+
+    private final long minorUnits;
+    private final int scale;
+
+    private Money(long minorUnits, int scale) {
+        this.minorUnits = minorUnits;
+        this.scale = scale;
+    }
+
+    public static Money ofMinor(long minorUnits, int scale) {
+        checkScale(scale);
+        return new Money(minorUnits, scale);
+    }
+
+    public static Money zero(int scale) {
+        return ofMinor(0, scale);
+    }
+
+    public static Money of(BigDecimal amount, int scale, RoundingMode roundingMode) {
+        checkScale(scale);
+        return new Money(toMinor(amount, scale, roundingMode), scale);
+    }
+
+    public static Money of(BigDecimal amount, String currencyCode, RoundingMode roundingMode) {
+        return of(amount, scaleOf(currencyCode), roundingMode);
+    }
+
+    /**
+     * Product of a unit price and a quantity, rounded once to the given scale.
+     * Both factors are multiplied exactly before rounding, so a price with more
+     * decimals than the currency does not lose precision first. Factors whose
+     * combined decimals or digits do not fit a long are multiplied as
+     * BigDecimal instead; only a result outside the long range fails.
+     */
+    public static Money ofProduct(BigDecimal unitPrice, BigDecimal quantity, int scale, RoundingMode roundingMode) {
+        checkScale(scale);
+        BigDecimal price = normalize(unitPrice);
+        BigDecimal qty = normalize(quantity);
+        int productScale = price.scale() + qty.scale();
+        if (productScale < POWERS_OF_TEN.length
+                && price.precision() + qty.precision() <= MAX_EXACT_PRODUCT_DIGITS) {
+            long product = unscaled(price) * unscaled(qty);
+            return new Money(rescale(product, productScale, scale, roundingMode), scale);
+        }
+        return new Money(unscaled(price.multiply(qty).setScale(scale, roundingMode)), scale);
+    }
+
+    public static int scaleOf(String currencyCode) {
+        if (currencyCode == null) {
+            return 2;
+        }
+        try {
+            int digits = Currency.getInstance(currencyCode.toUpperCase()).getDefaultFractionDigits();
+            return digits >= 0 ? digits : 2;
+        } catch (IllegalArgumentException e) {
+            return 2;
+        }
+    }
+
+    /**
+     * Minor units of a BigDecimal amount at the given scale; the only place
+     * amounts enter the fixed-point representation.
+     */
+    public static long toMinor(BigDecimal amount, int scale, RoundingMode roundingMode) {
+        if (amount == null) {
+            return 0;
+        }
+        BigDecimal normalized = normalize(amount);
+        return rescale(unscaled(normalized), normalized.scale(), scale, roundingMode);
+    }
+
+    public Money plus(Money other) {
+        checkSameScale(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), scale);
+    }
+
+    public Money minus(Money other) {
+        checkSameScale(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), scale);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), scale);
+    }
+
+    /**
+     * This amount multiplied by an arbitrary decimal factor (quantity, rate).
+     */
+    public Money times(BigDecimal factor, RoundingMode roundingMode) {
+        BigDecimal normalized = normalize(factor);
+        long product = Math.multiplyExact(minorUnits, unscaled(normalized));
+        return new Money(divideRounded(product, pow10(normalized.scale()), roundingMode), scale);
+    }
+
+    /**
+     * The given percentage of this amount, e.g. 16 for a 16% tax rate.
+     */
+    public Money percentage(BigDecimal percent, RoundingMode roundingMode) {
+        if (percent == null || percent.signum() == 0) {
+            return new Money(0, scale);
+        }
+        BigDecimal normalized = normalize(percent);
+        long product = Math.multiplyExact(minorUnits, unscaled(normalized));
+        long divisor = Math.multiplyExact(100L, pow10(normalized.scale()));
+        return new Money(divideRounded(product, divisor, roundingMode), scale);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    public static Accumulator accumulator(int scale) {
+        return new Accumulator(scale);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkSameScale(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money other)) {
+            return false;
+        }
+        return minorUnits == other.minorUnits && scale == other.scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + scale;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /**
+     * Mutable running total in minor units for summing many lines without
+     * creating an intermediate object per addition.
+     */
+    public static final class Accumulator {
+
+        private final int scale;
+        private long total;
+
+        private Accumulator(int scale) {
+            checkScale(scale);
+            this.scale = scale;
+        }
+
+        public Accumulator add(Money amount) {
+            if (amount != null) {
+                if (amount.scale != scale) {
+                    throw new ArithmeticException("Scale mismatch: " + amount.scale + " != " + scale);
+                }
+                total = Math.addExact(total, amount.minorUnits);
+            }
+            return this;
+        }
+
+        public Accumulator add(BigDecimal amount, RoundingMode roundingMode) {
+            total = Math.addExact(total, toMinor(amount, scale, roundingMode));
+            return this;
+        }
+
+        public Accumulator addMinor(long minorUnits) {
+            total = Math.addExact(total, minorUnits);
+            return this;
+        }
+
+        public Accumulator subtract(Money amount) {
+            if (amount != null) {
+                if (amount.scale != scale) {
+                    throw new ArithmeticException("Scale mismatch: " + amount.scale + " != " + scale);
+                }
+                total = Math.subtractExact(total, amount.minorUnits);
+            }
+            return this;
+        }
+
+        public long getMinorUnits() {
+            return total;
+        }
+
+        public Money toMoney() {
+            return new Money(total, scale);
+        }
+
+        public BigDecimal toBigDecimal() {
+            return BigDecimal.valueOf(total, scale);
+        }
+
+        public void reset() {
+            total = 0;
+        }
+    }
+
+    private static BigDecimal normalize(BigDecimal value) {
+        return value.scale() < 0 ? value.setScale(0) : value;
+    }
+
+    private static long unscaled(BigDecimal value) {
+        return value.unscaledValue().longValueExact();
+    }
+
+    private static long rescale(long unscaled, int fromScale, int toScale, RoundingMode roundingMode) {
+        if (fromScale == toScale) {
+            return unscaled;
+        }
+        if (fromScale < toScale) {
+            return Math.multiplyExact(unscaled, pow10(toScale - fromScale));
+        }
+        return divideRounded(unscaled, pow10(fromScale - toScale), roundingMode);
+    }
+
+    private static long pow10(int exponent) {
+        if (exponent < 0 || exponent >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Scale out of range: " + exponent);
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+
+    /**
+     * Long division with BigDecimal rounding semantics; divisor must be positive.
+     */
+    static long divideRounded(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int sign = dividend < 0 ? -1 : 1;
+        long absRemainder = Math.abs(remainder);
+        int half = Long.compare(absRemainder, divisor - absRemainder);
+
+        boolean increment = switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return increment ? quotient + sign : quotient;
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Unsupported money scale: " + scale);
+        }
+    }
+
+    private void checkSameScale(Money other) {
+        if (other.scale != scale) {
+            throw new ArithmeticException("Scale mismatch: " + other.scale + " != " + scale);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.erp.system.currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, date-sorted rate history of one currency. Effective dates are
+ * kept as epoch days in a primitive array so the rate in force on a date is
+ * found with a binary search.
+ */
+final class RateSeries {
+
+    private final long[] effectiveDays;
+    private final BigDecimal[] rates;
+
+    private RateSeries(long[] effectiveDays, BigDecimal[] rates) {
+        this.effectiveDays = effectiveDays;
+        this.rates = rates;
+    }
+
+    static RateSeries of(Map<LocalDate, BigDecimal> ratesByDate) {
+        TreeMap<LocalDate, BigDecimal> sorted = new TreeMap<>(ratesByDate);
+        long[] days = new long[sorted.size()];
+        BigDecimal[] values = new BigDecimal[sorted.size()];
+        int i = 0;
+        for (Map.Entry<LocalDate, BigDecimal> entry : sorted.entrySet()) {
+            days[i] = entry.getKey().toEpochDay();
+            values[i] = entry.getValue();
+            i++;
+        }
+        return new RateSeries(days, values);
+    }
+
+    /**
+     * Returns a new series with the given rates added or replaced.
+     */
+    RateSeries merge(Map<LocalDate, BigDecimal> changes) {
+        Map<LocalDate, BigDecimal> merged = new TreeMap<>();
+        for (int i = 0; i < effectiveDays.length; i++) {
+            merged.put(LocalDate.ofEpochDay(effectiveDays[i]), rates[i]);
+        }
+        merged.putAll(changes);
+        return of(merged);
+    }
+
+    /**
+     * Rate effective on the given date, i.e. the latest rate whose effective
+     * date is not after it, or null if the series starts later.
+     */
+    BigDecimal rateOn(LocalDate date) {
+        int index = Arrays.binarySearch(effectiveDays, date.toEpochDay());
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index >= 0 ? rates[index] : null;
+    }
+
+    int size() {
+        return effectiveDays.length;
+    }
+}
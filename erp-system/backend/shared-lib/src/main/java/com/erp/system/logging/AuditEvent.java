@@ -0,0 +1,28 @@
+package com.erp.system.logging;
+
+/**
+ * One preallocated slot of the audit ring buffer. Producers fill the fields
+ * of a claimed slot and publish it; the writer thread serializes the event
+ * and clears it for reuse, so logging an event allocates nothing beyond the
+ * metadata copy.
+ */
+final class AuditEvent {
+
+    boolean security;
+    long timestamp;
+    String userId;
+    String action;
+    String resourceId;
+    String details;
+    // Keys and values alternating, stringified on the caller's thread so the
+    // writer never touches the caller's map.
+    String[] metadata;
+
+    void clear() {
+        userId = null;
+        action = null;
+        resourceId = null;
+        details = null;
+        metadata = null;
+    }
+}
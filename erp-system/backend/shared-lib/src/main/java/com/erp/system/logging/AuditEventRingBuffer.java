@@ -0,0 +1,81 @@
+package com.erp.system.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring of preallocated {@link AuditEvent} slots for many
+ * producers and one consumer. A producer claims a position, fills the slot
+ * at that position and publishes it; the per-slot sequence number tells the
+ * consumer when the slot is ready and the producers when it is free again.
+ * Positions only ever grow, so they double as event ids.
+ */
+final class AuditEventRingBuffer {
+
+    private final int mask;
+    private final AuditEvent[] events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerPosition = new AtomicLong();
+    private long consumerPosition;
+
+    AuditEventRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.events = new AuditEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new AuditEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Claims the next slot and returns its position, or -1 when the buffer is
+     * full. The slot must be published once it is filled.
+     */
+    long tryClaim() {
+        while (true) {
+            long position = producerPosition.get();
+            long difference = sequences.get((int) position & mask) - position;
+            if (difference == 0) {
+                if (producerPosition.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (difference < 0) {
+                return -1;
+            }
+        }
+    }
+
+    AuditEvent event(long position) {
+        return events[(int) position & mask];
+    }
+
+    void publish(long position) {
+        sequences.set((int) position & mask, position + 1);
+    }
+
+    /**
+     * Returns the next published event, or null when none is ready. This and
+     * the methods below must only be called from the consumer thread.
+     */
+    AuditEvent peek() {
+        int index = (int) consumerPosition & mask;
+        return sequences.get(index) == consumerPosition + 1 ? events[index] : null;
+    }
+
+    long consumerPosition() {
+        return consumerPosition;
+    }
+
+    /**
+     * Clears the event returned by {@link #peek} and hands its slot back to
+     * the producers.
+     */
+    void release() {
+        int index = (int) consumerPosition & mask;
+        events[index].clear();
+        sequences.set(index, consumerPosition + mask + 1);
+        consumerPosition++;
+    }
+}
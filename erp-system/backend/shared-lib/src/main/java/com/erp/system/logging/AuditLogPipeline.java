@@ -0,0 +1,377 @@
+package com.erp.system.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves audit and security events off request threads. Callers fill a
+ * preallocated slot in a ring buffer; a single writer thread turns the slots
+ * into JSON lines in logs/audit.ndjson and logs/security.ndjson.
+ *
+ * Audit events are best effort: when the buffer is full they are dropped and
+ * counted. Security events are guaranteed: the caller waits for a free slot
+ * and then until the security file has been synced. The writer syncs once
+ * per batch, so concurrent callers share one fsync. A caller whose event
+ * could not be written or synced, or that still waits after the sync timeout,
+ * falls back to the application log.
+ *
+ * If the log files cannot be opened, both kinds of event go to the
+ * application log instead, so a bad log directory never breaks the callers.
+ *
+ * Settings are read from system properties: erp.audit-log.directory,
+ * erp.audit-log.buffer-size, erp.audit-log.max-file-size-mb,
+ * erp.audit-log.security-sync-timeout-ms, erp.audit-log.audit-max-history-days
+ * (365) and erp.audit-log.security-max-history-days (90).
+ */
+final class AuditLogPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogPipeline.class);
+
+    private static final int MAX_BATCH = 1024;
+
+    private final AuditEventRingBuffer buffer;
+    private final RotatingNdjsonFile auditFile;
+    private final RotatingNdjsonFile securityFile;
+    private final long securitySyncTimeoutNanos;
+    private final String idPrefix;
+    private final StringBuilder line = new StringBuilder(512);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object syncMonitor = new Object();
+    private final long[] batchSecurityPositions = new long[MAX_BATCH];
+    // Security events at or below syncedPosition are on disk unless listed
+    // here; callers remove their own entry once they have seen it.
+    private final Set<Long> failedSecurityPositions = ConcurrentHashMap.newKeySet();
+    private final int bufferCapacity;
+    private final Thread writer;
+    private volatile long syncedPosition = -1;
+    private volatile boolean running = true;
+
+    private static final class Holder {
+        static final AuditLogPipeline INSTANCE = create();
+    }
+
+    static AuditLogPipeline instance() {
+        return Holder.INSTANCE;
+    }
+
+    private static AuditLogPipeline create() {
+        return open(
+                Path.of(System.getProperty("erp.audit-log.directory", "logs")),
+                Integer.getInteger("erp.audit-log.buffer-size", 16384),
+                Long.getLong("erp.audit-log.max-file-size-mb", 100) * 1024 * 1024,
+                TimeUnit.MILLISECONDS.toNanos(Long.getLong("erp.audit-log.security-sync-timeout-ms", 2000)),
+                Integer.getInteger("erp.audit-log.audit-max-history-days", 365),
+                Integer.getInteger("erp.audit-log.security-max-history-days", 90));
+    }
+
+    /**
+     * Starts a pipeline writing to the directory, or returns one that writes
+     * to the application log when the files cannot be opened.
+     */
+    static AuditLogPipeline open(Path directory, int bufferSize, long maxFileSize, long securitySyncTimeoutNanos,
+                                 int auditMaxHistoryDays, int securityMaxHistoryDays) {
+        try {
+            AuditLogPipeline pipeline = new AuditLogPipeline(directory, bufferSize, maxFileSize,
+                    securitySyncTimeoutNanos, auditMaxHistoryDays, securityMaxHistoryDays);
+            Runtime.getRuntime().addShutdownHook(new Thread(pipeline::stop, "audit-log-shutdown"));
+            return pipeline;
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not open audit log files in {}, writing audit and security events to the "
+                    + "application log", directory, e);
+            return new AuditLogPipeline();
+        }
+    }
+
+    AuditLogPipeline(Path directory, int bufferSize, long maxFileSize, long securitySyncTimeoutNanos,
+                     int auditMaxHistoryDays, int securityMaxHistoryDays) throws IOException {
+        this.buffer = new AuditEventRingBuffer(bufferSize);
+        this.bufferCapacity = bufferSize;
+        this.auditFile = new RotatingNdjsonFile(directory, "audit", maxFileSize, auditMaxHistoryDays);
+        this.securityFile = new RotatingNdjsonFile(directory, "security", maxFileSize, securityMaxHistoryDays);
+        this.securitySyncTimeoutNanos = securitySyncTimeoutNanos;
+        // Ids are the buffer position behind a per-process prefix: ordered
+        // within a process, unique across restarts and replicas.
+        this.idPrefix = Long.toHexString(System.currentTimeMillis()) + "-"
+                + Integer.toHexString(ThreadLocalRandom.current().nextInt(0x10000) | 0x10000).substring(1) + "-";
+        this.writer = new Thread(this::drain, "audit-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * The application log fallback: no buffer, files or writer thread.
+     */
+    private AuditLogPipeline() {
+        this.buffer = null;
+        this.bufferCapacity = 0;
+        this.auditFile = null;
+        this.securityFile = null;
+        this.securitySyncTimeoutNanos = 0;
+        this.idPrefix = "";
+        this.writer = null;
+        this.running = false;
+    }
+
+    void audit(String action, String userId, String resourceId, Map<String, Object> metadata) {
+        if (buffer == null) {
+            log.info("Audit event: {} - User: {} - Resource: {} - Metadata: {}", action, userId, resourceId,
+                    Arrays.toString(copyMetadata(metadata)));
+            return;
+        }
+        String[] metadataCopy = copyMetadata(metadata);
+        long position = buffer.tryClaim();
+        if (position < 0) {
+            dropped.incrementAndGet();
+            return;
+        }
+        AuditEvent event = buffer.event(position);
+        event.security = false;
+        event.timestamp = System.currentTimeMillis();
+        event.action = action;
+        event.userId = userId;
+        event.resourceId = resourceId;
+        event.metadata = metadataCopy;
+        buffer.publish(position);
+    }
+
+    /**
+     * Stringifies the caller's metadata on the caller's thread. A map that
+     * cannot be read (modified concurrently, say) is recorded as an error
+     * entry instead of failing the caller.
+     */
+    private static String[] copyMetadata(Map<String, Object> metadata) {
+        if (metadata == null || metadata.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] copy = new String[metadata.size() * 2];
+            int i = 0;
+            for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+                if (i == copy.length) {
+                    break;
+                }
+                copy[i++] = String.valueOf(entry.getKey());
+                copy[i++] = String.valueOf(entry.getValue());
+            }
+            return i == copy.length ? copy : Arrays.copyOf(copy, i);
+        } catch (RuntimeException e) {
+            return new String[] {"metadata_error", e.toString()};
+        }
+    }
+
+    void security(String event, String userId, String details) {
+        if (buffer == null) {
+            log.warn("Security event: {} - User: {} - Details: {}", event, userId, details);
+            return;
+        }
+        long deadline = System.nanoTime() + securitySyncTimeoutNanos;
+        long position;
+        while ((position = buffer.tryClaim()) < 0) {
+            if (System.nanoTime() - deadline > 0) {
+                log.error("Audit buffer full, security event not queued: {} - User: {} - Details: {}",
+                        event, userId, details);
+                return;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        AuditEvent slot = buffer.event(position);
+        slot.security = true;
+        slot.timestamp = System.currentTimeMillis();
+        slot.action = event;
+        slot.userId = userId;
+        slot.details = details;
+        buffer.publish(position);
+
+        if (!awaitSynced(position, deadline)) {
+            log.error("Security event {} not confirmed on disk: {} - User: {} - Details: {}",
+                    idPrefix + position, event, userId, details);
+        }
+    }
+
+    long droppedEvents() {
+        return dropped.get();
+    }
+
+    private boolean awaitSynced(long position, long deadline) {
+        if (syncedPosition < position) {
+            synchronized (syncMonitor) {
+                while (syncedPosition < position) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(syncMonitor, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }
+        }
+        return !failedSecurityPositions.remove(position);
+    }
+
+    private void drain() {
+        long reportedDrops = 0;
+        while (running) {
+            try {
+                if (!writeBatch()) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+            } catch (RuntimeException e) {
+                // The writer is the only consumer; it must outlive any one bad batch
+                log.error("Audit log writer failed, continuing", e);
+            }
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                log.warn("Audit log buffer full, {} audit events dropped so far", drops);
+                reportedDrops = drops;
+            }
+        }
+        while (writeBatch()) {
+            // Flush what was queued before shutdown
+        }
+    }
+
+    /**
+     * Writes up to one batch and returns whether there was anything to write.
+     * An event that cannot be serialized or written is logged and skipped; a
+     * security event that was not written, or whose file could not be synced,
+     * is reported as failed to its caller rather than confirmed.
+     */
+    private boolean writeBatch() {
+        int count = 0;
+        int securityCount = 0;
+        long last = -1;
+        AuditEvent event;
+        while (count < MAX_BATCH && (event = buffer.peek()) != null) {
+            last = buffer.consumerPosition();
+            try {
+                line.setLength(0);
+                appendJson(event, last);
+                (event.security ? securityFile : auditFile).append(line, event.timestamp);
+                if (event.security) {
+                    batchSecurityPositions[securityCount++] = last;
+                }
+            } catch (Exception e) {
+                log.error("Could not write audit log entry {}", idPrefix + last, e);
+                if (event.security) {
+                    failedSecurityPositions.add(last);
+                }
+            } finally {
+                buffer.release();
+            }
+            count++;
+        }
+        if (count == 0) {
+            return false;
+        }
+        try {
+            auditFile.flush();
+        } catch (IOException e) {
+            log.error("Could not flush audit log", e);
+        }
+        if (securityCount > 0) {
+            try {
+                securityFile.sync();
+            } catch (IOException e) {
+                log.error("Could not sync security log, {} events not confirmed", securityCount, e);
+                for (int i = 0; i < securityCount; i++) {
+                    failedSecurityPositions.add(batchSecurityPositions[i]);
+                }
+            }
+        }
+        if (securityCount > 0 || !failedSecurityPositions.isEmpty()) {
+            // Entries of callers that gave up long ago are never collected
+            long stale = last - 2L * bufferCapacity;
+            failedSecurityPositions.removeIf(position -> position < stale);
+            synchronized (syncMonitor) {
+                syncedPosition = last;
+                syncMonitor.notifyAll();
+            }
+        }
+        return true;
+    }
+
+    private void appendJson(AuditEvent event, long position) {
+        line.append("{\"event_id\":\"").append(idPrefix).append(position)
+                .append("\",\"event_type\":\"").append(event.security ? "security" : "audit")
+                .append("\",\"timestamp\":").append(event.timestamp);
+        field(event.security ? "event" : "action", event.action);
+        field("user_id", event.userId);
+        field("resource_id", event.resourceId);
+        field("details", event.details);
+        if (event.metadata != null) {
+            line.append(",\"metadata\":{");
+            for (int i = 0; i < event.metadata.length; i += 2) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                string(event.metadata[i]);
+                line.append(':');
+                string(event.metadata[i + 1]);
+            }
+            line.append('}');
+        }
+        line.append('}');
+    }
+
+    private void field(String name, String value) {
+        if (value != null) {
+            line.append(",\"").append(name).append("\":");
+            string(value);
+        }
+    }
+
+    private void string(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+            if (!writer.isAlive()) {
+                auditFile.close();
+                securityFile.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Could not close audit log files", e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.erp.system.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only newline-delimited JSON file written through a direct buffer.
+ * When the file reaches its size limit or the UTC day changes, it is synced,
+ * renamed to name.yyyy-MM-dd.N.ndjson and a new file is started; rotated
+ * files older than maxHistoryDays are deleted. If the rename fails, writing
+ * continues in the current file and rotation is retried a minute later; if
+ * the file cannot be reopened, the next append tries again. Not thread safe;
+ * only the audit writer thread uses it.
+ */
+final class RotatingNdjsonFile implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RotatingNdjsonFile.class);
+
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long ROTATION_RETRY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Path directory;
+    private final String name;
+    private final long maxFileSize;
+    private final int maxHistoryDays;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private FileChannel channel;
+    private long size;
+    private long epochDay;
+    private long rotationRetryAt;
+
+    RotatingNdjsonFile(Path directory, String name, long maxFileSize, int maxHistoryDays) throws IOException {
+        this.directory = directory;
+        this.name = name;
+        this.maxFileSize = maxFileSize;
+        this.maxHistoryDays = maxHistoryDays;
+        Files.createDirectories(directory);
+        Path file = activeFile();
+        if (Files.exists(file)) {
+            epochDay = Files.getLastModifiedTime(file).toMillis() / MILLIS_PER_DAY;
+        } else {
+            epochDay = System.currentTimeMillis() / MILLIS_PER_DAY;
+        }
+        open();
+        deleteExpired(System.currentTimeMillis() / MILLIS_PER_DAY);
+    }
+
+    /**
+     * Appends one line; the caller supplies the JSON without the newline.
+     */
+    void append(CharSequence json, long timestamp) throws IOException {
+        ensureOpen();
+        long day = timestamp / MILLIS_PER_DAY;
+        if ((day > epochDay || size + buffer.position() >= maxFileSize) && timestamp >= rotationRetryAt) {
+            rotate(Math.max(day, epochDay), timestamp);
+        }
+        CharBuffer chars = CharBuffer.wrap(json);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                break;
+            }
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) '\n');
+    }
+
+    /**
+     * Hands buffered lines to the operating system.
+     */
+    void flush() throws IOException {
+        ensureOpen();
+        drain();
+    }
+
+    /**
+     * Flushes and waits until the lines are on disk.
+     */
+    void sync() throws IOException {
+        ensureOpen();
+        drain();
+        channel.force(false);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void rotate(long day, long timestamp) throws IOException {
+        sync();
+        channel.close();
+        channel = null;
+        String date = LocalDate.ofEpochDay(epochDay).toString();
+        Path target;
+        int index = 0;
+        do {
+            target = directory.resolve(name + "." + date + "." + index++ + ".ndjson");
+        } while (Files.exists(target));
+        try {
+            Files.move(activeFile(), target, StandardCopyOption.ATOMIC_MOVE);
+            epochDay = day;
+        } catch (IOException e) {
+            log.error("Could not rotate {} to {}, continuing in the current file", activeFile(), target, e);
+            rotationRetryAt = timestamp + ROTATION_RETRY_MILLIS;
+            open();
+            return;
+        }
+        open();
+        deleteExpired(day);
+    }
+
+    /**
+     * Reopens the file after an earlier rotation could not; the buffer is
+     * empty, as it was drained before the file was closed.
+     */
+    private void ensureOpen() throws IOException {
+        if (channel == null) {
+            Files.createDirectories(directory);
+            open();
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(activeFile(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+    }
+
+    /**
+     * Deletes rotated files whose date is more than maxHistoryDays before
+     * the given day. Failures are logged; they never stop the writer.
+     */
+    private void deleteExpired(long day) {
+        LocalDate oldestKept = LocalDate.ofEpochDay(day - maxHistoryDays);
+        String prefix = name + ".";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*.*.ndjson")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                int dateEnd = fileName.indexOf('.', prefix.length());
+                if (dateEnd < 0) {
+                    continue;
+                }
+                try {
+                    if (LocalDate.parse(fileName.substring(prefix.length(), dateEnd)).isBefore(oldestKept)) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (DateTimeParseException e) {
+                    // Not one of our rotated files
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete expired {} log files in {}", name, directory, e);
+        }
+    }
+
+    private Path activeFile() {
+        return directory.resolve(name + ".ndjson");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        sync();
+        channel.close();
+        channel = null;
+    }
+}
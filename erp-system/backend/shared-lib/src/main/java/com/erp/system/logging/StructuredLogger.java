@@ -5,44 +5,29 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import java.util.Map;
-import java.util.UUID;
 
 public class StructuredLogger {
     
-    private static final Logger SECURITY_LOGGER = LoggerFactory.getLogger("SECURITY");
-    private static final Logger AUDIT_LOGGER = LoggerFactory.getLogger("AUDIT");
     private static final Logger APPLICATION_LOGGER = LoggerFactory.getLogger(StructuredLogger.class);
 
+    /**
+     * Returns once the event is on disk; see {@link AuditLogPipeline}.
+     */
     public static void logSecurityEvent(String event, String userId, String details) {
-        try {
-            MDC.put("event_type", "security");
-            MDC.put("user_id", userId);
-            MDC.put("event_id", UUID.randomUUID().toString());
-            MDC.put("timestamp", String.valueOf(System.currentTimeMillis()));
-            
-            SECURITY_LOGGER.info("Security Event: {} - User: {} - Details: {}", event, userId, details);
-        } finally {
-            MDC.clear();
-        }
+        AuditLogPipeline.instance().security(event, userId, details);
     }
 
+    /**
+     * Queues the event for the audit log writer and returns immediately. The
+     * metadata is copied to strings on the caller's thread, so the map may be
+     * changed or reused once this returns.
+     */
     public static void logAuditEvent(String action, String userId, String resourceId, Map<String, Object> metadata) {
-        try {
-            MDC.put("event_type", "audit");
-            MDC.put("user_id", userId);
-            MDC.put("resource_id", resourceId);
-            MDC.put("action", action);
-            MDC.put("event_id", UUID.randomUUID().toString());
-            MDC.put("timestamp", String.valueOf(System.currentTimeMillis()));
-            
-            if (metadata != null) {
-                metadata.forEach((key, value) -> MDC.put(key, String.valueOf(value)));
-            }
-            
-            AUDIT_LOGGER.info("Audit Event: {} - User: {} - Resource: {}", action, userId, resourceId);
-        } finally {
-            MDC.clear();
-        }
+        AuditLogPipeline.instance().audit(action, userId, resourceId, metadata);
+    }
+
+    public static long droppedAuditEvents() {
+        return AuditLogPipeline.instance().droppedEvents();
     }
 
     public static void logBusinessEvent(String service, String operation, String correlationId, Map<String, Object> context) {
@@ -0,0 +1,82 @@
+package com.erp.system.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Shared instrumentation for the services, imported with
+ * {@code @Import(MetricsConfiguration.class)}. Meters are exported through
+ * the Prometheus registry that Spring Boot configures from
+ * micrometer-registry-prometheus; Boot also binds the Hikari pool, the Kafka
+ * producers it creates and the Lettuce Redis client on its own once a
+ * registry is present. This configuration adds:
+ * <ul>
+ *   <li>the {@code application} tag on every meter,</li>
+ *   <li>support for {@code @Timed} on service methods; hot paths set
+ *       {@code histogram = true} so percentiles can be aggregated across
+ *       replicas in Prometheus,</li>
+ *   <li>the same histograms for the pool and client timers Boot registers,</li>
+ *   <li>a jpa.queries counter by statement type.</li>
+ * </ul>
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Boot-registered timers that get percentile histograms: connection
+     * acquisition from the Hikari pool and Redis command latency.
+     */
+    private static final List<String> HISTOGRAM_TIMERS = List.of(
+            "hikaricp.connections.acquire", "lettuce.command.completion");
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> applicationTag(
+            @Value("${spring.application.name:unknown}") String applicationName) {
+        return registry -> registry.config().commonTags("application", applicationName);
+    }
+
+    @Bean
+    public MeterFilter histogramTimers() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER
+                        || HISTOGRAM_TIMERS.stream().noneMatch(prefix -> id.getName().startsWith(prefix))) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Configuration
+    @ConditionalOnClass(HibernatePropertiesCustomizer.class)
+    static class JpaMetricsConfiguration {
+
+        @Bean
+        public HibernatePropertiesCustomizer queryCountInspector(MeterRegistry meterRegistry) {
+            QueryCountInspector inspector = new QueryCountInspector(meterRegistry);
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
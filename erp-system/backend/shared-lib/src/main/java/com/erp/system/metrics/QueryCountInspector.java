@@ -0,0 +1,77 @@
+package com.erp.system.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares, by statement type, as
+ * jpa.queries. Hibernate calls the inspector for every statement, so it only
+ * looks at the leading keyword and never rewrites the SQL.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private final Counter selects;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter deletes;
+    private final Counter others;
+
+    public QueryCountInspector(MeterRegistry meterRegistry) {
+        this.selects = counter(meterRegistry, "select");
+        this.inserts = counter(meterRegistry, "insert");
+        this.updates = counter(meterRegistry, "update");
+        this.deletes = counter(meterRegistry, "delete");
+        this.others = counter(meterRegistry, "other");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int start = skipPrefix(sql);
+        if (startsWith(sql, start, "select") || startsWith(sql, start, "with")) {
+            selects.increment();
+        } else if (startsWith(sql, start, "insert")) {
+            inserts.increment();
+        } else if (startsWith(sql, start, "update")) {
+            updates.increment();
+        } else if (startsWith(sql, start, "delete")) {
+            deletes.increment();
+        } else {
+            others.increment();
+        }
+        return sql;
+    }
+
+    /**
+     * Skips leading whitespace and the comment Hibernate adds when
+     * hibernate.use_sql_comments is on.
+     */
+    private static int skipPrefix(String sql) {
+        int i = 0;
+        while (i < sql.length()) {
+            if (Character.isWhitespace(sql.charAt(i))) {
+                i++;
+            } else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                if (end < 0) {
+                    return sql.length();
+                }
+                i = end + 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean startsWith(String sql, int offset, String keyword) {
+        return sql.regionMatches(true, offset, keyword, 0, keyword.length());
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("jpa.queries")
+                .tag("type", type)
+                .description("SQL statements prepared by Hibernate")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.erp.system.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Transport that keeps notifications in memory instead of publishing them,
+ * for tests and for running a service without Kafka
+ * (erp.notifications.transport=in-memory).
+ */
+public class InMemoryNotificationBroker implements NotificationTransport {
+
+    public record Delivery(NotificationLane lane, String key, NotificationMessage message) {
+    }
+
+    private final ConcurrentLinkedQueue<Delivery> deliveries = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void send(NotificationLane lane, String key, NotificationMessage message) {
+        deliveries.add(new Delivery(lane, key, message));
+    }
+
+    public List<Delivery> deliveries() {
+        return List.copyOf(deliveries);
+    }
+
+    /**
+     * Removes and returns everything delivered so far.
+     */
+    public List<Delivery> drain() {
+        List<Delivery> drained = new ArrayList<>();
+        Delivery delivery;
+        while ((delivery = deliveries.poll()) != null) {
+            drained.add(delivery);
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,91 @@
+package com.erp.system.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes notifications as JSON with one producer per lane. Both compress
+ * their batches; the urgent producer sends immediately, while the standard
+ * producer lingers to fill larger batches. max.block.ms is kept short, as
+ * send runs on the caller's thread and would otherwise block it for up to a
+ * minute while the broker is unreachable.
+ */
+@Slf4j
+public class KafkaNotificationTransport implements NotificationTransport, DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final Map<NotificationLane, DefaultKafkaProducerFactory<String, String>> producerFactories;
+    private final Map<NotificationLane, KafkaTemplate<String, String>> templates;
+
+    /**
+     * @param baseProperties producer properties of the service, usually
+     *                       Boot's spring.kafka.producer settings
+     */
+    public KafkaNotificationTransport(Map<String, Object> baseProperties,
+                                      NotificationProperties properties,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.producerFactories = Map.of(
+                NotificationLane.URGENT, producerFactory(baseProperties, properties, 0,
+                        properties.urgentBatchSize(), NotificationLane.URGENT, meterRegistry),
+                NotificationLane.STANDARD, producerFactory(baseProperties, properties, properties.standardLingerMs(),
+                        properties.standardBatchSize(), NotificationLane.STANDARD, meterRegistry));
+        this.templates = Map.of(
+                NotificationLane.URGENT, new KafkaTemplate<>(producerFactories.get(NotificationLane.URGENT)),
+                NotificationLane.STANDARD, new KafkaTemplate<>(producerFactories.get(NotificationLane.STANDARD)));
+    }
+
+    private static DefaultKafkaProducerFactory<String, String> producerFactory(
+            Map<String, Object> baseProperties, NotificationProperties properties, long lingerMs, int batchSize,
+            NotificationLane lane, MeterRegistry meterRegistry) {
+        Map<String, Object> config = new HashMap<>(baseProperties);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, properties.compression());
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, properties.maxBlockMs());
+        config.put(ProducerConfig.CLIENT_ID_CONFIG, "notifications-" + lane.name().toLowerCase());
+        DefaultKafkaProducerFactory<String, String> factory = new DefaultKafkaProducerFactory<>(config);
+        if (meterRegistry != null) {
+            factory.addListener(new MicrometerProducerListener<>(meterRegistry,
+                    List.of(Tag.of("lane", lane.name().toLowerCase()))));
+        }
+        return factory;
+    }
+
+    @Override
+    public void send(NotificationLane lane, String key, NotificationMessage message) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize notification {}", message.getId(), e);
+            return;
+        }
+        templates.get(lane).send(TOPIC, key, payload).whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.error("Failed to publish notification {} on the {} lane", message.getId(), lane, ex);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        producerFactories.values().forEach(DefaultKafkaProducerFactory::destroy);
+    }
+}
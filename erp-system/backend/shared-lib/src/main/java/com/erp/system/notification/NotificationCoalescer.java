@@ -0,0 +1,91 @@
+package com.erp.system.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks notifications per coalescing key within a time window. The first
+ * notification of a window is sent; later ones are absorbed. When the window
+ * closes, a window that absorbed repeats yields the latest of them so the
+ * caller can send one follow-up carrying the current state, unless the
+ * repeats were exact duplicates. A notification of higher priority than the
+ * one that opened the window is an escalation: it is sent at once and opens
+ * a new window. A notification that replaces a window before its follow-up
+ * was sent, by escalating or by arriving after it expired, already carries
+ * the newer state, so it takes over that window's repeat count instead.
+ */
+final class NotificationCoalescer {
+
+    record Coalesced(NotificationMessage latest, int repeats) {
+    }
+
+    private static final class Window {
+
+        final long openedAt;
+        final boolean summarize;
+        final int priorityLevel;
+        int repeats;
+        NotificationMessage latest;
+
+        Window(long openedAt, boolean summarize, int priorityLevel) {
+            this.openedAt = openedAt;
+            this.summarize = summarize;
+            this.priorityLevel = priorityLevel;
+        }
+    }
+
+    private final long windowMillis;
+    private final int maxKeys;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    NotificationCoalescer(long windowMillis, int maxKeys) {
+        this.windowMillis = windowMillis;
+        this.maxKeys = maxKeys;
+    }
+
+    static final int ABSORBED = -1;
+
+    /**
+     * Returns {@link #ABSORBED} when the notification falls into an open
+     * window. Otherwise it opens a new window and should be sent now; the
+     * value is the number of repeats of the window it replaced that were
+     * not reported yet, to be sent along with it. With summarize set,
+     * repeats absorbed by the new window are reported by
+     * {@link #closeExpired}.
+     */
+    int admit(String key, NotificationMessage message, boolean summarize, long now) {
+        if (windows.size() >= maxKeys && !windows.containsKey(key)) {
+            return 0;
+        }
+        int priorityLevel = priorityLevel(message);
+        int[] result = {ABSORBED};
+        windows.compute(key, (k, window) -> {
+            if (window == null || now - window.openedAt >= windowMillis || priorityLevel > window.priorityLevel) {
+                result[0] = window != null && window.summarize ? window.repeats : 0;
+                return new Window(now, summarize, priorityLevel);
+            }
+            window.repeats++;
+            window.latest = message;
+            return window;
+        });
+        return result[0];
+    }
+
+    List<Coalesced> closeExpired(long now) {
+        List<Coalesced> closed = new ArrayList<>();
+        for (Map.Entry<String, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            if (now - window.openedAt >= windowMillis && windows.remove(entry.getKey(), window)
+                    && window.summarize && window.repeats > 0) {
+                closed.add(new Coalesced(window.latest, window.repeats));
+            }
+        }
+        return closed;
+    }
+
+    private static int priorityLevel(NotificationMessage message) {
+        return message.getPriority() != null ? message.getPriority().getLevel() : 0;
+    }
+}
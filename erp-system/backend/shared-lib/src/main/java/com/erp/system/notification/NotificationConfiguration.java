@@ -0,0 +1,48 @@
+package com.erp.system.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Notification delivery for services, imported with
+ * {@code @Import(NotificationConfiguration.class)}. The lane producers start
+ * from the service's spring.kafka.producer settings.
+ */
+@Configuration
+@EnableConfigurationProperties(NotificationProperties.class)
+@Import(NotificationService.class)
+public class NotificationConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "erp.notifications", name = "transport", havingValue = "in-memory")
+    public InMemoryNotificationBroker inMemoryNotificationBroker() {
+        return new InMemoryNotificationBroker();
+    }
+
+    @Configuration
+    @ConditionalOnClass(KafkaTemplate.class)
+    @ConditionalOnProperty(prefix = "erp.notifications", name = "transport", havingValue = "kafka", matchIfMissing = true)
+    static class KafkaTransportConfiguration {
+
+        @Bean
+        public KafkaNotificationTransport kafkaNotificationTransport(KafkaProperties kafkaProperties,
+                                                                     ObjectProvider<SslBundles> sslBundles,
+                                                                     NotificationProperties properties,
+                                                                     ObjectMapper objectMapper,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+            return new KafkaNotificationTransport(
+                    kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable()),
+                    properties, objectMapper, meterRegistry.getIfAvailable());
+        }
+    }
+}
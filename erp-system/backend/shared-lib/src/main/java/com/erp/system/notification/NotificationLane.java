@@ -0,0 +1,17 @@
+package com.erp.system.notification;
+
+/**
+ * Notifications are published on two lanes with separate producers, so an
+ * urgent alert is sent at once and never waits behind a backlog of routine
+ * notifications in a shared send buffer.
+ */
+public enum NotificationLane {
+    URGENT,
+    STANDARD;
+
+    static NotificationLane of(NotificationPriority priority) {
+        return priority != null && priority.getLevel() >= NotificationPriority.URGENT.getLevel()
+                ? URGENT
+                : STANDARD;
+    }
+}
@@ -0,0 +1,31 @@
+package com.erp.system.notification;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Notification delivery settings under erp.notifications.
+ *
+ * @param transport         kafka, or in-memory to keep notifications local
+ * @param compression       Kafka compression type for both lanes
+ * @param standardLingerMs  how long the standard lane waits to fill a batch
+ * @param coalescingWindow  repeats of an alert within this window are
+ *                          folded into one follow-up notification
+ * @param maxCoalescedKeys  windows tracked at once; beyond this, alerts are
+ *                          sent without coalescing
+ * @param maxBlockMs        how long a send may block the caller waiting for
+ *                          topic metadata or buffer space before it fails
+ */
+@ConfigurationProperties(prefix = "erp.notifications")
+public record NotificationProperties(
+        @DefaultValue("kafka") String transport,
+        @DefaultValue("lz4") String compression,
+        @DefaultValue("20") long standardLingerMs,
+        @DefaultValue("131072") int standardBatchSize,
+        @DefaultValue("16384") int urgentBatchSize,
+        @DefaultValue("5m") Duration coalescingWindow,
+        @DefaultValue("10000") int maxCoalescedKeys,
+        @DefaultValue("1000") long maxBlockMs) {
+}
@@ -1,7 +1,11 @@
 package com.erp.system.notification;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -9,13 +13,36 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Publishes notifications to Kafka. URGENT and CRITICAL notifications go out
+ * on their own lane so they never wait behind routine ones. Alerts repeated
+ * for the same recipient within the coalescing window are sent once, and a
+ * single follow-up with the latest values and a coalescedCount is sent when
+ * the window closes; an alert escalated to a higher priority is sent at once.
+ * An alert that opens a new window before the previous window's follow-up
+ * went out carries that window's coalescedCount itself, so the older values
+ * are never sent after it. Other exact duplicates within the window are dropped.
+ * Notifications past their expiresAt are dropped before sending.
+ *
+ * Services import {@link NotificationConfiguration} and need scheduling
+ * enabled for the follow-ups.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
-    
-    private static final String NOTIFICATION_TOPIC = "notifications";
-    
+
+    private final NotificationTransport transport;
+    private final NotificationProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private NotificationCoalescer coalescer;
+
+    @PostConstruct
+    void init() {
+        coalescer = new NotificationCoalescer(properties.coalescingWindow().toMillis(), properties.maxCoalescedKeys());
+    }
+
     public void sendNotification(NotificationRequest request) {
         try {
             NotificationMessage message = NotificationMessage.builder()
@@ -33,16 +60,82 @@ public class NotificationService {
                     .expiresAt(request.getExpiresAt())
                     .actionRequired(request.isActionRequired())
                     .actionUrl(request.getActionUrl())
+                    .sourceService(request.getSourceService())
+                    .entityType(request.getEntityType())
+                    .entityId(request.getEntityId())
                     .build();
-            
-            // TODO: Implement Kafka sending when infrastructure is ready
-            log.info("Notification prepared: {} for user: {}", message.getType(), message.getUserId());
-            
+
+            boolean alert = isAlert(message.getType());
+            int replacedRepeats = coalescer.admit(coalescingKey(message, alert), message, alert,
+                    System.currentTimeMillis());
+            if (replacedRepeats == NotificationCoalescer.ABSORBED) {
+                count("notifications.dropped", "reason", "coalesced");
+                return;
+            }
+            if (replacedRepeats > 0) {
+                withCoalescedCount(message, replacedRepeats);
+            }
+            publish(message);
+
         } catch (Exception e) {
             log.error("Error sending notification", e);
         }
     }
-    
+
+    @Scheduled(fixedDelayString = "${erp.notifications.coalescing-flush-ms:5000}")
+    public void sendCoalescedFollowUps() {
+        for (NotificationCoalescer.Coalesced coalesced : coalescer.closeExpired(System.currentTimeMillis())) {
+            NotificationMessage latest = coalesced.latest();
+            withCoalescedCount(latest, coalesced.repeats());
+            try {
+                publish(latest);
+            } catch (Exception e) {
+                log.error("Error sending coalesced notification", e);
+            }
+        }
+    }
+
+    private static void withCoalescedCount(NotificationMessage message, int repeats) {
+        Map<String, Object> data = message.getData() != null ? new HashMap<>(message.getData()) : new HashMap<>();
+        data.put("coalescedCount", repeats);
+        message.setData(data);
+    }
+
+    private void publish(NotificationMessage message) {
+        if (message.getExpiresAt() != null && message.getExpiresAt().isBefore(LocalDateTime.now())) {
+            count("notifications.dropped", "reason", "expired");
+            log.debug("Dropping expired notification {} for user {}", message.getType(), message.getUserId());
+            return;
+        }
+        NotificationLane lane = NotificationLane.of(message.getPriority());
+        String key = message.getUserId() != null ? message.getUserId() : String.valueOf(message.getType());
+        transport.send(lane, key, message);
+        count("notifications.sent", "lane", lane.name().toLowerCase());
+        log.debug("Notification sent: {} for user: {}", message.getType(), message.getUserId());
+    }
+
+    private static boolean isAlert(NotificationType type) {
+        return type != null && type.name().endsWith("_ALERT");
+    }
+
+    /**
+     * Alerts coalesce by recipient, type and title, so a flapping metric
+     * counts as one alert however its values change (the coalescer still
+     * lets an escalation through); anything else only when the message is
+     * identical, priority included.
+     */
+    private static String coalescingKey(NotificationMessage message, boolean alert) {
+        String key = message.getUserId() + "|" + message.getType() + "|" + message.getTitle();
+        return alert ? key : key + "|" + message.getPriority() + "|" + message.getMessage() + "|" + message.getData();
+    }
+
+    private void count(String name, String tag, String value) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter(name, tag, value).increment();
+        }
+    }
+
     public void sendSystemAlert(String title, String message, AlertSeverity severity) {
         NotificationRequest request = NotificationRequest.builder()
                 .type(NotificationType.SYSTEM_ALERT)
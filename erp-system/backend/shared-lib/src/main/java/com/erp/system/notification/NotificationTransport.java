@@ -0,0 +1,12 @@
+package com.erp.system.notification;
+
+/**
+ * Delivers prepared notifications to the notifications topic. Sending is
+ * asynchronous; failures are logged by the transport.
+ */
+public interface NotificationTransport {
+
+    String TOPIC = "notifications";
+
+    void send(NotificationLane lane, String key, NotificationMessage message);
+}
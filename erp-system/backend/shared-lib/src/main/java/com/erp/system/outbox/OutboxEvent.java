@@ -0,0 +1,54 @@
+package com.erp.system.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event waiting in, or already relayed from, the outbox. Rows are written
+ * by {@link OutboxPublisher} and drained by {@link OutboxRelay} with plain
+ * SQL; the (published_at, id) index serves both the pending scan and the
+ * purge of published rows. A row that failed max-attempts sends is parked.
+ */
+@Entity
+@Table(name = "outbox_events",
+       indexes = @Index(name = "idx_outbox_events_published", columnList = "published_at, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", length = 100, nullable = false, unique = true)
+    private String eventId;
+
+    @Column(name = "topic", length = 200, nullable = false)
+    private String topic;
+
+    @Column(name = "event_key", length = 200)
+    private String eventKey;
+
+    @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "attempts", columnDefinition = "integer default 0 not null")
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+}
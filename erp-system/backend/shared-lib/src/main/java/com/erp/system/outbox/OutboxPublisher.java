@@ -0,0 +1,50 @@
+package com.erp.system.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Transactional outbox. Events are written to the outbox_events table on the
+ * caller's connection, so they commit or roll back with the business change
+ * that produced them; {@link OutboxRelay} publishes them to Kafka afterwards.
+ * Every event carries an event id that doubles as its dedupe key: a second
+ * write with the same id is ignored. Consumers receive it in the eventId
+ * header.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (event_id, topic, event_key, payload, created_at) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (event_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void publish(String topic, String key, Map<String, Object> payload) {
+        publish(topic, key, payload, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Adds an event to the outbox unless one with the same event id is already
+     * there. Returns false for a duplicate.
+     */
+    public boolean publish(String topic, String key, Map<String, Object> payload, String eventId) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize outbox event for topic " + topic, e);
+        }
+        return jdbcTemplate.update(INSERT_SQL, eventId, topic, key, json, Timestamp.valueOf(LocalDateTime.now())) > 0;
+    }
+}
@@ -0,0 +1,286 @@
+package com.erp.system.outbox;
+
+import com.erp.system.scheduling.JobLeaseManager;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox events to Kafka in id order. One replica relays at a time
+ * under a job lease. Each batch is handed to the producer in one go so it can
+ * fill, compress and pipeline record batches, then the relay waits for the
+ * acknowledgements. Once a key's send has failed, none of that key's later
+ * events in the batch are sent or marked, and the next run resends them from
+ * the failed one; with the idempotent producer a broker-side failure also
+ * fails the records already queued behind it on the same partition, so a
+ * key's events stay in order.
+ * Delivery is at-least-once. The consumers in this system apply each event's
+ * full state, so a redelivery is harmless; the eventId header is there for a
+ * consumer that needs to drop redeliveries itself.
+ * A failed event counts an attempt; after max-attempts it is parked (left
+ * unpublished with parked_at set) so a poison event cannot hold up the relay,
+ * and the key's later events go out without it. Parked events are counted by
+ * the outbox.events.parked gauge and resent by clearing parked_at.
+ * Published rows are kept for the retention period so duplicate writes are
+ * still rejected, then purged.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    public static final String EVENT_ID_HEADER = "eventId";
+
+    private static final String JOB_NAME = "outbox.relay";
+
+    private static final String SELECT_PENDING_SQL =
+            "SELECT id, event_id, topic, event_key, payload FROM outbox_events " +
+            "WHERE published_at IS NULL AND parked_at IS NULL ORDER BY id LIMIT ?";
+
+    private static final String MARK_PUBLISHED_SQL =
+            "UPDATE outbox_events SET published_at = ? WHERE id = ANY(?)";
+
+    private static final String RECORD_FAILURE_SQL =
+            "UPDATE outbox_events SET attempts = attempts + 1, last_error = ?, " +
+            "parked_at = CASE WHEN attempts + 1 >= ? THEN ? END WHERE id = ? RETURNING parked_at IS NOT NULL";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM outbox_events WHERE published_at < ?";
+
+    private static final String LAG_SQL =
+            "SELECT COUNT(*) AS pending, MIN(created_at) AS oldest FROM outbox_events " +
+            "WHERE published_at IS NULL AND parked_at IS NULL";
+
+    private static final String PARKED_SQL =
+            "SELECT COUNT(*) FROM outbox_events WHERE parked_at IS NOT NULL";
+
+    private static final TypeReference<LinkedHashMap<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final JobLeaseManager jobLeaseManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${erp.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${erp.outbox.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    @Value("${erp.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${erp.outbox.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${erp.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    private Counter publishedCounter;
+    private Counter failedCounter;
+    private volatile LocalDateTime lastPurge = LocalDateTime.MIN;
+
+    private record OutboxRecord(long id, String eventId, String topic, String key, String payload) {
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        publishedCounter = Counter.builder("outbox.events.published").register(registry);
+        failedCounter = Counter.builder("outbox.events.failed").register(registry);
+        Gauge.builder("outbox.lag.seconds", this, OutboxRelay::currentLagSeconds)
+                .description("Age of the oldest unpublished outbox event")
+                .register(registry);
+        Gauge.builder("outbox.events.pending", this, OutboxRelay::currentPending)
+                .register(registry);
+        Gauge.builder("outbox.events.parked", this, OutboxRelay::currentParked)
+                .description("Events parked after max-attempts failed sends")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${erp.outbox.poll-interval-ms:500}",
+               initialDelayString = "${erp.outbox.initial-delay-ms:5000}")
+    public void relay() {
+        Duration lease = Duration.ofSeconds(leaseSeconds);
+        if (!jobLeaseManager.tryAcquire(JOB_NAME, lease)) {
+            return;
+        }
+        try {
+            long deadline = System.currentTimeMillis() + lease.toMillis() / 2;
+            boolean more = true;
+            while (more && System.currentTimeMillis() < deadline) {
+                more = relayBatch();
+            }
+            purgePublished();
+        } catch (Exception e) {
+            log.error("Outbox relay failed", e);
+        } finally {
+            jobLeaseManager.release(JOB_NAME);
+        }
+    }
+
+    /**
+     * Sends one batch and returns true when it was full and fully published,
+     * i.e. when more events are probably waiting.
+     */
+    private boolean relayBatch() {
+        List<OutboxRecord> batch = jdbcTemplate.query(SELECT_PENDING_SQL, (rs, rowNum) -> new OutboxRecord(
+                rs.getLong("id"), rs.getString("event_id"), rs.getString("topic"),
+                rs.getString("event_key"), rs.getString("payload")), batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        // A key whose previous send has already failed is not sent any further
+        // in this batch
+        Map<String, CompletableFuture<SendResult<String, Object>>> lastSendByKey = new HashMap<>();
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (OutboxRecord record : batch) {
+            String orderingKey = orderingKey(record);
+            CompletableFuture<SendResult<String, Object>> previous =
+                    orderingKey != null ? lastSendByKey.get(orderingKey) : null;
+            if (previous != null && previous.isCompletedExceptionally()) {
+                sends.add(null);
+                continue;
+            }
+            CompletableFuture<SendResult<String, Object>> send = send(record);
+            if (orderingKey != null) {
+                lastSendByKey.put(orderingKey, send);
+            }
+            sends.add(send);
+        }
+
+        Set<String> failedKeys = new HashSet<>();
+        List<Long> published = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxRecord record = batch.get(i);
+            String orderingKey = orderingKey(record);
+            if (sends.get(i) == null || (orderingKey != null && failedKeys.contains(orderingKey))) {
+                continue;
+            }
+            try {
+                sends.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                published.add(record.id());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Could not publish outbox event {} to {}: {}", record.eventId(), record.topic(), e.toString());
+                recordFailure(record, e);
+                if (orderingKey != null) {
+                    failedKeys.add(orderingKey);
+                }
+            }
+        }
+
+        if (!published.isEmpty()) {
+            jdbcTemplate.update(MARK_PUBLISHED_SQL, ps -> {
+                ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", published.toArray()));
+            });
+        }
+        int failed = batch.size() - published.size();
+        if (publishedCounter != null) {
+            publishedCounter.increment(published.size());
+            failedCounter.increment(failed);
+        }
+        log.debug("Relayed {} outbox events, {} pending retry", published.size(), failed);
+        return failed == 0 && batch.size() == batchSize;
+    }
+
+    private static String orderingKey(OutboxRecord record) {
+        return record.key() != null ? record.topic() + '\u0000' + record.key() : null;
+    }
+
+    private void recordFailure(OutboxRecord record, Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        String error = cause.toString();
+        if (error.length() > 500) {
+            error = error.substring(0, 500);
+        }
+        Boolean parked = jdbcTemplate.queryForObject(RECORD_FAILURE_SQL, Boolean.class, error, maxAttempts,
+                Timestamp.valueOf(LocalDateTime.now()), record.id());
+        if (Boolean.TRUE.equals(parked)) {
+            log.error("Parked outbox event {} for {} after {} failed attempts: {}",
+                    record.eventId(), record.topic(), maxAttempts, error);
+        }
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxRecord record) {
+        try {
+            ProducerRecord<String, Object> producerRecord = new ProducerRecord<>(record.topic(), null, record.key(),
+                    objectMapper.readValue(record.payload(), PAYLOAD_TYPE),
+                    List.of(new RecordHeader(EVENT_ID_HEADER, record.eventId().getBytes(StandardCharsets.UTF_8))));
+            return kafkaTemplate.send(producerRecord);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void purgePublished() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPurge.isAfter(now.minusMinutes(10))) {
+            return;
+        }
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(now.minusHours(retentionHours)));
+        lastPurge = now;
+        if (purged > 0) {
+            log.debug("Purged {} published outbox events", purged);
+        }
+    }
+
+    private double currentLagSeconds() {
+        return jdbcTemplate.query(LAG_SQL, rs -> {
+            if (!rs.next() || rs.getTimestamp("oldest") == null) {
+                return 0.0;
+            }
+            LocalDateTime oldest = rs.getTimestamp("oldest").toLocalDateTime();
+            return Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+        });
+    }
+
+    private double currentParked() {
+        Long parked = jdbcTemplate.queryForObject(PARKED_SQL, Long.class);
+        return parked != null ? parked : 0;
+    }
+
+    private double currentPending() {
+        Long pending = jdbcTemplate.queryForObject(LAG_SQL, (rs, rowNum) -> rs.getLong("pending"));
+        return pending != null ? pending : 0;
+    }
+}
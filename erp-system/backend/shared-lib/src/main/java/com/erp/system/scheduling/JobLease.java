@@ -0,0 +1,37 @@
+package com.erp.system.scheduling;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per leased job. Mapped so the schema is created with the rest of
+ * the service's tables; {@link JobLeaseManager} reads and writes the rows
+ * with plain SQL against the database clock.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "lease_owner", length = 200)
+    private String leaseOwner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "high_water_mark")
+    private LocalDateTime highWaterMark;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,75 @@
+package com.erp.system.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Database-backed lease for scheduled jobs that must run on one replica at a
+ * time, plus the high-water mark the job has processed up to. Lease expiry is
+ * evaluated with the database clock, so replicas with skewed clocks still agree
+ * on who owns a job. The mark can only be advanced while the lease is held.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobLeaseManager {
+
+    private static final String ACQUIRE_SQL =
+            "INSERT INTO job_leases (job_name, lease_owner, lease_until, updated_at) " +
+            "VALUES (?, ?, CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond'), CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (job_name) DO UPDATE SET lease_owner = EXCLUDED.lease_owner, " +
+            "lease_until = EXCLUDED.lease_until, updated_at = EXCLUDED.updated_at " +
+            "WHERE job_leases.lease_until < CURRENT_TIMESTAMP OR job_leases.lease_owner = EXCLUDED.lease_owner";
+
+    private static final String RELEASE_SQL =
+            "UPDATE job_leases SET lease_until = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE job_name = ? AND lease_owner = ?";
+
+    private static final String ADVANCE_MARK_SQL =
+            "UPDATE job_leases SET high_water_mark = ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE job_name = ? AND lease_owner = ? AND lease_until > CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String ownerId = ManagementFactory.getRuntimeMXBean().getName() + "-" +
+            UUID.randomUUID().toString().substring(0, 8);
+
+    public boolean tryAcquire(String jobName, Duration leaseTime) {
+        boolean acquired = jdbcTemplate.update(ACQUIRE_SQL, jobName, ownerId, leaseTime.toMillis()) == 1;
+        if (!acquired) {
+            log.debug("Lease for job {} is held by another instance", jobName);
+        }
+        return acquired;
+    }
+
+    public void release(String jobName) {
+        jdbcTemplate.update(RELEASE_SQL, jobName, ownerId);
+    }
+
+    public LocalDateTime getHighWaterMark(String jobName) {
+        List<Timestamp> marks = jdbcTemplate.queryForList(
+                "SELECT high_water_mark FROM job_leases WHERE job_name = ?", Timestamp.class, jobName);
+        return marks.isEmpty() || marks.get(0) == null ? null : marks.get(0).toLocalDateTime();
+    }
+
+    /**
+     * Stores the new mark only if this instance still owns the lease; returns
+     * false when the lease expired mid-run and another replica may have taken over.
+     */
+    public boolean advanceHighWaterMark(String jobName, LocalDateTime highWaterMark) {
+        return jdbcTemplate.update(ADVANCE_MARK_SQL, Timestamp.valueOf(highWaterMark), jobName, ownerId) == 1;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+}
@@ -0,0 +1,102 @@
+package com.erp.system.currency;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoice totals (line amount, discount, tax and grand total) computed the
+ * way the services did with BigDecimal and the way they do with
+ * {@link Money}. Both variants round each line to cents with HALF_EVEN and
+ * must produce the same totals; gc.alloc.rate.norm shows the allocation
+ * difference.
+ *
+ * mvn -Pbenchmark test-compile, then run main() with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int SCALE = 2;
+    private static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({"10", "100", "200"})
+    private int lines;
+
+    private BigDecimal[] unitPrices;
+    private BigDecimal[] quantities;
+    private BigDecimal[] discountPercents;
+    private BigDecimal taxPercent;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        unitPrices = new BigDecimal[lines];
+        quantities = new BigDecimal[lines];
+        discountPercents = new BigDecimal[lines];
+        for (int i = 0; i < lines; i++) {
+            unitPrices[i] = BigDecimal.valueOf(random.nextInt(500_000) + 1, 4);
+            quantities[i] = BigDecimal.valueOf(random.nextInt(10_000) + 1, 3);
+            discountPercents[i] = BigDecimal.valueOf(random.nextInt(2_000), 2);
+        }
+        taxPercent = new BigDecimal("16");
+
+        if (bigDecimalTotals().compareTo(moneyTotals().toBigDecimal()) != 0) {
+            throw new IllegalStateException("BigDecimal and Money totals differ");
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotals() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            BigDecimal amount = unitPrices[i].multiply(quantities[i]).setScale(SCALE, ROUNDING);
+            BigDecimal discount = amount.multiply(discountPercents[i]).divide(HUNDRED, SCALE, ROUNDING);
+            BigDecimal net = amount.subtract(discount);
+            BigDecimal tax = net.multiply(taxPercent).divide(HUNDRED, SCALE, ROUNDING);
+            total = total.add(net).add(tax);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money moneyTotals() {
+        Money.Accumulator total = Money.accumulator(SCALE);
+        for (int i = 0; i < lines; i++) {
+            Money amount = Money.ofProduct(unitPrices[i], quantities[i], SCALE, ROUNDING);
+            Money net = amount.minus(amount.percentage(discountPercents[i], ROUNDING));
+            total.add(net).add(net.percentage(taxPercent, ROUNDING));
+        }
+        return total.toMoney();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
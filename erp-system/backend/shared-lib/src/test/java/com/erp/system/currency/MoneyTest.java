@@ -0,0 +1,154 @@
+package com.erp.system.currency;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void roundsHalfEvenToTheNearestEvenMinorUnit() {
+        assertThat(Money.of(new BigDecimal("2.345"), 2, RoundingMode.HALF_EVEN).getMinorUnits()).isEqualTo(234);
+        assertThat(Money.of(new BigDecimal("2.355"), 2, RoundingMode.HALF_EVEN).getMinorUnits()).isEqualTo(236);
+        assertThat(Money.of(new BigDecimal("-2.345"), 2, RoundingMode.HALF_EVEN).getMinorUnits()).isEqualTo(-234);
+        assertThat(Money.of(new BigDecimal("2.3451"), 2, RoundingMode.HALF_EVEN).getMinorUnits()).isEqualTo(235);
+    }
+
+    @Test
+    void roundsHalfUpAwayFromZero() {
+        assertThat(Money.of(new BigDecimal("2.345"), 2, RoundingMode.HALF_UP).getMinorUnits()).isEqualTo(235);
+        assertThat(Money.of(new BigDecimal("-2.345"), 2, RoundingMode.HALF_UP).getMinorUnits()).isEqualTo(-235);
+        assertThat(Money.of(new BigDecimal("2.3449"), 2, RoundingMode.HALF_UP).getMinorUnits()).isEqualTo(234);
+    }
+
+    @Test
+    void divisionRoundsLikeBigDecimalInEveryMode() {
+        long[] divisors = {2, 3, 7, 10, 100};
+        for (RoundingMode mode : RoundingMode.values()) {
+            if (mode == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            for (long dividend = -250; dividend <= 250; dividend++) {
+                for (long divisor : divisors) {
+                    long expected = BigDecimal.valueOf(dividend)
+                            .divide(BigDecimal.valueOf(divisor), 0, mode)
+                            .longValueExact();
+                    assertThat(Money.divideRounded(dividend, divisor, mode))
+                            .as("%d / %d %s", dividend, divisor, mode)
+                            .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unnecessaryRoundingFailsOnlyWhenARemainderIsLeft() {
+        assertThat(Money.divideRounded(300, 100, RoundingMode.UNNECESSARY)).isEqualTo(3);
+        assertThatThrownBy(() -> Money.divideRounded(301, 100, RoundingMode.UNNECESSARY))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void usesTheMinorUnitOfEachCurrency() {
+        assertThat(Money.scaleOf("USD")).isEqualTo(2);
+        assertThat(Money.scaleOf("mxn")).isEqualTo(2);
+        assertThat(Money.scaleOf("JPY")).isEqualTo(0);
+        assertThat(Money.scaleOf("KWD")).isEqualTo(3);
+        assertThat(Money.scaleOf("XAU")).isEqualTo(2);
+        assertThat(Money.scaleOf("NOPE")).isEqualTo(2);
+        assertThat(Money.scaleOf(null)).isEqualTo(2);
+
+        Money yen = Money.of(new BigDecimal("1234.5"), "JPY", RoundingMode.HALF_EVEN);
+        assertThat(yen.getMinorUnits()).isEqualTo(1234);
+        assertThat(yen.toBigDecimal()).isEqualByComparingTo("1234");
+
+        Money dinar = Money.of(new BigDecimal("1.2345"), "KWD", RoundingMode.HALF_UP);
+        assertThat(dinar.getMinorUnits()).isEqualTo(1235);
+        assertThat(dinar.toString()).isEqualTo("1.235");
+    }
+
+    @Test
+    void rejectsArithmeticAcrossScales() {
+        Money dollars = Money.ofMinor(100, 2);
+        Money dinars = Money.ofMinor(100, 3);
+
+        assertThatThrownBy(() -> dollars.plus(dinars)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.accumulator(2).add(dinars)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.zero(Money.MAX_SCALE + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void roundsAProductOnceAfterMultiplyingExactly() {
+        Money total = Money.ofProduct(new BigDecimal("0.3333"), new BigDecimal("3"), 2, RoundingMode.HALF_EVEN);
+        assertThat(total.getMinorUnits()).isEqualTo(100);
+
+        Money line = Money.ofProduct(new BigDecimal("19.995"), new BigDecimal("1.5"), 2, RoundingMode.HALF_UP);
+        assertThat(line.toBigDecimal()).isEqualByComparingTo("29.99");
+        assertThat(line.toBigDecimal())
+                .isEqualByComparingTo(new BigDecimal("19.995").multiply(new BigDecimal("1.5"))
+                        .setScale(2, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void multipliesFactorsBeyondTheLongScaleRangeExactly() {
+        BigDecimal price = new BigDecimal("0.0000012345678901");
+        BigDecimal quantity = new BigDecimal("81000.123");
+
+        Money line = Money.ofProduct(price, quantity, 6, RoundingMode.HALF_EVEN);
+        assertThat(line.toBigDecimal())
+                .isEqualByComparingTo(price.multiply(quantity).setScale(6, RoundingMode.HALF_EVEN));
+
+        BigDecimal precisePrice = new BigDecimal("12345678.123456789");
+        BigDecimal preciseQuantity = new BigDecimal("2500.5");
+        assertThat(Money.ofProduct(precisePrice, preciseQuantity, 2, RoundingMode.HALF_UP).toBigDecimal())
+                .isEqualByComparingTo(precisePrice.multiply(preciseQuantity).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void takesAPercentageWithTheGivenRounding() {
+        Money subtotal = Money.ofMinor(12_345, 2);
+
+        assertThat(subtotal.percentage(new BigDecimal("16"), RoundingMode.HALF_EVEN).getMinorUnits())
+                .isEqualTo(1_975);
+        assertThat(subtotal.percentage(new BigDecimal("2.5"), RoundingMode.HALF_EVEN).getMinorUnits())
+                .isEqualTo(309);
+        assertThat(Money.ofMinor(50, 2).percentage(new BigDecimal("5"), RoundingMode.HALF_EVEN).getMinorUnits())
+                .isEqualTo(2);
+        assertThat(Money.ofMinor(50, 2).percentage(new BigDecimal("5"), RoundingMode.HALF_UP).getMinorUnits())
+                .isEqualTo(3);
+        assertThat(subtotal.percentage(null, RoundingMode.HALF_EVEN).isZero()).isTrue();
+    }
+
+    @Test
+    void failsInsteadOfWrappingOnOverflow() {
+        BigDecimal hugePrice = new BigDecimal("92233720368547758.07");
+
+        assertThatThrownBy(() -> Money.ofProduct(hugePrice, new BigDecimal("10"), 2, RoundingMode.HALF_EVEN))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofProduct(new BigDecimal("1e20"), BigDecimal.ONE, 2, RoundingMode.HALF_EVEN))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE / 2, 2)
+                .percentage(new BigDecimal("16"), RoundingMode.HALF_EVEN))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE, 2).plus(Money.ofMinor(1, 2)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.accumulator(2).addMinor(Long.MAX_VALUE).addMinor(1))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void accumulatesWithoutIntermediateRounding() {
+        Money.Accumulator accumulator = Money.accumulator(2);
+        for (int i = 0; i < 3; i++) {
+            accumulator.add(Money.ofProduct(new BigDecimal("0.10"), new BigDecimal("3"), 2, RoundingMode.HALF_EVEN));
+        }
+        accumulator.add(new BigDecimal("0.005"), RoundingMode.HALF_UP);
+
+        assertThat(accumulator.toBigDecimal()).isEqualByComparingTo("0.91");
+        assertThat(accumulator.toMoney()).isEqualTo(Money.ofMinor(91, 2));
+    }
+}
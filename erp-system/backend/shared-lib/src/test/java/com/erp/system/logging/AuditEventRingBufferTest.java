@@ -0,0 +1,120 @@
+package com.erp.system.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditEventRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwoAndAFullBufferRefusesClaims() {
+        AuditEventRingBuffer buffer = new AuditEventRingBuffer(5);
+
+        for (int i = 0; i < 8; i++) {
+            long position = buffer.tryClaim();
+            assertThat(position).isEqualTo(i);
+            buffer.publish(position);
+        }
+        assertThat(buffer.tryClaim()).isEqualTo(-1);
+
+        assertThat(buffer.peek()).isNotNull();
+        buffer.release();
+        assertThat(buffer.tryClaim()).isEqualTo(8);
+    }
+
+    @Test
+    void consumerDoesNotSeeAClaimedSlotUntilItIsPublished() {
+        AuditEventRingBuffer buffer = new AuditEventRingBuffer(4);
+        long first = buffer.tryClaim();
+        long second = buffer.tryClaim();
+        buffer.publish(second);
+
+        assertThat(buffer.peek()).isNull();
+
+        buffer.event(first).action = "first";
+        buffer.publish(first);
+        assertThat(buffer.peek().action).isEqualTo("first");
+        buffer.release();
+        assertThat(buffer.consumerPosition()).isEqualTo(1);
+        assertThat(buffer.peek()).isNotNull();
+    }
+
+    @Test
+    void releasedSlotsAreClearedForReuse() {
+        AuditEventRingBuffer buffer = new AuditEventRingBuffer(2);
+        long position = buffer.tryClaim();
+        AuditEvent event = buffer.event(position);
+        event.action = "login";
+        event.metadata = new String[] {"k", "v"};
+        buffer.publish(position);
+
+        buffer.peek();
+        buffer.release();
+
+        assertThat(event.action).isNull();
+        assertThat(event.metadata).isNull();
+    }
+
+    @Test
+    void everyEventOfConcurrentProducersIsConsumedExactlyOnce() throws InterruptedException {
+        int producers = 8;
+        int perProducer = 20_000;
+        AuditEventRingBuffer buffer = new AuditEventRingBuffer(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String userId = "producer-" + p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    long position;
+                    while ((position = buffer.tryClaim()) < 0) {
+                        Thread.onSpinWait();
+                    }
+                    AuditEvent event = buffer.event(position);
+                    event.userId = userId;
+                    event.action = Integer.toString(i);
+                    buffer.publish(position);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        Set<String> seen = new HashSet<>();
+        int[] nextPerProducer = new int[producers];
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            AuditEvent event = buffer.peek();
+            if (event == null) {
+                LockSupport.parkNanos(1000);
+                continue;
+            }
+            int producer = Integer.parseInt(event.userId.substring("producer-".length()));
+            int sequence = Integer.parseInt(event.action);
+            // Each producer's events come out in the order it published them
+            assertThat(sequence).isEqualTo(nextPerProducer[producer]++);
+            assertThat(seen.add(event.userId + "/" + event.action)).isTrue();
+            buffer.release();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(seen).hasSize(producers * perProducer);
+        assertThat(buffer.peek()).isNull();
+    }
+}
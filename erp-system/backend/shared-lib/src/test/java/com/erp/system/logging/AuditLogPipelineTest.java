@@ -0,0 +1,136 @@
+package com.erp.system.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class AuditLogPipelineTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditLogPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void securityEventIsOnDiskWhenTheCallReturns() throws IOException {
+        pipeline = start();
+
+        pipeline.security("LOGIN_FAILED", "alice", "bad password");
+
+        List<String> lines = Files.readAllLines(directory.resolve("security.ndjson"));
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0))
+                .contains("\"event_type\":\"security\"")
+                .contains("\"event\":\"LOGIN_FAILED\"")
+                .contains("\"user_id\":\"alice\"")
+                .contains("\"details\":\"bad password\"");
+    }
+
+    @Test
+    void concurrentSecurityEventsAreAllConfirmedWithDistinctIds() throws Exception {
+        pipeline = start();
+        int threads = 8;
+        int perThread = 200;
+        List<Thread> callers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String userId = "user-" + t;
+            Thread caller = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    pipeline.security("TOKEN_REFRESH", userId, Integer.toString(i));
+                }
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        List<String> lines = Files.readAllLines(directory.resolve("security.ndjson"));
+        assertThat(lines).hasSize(threads * perThread);
+        Set<String> ids = new HashSet<>();
+        for (String line : lines) {
+            ids.add(line.substring(0, line.indexOf("\",")));
+        }
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    @Test
+    void stringsAreEscapedAsJson() throws IOException {
+        pipeline = start();
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("quote\"key", "back\\slash");
+        metadata.put("control", "bell\u0007end");
+        metadata.put("number", 42);
+
+        pipeline.audit("UPDATE \"order\"", "bob", "line1\nline2\r\ttab", metadata);
+        // Events are written in order, so once this is synced the audit line is out
+        pipeline.security("SYNC", "bob", null);
+
+        List<String> lines = Files.readAllLines(directory.resolve("audit.ndjson"));
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0))
+                .contains("\"action\":\"UPDATE \\\"order\\\"\"")
+                .contains("\"resource_id\":\"line1\\nline2\\r\\ttab\"")
+                .contains("\"metadata\":{\"quote\\\"key\":\"back\\\\slash\",\"control\":\"bell\\u0007end\","
+                        + "\"number\":\"42\"}")
+                .endsWith("}");
+    }
+
+    @Test
+    void metadataIsCopiedBeforeTheCallReturns() throws IOException {
+        pipeline = start();
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("status", "before");
+
+        pipeline.audit("APPROVE", "carol", "po-1", metadata);
+        metadata.put("status", "after");
+        pipeline.security("SYNC", "carol", null);
+
+        assertThat(Files.readAllLines(directory.resolve("audit.ndjson")).get(0))
+                .contains("\"status\":\"before\"");
+    }
+
+    @Test
+    void unwritableDirectoryFallsBackToTheApplicationLog() throws IOException {
+        Path notADirectory = Files.writeString(directory.resolve("logs"), "");
+
+        AuditLogPipeline fallback = AuditLogPipeline.open(notADirectory, 16, 1024, TimeUnit.SECONDS.toNanos(1),
+                365, 90);
+
+        assertThatCode(() -> {
+            fallback.audit("CREATE", "dave", "1", Map.of("k", "v"));
+            fallback.security("LOGIN", "dave", "ok");
+        }).doesNotThrowAnyException();
+        assertThat(fallback.droppedEvents()).isZero();
+    }
+
+    private AuditLogPipeline start() {
+        try {
+            return new AuditLogPipeline(directory, 1024, 1024 * 1024, TimeUnit.SECONDS.toNanos(5), 365, 90);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.erp.system.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RotatingNdjsonFileTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rotatesWhenTheDayChanges() throws IOException {
+        long today = System.currentTimeMillis();
+        try (RotatingNdjsonFile file = new RotatingNdjsonFile(directory, "audit", 1024 * 1024, 30)) {
+            file.append("{\"n\":1}", today);
+            file.append("{\"n\":2}", today + DAY);
+        }
+
+        String date = LocalDate.ofEpochDay(today / DAY).toString();
+        assertThat(Files.readAllLines(directory.resolve("audit." + date + ".0.ndjson"))).containsExactly("{\"n\":1}");
+        assertThat(Files.readAllLines(directory.resolve("audit.ndjson"))).containsExactly("{\"n\":2}");
+    }
+
+    @Test
+    void rotatesWhenTheFileIsFull() throws IOException {
+        long now = System.currentTimeMillis();
+        try (RotatingNdjsonFile file = new RotatingNdjsonFile(directory, "audit", 20, 30)) {
+            for (int i = 0; i < 6; i++) {
+                file.append("{\"n\":" + i + "}", now);
+                file.flush();
+            }
+        }
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.toList();
+        }
+        assertThat(files).hasSizeGreaterThan(1);
+        assertThat(files.stream().flatMap(RotatingNdjsonFileTest::lines)).containsExactlyInAnyOrder(
+                "{\"n\":0}", "{\"n\":1}", "{\"n\":2}", "{\"n\":3}", "{\"n\":4}", "{\"n\":5}");
+    }
+
+    @Test
+    void rotatedFilesOlderThanTheHistoryAreDeleted() throws IOException {
+        LocalDate today = LocalDate.ofEpochDay(System.currentTimeMillis() / DAY);
+        Path expired = Files.writeString(directory.resolve("security." + today.minusDays(91) + ".0.ndjson"), "x\n");
+        Path kept = Files.writeString(directory.resolve("security." + today.minusDays(89) + ".0.ndjson"), "x\n");
+        Path otherLog = Files.writeString(directory.resolve("audit." + today.minusDays(200) + ".0.ndjson"), "x\n");
+
+        try (RotatingNdjsonFile file = new RotatingNdjsonFile(directory, "security", 1024, 90)) {
+            file.append("{}", System.currentTimeMillis());
+        }
+
+        assertThat(expired).doesNotExist();
+        assertThat(kept).exists();
+        assertThat(otherLog).exists();
+    }
+
+    @Test
+    void reopensOnTheNextAppendWhenTheFileCouldNotBeReopenedAfterRotation() throws IOException {
+        long today = System.currentTimeMillis();
+        try (RotatingNdjsonFile file = new RotatingNdjsonFile(directory, "audit", 1024 * 1024, 30)) {
+            file.append("{\"n\":1}", today);
+            deleteRecursively(directory);
+
+            // The rename and the reopen both fail while the directory is gone
+            assertThatThrownBy(() -> file.append("{\"n\":2}", today + DAY)).isInstanceOf(IOException.class);
+
+            file.append("{\"n\":3}", today + DAY);
+            file.flush();
+            assertThat(Files.readAllLines(directory.resolve("audit.ndjson"))).containsExactly("{\"n\":3}");
+        }
+    }
+
+    private static Stream<String> lines(Path file) {
+        try {
+            return Files.readAllLines(file).stream();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
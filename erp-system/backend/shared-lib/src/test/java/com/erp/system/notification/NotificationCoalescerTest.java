@@ -0,0 +1,94 @@
+package com.erp.system.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationCoalescerTest {
+
+    private static final long WINDOW = 1000;
+
+    private final NotificationCoalescer coalescer = new NotificationCoalescer(WINDOW, 100);
+
+    @Test
+    void firstNotificationOfAWindowIsSentAndRepeatsAreAbsorbed() {
+        assertThat(coalescer.admit("k", alert("1", NotificationPriority.MEDIUM), true, 0)).isZero();
+        assertThat(coalescer.admit("k", alert("2", NotificationPriority.MEDIUM), true, 10))
+                .isEqualTo(NotificationCoalescer.ABSORBED);
+        assertThat(coalescer.admit("k", alert("3", NotificationPriority.MEDIUM), true, 20))
+                .isEqualTo(NotificationCoalescer.ABSORBED);
+
+        assertThat(coalescer.closeExpired(WINDOW - 1)).isEmpty();
+        List<NotificationCoalescer.Coalesced> closed = coalescer.closeExpired(WINDOW);
+        assertThat(closed).hasSize(1);
+        assertThat(closed.get(0).repeats()).isEqualTo(2);
+        assertThat(closed.get(0).latest().getMessage()).isEqualTo("3");
+    }
+
+    @Test
+    void windowWithoutRepeatsOrSummaryYieldsNoFollowUp() {
+        coalescer.admit("single", alert("1", NotificationPriority.LOW), true, 0);
+        coalescer.admit("duplicate", alert("1", NotificationPriority.LOW), false, 0);
+        coalescer.admit("duplicate", alert("1", NotificationPriority.LOW), false, 10);
+
+        assertThat(coalescer.closeExpired(WINDOW)).isEmpty();
+    }
+
+    @Test
+    void escalationIsSentAtOnceAndOpensANewWindow() {
+        coalescer.admit("k", alert("1", NotificationPriority.MEDIUM), true, 0);
+        coalescer.admit("k", alert("2", NotificationPriority.MEDIUM), true, 10);
+
+        // The escalation takes over the repeat it supersedes
+        assertThat(coalescer.admit("k", alert("3", NotificationPriority.CRITICAL), true, 20)).isEqualTo(1);
+        assertThat(coalescer.admit("k", alert("4", NotificationPriority.MEDIUM), true, 30))
+                .isEqualTo(NotificationCoalescer.ABSORBED);
+        assertThat(coalescer.admit("k", alert("5", NotificationPriority.CRITICAL), true, 40))
+                .isEqualTo(NotificationCoalescer.ABSORBED);
+
+        List<NotificationCoalescer.Coalesced> closed = coalescer.closeExpired(20 + WINDOW);
+        assertThat(closed).hasSize(1);
+        assertThat(closed.get(0).repeats()).isEqualTo(2);
+        assertThat(closed.get(0).latest().getMessage()).isEqualTo("5");
+    }
+
+    @Test
+    void alertReplacingAnExpiredWindowCarriesItsRepeats() {
+        coalescer.admit("k", alert("1", NotificationPriority.HIGH), true, 0);
+        coalescer.admit("k", alert("2", NotificationPriority.HIGH), true, 10);
+
+        // A new alert arrives after the window expired but before the flush ran
+        assertThat(coalescer.admit("k", alert("3", NotificationPriority.HIGH), true, WINDOW + 5)).isEqualTo(1);
+
+        // No stale follow-up for "2" is left to be sent after "3"
+        assertThat(coalescer.closeExpired(WINDOW + 10)).isEmpty();
+    }
+
+    @Test
+    void replacedDuplicateWindowCarriesNothing() {
+        coalescer.admit("k", alert("1", NotificationPriority.LOW), false, 0);
+        coalescer.admit("k", alert("1", NotificationPriority.LOW), false, 10);
+
+        assertThat(coalescer.admit("k", alert("1", NotificationPriority.LOW), false, WINDOW + 5)).isZero();
+    }
+
+    @Test
+    void keysBeyondTheLimitAreSentWithoutCoalescing() {
+        NotificationCoalescer small = new NotificationCoalescer(WINDOW, 1);
+        small.admit("a", alert("1", NotificationPriority.LOW), true, 0);
+
+        assertThat(small.admit("b", alert("1", NotificationPriority.LOW), true, 0)).isZero();
+        assertThat(small.admit("b", alert("2", NotificationPriority.LOW), true, 1)).isZero();
+    }
+
+    private static NotificationMessage alert(String message, NotificationPriority priority) {
+        return NotificationMessage.builder()
+                .type(NotificationType.PERFORMANCE_ALERT)
+                .title("cpu")
+                .message(message)
+                .priority(priority)
+                .build();
+    }
+}
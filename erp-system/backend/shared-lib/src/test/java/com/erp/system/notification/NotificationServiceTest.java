@@ -0,0 +1,121 @@
+package com.erp.system.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NotificationService over {@link InMemoryNotificationBroker}, with a short
+ * coalescing window so follow-ups can be flushed in the test.
+ */
+class NotificationServiceTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(50);
+
+    private final InMemoryNotificationBroker broker = new InMemoryNotificationBroker();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private NotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        NotificationProperties properties = new NotificationProperties("in-memory", "lz4", 20, 131072, 16384,
+                WINDOW, 10000, 1000);
+        service = new NotificationService(broker, properties,
+                new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class));
+        service.init();
+    }
+
+    @Test
+    void routesByPriorityAndKeysByRecipient() {
+        service.sendBusinessNotification("purchase", "Order", "approved", 7L, "user-1", Map.of());
+        service.sendSystemAlert("Disk", "Disk full", AlertSeverity.CRITICAL);
+
+        List<InMemoryNotificationBroker.Delivery> deliveries = broker.drain();
+        assertThat(deliveries).hasSize(2);
+        assertThat(deliveries.get(0).lane()).isEqualTo(NotificationLane.STANDARD);
+        assertThat(deliveries.get(0).key()).isEqualTo("user-1");
+        assertThat(deliveries.get(1).lane()).isEqualTo(NotificationLane.URGENT);
+        assertThat(deliveries.get(1).key()).isEqualTo("SYSTEM_ALERT");
+        assertThat(broker.deliveries()).isEmpty();
+    }
+
+    @Test
+    void exactDuplicatesAreDroppedWithinTheWindow() {
+        service.sendBusinessNotification("purchase", "Order", "approved", 7L, "user-1", Map.of());
+        service.sendBusinessNotification("purchase", "Order", "approved", 7L, "user-1", Map.of());
+        service.sendBusinessNotification("purchase", "Order", "approved", 8L, "user-1", Map.of());
+
+        assertThat(broker.drain()).hasSize(2);
+        assertThat(registry.counter("notifications.dropped", "reason", "coalesced").count()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedAlertsAreFollowedUpOnceWithTheLatestValues() throws InterruptedException {
+        service.sendPerformanceAlert("cpu", 91.0, 90.0, "inventory", AlertSeverity.MEDIUM);
+        service.sendPerformanceAlert("cpu", 95.0, 90.0, "inventory", AlertSeverity.MEDIUM);
+        service.sendPerformanceAlert("cpu", 93.0, 90.0, "inventory", AlertSeverity.MEDIUM);
+        assertThat(broker.drain()).hasSize(1);
+
+        Thread.sleep(WINDOW.toMillis() * 2);
+        service.sendCoalescedFollowUps();
+
+        List<InMemoryNotificationBroker.Delivery> followUps = broker.drain();
+        assertThat(followUps).hasSize(1);
+        assertThat(followUps.get(0).message().getData())
+                .containsEntry("value", 93.0)
+                .containsEntry("coalescedCount", 2);
+    }
+
+    @Test
+    void escalatedAlertIsSentWithoutWaitingForTheWindow() {
+        service.sendPerformanceAlert("cpu", 91.0, 90.0, "inventory", AlertSeverity.MEDIUM);
+        service.sendPerformanceAlert("cpu", 99.0, 90.0, "inventory", AlertSeverity.CRITICAL);
+
+        List<InMemoryNotificationBroker.Delivery> deliveries = broker.drain();
+        assertThat(deliveries).hasSize(2);
+        assertThat(deliveries.get(1).lane()).isEqualTo(NotificationLane.URGENT);
+        assertThat(deliveries.get(1).message().getPriority()).isEqualTo(NotificationPriority.URGENT);
+    }
+
+    @Test
+    void repeatsAreNotLostWhenANewAlertArrivesBeforeTheFlush() throws InterruptedException {
+        service.sendPerformanceAlert("cpu", 91.0, 90.0, "inventory", AlertSeverity.HIGH);
+        service.sendPerformanceAlert("cpu", 92.0, 90.0, "inventory", AlertSeverity.HIGH);
+        Thread.sleep(WINDOW.toMillis() * 2);
+        service.sendPerformanceAlert("cpu", 97.0, 90.0, "inventory", AlertSeverity.HIGH);
+
+        service.sendCoalescedFollowUps();
+
+        // The stale 92.0 is never sent after 97.0; 97.0 reports the repeat
+        List<InMemoryNotificationBroker.Delivery> deliveries = broker.drain();
+        assertThat(deliveries).hasSize(2);
+        assertThat(deliveries.get(0).message().getData()).containsEntry("value", 91.0);
+        assertThat(deliveries.get(1).message().getData())
+                .containsEntry("value", 97.0)
+                .containsEntry("coalescedCount", 1);
+    }
+
+    @Test
+    void expiredNotificationsAreNotDelivered() {
+        service.sendNotification(NotificationRequest.builder()
+                .type(NotificationType.TASK_REMINDER)
+                .title("Reminder")
+                .message("Past due")
+                .userId("user-2")
+                .priority(NotificationPriority.LOW)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .build());
+
+        assertThat(broker.deliveries()).isEmpty();
+        assertThat(registry.counter("notifications.dropped", "reason", "expired").count()).isEqualTo(1);
+    }
+}
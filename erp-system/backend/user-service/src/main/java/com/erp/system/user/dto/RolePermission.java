@@ -0,0 +1,4 @@
+package com.erp.system.user.dto;
+
+public record RolePermission(Long roleId, String permission) {
+}
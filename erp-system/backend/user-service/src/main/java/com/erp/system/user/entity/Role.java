@@ -26,7 +26,9 @@ public class Role extends BaseEntity {
     @ManyToMany(mappedBy = "roles")
     private Set<User> users;
     
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Resolved through RolePermissionCache on login rather than loaded with
+    // every role.
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "role_permissions",
         joinColumns = @JoinColumn(name = "role_id"),
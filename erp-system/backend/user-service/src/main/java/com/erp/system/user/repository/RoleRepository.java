@@ -1,9 +1,14 @@
 package com.erp.system.user.repository;
 
+import com.erp.system.user.dto.RolePermission;
 import com.erp.system.user.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,8 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name);
     
     boolean existsByName(String name);
-}
\ No newline at end of file
+    
+    @Query("SELECT new com.erp.system.user.dto.RolePermission(r.id, p.name) " +
+           "FROM Role r JOIN r.permissions p WHERE r.id IN :roleIds")
+    List<RolePermission> findPermissionsByRoleIds(@Param("roleIds") Collection<Long> roleIds);
+}
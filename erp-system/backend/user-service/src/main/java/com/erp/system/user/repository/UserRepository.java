@@ -1,11 +1,13 @@
 package com.erp.system.user.repository;
 
 import com.erp.system.user.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -17,6 +19,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmail(String email);
     
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsernameOrEmail(String username, String email);
     
     boolean existsByUsername(String username);
@@ -37,4 +40,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Modifying
     @Query("UPDATE User u SET u.accountLocked = :locked WHERE u.id = :userId")
     void updateAccountLocked(@Param("userId") Long userId, @Param("locked") Boolean locked);
-}
\ No newline at end of file
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.lastLogin = :lastLogin, u.failedLoginAttempts = 0 WHERE u.id = :userId")
+    void recordSuccessfulLogin(@Param("userId") Long userId, @Param("lastLogin") LocalDateTime lastLogin);
+    
+    /**
+     * Counts a failed login in the database, so concurrent failures cannot
+     * overwrite each other's count, and locks the account once the count
+     * reaches maxAttempts.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.failedLoginAttempts = COALESCE(u.failedLoginAttempts, 0) + 1, " +
+           "u.accountLocked = CASE WHEN COALESCE(u.failedLoginAttempts, 0) + 1 >= :maxAttempts THEN true " +
+           "ELSE u.accountLocked END WHERE u.id = :userId")
+    void recordFailedLogin(@Param("userId") Long userId, @Param("maxAttempts") int maxAttempts);
+    
+    @Query("SELECT u.accountLocked FROM User u WHERE u.id = :userId")
+    Boolean isAccountLocked(@Param("userId") Long userId);
+}
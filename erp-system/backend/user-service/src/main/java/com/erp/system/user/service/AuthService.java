@@ -3,17 +3,16 @@ package com.erp.system.user.service;
 import com.erp.system.user.dto.LoginRequest;
 import com.erp.system.user.dto.LoginResponse;
 import com.erp.system.user.dto.UserDto;
-import com.erp.system.user.entity.Permission;
 import com.erp.system.user.entity.Role;
 import com.erp.system.user.entity.User;
 import com.erp.system.user.repository.UserRepository;
 import com.erp.system.user.security.JwtUtil;
+import com.erp.system.user.security.PasswordVerifier;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -25,11 +24,17 @@ import java.util.stream.Collectors;
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
+    private final RolePermissionCache rolePermissionCache;
     private final JwtUtil jwtUtil;
     private static final int MAX_FAILED_ATTEMPTS = 5;
     
-    @Transactional
+    /**
+     * Deliberately not transactional: the user is read with its roles in one
+     * query, and no connection is held while the password is checked on the
+     * verification pool. Each outcome is then recorded with one update.
+     */
+    @Timed(value = "erp.auth.login", histogram = true)
     public LoginResponse login(LoginRequest loginRequest) {
         User user = userRepository.findByUsernameOrEmail(
                 loginRequest.getUsernameOrEmail(),
@@ -40,14 +45,14 @@ public class AuthService {
             throw new BadCredentialsException("Account is locked");
         }
         
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordVerifier.matches(loginRequest.getPassword(), user.getPassword())) {
             handleFailedLogin(user);
             throw new BadCredentialsException("Invalid credentials");
         }
         
         handleSuccessfulLogin(user);
         
-        Set<String> permissions = getUserPermissions(user);
+        Set<String> permissions = rolePermissionCache.resolvePermissions(user.getRoles());
         String accessToken = jwtUtil.generateToken(user.getUsername(), permissions);
         String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
         
@@ -63,25 +68,15 @@ public class AuthService {
     }
     
     private void handleFailedLogin(User user) {
-        int attempts = user.getFailedLoginAttempts() + 1;
-        userRepository.updateFailedLoginAttempts(user.getId(), attempts);
+        userRepository.recordFailedLogin(user.getId(), MAX_FAILED_ATTEMPTS);
         
-        if (attempts >= MAX_FAILED_ATTEMPTS) {
-            userRepository.updateAccountLocked(user.getId(), true);
+        if (Boolean.TRUE.equals(userRepository.isAccountLocked(user.getId()))) {
             log.warn("Account locked for user: {}", user.getUsername());
         }
     }
     
     private void handleSuccessfulLogin(User user) {
-        userRepository.updateLastLogin(user.getId(), LocalDateTime.now());
-        userRepository.updateFailedLoginAttempts(user.getId(), 0);
-    }
-    
-    private Set<String> getUserPermissions(User user) {
-        return user.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .map(Permission::getName)
-                .collect(Collectors.toSet());
+        userRepository.recordSuccessfulLogin(user.getId(), LocalDateTime.now());
     }
     
     private UserDto mapToUserDto(User user) {
@@ -0,0 +1,81 @@
+package com.erp.system.user.service;
+
+import com.erp.system.user.dto.RolePermission;
+import com.erp.system.user.entity.Role;
+import com.erp.system.user.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Permission names per role, kept in memory so a login does not have to
+ * load every role's permissions. An entry is tied to the role's version:
+ * changing a role's permissions through JPA bumps the version, and the next
+ * login that sees the new version reloads the entry, on every instance.
+ *
+ * <p>This service has no role or permission write path of its own; roles are
+ * seeded by data.sql and administered in the database. A script that edits
+ * role_permissions or renames a permission directly has to bump
+ * roles.version as well for running instances to pick the change up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RolePermissionCache {
+
+    private final RoleRepository roleRepository;
+    private final Map<Long, CachedPermissions> cache = new ConcurrentHashMap<>();
+
+    private record CachedPermissions(Long version, Set<String> permissions) {
+    }
+
+    /**
+     * The union of the roles' permissions. Roles that are not cached at their
+     * current version are loaded together in one query.
+     */
+    public Set<String> resolvePermissions(Collection<Role> roles) {
+        Set<String> permissions = new HashSet<>();
+        List<Role> stale = new ArrayList<>();
+        for (Role role : roles) {
+            CachedPermissions cached = cache.get(role.getId());
+            if (cached != null && Objects.equals(cached.version(), role.getVersion())) {
+                permissions.addAll(cached.permissions());
+            } else {
+                stale.add(role);
+            }
+        }
+        if (!stale.isEmpty()) {
+            permissions.addAll(load(stale));
+        }
+        return permissions;
+    }
+
+    private Set<String> load(List<Role> roles) {
+        Map<Long, Set<String>> byRole = new HashMap<>();
+        for (Role role : roles) {
+            byRole.put(role.getId(), new HashSet<>());
+        }
+        for (RolePermission row : roleRepository.findPermissionsByRoleIds(byRole.keySet())) {
+            byRole.get(row.roleId()).add(row.permission());
+        }
+
+        Set<String> permissions = new HashSet<>();
+        for (Role role : roles) {
+            Set<String> rolePermissions = Set.copyOf(byRole.get(role.getId()));
+            cache.put(role.getId(), new CachedPermissions(role.getVersion(), rolePermissions));
+            permissions.addAll(rolePermissions);
+        }
+        log.debug("Loaded permissions for {} roles", roles.size());
+        return permissions;
+    }
+}
@@ -0,0 +1,6 @@
+-- Extensions that need superuser rights, so the services' own users never
+-- have to create them at startup
+
+-- Trigram operator classes for the hr-service employee search indexes
+\connect erp_hr
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
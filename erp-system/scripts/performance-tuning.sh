@@ -425,6 +425,124 @@ scenarios:
       - think: 10
 EOF
 
+# Shift-start login storm against the user service. Artillery's summary
+# reports http.request_rate (logins per second) and the 503s returned once
+# the password verification pool is saturated.
+cat > ./performance-tests/login-storm.yml << 'EOF'
+config:
+  target: 'http://localhost:8101'
+  phases:
+    - duration: 120
+      arrivalRate: 10
+      rampTo: 300
+      name: "Shift start ramp"
+    - duration: 180
+      arrivalRate: 300
+      name: "Login storm"
+  payload:
+    path: "login-users.csv"
+    fields:
+      - "usernameOrEmail"
+      - "password"
+    order: random
+  ensure:
+    thresholds:
+      - http.response_time.p99: 2000
+  plugins:
+    metrics-by-endpoint:
+      useOnlyRequestNames: true
+
+scenarios:
+  - name: "Login"
+    flow:
+      - post:
+          name: "login"
+          url: "/api/auth/login"
+          json:
+            usernameOrEmail: "{{ usernameOrEmail }}"
+            password: "{{ password }}"
+EOF
+
+# Journal posting under contention: every batch hits the same cash and
+# revenue accounts, so the account lock stripes and the balance updates are
+# the bottleneck. The retry scenario posts each batch twice; the second call
+# must return the original transaction ids with "replayed": true.
+RUN_ID=$(date +%s)
+seq 1 50000 | sed "s/^/LT-R-${RUN_ID}-/" > ./performance-tests/journal-retries.csv
+cat > ./performance-tests/journal-posting.yml << 'EOF'
+config:
+  target: 'http://localhost:8103'
+  phases:
+    - duration: 60
+      arrivalRate: 5
+      rampTo: 100
+      name: "Ramp"
+    - duration: 300
+      arrivalRate: 100
+      name: "Posting load"
+  payload:
+    path: "journal-retries.csv"
+    fields:
+      - "retryNumber"
+    order: sequence
+  variables:
+    cashAccountId: 1001
+    revenueAccountId: 4001
+  ensure:
+    thresholds:
+      - http.response_time.p99: 1000
+  plugins:
+    metrics-by-endpoint:
+      useOnlyRequestNames: true
+
+scenarios:
+  - name: "Post batch"
+    weight: 80
+    flow:
+      - post:
+          name: "post-batch"
+          url: "/api/finance/journal/postings/batch"
+          json:
+            - transactionNumber: "LT-{{ $randomString(16) }}"
+              transactionDate: "2024-06-30"
+              transactionType: "SALE"
+              lines:
+                - accountId: "{{ cashAccountId }}"
+                  debitAmount: 125.50
+                - accountId: "{{ revenueAccountId }}"
+                  creditAmount: 125.50
+            - transactionNumber: "LT-{{ $randomString(16) }}"
+              transactionDate: "2024-06-30"
+              transactionType: "RECEIPT"
+              lines:
+                - accountId: "{{ cashAccountId }}"
+                  debitAmount: 40.00
+                - accountId: "{{ revenueAccountId }}"
+                  creditAmount: 40.00
+          expect:
+            - statusCode: 201
+
+  - name: "Retried batch"
+    weight: 20
+    flow:
+      - loop:
+          - post:
+              name: "post-batch-retry"
+              url: "/api/finance/journal/postings/batch"
+              json:
+                - transactionNumber: "{{ retryNumber }}"
+                  transactionDate: "2024-06-30"
+                  transactionType: "SALE"
+                  lines:
+                    - accountId: "{{ cashAccountId }}"
+                      debitAmount: 10.00
+                    - accountId: "{{ revenueAccountId }}"
+                      creditAmount: 10.00
+              expect:
+                - statusCode: 201
+        count: 2
+EOF
+
 log "Performance testing configuration created"
 
 # 9. Create monitoring dashboard